@@ -0,0 +1,147 @@
+package com.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Base de datos H2 en memoria (modo MariaDB) para los benchmarks.
+ * Configura Conexion mediante propiedades de sistema, crea el esquema y los datos
+ * de prueba a partir de gestion_de_nominas.sql y añade empleados sintéticos.
+ *
+ * El trigger recalcular_sueldo y el índice FULLTEXT usan sintaxis de MariaDB y no se cargan en H2
+ * (la búsqueda por nombre debe ejecutarse con busqueda.nombre.modo=prefijo).
+ */
+public final class BaseDatosEmbebida {
+
+    public static final String URL = "jdbc:h2:mem:gestion_de_nominas;MODE=MariaDB;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    private static final String USUARIO = "bench";
+    private static final String PASSWORD = "bench";
+    private static final String SCRIPT = System.getProperty("bench.sql",
+            "src/main/java/com/conexion/gestion_de_nominas.sql");
+
+    private static final String[] NOMBRES = {
+        "Juan", "María", "Carlos", "Ana", "Luis", "Lucía", "Javier", "Carmen", "Pablo", "Laura",
+        "Sergio", "Elena", "David", "Marta", "Jorge", "Paula", "Raúl", "Sara", "Diego", "Irene"
+    };
+    private static final String[] APELLIDOS = {
+        "García", "Fernández", "González", "Rodríguez", "López", "Martínez", "Sánchez", "Pérez",
+        "Gómez", "Martín", "Jiménez", "Ruiz", "Hernández", "Díaz", "Moreno", "Muñoz", "Álvarez",
+        "Romero", "Alonso", "Gutiérrez", "Navarro", "Torres", "Domínguez", "Vázquez", "Ramos",
+        "Gil", "Ramírez", "Serrano", "Blanco", "Molina"
+    };
+
+    private BaseDatosEmbebida() {
+    }
+
+    /**
+     * Apunta Conexion a H2 y siembra el esquema. Debe llamarse antes del primer getConnection().
+     * @param empleadosSinteticos Empleados generados que se añaden a los datos del script
+     */
+    public static void iniciar(int empleadosSinteticos) throws SQLException, IOException {
+        System.setProperty("db.url", URL);
+        System.setProperty("db.driver", "org.h2.Driver");
+        System.setProperty("db.username", USUARIO);
+        System.setProperty("db.password", PASSWORD);
+        System.setProperty("busqueda.nombre.modo", "prefijo");
+
+        try (Connection con = DriverManager.getConnection(URL, USUARIO, PASSWORD)) {
+            ejecutarScript(con);
+            insertarSinteticos(con, empleadosSinteticos);
+        }
+    }
+
+    /**
+     * Ejecuta las sentencias del script hasta la definición del trigger,
+     * omitiendo las que sólo tienen sentido en MariaDB (CREATE DATABASE, USE) y las consultas.
+     */
+    private static void ejecutarScript(Connection con) throws SQLException, IOException {
+        StringBuilder sql = new StringBuilder();
+        for (String linea : Files.readAllLines(Paths.get(SCRIPT), StandardCharsets.UTF_8)) {
+            String l = linea.trim();
+            if (l.startsWith("DELIMITER")) {
+                break;
+            }
+            int comentario = l.indexOf("--");
+            if (comentario >= 0) {
+                l = l.substring(0, comentario).trim();
+            }
+            if (!l.isEmpty()) {
+                sql.append(l).append('\n');
+            }
+        }
+
+        try (Statement st = con.createStatement()) {
+            st.execute("DROP ALL OBJECTS");
+            for (String sentencia : sql.toString().split(";")) {
+                String s = sentencia.trim();
+                String mayus = s.toUpperCase();
+                if (s.isEmpty() || mayus.startsWith("CREATE DATABASE") || mayus.startsWith("USE ")
+                        || mayus.startsWith("SELECT") || mayus.startsWith("CREATE FULLTEXT")) {
+                    continue;
+                }
+                st.execute(s);
+            }
+        }
+    }
+
+    private static void insertarSinteticos(Connection con, int total) throws SQLException {
+        con.setAutoCommit(false);
+        try (PreparedStatement emp = con.prepareStatement(
+                    "INSERT INTO empleados (dni, nombre, sexo, categoria, anyos) VALUES (?, ?, ?, ?, ?)");
+             PreparedStatement nom = con.prepareStatement(
+                    "INSERT INTO nominas (dni, sueldo) VALUES (?, ?)")) {
+            for (int i = 0; i < total; i++) {
+                String dni = dni(i);
+                int categoria = 1 + i % 10;
+                int anyos = i % 40;
+                emp.setString(1, dni);
+                emp.setString(2, nombre(i));
+                emp.setString(3, i % 2 == 0 ? "M" : "F");
+                emp.setInt(4, categoria);
+                emp.setInt(5, anyos);
+                emp.addBatch();
+                // Una de cada diez sin nómina: ejercita el cálculo de respaldo
+                if (i % 10 != 0) {
+                    nom.setString(1, dni);
+                    nom.setDouble(2, 50000 + (categoria - 1) * 20000 + 5000 * anyos);
+                    nom.addBatch();
+                }
+                if (i % 1000 == 999) {
+                    emp.executeBatch();
+                    nom.executeBatch();
+                }
+            }
+            emp.executeBatch();
+            nom.executeBatch();
+        }
+        con.commit();
+    }
+
+    /**
+     * Nombre sintético con nombres y apellidos repetidos, para que las búsquedas por nombre
+     * tengan una selectividad realista (cada nombre aparece en 1/20 de la plantilla)
+     * @param i Índice del empleado sintético
+     * @return Nombre y dos apellidos
+     */
+    public static String nombre(int i) {
+        return NOMBRES[i % NOMBRES.length] + " " + APELLIDOS[(i / NOMBRES.length) % APELLIDOS.length]
+                + " " + APELLIDOS[(i / 7) % APELLIDOS.length];
+    }
+
+    /**
+     * DNI sintético determinista: 8 dígitos empezando por 9 (no choca con el script) y letra de control.
+     * @param i Índice del empleado sintético
+     * @return DNI válido de 9 caracteres
+     */
+    public static String dni(int i) {
+        int numero = 90000000 + i;
+        return String.valueOf(numero) + "TRWAGMYFPDXBNJZSQVHLCKE".charAt(numero % 23);
+    }
+}
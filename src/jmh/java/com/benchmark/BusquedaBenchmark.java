@@ -0,0 +1,101 @@
+package com.benchmark;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.conexion.Conexion;
+import com.dao.EmpleadosDAO;
+import com.factory.EmpleadoFactory;
+import com.model.CriterioBusqueda;
+import com.model.Empleado;
+import com.model.Pagina;
+
+/**
+ * Búsqueda de empleados sobre una tabla de un millón de filas:
+ * la búsqueda anterior (campo LIKE '%valor%', recorre la tabla y devuelve todas las coincidencias)
+ * frente a EmpleadosDAO.buscarPorCriterio (predicado indexable, primera página de 50).
+ *
+ * En H2 la búsqueda por nombre usa el modo prefijo; el modo FULLTEXT sólo puede medirse en MariaDB.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class BusquedaBenchmark {
+
+    @Param({"1000000"})
+    public int empleados;
+
+    @Param({"dni", "nombre", "sexo", "categoria", "anyos"})
+    public String campo;
+
+    private EmpleadosDAO empleadosDAO;
+    private CriterioBusqueda criterio;
+    private String sqlAnterior;
+
+    @Setup(Level.Trial)
+    public void preparar() throws Exception {
+        BaseDatosEmbebida.iniciar(empleados);
+        empleadosDAO = new EmpleadosDAO();
+        criterio = new CriterioBusqueda(campo, valor(campo), null, 50);
+        sqlAnterior = "SELECT * FROM empleados WHERE " + campo + " LIKE ?";
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() throws Exception {
+        Conexion.closeDataSource();
+    }
+
+    /**
+     * Valores de búsqueda ya normalizados como los dejaría EmpleadoService
+     */
+    private static String valor(String campo) {
+        switch (campo) {
+            case "dni":       return "900123";
+            case "nombre":    return "Lucía";
+            case "sexo":      return "F";
+            case "categoria": return "7";
+            default:          return "12";
+        }
+    }
+
+    @Benchmark
+    public List<Empleado> buscarLikeAnterior() throws Exception {
+        List<Empleado> lista = new ArrayList<>();
+        try (Connection con = Conexion.getConnection();
+             PreparedStatement ps = con.prepareStatement(sqlAnterior)) {
+            ps.setString(1, "%" + criterio.getValor() + "%");
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    lista.add(EmpleadoFactory.crearDesdeResultSet(rs));
+                }
+            }
+        }
+        return lista;
+    }
+
+    @Benchmark
+    public Pagina<Empleado> buscarIndexado() throws Exception {
+        return empleadosDAO.buscarPorCriterio(criterio);
+    }
+}
@@ -0,0 +1,85 @@
+package com.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.model.CalculadoraSueldos;
+import com.model.Empleado;
+import com.model.Nomina;
+
+/**
+ * Sueldos de n empleados: uno a uno con "new Nomina().sueldo(e)" sobre objetos Empleado,
+ * como hacían los llamantes, frente a CalculadoraSueldos.calcular sobre arrays de categorías y años.
+ * Con la escala lineal (la inicial, bases en progresión aritmética) el bucle en bloque es sólo
+ * aritmética y el JIT lo vectoriza; con una escala "tabla" (bases irregulares) lee la base de cada
+ * categoría de la tabla precalculada.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CalculoSueldosBenchmark {
+
+    @Param({"1000", "1000000"})
+    public int empleados;
+
+    @Param({"lineal", "tabla"})
+    public String escala;
+
+    private List<Empleado> lista;
+    private int[] categorias;
+    private int[] anyos;
+    private double[] sueldos;
+    private CalculadoraSueldos calculadora;
+
+    @Setup
+    public void preparar() throws Exception {
+        if ("tabla".equals(escala)) {
+            // Cada fork es una JVM nueva: la calculadora de la aplicación arranca con esta escala
+            System.setProperty("nominas.escala.version", "2");
+            System.setProperty("nominas.escala.sueldoBase",
+                    "50000,72000,90000,115000,130000,152000,170000,195000,210000,240000");
+        }
+        calculadora = CalculadoraSueldos.getInstancia();
+
+        lista = new ArrayList<>(empleados);
+        categorias = new int[empleados];
+        anyos = new int[empleados];
+        sueldos = new double[empleados];
+        for (int i = 0; i < empleados; i++) {
+            categorias[i] = 1 + (i * 7) % 10;
+            anyos[i] = (i * 13) % 40;
+            lista.add(new Empleado(BaseDatosEmbebida.nombre(i), BaseDatosEmbebida.dni(i),
+                    i % 2 == 0 ? "M" : "F", categorias[i], anyos[i]));
+        }
+    }
+
+    @Benchmark
+    public double[] porObjeto() {
+        for (int i = 0; i < lista.size(); i++) {
+            sueldos[i] = new Nomina().sueldo(lista.get(i));
+        }
+        return sueldos;
+    }
+
+    @Benchmark
+    public double[] enBloque() {
+        calculadora.calcular(categorias, anyos, sueldos, empleados);
+        return sueldos;
+    }
+}
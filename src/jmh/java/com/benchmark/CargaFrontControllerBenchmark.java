@@ -0,0 +1,106 @@
+package com.benchmark;
+
+import java.io.File;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.catalina.Context;
+import org.apache.catalina.Wrapper;
+import org.apache.catalina.startup.Tomcat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.conexion.Conexion;
+import com.controller.FrontController;
+
+/**
+ * Prueba de carga de FrontController en un Tomcat embebido: 32 clientes concurrentes
+ * piden /app/empleados?action=listar (consulta + JSP) con pocos hilos de contenedor y
+ * una latencia simulada por sentencia (LatenciaDriver), en modo síncrono y asíncrono.
+ *
+ * En modo síncrono el rendimiento lo limita hilosContenedor; en asíncrono, los hilos
+ * del ejecutor (async.hilos, por defecto el tamaño del pool de conexiones). Con latencias
+ * pequeñas manda la CPU (renderizado JSP y HTTP) y ambos modos rinden igual.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@Threads(32)
+public class CargaFrontControllerBenchmark {
+
+    @Param({"false", "true"})
+    public boolean asincrono;
+
+    @Param({"8"})
+    public int hilosContenedor;
+
+    @Param({"5", "50"})
+    public int latenciaMs;
+
+    private Tomcat tomcat;
+    private URL url;
+
+    @Setup(Level.Trial)
+    public void preparar() throws Exception {
+        BaseDatosEmbebida.iniciar(1000);
+        System.setProperty("db.driver", LatenciaDriver.class.getName());
+        System.setProperty("db.url", LatenciaDriver.url(latenciaMs, BaseDatosEmbebida.URL));
+        System.setProperty("async.enabled", String.valueOf(asincrono));
+        System.setProperty("indice.empleados.enabled", "false");
+
+        tomcat = new Tomcat();
+        tomcat.setBaseDir(new File("target/tomcat").getAbsolutePath());
+        tomcat.setPort(0);
+        tomcat.getConnector().setProperty("maxThreads", String.valueOf(hilosContenedor));
+
+        Context contexto = tomcat.addWebapp("/empresa", new File("src/main/webapp").getAbsolutePath());
+        Wrapper front = Tomcat.addServlet(contexto, "front", new FrontController());
+        front.setAsyncSupported(true);
+        front.setLoadOnStartup(1);
+        contexto.addServletMappingDecoded("/app/*", "front");
+        tomcat.start();
+
+        url = new URL("http://localhost:" + tomcat.getConnector().getLocalPort()
+                + "/empresa/app/empleados?action=listar&tam=20");
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() throws Exception {
+        tomcat.stop();
+        tomcat.destroy();
+        Conexion.closeDataSource();
+    }
+
+    @Benchmark
+    public int listarEmpleados() throws Exception {
+        HttpURLConnection con = (HttpURLConnection) url.openConnection();
+        int estado = con.getResponseCode();
+        try (InputStream in = estado < 400 ? con.getInputStream() : con.getErrorStream()) {
+            byte[] buffer = new byte[8192];
+            while (in != null && in.read(buffer) >= 0) {
+                // Se consume el cuerpo para reutilizar la conexión keep-alive
+            }
+        }
+        if (estado != 200) {
+            throw new IllegalStateException("Estado HTTP " + estado);
+        }
+        return estado;
+    }
+}
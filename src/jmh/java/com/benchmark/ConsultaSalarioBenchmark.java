@@ -0,0 +1,80 @@
+package com.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.conexion.Conexion;
+import com.model.NominaEmpleado;
+import com.service.NominaService;
+
+/**
+ * Día de nómina: 16 hilos consultan a la vez el salario del mismo DNI, con una latencia
+ * simulada por sentencia (LatenciaDriver). Compara NominaService con y sin agrupación
+ * de consultas simultáneas (nominas.salario.agruparConsultas).
+ *
+ * La latencia simulada es una espera, no trabajo de la base de datos: con conexiones de
+ * sobra ambos modos rinden parecido y la ganancia es el número de lecturas que no llegan
+ * a MariaDB (ver "compartidas" al final de cada ensayo). Con el pool limitado esas
+ * lecturas ahorradas se convierten en rendimiento.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+@Threads(16)
+public class ConsultaSalarioBenchmark {
+
+    @Param({"false", "true"})
+    public boolean agrupar;
+
+    @Param({"2"})
+    public int latenciaMs;
+
+    /** Conexiones del pool: con pocas, las lecturas repetidas hacen cola por conexión */
+    @Param({"4", "20"})
+    public int conexiones;
+
+    private NominaService nominaService;
+    private final String dni = BaseDatosEmbebida.dni(1);
+
+    @Setup(Level.Trial)
+    public void preparar() throws Exception {
+        BaseDatosEmbebida.iniciar(1000);
+        System.setProperty("db.driver", LatenciaDriver.class.getName());
+        System.setProperty("db.url", LatenciaDriver.url(latenciaMs, BaseDatosEmbebida.URL));
+        System.setProperty("nominas.salario.agruparConsultas", String.valueOf(agrupar));
+        System.setProperty("db.pool.maxTotal", String.valueOf(conexiones));
+        System.setProperty("db.pool.maxIdle", String.valueOf(conexiones));
+        System.setProperty("db.pool.minIdle", "0");
+        System.setProperty("db.pool.initialSize", "0");
+        nominaService = new NominaService();
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() throws Exception {
+        System.out.println("\nConsultas: " + nominaService.getConsultasSalario().getLlamadas()
+                + ", compartidas: " + nominaService.getConsultasSalario().getCompartidas());
+        Conexion.closeDataSource();
+    }
+
+    @Benchmark
+    public NominaEmpleado consultarSalarioMismoDni() throws Exception {
+        return nominaService.consultarSalarioEmpleado(dni);
+    }
+}
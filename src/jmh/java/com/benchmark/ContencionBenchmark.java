@@ -0,0 +1,144 @@
+package com.benchmark;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.conexion.Conexion;
+import com.dao.EmpleadosDAO;
+import com.exceptions.ConflictoConcurrenciaException;
+import com.model.Empleado;
+import com.model.Nomina;
+
+/**
+ * Contención en la edición de empleados: 16 hilos leen y guardan empleados elegidos al azar
+ * entre unos pocos DNI (dnis), con una latencia simulada por sentencia (LatenciaDriver).
+ *
+ * - dosSentencias: como antes, UPDATE empleados y UPDATE nominas en la misma transacción, sin
+ *   versión; la fila queda bloqueada durante las dos sentencias y el commit, y el último que
+ *   escribe pisa al anterior sin enterarse.
+ * - optimista: EmpleadosDAO.actualizar con la versión leída, una sola sentencia (el sueldo lo
+ *   calcula el trigger, que en H2 no se carga); el que llega tarde recibe
+ *   ConflictoConcurrenciaException, relee y reintenta.
+ *
+ * Cada edición suma un año de antigüedad (cambia el sueldo). Al final se imprimen las ediciones
+ * confirmadas, los conflictos detectados y las ediciones perdidas (confirmadas pero pisadas por
+ * otra: la suma de años no sube lo mismo que el número de ediciones).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@Threads(16)
+public class ContencionBenchmark {
+
+    private static final String ACTUALIZAR_SIN_VERSION =
+            "UPDATE empleados SET nombre=?, sexo=?, categoria=?, anyos=? WHERE dni=?";
+    private static final String ACTUALIZAR_NOMINA = "UPDATE nominas SET sueldo = ? WHERE dni = ?";
+
+    @Param({"8", "64", "1000"})
+    public int dnis;
+
+    @Param({"1"})
+    public int latenciaMs;
+
+    private EmpleadosDAO empleadosDAO;
+    private final Nomina nomina = new Nomina();
+    private final LongAdder ediciones = new LongAdder();
+    private final LongAdder conflictos = new LongAdder();
+    private long anyosIniciales;
+
+    @Setup(Level.Trial)
+    public void preparar() throws Exception {
+        BaseDatosEmbebida.iniciar(1000);
+        System.setProperty("db.driver", LatenciaDriver.class.getName());
+        System.setProperty("db.url", LatenciaDriver.url(latenciaMs, BaseDatosEmbebida.URL));
+        System.setProperty("db.pool.maxTotal", "16");
+        empleadosDAO = new EmpleadosDAO();
+        anyosIniciales = sumarAnyos();
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() throws Exception {
+        long perdidas = ediciones.sum() - (sumarAnyos() - anyosIniciales);
+        System.out.printf("%n%d ediciones, %d conflictos detectados, %d ediciones perdidas%n",
+                ediciones.sum(), conflictos.sum(), perdidas);
+        Conexion.closeDataSource();
+    }
+
+    private long sumarAnyos() throws SQLException {
+        long total = 0;
+        for (int i = 0; i < dnis; i++) {
+            total += empleadosDAO.obtenerPorId(BaseDatosEmbebida.dni(i)).getAnyos();
+        }
+        return total;
+    }
+
+    /** DNI al azar entre los primeros: todos los hilos compiten por los mismos */
+    private static String elegir(int dnis) {
+        return BaseDatosEmbebida.dni(ThreadLocalRandom.current().nextInt(dnis));
+    }
+
+    @Benchmark
+    public int dosSentencias() throws Exception {
+        Empleado e = empleadosDAO.obtenerPorId(elegir(dnis));
+        e.incrAnyo();
+        try (Connection con = Conexion.getConnection()) {
+            con.setAutoCommit(false);
+            try (PreparedStatement emp = con.prepareStatement(ACTUALIZAR_SIN_VERSION);
+                 PreparedStatement nom = con.prepareStatement(ACTUALIZAR_NOMINA)) {
+                emp.setString(1, e.getNombre());
+                emp.setString(2, e.getSexo());
+                emp.setInt(3, e.getCategoria());
+                emp.setInt(4, e.getAnyos());
+                emp.setString(5, e.getDni());
+                int filas = emp.executeUpdate();
+                nom.setDouble(1, nomina.sueldo(e));
+                nom.setString(2, e.getDni());
+                nom.executeUpdate();
+                con.commit();
+                ediciones.increment();
+                return filas;
+            } catch (SQLException ex) {
+                con.rollback();
+                throw ex;
+            }
+        }
+    }
+
+    @Benchmark
+    public int optimista() throws Exception {
+        String dni = elegir(dnis);
+        while (true) {
+            Empleado e = empleadosDAO.obtenerPorId(dni);
+            e.incrAnyo();
+            try {
+                empleadosDAO.actualizar(e);
+                ediciones.increment();
+                return e.getVersion();
+            } catch (ConflictoConcurrenciaException ex) {
+                conflictos.increment();
+            }
+        }
+    }
+}
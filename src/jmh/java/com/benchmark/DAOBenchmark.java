@@ -0,0 +1,101 @@
+package com.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.conexion.Conexion;
+import com.dao.EmpleadosDAO;
+import com.dao.NominasDAO;
+import com.model.Empleado;
+import com.model.ListadoNominas;
+import com.model.Nomina;
+import com.model.RegistroNomina;
+import com.service.NominaService;
+
+/**
+ * Benchmarks de extremo a extremo de EmpleadosDAO y NominasDAO contra H2 embebida.
+ * Incluye el listado de nóminas N+1 anterior (una consulta por empleado) frente
+ * al JOIN único de NominaService.listarTodasLasNominas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DAOBenchmark {
+
+    @Param({"10000"})
+    public int empleados;
+
+    private EmpleadosDAO empleadosDAO;
+    private NominasDAO nominasDAO;
+    private NominaService nominaService;
+
+    @Setup(Level.Trial)
+    public void preparar() throws Exception {
+        BaseDatosEmbebida.iniciar(empleados);
+        empleadosDAO = new EmpleadosDAO();
+        nominasDAO = new NominasDAO();
+        nominaService = new NominaService(empleadosDAO, nominasDAO);
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() throws Exception {
+        Conexion.closeDataSource();
+    }
+
+    private String dniAleatorio() {
+        return BaseDatosEmbebida.dni(ThreadLocalRandom.current().nextInt(empleados));
+    }
+
+    @Benchmark
+    public Empleado obtenerEmpleado() throws Exception {
+        return empleadosDAO.obtenerEmpleado(dniAleatorio());
+    }
+
+    @Benchmark
+    public Object obtenerNomina() throws Exception {
+        return nominasDAO.obtenerNomina(dniAleatorio());
+    }
+
+    @Benchmark
+    public Object listarPagina() throws Exception {
+        return empleadosDAO.listarPagina(dniAleatorio(), 50);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public ListadoNominas listadoNominasJoin() throws Exception {
+        return nominaService.listarTodasLasNominas();
+    }
+
+    /**
+     * Ruta anterior a la consulta con JOIN: listar empleados y consultar la nómina de cada uno
+     * (1 + N viajes a la base de datos y N préstamos de conexión del pool).
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void listadoNominasNMas1(Blackhole bh) throws Exception {
+        Nomina nomina = new Nomina();
+        for (Empleado e : empleadosDAO.listar()) {
+            RegistroNomina registro = nominasDAO.obtenerNomina(e.getDni());
+            bh.consume(registro != null ? registro.getSueldo() : nomina.sueldo(e));
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.conexion.Conexion;
+import com.dao.EmpleadosDAO;
+import com.dao.NominasDAO;
+import com.service.EscrituraDiferidaSueldos;
+import com.service.NominaService;
+
+/**
+ * Ráfaga de correcciones de sueldo desde un sistema externo: 5000 actualizaciones repartidas
+ * entre 500 DNI (unas 10 por DNI), enviadas por 16 hilos, con una latencia simulada por
+ * sentencia (LatenciaDriver). La operación termina cuando todas están confirmadas en la BD:
+ * - directa: NominaService.actualizarSueldo, un UPDATE y un commit por llamada
+ * - diferida: actualizarSueldoDiferido con EscrituraDiferidaSueldos y espera de todas las
+ *   confirmaciones; las del mismo DNI se combinan y se escriben por lotes
+ * Al final de cada ensayo se imprimen las filas escritas por la escritura diferida.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class EscrituraDiferidaBenchmark {
+
+    private static final int HILOS = 16;
+
+    @Param({"5000"})
+    public int correcciones;
+
+    @Param({"500"})
+    public int dnis;
+
+    @Param({"0", "1"})
+    public int latenciaMs;
+
+    @Param({"directa", "diferida"})
+    public String modo;
+
+    private NominaService nominaService;
+    private EscrituraDiferidaSueldos escritura;
+    private ExecutorService hilos;
+    private String[] destinos;
+    private int ronda;
+
+    @Setup(Level.Trial)
+    public void preparar() throws Exception {
+        BaseDatosEmbebida.iniciar(dnis);
+        System.setProperty("db.driver", LatenciaDriver.class.getName());
+        System.setProperty("db.url", LatenciaDriver.url(latenciaMs, BaseDatosEmbebida.URL));
+
+        NominasDAO nominasDAO = new NominasDAO();
+        if ("diferida".equals(modo)) {
+            escritura = new EscrituraDiferidaSueldos(nominasDAO, 10000, 500, 5, 30000);
+        }
+        nominaService = new NominaService(new EmpleadosDAO(), nominasDAO, null, escritura);
+        hilos = Executors.newFixedThreadPool(HILOS);
+
+        destinos = new String[correcciones];
+        for (int i = 0; i < correcciones; i++) {
+            destinos[i] = BaseDatosEmbebida.dni(i % dnis);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() throws Exception {
+        hilos.shutdownNow();
+        if (escritura != null) {
+            System.out.println("\nEscritos: " + escritura.getEscritas() + ", combinados: " + escritura.getCombinadas());
+            escritura.cerrar();
+        }
+        Conexion.closeDataSource();
+    }
+
+    @Benchmark
+    public int rafaga() throws Exception {
+        double base = 40000 + (ronda++ % 100);
+        List<Future<List<CompletableFuture<Boolean>>>> tareas = new ArrayList<>(HILOS);
+        for (int h = 0; h < HILOS; h++) {
+            final int hilo = h;
+            tareas.add(hilos.submit(() -> {
+                List<CompletableFuture<Boolean>> confirmaciones = new ArrayList<>();
+                for (int i = hilo; i < correcciones; i += HILOS) {
+                    double sueldo = base + i;
+                    if (escritura == null) {
+                        nominaService.actualizarSueldo(destinos[i], sueldo);
+                    } else {
+                        confirmaciones.add(nominaService.actualizarSueldoDiferido(destinos[i], sueldo));
+                    }
+                }
+                return confirmaciones;
+            }));
+        }
+        int confirmadas = 0;
+        for (Future<List<CompletableFuture<Boolean>>> tarea : tareas) {
+            for (CompletableFuture<Boolean> confirmacion : tarea.get()) {
+                if (confirmacion.get()) {
+                    confirmadas++;
+                }
+            }
+        }
+        return confirmadas;
+    }
+}
@@ -0,0 +1,96 @@
+package com.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.conexion.Conexion;
+import com.dao.EmpleadosDAO;
+import com.model.Empleado;
+import com.util.MetricasPeticiones;
+
+/**
+ * Escritura de 1000 empleados con GenericDAO (la nómina la recalcula el trigger, que en H2
+ * no se carga): uno a uno con actualizar(e),
+ * cada uno en su transacción, frente a actualizarTodos, por lotes en una sola transacción.
+ * Sin latencia y con una latencia simulada por sentencia (LatenciaDriver).
+ * Al final se imprimen las métricas empresa_dao_* de la operación, las mismas de /app/admin/metricas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class EscrituraLotesBenchmark {
+
+    @Param({"10000"})
+    public int empleados;
+
+    @Param({"1000"})
+    public int escrituras;
+
+    @Param({"0", "1"})
+    public int latenciaMs;
+
+    private EmpleadosDAO empleadosDAO;
+    private List<Empleado> lote;
+
+    @Setup(Level.Trial)
+    public void preparar() throws Exception {
+        BaseDatosEmbebida.iniciar(empleados);
+        System.setProperty("db.driver", LatenciaDriver.class.getName());
+        System.setProperty("db.url", LatenciaDriver.url(latenciaMs, BaseDatosEmbebida.URL));
+        empleadosDAO = new EmpleadosDAO();
+
+        lote = new ArrayList<>(escrituras);
+        int paso = empleados / escrituras;
+        for (int i = 0; i < escrituras; i++) {
+            int n = i * paso;
+            lote.add(new Empleado(BaseDatosEmbebida.nombre(n), BaseDatosEmbebida.dni(n),
+                    n % 2 == 0 ? "M" : "F", 1 + n % 10, n % 40));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() throws Exception {
+        String metricas = MetricasPeticiones.getInstancia().toPrometheus();
+        for (String linea : metricas.split("\n")) {
+            if (linea.startsWith("empresa_dao_") && linea.contains("operacion=\"actualizar\"")
+                    && !linea.contains("_bucket")) {
+                System.out.println(linea);
+            }
+        }
+        Conexion.closeDataSource();
+    }
+
+    @Benchmark
+    public int unoAUno() throws Exception {
+        int filas = 0;
+        for (Empleado e : lote) {
+            if (empleadosDAO.actualizar(e)) {
+                filas++;
+            }
+        }
+        return filas;
+    }
+
+    @Benchmark
+    public int porLotes() throws Exception {
+        return empleadosDAO.actualizarTodos(lote);
+    }
+}
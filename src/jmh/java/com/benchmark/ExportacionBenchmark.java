@@ -0,0 +1,149 @@
+package com.benchmark;
+
+import java.io.File;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.catalina.Context;
+import org.apache.catalina.Wrapper;
+import org.apache.catalina.startup.Tomcat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.conexion.Conexion;
+import com.controller.FrontController;
+
+/**
+ * Exportación de nóminas y empleados (/app/nominas y /app/empleados, action=exportar) en un
+ * Tomcat embebido: un cliente descarga el fichero completo en CSV o JSON, con y sin gzip.
+ *
+ * Además del tiempo, al terminar cada ensayo se imprime el pico de heap ocupado tras GC
+ * por encima del que había antes de exportar (H2 guarda la tabla en el propio heap).
+ * Debe ser el mismo con 100.000 que con 1.000.000 de filas: las filas no se acumulan.
+ * En empleados es así (+0 MB en ambos). En nóminas crece algo porque H2 guarda en memoria
+ * parte del resultado del JOIN antes de volcarlo a disco; MariaDB lo entrega por cursor.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ExportacionBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int empleados;
+
+    @Param({"csv", "json"})
+    public String formato;
+
+    @Param({"false", "true"})
+    public boolean gzip;
+
+    @Param({"nominas", "empleados"})
+    public String ruta;
+
+    private Tomcat tomcat;
+    private URL url;
+    private long heapBase;
+    private volatile long heapPico;
+    private volatile boolean midiendo;
+    private Thread muestreo;
+    private long bytesDescargados;
+
+    @Setup(Level.Trial)
+    public void preparar() throws Exception {
+        BaseDatosEmbebida.iniciar(empleados);
+        System.setProperty("async.enabled", "false");
+        System.setProperty("indice.empleados.enabled", "false");
+
+        tomcat = new Tomcat();
+        tomcat.setBaseDir(new File("target/tomcat").getAbsolutePath());
+        tomcat.setPort(0);
+        Context contexto = tomcat.addWebapp("/empresa", new File("src/main/webapp").getAbsolutePath());
+        Wrapper front = Tomcat.addServlet(contexto, "front", new FrontController());
+        front.setLoadOnStartup(1);
+        contexto.addServletMappingDecoded("/app/*", "front");
+        tomcat.start();
+
+        url = new URL("http://localhost:" + tomcat.getConnector().getLocalPort()
+                + "/empresa/app/" + ruta + "?action=exportar&formato=" + formato);
+
+        System.gc();
+        heapBase = heapTrasGc();
+        heapPico = heapBase;
+        midiendo = true;
+        muestreo = new Thread(() -> {
+            while (midiendo) {
+                heapPico = Math.max(heapPico, heapTrasGc());
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }, "muestreo-heap");
+        muestreo.setDaemon(true);
+        muestreo.start();
+    }
+
+    /** Suma de lo ocupado en cada zona del heap tras su última recolección */
+    private static long heapTrasGc() {
+        long total = 0;
+        for (MemoryPoolMXBean zona : ManagementFactory.getMemoryPoolMXBeans()) {
+            MemoryUsage uso = zona.getCollectionUsage();
+            if (zona.getType() == MemoryType.HEAP && uso != null) {
+                total += uso.getUsed();
+            }
+        }
+        return total;
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() throws Exception {
+        midiendo = false;
+        muestreo.join();
+        System.out.printf("%nDescargados %d KB; heap tras GC: %d MB antes de exportar, pico +%d MB%n",
+                bytesDescargados / 1024, heapBase >> 20, (heapPico - heapBase) >> 20);
+        tomcat.stop();
+        tomcat.destroy();
+        Conexion.closeDataSource();
+    }
+
+    @Benchmark
+    public long exportar() throws Exception {
+        HttpURLConnection con = (HttpURLConnection) url.openConnection();
+        // Con Accept-Encoding explícito HttpURLConnection no descomprime: se cuentan los bytes en la red
+        con.setRequestProperty("Accept-Encoding", gzip ? "gzip" : "identity");
+        if (con.getResponseCode() != 200) {
+            throw new IllegalStateException("Estado HTTP " + con.getResponseCode());
+        }
+        long bytes = 0;
+        try (InputStream in = con.getInputStream()) {
+            byte[] buffer = new byte[64 * 1024];
+            int leidos;
+            while ((leidos = in.read(buffer)) >= 0) {
+                bytes += leidos;
+            }
+        }
+        bytesDescargados = bytes;
+        return bytes;
+    }
+}
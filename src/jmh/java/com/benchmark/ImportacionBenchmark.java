@@ -0,0 +1,94 @@
+package com.benchmark;
+
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.conexion.Conexion;
+import com.model.ResultadoImportacion;
+import com.service.EmpleadoService;
+
+/**
+ * Importación de un CSV de empleados nuevos (EmpleadoService.importarEmpleados) con distintos
+ * tamaños de lote, sin latencia y con una latencia simulada por sentencia (LatenciaDriver).
+ * Lote 1 equivale a dar de alta fila a fila, una transacción por empleado.
+ * Cada iteración importa DNI distintos; al final del ensayo se imprimen las filas por segundo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class ImportacionBenchmark {
+
+    /** Plantilla existente antes de importar */
+    private static final int EMPLEADOS = 10000;
+
+    @Param({"10000"})
+    public int filas;
+
+    @Param({"1", "100", "1000"})
+    public int tamanyoLote;
+
+    @Param({"0", "1"})
+    public int latenciaMs;
+
+    private EmpleadoService servicio;
+    private int iteracion;
+    private String csv;
+    private ResultadoImportacion ultimo;
+
+    @Setup(Level.Trial)
+    public void preparar() throws Exception {
+        BaseDatosEmbebida.iniciar(EMPLEADOS);
+        System.setProperty("db.driver", LatenciaDriver.class.getName());
+        System.setProperty("db.url", LatenciaDriver.url(latenciaMs, BaseDatosEmbebida.URL));
+        System.setProperty("importacion.tamanyoLote", String.valueOf(tamanyoLote));
+        servicio = new EmpleadoService();
+    }
+
+    @Setup(Level.Iteration)
+    public void generarCsv() {
+        // Empleados que aún no existen: cada iteración usa un tramo nuevo de DNI
+        int desde = EMPLEADOS + iteracion++ * filas;
+        StringBuilder sb = new StringBuilder(filas * 48).append("dni,nombre,sexo,categoria,anyos\r\n");
+        for (int i = desde; i < desde + filas; i++) {
+            sb.append(BaseDatosEmbebida.dni(i)).append(',')
+                    .append(BaseDatosEmbebida.nombre(i)).append(',')
+                    .append(i % 2 == 0 ? 'M' : 'F').append(',')
+                    .append(1 + i % 10).append(',')
+                    .append(i % 40).append("\r\n");
+        }
+        csv = sb.toString();
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() throws Exception {
+        System.out.printf("%n%s%n", ultimo);
+        Conexion.closeDataSource();
+    }
+
+    @Benchmark
+    public ResultadoImportacion importar() throws Exception {
+        ResultadoImportacion resultado = servicio.importarEmpleados(new StringReader(csv));
+        if (resultado.getFilasInsertadas() != filas) {
+            throw new IllegalStateException(resultado.toString());
+        }
+        ultimo = resultado;
+        return resultado;
+    }
+}
@@ -0,0 +1,83 @@
+package com.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.model.ConsultaEmpleados;
+import com.model.Empleado;
+import com.service.IndiceEmpleados;
+
+/**
+ * Consultas combinadas sobre IndiceEmpleados (sin base de datos) con la plantilla sintética
+ * de BaseDatosEmbebida, frente a comprobar cada empleado con ConsultaEmpleados.cumple,
+ * que es lo que hace EmpleadoService sin índice.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IndiceEmpleadosBenchmark {
+
+    @Param({"100000"})
+    public int empleados;
+
+    private IndiceEmpleados indice;
+    private Empleado[] plantilla;
+
+    // Categoría 4-6, sexo F y nombre que contiene "ez": muchas coincidencias, primera página
+    private final ConsultaEmpleados combinada =
+            new ConsultaEmpleados().categoria(4, 6).sexo("F").nombreContiene("ez").limite(50);
+
+    // Nombre selectivo y rango de años: pocas coincidencias, recorre todos los candidatos
+    private final ConsultaEmpleados selectiva =
+            new ConsultaEmpleados().nombreContiene("irene ramos").anyos(10, 12).limite(50);
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        indice = new IndiceEmpleados();
+        plantilla = new Empleado[empleados];
+        for (int i = 0; i < empleados; i++) {
+            Empleado e = new Empleado(BaseDatosEmbebida.nombre(i), BaseDatosEmbebida.dni(i), i % 2 == 0 ? "M" : "F");
+            e.setCategoria(1 + i % 10);
+            e.setAnyos(i % 40);
+            plantilla[i] = e;
+            indice.actualizar(e);
+        }
+    }
+
+    @Benchmark
+    public List<Empleado> combinadaIndice() {
+        return indice.consultar(combinada);
+    }
+
+    @Benchmark
+    public List<Empleado> selectivaIndice() {
+        return indice.consultar(selectiva);
+    }
+
+    @Benchmark
+    public int selectivaRecorrido() {
+        int n = 0;
+        for (Empleado e : plantilla) {
+            if (selectiva.cumple(e)) {
+                n++;
+            }
+        }
+        return n;
+    }
+}
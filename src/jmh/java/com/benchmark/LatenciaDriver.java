@@ -0,0 +1,108 @@
+package com.benchmark;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.DriverPropertyInfo;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.Properties;
+import java.util.logging.Logger;
+
+/**
+ * Driver JDBC que envuelve a otro (H2) y añade una espera fija a cada ejecución de sentencia
+ * y a cada commit, para simular el viaje de red a un MariaDB remoto.
+ * URL: jdbc:latencia:&lt;ms&gt;:&lt;url real&gt;
+ */
+public final class LatenciaDriver implements Driver {
+
+    private static final String PREFIJO = "jdbc:latencia:";
+
+    static {
+        try {
+            DriverManager.registerDriver(new LatenciaDriver());
+        } catch (SQLException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * @param latenciaMs Espera por sentencia en milisegundos
+     * @param destino URL JDBC real
+     * @return URL para este driver
+     */
+    public static String url(int latenciaMs, String destino) {
+        return PREFIJO + latenciaMs + ":" + destino;
+    }
+
+    @Override
+    public Connection connect(String url, Properties info) throws SQLException {
+        if (!acceptsURL(url)) {
+            return null;
+        }
+        String resto = url.substring(PREFIJO.length());
+        int separador = resto.indexOf(':');
+        long latenciaMs = Long.parseLong(resto.substring(0, separador));
+        Connection real = DriverManager.getConnection(resto.substring(separador + 1), info);
+        return envolver(Connection.class, real, latenciaMs);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T envolver(Class<T> tipo, T real, long latenciaMs) {
+        InvocationHandler manejador = (proxy, metodo, args) -> {
+            String nombre = metodo.getName();
+            if (nombre.startsWith("execute") || nombre.equals("commit")) {
+                Thread.sleep(latenciaMs);
+            }
+            Object resultado;
+            try {
+                resultado = metodo.invoke(real, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (resultado instanceof PreparedStatement && metodo.getReturnType() == PreparedStatement.class) {
+                return envolver(PreparedStatement.class, (PreparedStatement) resultado, latenciaMs);
+            }
+            if (resultado instanceof Statement && metodo.getReturnType() == Statement.class) {
+                return envolver(Statement.class, (Statement) resultado, latenciaMs);
+            }
+            return resultado;
+        };
+        return (T) Proxy.newProxyInstance(LatenciaDriver.class.getClassLoader(), new Class<?>[] {tipo}, manejador);
+    }
+
+    @Override
+    public boolean acceptsURL(String url) {
+        return url != null && url.startsWith(PREFIJO);
+    }
+
+    @Override
+    public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) {
+        return new DriverPropertyInfo[0];
+    }
+
+    @Override
+    public int getMajorVersion() {
+        return 1;
+    }
+
+    @Override
+    public int getMinorVersion() {
+        return 0;
+    }
+
+    @Override
+    public boolean jdbcCompliant() {
+        return false;
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+}
@@ -0,0 +1,131 @@
+package com.benchmark;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.conexion.Conexion;
+import com.dao.NominasDAO;
+import com.model.Empleado;
+import com.model.ListadoNominas;
+import com.model.Nomina;
+import com.model.NominaEmpleado;
+import com.service.NominaService;
+
+/**
+ * Memoria asignada al montar y recorrer el listado de nóminas: la representación anterior
+ * (un HashMap con Double por fila en un ArrayList) frente a ListadoNominas en columnas.
+ * Las filas (empleado, sueldo) se leen una vez de H2 al preparar, para medir sólo el listado;
+ * listadoNominasServicio mide el camino completo con la consulta.
+ *
+ * Ejecutar con el perfilador de GC para ver bytes por operación:
+ *   -Djmh.args="ListadoNominasBenchmark -prof gc"   (gc.alloc.rate.norm)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx512m"})
+public class ListadoNominasBenchmark {
+
+    @Param({"100000"})
+    public int empleados;
+
+    private Empleado[] filasEmpleado;
+    private double[] filasSueldo;
+    private boolean[] filasAlmacenado;
+    private NominaService nominaService;
+
+    @Setup(Level.Trial)
+    public void preparar() throws Exception {
+        BaseDatosEmbebida.iniciar(empleados);
+        nominaService = new NominaService();
+
+        List<Empleado> lista = new ArrayList<>();
+        List<Double> sueldos = new ArrayList<>();
+        new NominasDAO().recorrerNominasConEmpleados((empleado, sueldo, almacenado) -> {
+            lista.add(empleado);
+            sueldos.add(almacenado ? sueldo : Double.NaN);
+        });
+        int n = lista.size();
+        filasEmpleado = lista.toArray(new Empleado[n]);
+        filasSueldo = new double[n];
+        filasAlmacenado = new boolean[n];
+        for (int i = 0; i < n; i++) {
+            filasAlmacenado[i] = !Double.isNaN(sueldos.get(i));
+            filasSueldo[i] = filasAlmacenado[i] ? sueldos.get(i) : 0.0;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() throws Exception {
+        Conexion.closeDataSource();
+    }
+
+    /** Representación anterior: HashMap por fila con el salario envuelto en Double */
+    @Benchmark
+    public List<Map<String, Object>> montarListadoMapas() {
+        Nomina nomina = new Nomina();
+        List<Map<String, Object>> listado = new ArrayList<>();
+        for (int i = 0; i < filasEmpleado.length; i++) {
+            Empleado e = filasEmpleado[i];
+            Object sueldo = filasAlmacenado[i] ? (Object) filasSueldo[i] : null;
+            Map<String, Object> datos = new HashMap<>();
+            datos.put("empleado", e);
+            datos.put("salario", sueldo != null ? sueldo : nomina.sueldo(e));
+            listado.add(datos);
+        }
+        return listado;
+    }
+
+    @Benchmark
+    public ListadoNominas montarListadoColumnas() {
+        Nomina nomina = new Nomina();
+        ListadoNominas listado = new ListadoNominas(256);
+        for (int i = 0; i < filasEmpleado.length; i++) {
+            Empleado e = filasEmpleado[i];
+            listado.anyadir(e, filasAlmacenado[i] ? filasSueldo[i] : nomina.sueldo(e));
+        }
+        return listado;
+    }
+
+    /** Montar y recorrer como lo hace nominas.jsp (get(i) y getSalario por fila) */
+    @Benchmark
+    public void recorrerListadoColumnas(Blackhole bh) {
+        for (NominaEmpleado n : montarListadoColumnas()) {
+            bh.consume(n.getEmpleado());
+            bh.consume(n.getSalario());
+        }
+    }
+
+    @Benchmark
+    public void recorrerListadoMapas(Blackhole bh) {
+        for (Map<String, Object> n : montarListadoMapas()) {
+            bh.consume(n.get("empleado"));
+            bh.consume((double) n.get("salario"));
+        }
+    }
+
+    @Benchmark
+    public ListadoNominas listadoNominasServicio() throws Exception {
+        return nominaService.listarTodasLasNominas();
+    }
+}
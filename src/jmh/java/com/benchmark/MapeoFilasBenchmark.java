@@ -0,0 +1,107 @@
+package com.benchmark;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.conexion.Conexion;
+import com.dao.EmpleadosDAO;
+import com.dao.MapeadorEmpleados;
+import com.dao.MapeadorFilas;
+import com.factory.EmpleadoFactory;
+import com.model.Empleado;
+
+/**
+ * Listado completo de empleados desde H2 (1.000.000 de filas):
+ * - porNombre: como antes, "SELECT *" y EmpleadoFactory.crearDesdeResultSet en cada fila
+ *   (columnas buscadas por nombre, sexo recortado, constructor que valida).
+ * - compilado: columnas explícitas y MapeadorEmpleados compilado una vez con los metadatos
+ *   (lectura por índice, sexo "M"/"F" compartido, construcción sin revalidar).
+ * - dao: EmpleadosDAO.listar, el camino real de la aplicación (compilado, con pool y métricas).
+ * Las tres leen con el mismo fetch size; la diferencia es el mapeo.
+ *
+ * Ejecutar con el perfilador de GC para ver bytes por operación:
+ *   -Djmh.args="MapeoFilasBenchmark -prof gc"   (gc.alloc.rate.norm)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx3g"})
+public class MapeoFilasBenchmark {
+
+    private static final String LISTAR_TODO = "SELECT * FROM empleados";
+    private static final String LISTAR_COLUMNAS = "SELECT dni, nombre, sexo, categoria, anyos, version FROM empleados";
+    private static final int FETCH = 500;
+
+    @Param({"1000000"})
+    public int empleados;
+
+    private final MapeadorEmpleados mapeador = new MapeadorEmpleados();
+    private EmpleadosDAO empleadosDAO;
+
+    @Setup(Level.Trial)
+    public void preparar() throws Exception {
+        BaseDatosEmbebida.iniciar(empleados);
+        empleadosDAO = new EmpleadosDAO();
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() throws Exception {
+        Conexion.closeDataSource();
+    }
+
+    @Benchmark
+    public List<Empleado> porNombre() throws Exception {
+        List<Empleado> lista = new ArrayList<>();
+        try (Connection con = Conexion.getConnection();
+             PreparedStatement ps = con.prepareStatement(LISTAR_TODO)) {
+            ps.setFetchSize(FETCH);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    lista.add(EmpleadoFactory.crearDesdeResultSet(rs));
+                }
+            }
+        }
+        return lista;
+    }
+
+    @Benchmark
+    public List<Empleado> compilado() throws Exception {
+        List<Empleado> lista = new ArrayList<>();
+        try (Connection con = Conexion.getConnection();
+             PreparedStatement ps = con.prepareStatement(LISTAR_COLUMNAS)) {
+            ps.setFetchSize(FETCH);
+            try (ResultSet rs = ps.executeQuery()) {
+                MapeadorFilas<Empleado> filas = mapeador.compilar(rs.getMetaData());
+                while (rs.next()) {
+                    lista.add(filas.mapear(rs));
+                }
+            }
+        }
+        return lista;
+    }
+
+    @Benchmark
+    public List<Empleado> dao() throws Exception {
+        return empleadosDAO.listar();
+    }
+}
@@ -0,0 +1,124 @@
+package com.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.model.AlmacenEmpleados;
+import com.model.ConsultaEmpleados;
+import com.model.Empleado;
+import com.service.IndiceEmpleados;
+
+/**
+ * Heap retenido por empleado al tener toda la plantilla en memoria (1.000.000 de empleados
+ * sintéticos de BaseDatosEmbebida, sin base de datos):
+ * - objetos: lo que guardaba IndiceEmpleados por empleado antes del almacén en columnas
+ *   (una copia Empleado con sus String, el nombre normalizado y la entrada dni -> id del TreeMap)
+ * - almacen: AlmacenEmpleados (DNI en un long, sexo en un byte, nombres en un byte[] compartido)
+ * - indice: IndiceEmpleados completo sobre el almacén, con sus índices por sexo, categoría,
+ *   años y trigramas (comparar con objetos más esos índices, que no han cambiado)
+ *
+ * El tiempo es el de la carga. Al final de cada iteración se imprime el heap ocupado tras GC
+ * por encima del de antes de cargar, dividido entre los empleados.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx3g"})
+public class MemoriaEmpleadosBenchmark {
+
+    @Param({"1000000"})
+    public int empleados;
+
+    @Param({"objetos", "almacen", "indice"})
+    public String representacion;
+
+    private final MemoryMXBean memoria = ManagementFactory.getMemoryMXBean();
+    private long heapAntes;
+    private Object retenido;
+
+    @Setup(Level.Iteration)
+    public void medirAntes() {
+        retenido = null;
+        heapAntes = heapTrasGc();
+    }
+
+    @TearDown(Level.Iteration)
+    public void medirDespues() {
+        long bytes = heapTrasGc() - heapAntes;
+        System.out.printf("%n%s: %d bytes por empleado (%d MB en total)%n",
+                representacion, bytes / empleados, bytes >> 20);
+        retenido = null;
+    }
+
+    private long heapTrasGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memoria.getHeapMemoryUsage().getUsed();
+    }
+
+    @Benchmark
+    public Object cargar() {
+        switch (representacion) {
+            case "objetos":
+                retenido = cargarObjetos();
+                break;
+            case "almacen":
+                AlmacenEmpleados almacen = new AlmacenEmpleados(empleados);
+                for (int i = 0; i < empleados; i++) {
+                    almacen.anyadir(empleado(i));
+                }
+                retenido = almacen;
+                break;
+            default:
+                IndiceEmpleados indice = new IndiceEmpleados();
+                for (int i = 0; i < empleados; i++) {
+                    indice.actualizar(empleado(i));
+                }
+                retenido = indice;
+        }
+        return retenido;
+    }
+
+    private Object[] cargarObjetos() {
+        List<Empleado> copias = new ArrayList<>();
+        List<String> nombres = new ArrayList<>();
+        TreeMap<String, Integer> porDni = new TreeMap<>();
+        for (int i = 0; i < empleados; i++) {
+            Empleado e = empleado(i);
+            porDni.put(e.getDni(), copias.size());
+            copias.add(e);
+            nombres.add(ConsultaEmpleados.normalizarTexto(e.getNombre()));
+        }
+        return new Object[] {copias, nombres, porDni};
+    }
+
+    /** Como llega de MapeadorEmpleados: String nuevos de nombre y DNI, sexo compartido */
+    private static Empleado empleado(int i) {
+        Empleado e = new Empleado(BaseDatosEmbebida.nombre(i), BaseDatosEmbebida.dni(i), i % 2 == 0 ? "M" : "F");
+        e.setCategoria(1 + i % 10);
+        e.setAnyos(i % 40);
+        e.setVersion(0);
+        return e;
+    }
+}
@@ -0,0 +1,98 @@
+package com.benchmark;
+
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.concurrent.TimeUnit;
+
+import org.h2.tools.SimpleResultSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.builder.EmpleadoBuilder;
+import com.exceptions.DatosNoCorrectosException;
+import com.factory.EmpleadoFactory;
+import com.model.Empleado;
+import com.model.Nomina;
+import com.util.ErrorHandler;
+
+/**
+ * Benchmarks de las rutas calientes sin base de datos:
+ * cálculo de sueldo, construcción de empleados y sanitización de errores.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModeloBenchmark {
+
+    private Nomina nomina;
+    private Empleado empleado;
+    private SimpleResultSet resultSet;
+
+    @Setup
+    public void preparar() throws DatosNoCorrectosException {
+        nomina = new Nomina();
+        empleado = new Empleado("Juan Pérez", "11111111A", "M", 4, 8);
+
+        // ResultSet sintético con una fila, igual que una fila de "SELECT * FROM empleados"
+        resultSet = new SimpleResultSet();
+        resultSet.addColumn("dni", Types.VARCHAR, 9, 0);
+        resultSet.addColumn("nombre", Types.VARCHAR, 100, 0);
+        resultSet.addColumn("sexo", Types.CHAR, 1, 0);
+        resultSet.addColumn("categoria", Types.INTEGER, 10, 0);
+        resultSet.addColumn("anyos", Types.INTEGER, 10, 0);
+        resultSet.addColumn("version", Types.INTEGER, 10, 0);
+        resultSet.addRow("11111111A", "Juan Pérez", "M", 4, 8, 0);
+        resultSet.setAutoClose(false);
+    }
+
+    @Benchmark
+    public double nominaSueldo() {
+        return nomina.sueldo(empleado);
+    }
+
+    @Benchmark
+    public Empleado factoryCrearDesdeResultSet() throws SQLException, DatosNoCorrectosException {
+        resultSet.beforeFirst();
+        resultSet.next();
+        return EmpleadoFactory.crearDesdeResultSet(resultSet);
+    }
+
+    @Benchmark
+    public Empleado builderBuild() throws DatosNoCorrectosException {
+        return EmpleadoBuilder.builder()
+                .nombre("Juan Pérez")
+                .dni("11111111A")
+                .sexo("M")
+                .categoria(4)
+                .anyos(8)
+                .build();
+    }
+
+    @Benchmark
+    public String errorHandlerSanitize(Mensajes mensajes) {
+        return ErrorHandler.sanitizeErrorMessage(mensajes.mensajeError);
+    }
+
+    /**
+     * Mensajes de cada rama de la sanitización: lista blanca, lista negra y genérico.
+     */
+    @State(Scope.Thread)
+    public static class Mensajes {
+        @Param({"Empleado no encontrado con DNI 12345678A",
+                "SQLException: Table 'nominas' doesn't exist",
+                "Fallo inesperado"})
+        public String mensajeError;
+    }
+}
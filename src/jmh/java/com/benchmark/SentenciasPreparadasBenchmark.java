@@ -0,0 +1,103 @@
+package com.benchmark;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.dao.SentenciasSQL;
+
+/**
+ * Coste de preparar las sentencias en cada llamada frente a reutilizarlas
+ * con el pool de PreparedStatement de DBCP2, con 8 hilos concurrentes
+ * pidiendo conexión al pool como hacen los DAOs.
+ * Por defecto usa H2 embebida; con -Dbench.db.url se mide contra un MariaDB real.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class SentenciasPreparadasBenchmark {
+
+    @Param({"false", "true"})
+    public boolean poolPreparedStatements;
+
+    @Param({"10000"})
+    public int empleados;
+
+    private BasicDataSource dataSource;
+
+    @Setup(Level.Trial)
+    public void preparar() throws Exception {
+        dataSource = new BasicDataSource();
+        String urlExterna = System.getProperty("bench.db.url");
+        if (urlExterna != null) {
+            // Contra un MariaDB real (-Dbench.db.url=jdbc:mariadb://...?useServerPrepStmts=true),
+            // donde preparar una sentencia es un viaje de red al servidor
+            dataSource.setUrl(urlExterna);
+            dataSource.setUsername(System.getProperty("bench.db.username", "root"));
+            dataSource.setPassword(System.getProperty("bench.db.password", ""));
+        } else {
+            BaseDatosEmbebida.iniciar(empleados);
+            dataSource.setDriverClassName("org.h2.Driver");
+            // Sin la caché de consultas de H2, cada prepareStatement analiza el SQL como haría
+            // un servidor sin sentencias preparadas en caché
+            dataSource.setUrl(BaseDatosEmbebida.URL + ";QUERY_CACHE_SIZE=0");
+            dataSource.setUsername(System.getProperty("db.username"));
+            dataSource.setPassword(System.getProperty("db.password"));
+        }
+        dataSource.setMaxTotal(8);
+        dataSource.setMaxIdle(8);
+        dataSource.setPoolPreparedStatements(poolPreparedStatements);
+        dataSource.setMaxOpenPreparedStatements(100);
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() throws Exception {
+        dataSource.close();
+    }
+
+    @Benchmark
+    public String empleadoPorDni() throws Exception {
+        String dni = BaseDatosEmbebida.dni(ThreadLocalRandom.current().nextInt(empleados));
+        try (Connection con = dataSource.getConnection();
+             PreparedStatement ps = con.prepareStatement(SentenciasSQL.EMPLEADO_POR_DNI)) {
+            ps.setString(1, dni);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getString("nombre") : null;
+            }
+        }
+    }
+
+    @Benchmark
+    public String nominasConEmpleadosPrimeraFila() throws Exception {
+        // Sentencia con JOIN: más cara de analizar que la búsqueda por clave
+        try (Connection con = dataSource.getConnection();
+             PreparedStatement ps = con.prepareStatement(SentenciasSQL.NOMINAS_CON_EMPLEADOS)) {
+            ps.setMaxRows(1);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getString("dni") : null;
+            }
+        }
+    }
+}
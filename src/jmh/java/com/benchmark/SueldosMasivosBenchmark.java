@@ -0,0 +1,91 @@
+package com.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.conexion.Conexion;
+import com.dao.NominasDAO;
+import com.model.RegistroNomina;
+import com.model.SueldosPorDni;
+
+/**
+ * Sueldos de miles de DNI (exportaciones de nómina): una consulta por DNI frente a
+ * NominasDAO.obtenerSueldos con bloques "IN (...)" de distintos tamaños, sin latencia
+ * y con una latencia simulada por sentencia (LatenciaDriver).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class SueldosMasivosBenchmark {
+
+    @Param({"100000"})
+    public int empleados;
+
+    @Param({"2000"})
+    public int dnis;
+
+    @Param({"100", "1000"})
+    public int tamanyoBloque;
+
+    @Param({"0", "1"})
+    public int latenciaMs;
+
+    private NominasDAO nominasDAO;
+    private List<String> consulta;
+
+    @Setup(Level.Trial)
+    public void preparar() throws Exception {
+        BaseDatosEmbebida.iniciar(empleados);
+        System.setProperty("db.driver", LatenciaDriver.class.getName());
+        System.setProperty("db.url", LatenciaDriver.url(latenciaMs, BaseDatosEmbebida.URL));
+        nominasDAO = new NominasDAO();
+
+        // DNI dispersos por toda la plantilla, en orden aleatorio como llegarían de RRHH
+        Random aleatorio = new Random(42);
+        consulta = new ArrayList<>(dnis);
+        for (int i = 0; i < dnis; i++) {
+            consulta.add(BaseDatosEmbebida.dni(aleatorio.nextInt(empleados)));
+        }
+        Collections.shuffle(consulta, aleatorio);
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() throws Exception {
+        Conexion.closeDataSource();
+    }
+
+    @Benchmark
+    public SueldosPorDni obtenerSueldosPorBloques() throws Exception {
+        return nominasDAO.obtenerSueldos(consulta, tamanyoBloque);
+    }
+
+    /** Ruta anterior: obtenerNomina por cada DNI (un viaje y un préstamo de conexión por DNI) */
+    @Benchmark
+    public void obtenerNominaPorDni(Blackhole bh) throws Exception {
+        for (String dni : consulta) {
+            RegistroNomina registro = nominasDAO.obtenerNomina(dni);
+            bh.consume(registro != null ? registro.getSueldo() : 0.0);
+        }
+    }
+}
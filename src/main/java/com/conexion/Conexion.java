@@ -1,84 +1,94 @@
 package com.conexion;
  
-import java.io.IOException;
-import java.io.InputStream;
+import java.lang.management.ManagementFactory;
 import java.sql.Connection;
 import java.sql.SQLException;
-import java.util.Properties;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Level;
+import java.util.logging.Logger;
  
-import javax.sql.DataSource;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
  
-import org.apache.commons.dbcp2.BasicDataSource;
+import com.util.Configuracion;
  
 /**
  * Patrón Singleton (thread-safe) para gestión de conexiones a base de datos.
  * Implementa inicialización perezosa con doble verificación.
- * Configuración externalizada desde application.properties.
+ * Configuración externalizada desde application.properties (vía Configuracion).
+ * Publica las métricas del pool por JMX (com.empresa:type=PoolConexiones).
  */
 public class Conexion {
     
+    private static final String NOMBRE_JMX = "com.empresa:type=PoolConexiones";
+    
+    private static final Logger LOG = Logger.getLogger(Conexion.class.getName());
+    
     // Instancia única del DataSource (volatile para thread-safety)
-    private static volatile BasicDataSource dataSource = null;
+    private static volatile PoolConexiones dataSource = null;
+    
+    // Métricas del pool, creadas junto al DataSource
+    private static volatile EstadisticasPool estadisticas = null;
     
-    // Propiedades de configuración
-    private static Properties properties = null;
+    // Trabajos pendientes que se terminan antes de cerrar el pool, en orden de registro
+    private static final List<TareaCierre> alCerrar = new CopyOnWriteArrayList<>();
     
     // Constructor privado para evitar instanciación
     private Conexion() {
         throw new IllegalStateException("Clase de utilidad - no instanciable");
     }
     
-    /**
-     * Carga las propiedades de configuración desde application.properties
-     * @return Properties con la configuración
-     */
-    private static Properties loadProperties() {
-        if (properties == null) {
-            synchronized (Conexion.class) {
-                if (properties == null) {
-                    properties = new Properties();
-                    try (InputStream input = Conexion.class.getClassLoader()
-                            .getResourceAsStream("application.properties")) {
-                        if (input == null) {
-                            throw new RuntimeException("No se encontró application.properties");
-                        }
-                        properties.load(input);
-                    } catch (IOException ex) {
-                        throw new RuntimeException("Error cargando configuración", ex);
-                    }
-                }
-            }
-        }
-        return properties;
-    }
-    
     /**
      * Obtiene el DataSource único (Singleton con double-check locking)
      * Configuración desde application.properties
      * @return DataSource configurado
      */
-    private static DataSource getDataSource() {
+    private static PoolConexiones getDataSource() {
         if (dataSource == null) {
             synchronized (Conexion.class) {
                 if (dataSource == null) {
-                    Properties props = loadProperties();
-                    
-                    dataSource = new BasicDataSource();
-                    dataSource.setDriverClassName(props.getProperty("db.driver"));
-                    dataSource.setUsername(props.getProperty("db.username"));
-                    dataSource.setPassword(props.getProperty("db.password"));
-                    dataSource.setUrl(props.getProperty("db.url"));
+                    PoolConexiones ds = new PoolConexiones();
+                    ds.setDriverClassName(Configuracion.get("db.driver", null));
+                    ds.setUsername(Configuracion.get("db.username", null));
+                    ds.setPassword(Configuracion.get("db.password", null));
+                    ds.setUrl(Configuracion.get("db.url", null));
                     
                     // Pool configuration
-                    dataSource.setInitialSize(Integer.parseInt(
-                        props.getProperty("db.pool.initialSize", "5")));
-                    dataSource.setMaxIdle(Integer.parseInt(
-                        props.getProperty("db.pool.maxIdle", "10")));
-                    dataSource.setMaxTotal(Integer.parseInt(
-                        props.getProperty("db.pool.maxTotal", "20")));
-                    dataSource.setMinIdle(Integer.parseInt(
-                        props.getProperty("db.pool.minIdle", "5")));
-                    dataSource.setMaxWaitMillis(5000);
+                    ds.setInitialSize(Configuracion.getInt("db.pool.initialSize", 5));
+                    ds.setMaxIdle(Configuracion.getInt("db.pool.maxIdle", 10));
+                    ds.setMaxTotal(Configuracion.getInt("db.pool.maxTotal", 20));
+                    ds.setMinIdle(Configuracion.getInt("db.pool.minIdle", 5));
+                    ds.setMaxWaitMillis(Configuracion.getLong("db.pool.maxWaitMillis", 5000));
+                    
+                    // Plazo máximo de cada sentencia en segundos (0 = sin plazo)
+                    int plazoSentencias = Configuracion.getInt("db.pool.defaultQueryTimeoutSeconds", 0);
+                    if (plazoSentencias > 0) {
+                        ds.setDefaultQueryTimeout(plazoSentencias);
+                    }
+                    
+                    // Validación de conexiones
+                    String validationQuery = Configuracion.get("db.pool.validationQuery", null);
+                    if (validationQuery != null) {
+                        ds.setValidationQuery(validationQuery);
+                        ds.setValidationQueryTimeout(Configuracion.getInt("db.pool.validationQueryTimeout", 5));
+                    }
+                    ds.setTestOnBorrow(Configuracion.getBoolean("db.pool.testOnBorrow", true));
+                    ds.setTestWhileIdle(Configuracion.getBoolean("db.pool.testWhileIdle", false));
+                    
+                    // Expulsión de conexiones inactivas (-1 = sin hilo de expulsión)
+                    ds.setTimeBetweenEvictionRunsMillis(
+                        Configuracion.getLong("db.pool.timeBetweenEvictionRunsMillis", -1));
+                    ds.setMinEvictableIdleTimeMillis(
+                        Configuracion.getLong("db.pool.minEvictableIdleTimeMillis", 1800000));
+                    
+                    // Pool de PreparedStatement por conexión
+                    ds.setPoolPreparedStatements(Configuracion.getBoolean("db.pool.poolPreparedStatements", false));
+                    ds.setMaxOpenPreparedStatements(Configuracion.getInt("db.pool.maxOpenPreparedStatements", -1));
+                    
+                    estadisticas = new EstadisticasPool(ds);
+                    registrarJmx(estadisticas);
+                    dataSource = ds;
                 }
             }
         }
@@ -91,21 +101,101 @@ public class Conexion {
      * @throws SQLException si hay error al obtener la conexión
      */
     public static Connection getConnection() throws SQLException {
-        return getDataSource().getConnection();
+        PoolConexiones ds = getDataSource();
+        long inicio = System.nanoTime();
+        Connection con = ds.getConnection();
+        EstadisticasPool est = estadisticas;
+        if (est != null) {
+            est.registrarEspera(System.nanoTime() - inicio);
+        }
+        return con;
     }
     
     /**
-     * Cierra el DataSource y libera recursos
-     * @throws SQLException si hay error al cerrar
+     * Obtiene las métricas del pool (crea el pool si aún no existe)
+     * @return Estadísticas del pool de conexiones
+     */
+    public static EstadisticasPool getEstadisticas() {
+        getDataSource();
+        return estadisticas;
+    }
+    
+    /**
+     * Registra un trabajo que closeDataSource ejecuta antes de cerrar el pool.
+     * Sigue registrado después: si el pool se vuelve a crear, se ejecuta también en el siguiente cierre
+     * @param tarea Trabajo con el pool aún abierto (p. ej. escribir lo pendiente)
+     */
+    public static void alCerrar(TareaCierre tarea) {
+        alCerrar.add(tarea);
+    }
+    
+    /**
+     * Ejecuta las tareas registradas con alCerrar y cierra el DataSource.
+     * Si alguna tarea falla el pool se cierra igualmente y se lanza su error
+     * @throws SQLException si hay error en una tarea o al cerrar
      */
     public static void closeDataSource() throws SQLException {
         if (dataSource != null) {
             synchronized (Conexion.class) {
                 if (dataSource != null) {
+                    SQLException error = ejecutarTareasCierre();
                     dataSource.close();
                     dataSource = null;
+                    desregistrarJmx();
+                    estadisticas = null;
+                    if (error != null) {
+                        throw error;
+                    }
+                }
+            }
+        }
+    }
+    
+    /**
+     * @return Primer error de las tareas (con los demás como suprimidos) o null si todas terminaron
+     */
+    private static SQLException ejecutarTareasCierre() {
+        SQLException error = null;
+        for (TareaCierre tarea : alCerrar) {
+            try {
+                tarea.ejecutar();
+            } catch (SQLException | RuntimeException ex) {
+                SQLException e = ex instanceof SQLException ? (SQLException) ex
+                        : new SQLException("Falló una tarea de cierre del pool", ex);
+                if (error == null) {
+                    error = e;
+                } else {
+                    error.addSuppressed(e);
                 }
             }
         }
+        return error;
+    }
+    
+    private static void registrarJmx(EstadisticasPool mbean) {
+        try {
+            MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+            ObjectName nombre = new ObjectName(NOMBRE_JMX);
+            // Tras un redespliegue puede quedar registrado el de la instancia anterior
+            if (servidor.isRegistered(nombre)) {
+                servidor.unregisterMBean(nombre);
+            }
+            servidor.registerMBean(mbean, nombre);
+        } catch (Exception ex) {
+            // Las métricas JMX no deben impedir el acceso a la base de datos
+            LOG.log(Level.WARNING, "No se pudo registrar el MBean del pool", ex);
+        }
+    }
+    
+    private static void desregistrarJmx() {
+        try {
+            MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+            ObjectName nombre = new ObjectName(NOMBRE_JMX);
+            if (servidor.isRegistered(nombre)) {
+                servidor.unregisterMBean(nombre);
+            }
+        } catch (Exception ex) {
+            LOG.log(Level.WARNING, "No se pudo desregistrar el MBean del pool", ex);
+        }
     }
 }
@@ -0,0 +1,166 @@
+package com.conexion;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import com.util.Histograma;
+
+/**
+ * Métricas del pool de conexiones: ocupación, esperas al pedir conexión
+ * (con histograma), tasas de préstamo/devolución y conexiones creadas/destruidas.
+ * Se publica por JMX y en la ruta /app/admin/pool del FrontController.
+ */
+public class EstadisticasPool implements EstadisticasPoolMXBean {
+
+    // Una espera más larga que esto indica que no había conexión libre en el pool
+    private static final long UMBRAL_ESPERA_NANOS = 1_000_000;
+
+    private final PoolConexiones pool;
+    private final long inicio = System.nanoTime();
+    private final Histograma esperas = new Histograma();
+    private final LongAdder esperasLargas = new LongAdder();
+
+    EstadisticasPool(PoolConexiones pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Registra el tiempo que tardó getConnection() en entregar una conexión
+     * @param nanos Tiempo de espera en nanosegundos
+     */
+    void registrarEspera(long nanos) {
+        esperas.registrarNanos(nanos);
+        if (nanos > UMBRAL_ESPERA_NANOS) {
+            esperasLargas.increment();
+        }
+    }
+
+    private double porSegundo(long valor) {
+        double segundos = (System.nanoTime() - inicio) / 1_000_000_000.0;
+        return segundos <= 0 ? 0 : valor / segundos;
+    }
+
+    @Override
+    public int getConexionesActivas() {
+        return pool.getNumActive();
+    }
+
+    @Override
+    public int getConexionesInactivas() {
+        return pool.getNumIdle();
+    }
+
+    @Override
+    public int getMaximoConexiones() {
+        return pool.getMaxTotal();
+    }
+
+    @Override
+    public int getHilosEsperando() {
+        return pool.getEsperando();
+    }
+
+    @Override
+    public long getPrestamos() {
+        return pool.getPrestadas();
+    }
+
+    @Override
+    public long getDevoluciones() {
+        return pool.getDevueltas();
+    }
+
+    @Override
+    public long getEsperas() {
+        return esperasLargas.sum();
+    }
+
+    @Override
+    public long getConexionesCreadas() {
+        return pool.getCreadas();
+    }
+
+    @Override
+    public long getConexionesDestruidas() {
+        return pool.getDestruidas();
+    }
+
+    @Override
+    public double getPrestamosPorSegundo() {
+        return porSegundo(getPrestamos());
+    }
+
+    @Override
+    public double getDevolucionesPorSegundo() {
+        return porSegundo(getDevoluciones());
+    }
+
+    @Override
+    public double getEsperaMediaMs() {
+        return esperas.getMediaMs();
+    }
+
+    @Override
+    public double getEsperaMaximaMs() {
+        return esperas.getMaximoMs();
+    }
+
+    @Override
+    public double getEsperaP95Ms() {
+        return esperas.getPercentilMs(95);
+    }
+
+    @Override
+    public double[] getHistogramaEsperaLimitesMs() {
+        return esperas.getLimitesMs();
+    }
+
+    @Override
+    public long[] getHistogramaEsperaConteos() {
+        return esperas.getConteos();
+    }
+
+    /**
+     * @return Estado del pool en formato JSON
+     */
+    public String toJson() {
+        return new StringBuilder(512)
+            .append("{\"conexionesActivas\":").append(getConexionesActivas())
+            .append(",\"conexionesInactivas\":").append(getConexionesInactivas())
+            .append(",\"maximoConexiones\":").append(getMaximoConexiones())
+            .append(",\"hilosEsperando\":").append(getHilosEsperando())
+            .append(",\"prestamos\":").append(getPrestamos())
+            .append(",\"devoluciones\":").append(getDevoluciones())
+            .append(",\"esperas\":").append(getEsperas())
+            .append(",\"conexionesCreadas\":").append(getConexionesCreadas())
+            .append(",\"conexionesDestruidas\":").append(getConexionesDestruidas())
+            .append(",\"prestamosPorSegundo\":").append(getPrestamosPorSegundo())
+            .append(",\"devolucionesPorSegundo\":").append(getDevolucionesPorSegundo())
+            .append(",\"espera\":").append(esperas.toJson())
+            .append('}')
+            .toString();
+    }
+    
+    /**
+     * @return Estado del pool en formato de texto Prometheus
+     */
+    public String toPrometheus() {
+        StringBuilder sb = new StringBuilder(1024);
+        metrica(sb, "empresa_pool_conexiones_activas", "gauge", getConexionesActivas());
+        metrica(sb, "empresa_pool_conexiones_inactivas", "gauge", getConexionesInactivas());
+        metrica(sb, "empresa_pool_conexiones_maximo", "gauge", getMaximoConexiones());
+        metrica(sb, "empresa_pool_hilos_esperando", "gauge", getHilosEsperando());
+        metrica(sb, "empresa_pool_prestamos_total", "counter", getPrestamos());
+        metrica(sb, "empresa_pool_devoluciones_total", "counter", getDevoluciones());
+        metrica(sb, "empresa_pool_esperas_total", "counter", getEsperas());
+        metrica(sb, "empresa_pool_conexiones_creadas_total", "counter", getConexionesCreadas());
+        metrica(sb, "empresa_pool_conexiones_destruidas_total", "counter", getConexionesDestruidas());
+        sb.append("# TYPE empresa_pool_espera_segundos histogram\n");
+        esperas.escribirPrometheus(sb, "empresa_pool_espera_segundos", "");
+        return sb.toString();
+    }
+    
+    private static void metrica(StringBuilder sb, String nombre, String tipo, long valor) {
+        sb.append("# TYPE ").append(nombre).append(' ').append(tipo).append('\n')
+          .append(nombre).append(' ').append(valor).append('\n');
+    }
+}
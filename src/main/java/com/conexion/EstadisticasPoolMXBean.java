@@ -0,0 +1,43 @@
+package com.conexion;
+
+/**
+ * Interfaz JMX con el estado del pool de conexiones.
+ * Registrada como com.empresa:type=PoolConexiones (visible en JConsole / VisualVM).
+ */
+public interface EstadisticasPoolMXBean {
+
+    int getConexionesActivas();
+
+    int getConexionesInactivas();
+
+    int getMaximoConexiones();
+
+    int getHilosEsperando();
+
+    long getPrestamos();
+
+    long getDevoluciones();
+
+    /** Préstamos cuya espera superó el umbral (el pool no tenía conexión libre al momento) */
+    long getEsperas();
+
+    long getConexionesCreadas();
+
+    long getConexionesDestruidas();
+
+    double getPrestamosPorSegundo();
+
+    double getDevolucionesPorSegundo();
+
+    double getEsperaMediaMs();
+
+    double getEsperaMaximaMs();
+
+    double getEsperaP95Ms();
+
+    /** Límites superiores (ms) de las cubetas del histograma de espera */
+    double[] getHistogramaEsperaLimitesMs();
+
+    /** Conteo de cada cubeta del histograma de espera (la última es +Inf) */
+    long[] getHistogramaEsperaConteos();
+}
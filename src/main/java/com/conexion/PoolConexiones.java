@@ -0,0 +1,36 @@
+package com.conexion;
+
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.apache.commons.pool2.impl.GenericObjectPool;
+
+/**
+ * BasicDataSource que expone los contadores internos del pool (creadas, destruidas,
+ * prestadas, devueltas, hilos en espera), que DBCP2 sólo ofrece a subclases.
+ */
+class PoolConexiones extends BasicDataSource {
+
+    long getCreadas() {
+        GenericObjectPool<?> pool = getConnectionPool();
+        return pool == null ? 0 : pool.getCreatedCount();
+    }
+
+    long getDestruidas() {
+        GenericObjectPool<?> pool = getConnectionPool();
+        return pool == null ? 0 : pool.getDestroyedCount();
+    }
+
+    long getPrestadas() {
+        GenericObjectPool<?> pool = getConnectionPool();
+        return pool == null ? 0 : pool.getBorrowedCount();
+    }
+
+    long getDevueltas() {
+        GenericObjectPool<?> pool = getConnectionPool();
+        return pool == null ? 0 : pool.getReturnedCount();
+    }
+
+    int getEsperando() {
+        GenericObjectPool<?> pool = getConnectionPool();
+        return pool == null ? 0 : pool.getNumWaiters();
+    }
+}
@@ -0,0 +1,16 @@
+package com.conexion;
+
+import java.sql.SQLException;
+
+/**
+ * Trabajo que debe hacerse con el pool aún abierto antes de cerrarlo
+ * (p. ej. escribir lo que un componente tenga pendiente). Se registra con Conexion.alCerrar.
+ */
+public interface TareaCierre {
+
+    /**
+     * Se ejecuta en el hilo que llama a Conexion.closeDataSource, antes de cerrar el pool
+     * @throws SQLException si falla; el pool se cierra igualmente y el error se relanza
+     */
+    void ejecutar() throws SQLException;
+}
@@ -20,9 +20,24 @@ CREATE TABLE empleados (
   sexo CHAR(1) NOT NULL CHECK (sexo IN ('M','F')),
   categoria INT NOT NULL CHECK (categoria BETWEEN 1 AND 10),
   anyos INT NOT NULL CHECK (anyos >= 0),
+  -- Control de concurrencia optimista: cada UPDATE la incrementa y sólo se aplica
+  -- si sigue siendo la versión leída (EmpleadosDAO.actualizarTodos)
+  version INT NOT NULL DEFAULT 0,
   PRIMARY KEY (dni)
 );
 
+-- Migración de una base de datos existente:
+-- ALTER TABLE empleados ADD COLUMN version INT NOT NULL DEFAULT 0;
+
+-- Índices de búsqueda (EmpleadosDAO.buscarPorCriterio).
+-- Terminan en dni para que la paginación por clave (dni > ? ORDER BY dni) recorra el índice en orden.
+CREATE INDEX idx_empleados_sexo ON empleados (sexo, dni);
+CREATE INDEX idx_empleados_categoria ON empleados (categoria, dni);
+CREATE INDEX idx_empleados_anyos ON empleados (anyos, dni);
+CREATE INDEX idx_empleados_nombre ON empleados (nombre);
+-- Búsqueda por palabras del nombre (busqueda.nombre.modo=fulltext)
+CREATE FULLTEXT INDEX ft_empleados_nombre ON empleados (nombre);
+
 -- ==========================================================
 --  TABLA NOMINAS
 -- ==========================================================
@@ -37,6 +52,38 @@ CREATE TABLE nominas (
     ON UPDATE CASCADE
 );
 
+-- ==========================================================
+--  TABLA ESCALAS_SALARIALES
+-- ==========================================================
+-- Única definición de la escala: sueldo = sueldo_base de la categoría + incremento_anyo * anyos.
+-- Vigente la de mayor versión. Una escala nueva se inserta completa con la versión siguiente
+-- (nunca se modifican las filas de una versión): el trigger la usa en la siguiente actualización
+-- y la aplicación la recarga en caliente (RecargaEscalaSalarial, nominas.escala.recargaSegundos).
+DROP TABLE IF EXISTS escalas_salariales;
+
+CREATE TABLE escalas_salariales (
+  version INT NOT NULL CHECK (version > 0),
+  categoria INT NOT NULL CHECK (categoria >= 1),
+  sueldo_base DOUBLE NOT NULL CHECK (sueldo_base >= 0),
+  incremento_anyo DOUBLE NOT NULL CHECK (incremento_anyo >= 0),
+  PRIMARY KEY (version, categoria)
+);
+
+INSERT INTO escalas_salariales (version, categoria, sueldo_base, incremento_anyo) VALUES
+(1, 1, 50000, 5000),
+(1, 2, 70000, 5000),
+(1, 3, 90000, 5000),
+(1, 4, 110000, 5000),
+(1, 5, 130000, 5000),
+(1, 6, 150000, 5000),
+(1, 7, 170000, 5000),
+(1, 8, 190000, 5000),
+(1, 9, 210000, 5000),
+(1, 10, 230000, 5000);
+
+-- Migración de una base de datos existente: crear la tabla con sus datos y sustituir el trigger
+-- (DROP TRIGGER recalcular_sueldo; y la definición de más abajo).
+
 -- ==========================================================
 --  DATOS DE PRUEBA (empleados)
 -- ==========================================================
@@ -50,8 +97,7 @@ INSERT INTO empleados (dni, nombre, sexo, categoria, anyos) VALUES
 -- ==========================================================
 --  NOMINAS (calculadas según Nomina.java)
 -- ==========================================================
--- Sueldo = SUELDO_BASE[categoria - 1] + (5000 * anyos)
--- SUELDO_BASE = {50000, 70000, 90000, 110000, 130000, 150000, 170000, 190000, 210000, 230000}
+-- Sueldo = sueldo_base de la categoría + (incremento_anyo * anyos), escala versión 1
 
 INSERT INTO nominas (dni, sueldo) VALUES
 ('11111111A', 110000 + (8 * 5000)),   -- categoría 4
@@ -63,30 +109,31 @@ INSERT INTO nominas (dni, sueldo) VALUES
 -- ==========================================================
 --  TRIGGER: recalcular sueldo al actualizar empleado
 -- ==========================================================
+-- Único cálculo del sueldo al actualizar: la aplicación no escribe nominas en las
+-- actualizaciones. Sólo se toca nominas si cambian categoría o años.
+-- Lee la escala vigente de escalas_salariales, la misma que carga CalculadoraSueldos.
 DELIMITER //
 
 CREATE TRIGGER recalcular_sueldo
 AFTER UPDATE ON empleados
 FOR EACH ROW
 BEGIN
-    DECLARE base INT;
-    DECLARE nuevo_sueldo DOUBLE;
+    DECLARE nuevo_sueldo DOUBLE DEFAULT NULL;
+    
+    IF NEW.categoria <> OLD.categoria OR NEW.anyos <> OLD.anyos THEN
+        -- Dos búsquedas por la clave primaria: MAX(version) y la fila (version, categoria)
+        SELECT e.sueldo_base + (e.incremento_anyo * NEW.anyos) INTO nuevo_sueldo
+          FROM escalas_salariales e
+         WHERE e.version = (SELECT MAX(version) FROM escalas_salariales)
+           AND e.categoria = NEW.categoria;
     
-    CASE NEW.categoria
-        WHEN 1 THEN SET base = 50000;
-        WHEN 2 THEN SET base = 70000;
-        WHEN 3 THEN SET base = 90000;
-        WHEN 4 THEN SET base = 110000;
-        WHEN 5 THEN SET base = 130000;
-        WHEN 6 THEN SET base = 150000;
-        WHEN 7 THEN SET base = 170000;
-        WHEN 8 THEN SET base = 190000;
-        WHEN 9 THEN SET base = 210000;
-        WHEN 10 THEN SET base = 230000;
-    END CASE;
+        IF nuevo_sueldo IS NULL THEN
+            SIGNAL SQLSTATE '45000'
+                SET MESSAGE_TEXT = 'La categoría no existe en la escala salarial vigente';
+        END IF;
     
-    SET nuevo_sueldo = base + (NEW.anyos * 5000);
-    UPDATE nominas SET sueldo = nuevo_sueldo WHERE dni = NEW.dni;
+        UPDATE nominas SET sueldo = nuevo_sueldo WHERE dni = NEW.dni;
+    END IF;
 END //
 
 DELIMITER ;
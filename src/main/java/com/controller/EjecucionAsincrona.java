@@ -0,0 +1,281 @@
+package com.controller;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Procesamiento asíncrono de peticiones (Servlet 3.x startAsync) en un ejecutor acotado.
+ * El hilo del contenedor sólo encola la petición y queda libre; el trabajo con la base de
+ * datos se hace en un hilo del ejecutor. La vista JSP no se renderiza en ese hilo: el forward
+ * del controlador se anota (PeticionMedida.diferirVistas) y se continúa con AsyncContext.dispatch,
+ * como define la especificación para seguir con una vista fuera del hilo del contenedor.
+ *
+ * El plazo es de espera en la cola y lo vigila un hilo propio, no el timeout del AsyncContext
+ * (que obliga a terminar la respuesta en onTimeout y llevaría a bloquear un hilo del contenedor):
+ * - Cola llena: 503 inmediato con Retry-After, sin llegar a la base de datos.
+ * - Espera agotada en la cola: 503 y la petición no llega a ejecutarse.
+ * - Una petición que ya ha empezado no tiene plazo aquí: no se puede abandonar una respuesta
+ *   a medio escribir sin que el hilo del ejecutor siga usándola. Lo que dura cada sentencia
+ *   se acota con db.pool.defaultQueryTimeoutSeconds.
+ * Una excepción que escapa de la tarea se registra y, si la respuesta no se ha enviado, se responde 500.
+ */
+final class EjecucionAsincrona {
+
+    private static final int EN_COLA = 0;
+    private static final int EJECUTANDO = 1;
+    private static final int TERMINADA = 2;
+
+    /**
+     * Trabajo de una petición
+     */
+    interface Tarea {
+        /**
+         * @return true si la petición terminó en error
+         */
+        boolean ejecutar() throws ServletException, IOException;
+    }
+
+    private final ThreadPoolExecutor ejecutor;
+    private final ScheduledThreadPoolExecutor plazos;
+    private final long esperaMaxMs;
+    private final BiConsumer<String, Throwable> registro;
+
+    private final LongAdder aceptadas = new LongAdder();
+    private final LongAdder rechazadas = new LongAdder();
+    private final LongAdder expiradas = new LongAdder();
+    private final LongAdder fallidas = new LongAdder();
+
+    /**
+     * @param hilos Hilos del ejecutor (lo razonable es el tamaño del pool de conexiones)
+     * @param capacidadCola Peticiones que pueden esperar antes de responder 503
+     * @param esperaMaxMs Espera máxima de cada petición en la cola antes de empezar
+     * @param registro Destino de las excepciones que escapan de una tarea (p. ej. GenericServlet.log)
+     */
+    EjecucionAsincrona(int hilos, int capacidadCola, long esperaMaxMs, BiConsumer<String, Throwable> registro) {
+        this.esperaMaxMs = esperaMaxMs;
+        this.registro = registro;
+        AtomicInteger contador = new AtomicInteger();
+        this.ejecutor = new ThreadPoolExecutor(hilos, hilos, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(capacidadCola),
+                r -> {
+                    Thread hilo = new Thread(r, "peticiones-" + contador.incrementAndGet());
+                    hilo.setDaemon(true);
+                    return hilo;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.plazos = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread hilo = new Thread(r, "peticiones-plazo");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        // Casi todas las peticiones terminan antes del plazo: su aviso se quita al cancelarlo
+        this.plazos.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Pasa la petición a modo asíncrono y encola su trabajo
+     * @param peticion Petición (la que verá la tarea); sus forward a vistas se difieren
+     * @param response Respuesta
+     * @param tarea Trabajo a ejecutar en el ejecutor
+     * @param alTerminar Se invoca una sola vez al terminar (tras la vista si la hay),
+     *        con true si hubo error (también con 503)
+     */
+    void ejecutar(PeticionMedida peticion, HttpServletResponse response,
+                  Tarea tarea, Consumer<Boolean> alTerminar) {
+        AsyncContext contexto = peticion.startAsync(peticion, response);
+        // Sin timeout del contenedor: el plazo lo vigila "plazos"
+        contexto.setTimeout(0);
+
+        EnCurso enCurso = new EnCurso(peticion, response, contexto, tarea, alTerminar);
+        contexto.addListener(enCurso);
+        enCurso.plazo = plazos.schedule(enCurso::expirar, esperaMaxMs, TimeUnit.MILLISECONDS);
+        try {
+            ejecutor.execute(enCurso);
+            aceptadas.increment();
+        } catch (RejectedExecutionException e) {
+            enCurso.plazo.cancel(false);
+            if (!enCurso.estado.compareAndSet(EN_COLA, TERMINADA)) {
+                return; // Ya expiró y se respondió 503
+            }
+            rechazadas.increment();
+            enCurso.responderNoDisponible("Servidor ocupado, inténtelo de nuevo");
+        }
+    }
+
+    /**
+     * Una petición asíncrona: su trabajo en el ejecutor, su plazo y el aviso al terminar
+     */
+    private final class EnCurso implements Runnable, AsyncListener {
+
+        private final PeticionMedida peticion;
+        private final HttpServletResponse response;
+        private final AsyncContext contexto;
+        private final Tarea tarea;
+        private final Consumer<Boolean> alTerminar;
+
+        private final AtomicInteger estado = new AtomicInteger(EN_COLA);
+        private final AtomicBoolean avisada = new AtomicBoolean();
+        private volatile ScheduledFuture<?> plazo;
+        // Escritos antes de dispatch y leídos en onComplete (dispatch ordena ambos accesos)
+        private long inicioVista;
+        private boolean error;
+
+        EnCurso(PeticionMedida peticion, HttpServletResponse response, AsyncContext contexto,
+                Tarea tarea, Consumer<Boolean> alTerminar) {
+            this.peticion = peticion;
+            this.response = response;
+            this.contexto = contexto;
+            this.tarea = tarea;
+            this.alTerminar = alTerminar;
+        }
+
+        @Override
+        public void run() {
+            if (!estado.compareAndSet(EN_COLA, EJECUTANDO)) {
+                return; // Expiró en la cola y ya se respondió 503
+            }
+            plazo.cancel(false);
+            peticion.diferirVistas();
+            error = true;
+            try {
+                error = tarea.ejecutar();
+            } catch (Exception | Error e) {
+                fallidas.increment();
+                registro.accept("Error en petición asíncrona " + peticion.getRequestURI() + ": " + e.getMessage(), e);
+                responderError();
+            } finally {
+                estado.set(TERMINADA);
+                String vista = peticion.getVistaDiferida();
+                if (vista != null && !response.isCommitted()) {
+                    // La vista se muestra en un hilo del contenedor; se avisa en onComplete
+                    inicioVista = System.nanoTime();
+                    contexto.dispatch(vista);
+                } else {
+                    try {
+                        avisar(error);
+                    } finally {
+                        contexto.complete();
+                    }
+                }
+            }
+        }
+
+        /**
+         * Espera agotada: si sigue en la cola se responde 503 y no llega a ejecutarse
+         * (si ya ha empezado, run ha cancelado el plazo y esto no hace nada)
+         */
+        void expirar() {
+            if (estado.compareAndSet(EN_COLA, TERMINADA)) {
+                expiradas.increment();
+                ejecutor.remove(this);
+                responderNoDisponible("Tiempo de espera agotado");
+            }
+        }
+
+        /**
+         * 500 si aún no se ha enviado nada; si no, la respuesta queda cortada
+         */
+        private void responderError() {
+            if (response.isCommitted()) {
+                return;
+            }
+            try {
+                response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            } catch (IOException ignorada) {
+                // El cliente ya no está: no hay a quién responder
+            }
+        }
+
+        void responderNoDisponible(String mensaje) {
+            try {
+                EjecucionAsincrona.responderNoDisponible(response, mensaje);
+            } catch (IOException ignorada) {
+                // El cliente ya no está: no hay a quién responder
+            }
+            avisar(true);
+            contexto.complete();
+        }
+
+        private void avisar(boolean conError) {
+            if (avisada.compareAndSet(false, true)) {
+                alTerminar.accept(conError);
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            if (inicioVista != 0) {
+                peticion.sumarVistaNanos(System.nanoTime() - inicioVista);
+            }
+            avisar(error);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            // El cliente se fue o falló la vista: onComplete llega después
+            error = true;
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+
+    private static void responderNoDisponible(HttpServletResponse response, String mensaje) throws IOException {
+        if (!response.isCommitted()) {
+            response.setHeader("Retry-After", "1");
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, mensaje);
+        }
+    }
+
+    /**
+     * Deja de aceptar peticiones y espera a que terminen las que están en curso
+     */
+    void cerrar() {
+        plazos.shutdownNow();
+        ejecutor.shutdown();
+        try {
+            ejecutor.awaitTermination(esperaMaxMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return Métricas del ejecutor en formato de texto Prometheus
+     */
+    String toPrometheus() {
+        return "# TYPE empresa_async_en_cola gauge\n"
+             + "empresa_async_en_cola " + ejecutor.getQueue().size() + "\n"
+             + "# TYPE empresa_async_activas gauge\n"
+             + "empresa_async_activas " + ejecutor.getActiveCount() + "\n"
+             + "# TYPE empresa_async_aceptadas_total counter\n"
+             + "empresa_async_aceptadas_total " + aceptadas.sum() + "\n"
+             + "# TYPE empresa_async_rechazadas_total counter\n"
+             + "empresa_async_rechazadas_total " + rechazadas.sum() + "\n"
+             + "# TYPE empresa_async_expiradas_total counter\n"
+             + "empresa_async_expiradas_total " + expiradas.sum() + "\n"
+             + "# TYPE empresa_async_fallidas_total counter\n"
+             + "empresa_async_fallidas_total " + fallidas.sum() + "\n";
+    }
+}
@@ -1,17 +1,30 @@
 package com.controller;
 
 import java.io.IOException;
-import java.util.List;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.Part;
 
+import com.exceptions.ConflictoConcurrenciaException;
+import com.model.CriterioBusqueda;
 import com.model.Empleado;
+import com.model.Pagina;
+import com.model.ResultadoImportacion;
+import com.model.ResultadoOperacionMasiva;
 import com.service.EmpleadoService;
+import com.service.EmpleadoServiceCache;
+import com.service.EmpleadoServiceIndexado;
 import com.service.IEmpleadoService;
+import com.util.Configuracion;
 import com.util.ErrorHandler;
+import com.util.EscritorExportacion;
 
 /**
  * Controlador para gestión de empleados.
@@ -22,12 +35,25 @@ import com.util.ErrorHandler;
  */
 public class EmpleadosController extends HttpServlet {
     private static final long serialVersionUID = 1L;
+    private static final int TAMANYO_PAGINA = 50;
     private IEmpleadoService empleadoService;
 
     @Override
     public void init() {
         // Inicializamos la capa de servicio (esta a su vez gestiona los DAOs)
         empleadoService = new EmpleadoService();
+
+        // Caché opcional de empleados por DNI (decorador del servicio)
+        if (Configuracion.getBoolean("cache.empleados.enabled", false)) {
+            empleadoService = new EmpleadoServiceCache(empleadoService,
+                    Configuracion.getInt("cache.empleados.maxSize", 10000),
+                    Configuracion.getLong("cache.empleados.ttlSeconds", 300));
+        }
+
+        // Índice en memoria para consultas combinadas (envuelve a la caché: al refrescar relee ya invalidado)
+        if (Configuracion.getBoolean("indice.empleados.enabled", false)) {
+            empleadoService = new EmpleadoServiceIndexado(empleadoService);
+        }
     }
 
     @Override
@@ -42,15 +68,21 @@ public class EmpleadosController extends HttpServlet {
         try {
             switch (action) {
                 case "listar":
-                    List<Empleado> lista = empleadoService.listarEmpleados();
-                    req.setAttribute("listaEmpleados", lista);
-                    forward(req, res, "empleados.jsp");
+                    listar(req, res);
                     break;
 
                 case "buscarForm":
                     forward(req, res, "WEB-INF/buscarEmpleado.jsp");
                     break;
 
+                case "exportar":
+                    exportar(req, res);
+                    break;
+
+                case "importarForm":
+                    forward(req, res, "WEB-INF/importarEmpleados.jsp");
+                    break;
+
                 default:
                     res.sendError(HttpServletResponse.SC_BAD_REQUEST, "Acción no reconocida: " + action);
                     break;
@@ -67,12 +99,18 @@ public class EmpleadosController extends HttpServlet {
         String action = req.getParameter("action");
 
         try {
-            if ("actualizar".equals(action)) {
-                empleadoService.actualizarEmpleado(req);
-                res.sendRedirect(req.getContextPath() + "/app/empleados?action=listar");
+            if ("listar".equals(action)) {
+                // Paginación por POST: el cursor es un DNI y no debe viajar en la URL
+                listar(req, res);
+            } else if ("incrementarAntiguedad".equals(action)) {
+                incrementarAntiguedad(req, res);
+            } else if ("importar".equals(action)) {
+                importar(req, res);
+            } else if ("actualizar".equals(action)) {
+                actualizar(req, res);
             } else if ("buscarResultado".equals(action)) {
-                req.setAttribute("listaEmpleados", empleadoService.buscarEmpleadosPorCriterio(req));
-                forward(req, res, "WEB-INF/resultadoBusqueda.jsp");
+                // También por POST: el valor buscado puede ser un DNI
+                buscar(req, res);
             } else if ("editar".equals(action)) {
                 String dni = req.getParameter("dni");
                 if (dni == null || dni.trim().isEmpty()) {
@@ -95,6 +133,88 @@ public class EmpleadosController extends HttpServlet {
         }
     }
 
+    /**
+     * Muestra una página del listado de empleados.
+     * Parámetros opcionales: "desde" (cursor de la página anterior) y "tam" (tamaño de página).
+     */
+    private void listar(HttpServletRequest req, HttpServletResponse res) throws Exception {
+        Pagina<Empleado> pagina = empleadoService.listarEmpleadosPaginados(req.getParameter("desde"), tamanyoPagina(req));
+        req.setAttribute("listaEmpleados", pagina.getElementos());
+        req.setAttribute("pagina", pagina);
+        forward(req, res, "empleados.jsp");
+    }
+
+    /**
+     * Muestra una página de resultados de búsqueda.
+     * Parámetros: "campo" y "valor"; opcionales "desde" y "tam" como en el listado.
+     */
+    private void buscar(HttpServletRequest req, HttpServletResponse res) throws Exception {
+        CriterioBusqueda criterio = new CriterioBusqueda(req.getParameter("campo"), req.getParameter("valor"),
+                req.getParameter("desde"), tamanyoPagina(req));
+
+        Pagina<Empleado> pagina = empleadoService.buscarEmpleadosPorCriterio(criterio);
+        req.setAttribute("listaEmpleados", pagina.getElementos());
+        req.setAttribute("pagina", pagina);
+        req.setAttribute("criterio", criterio);
+        forward(req, res, "WEB-INF/resultadoBusqueda.jsp");
+    }
+
+    /**
+     * Parámetro "tam", o TAMANYO_PAGINA si falta o no es un número
+     * (el rango lo valida el servicio)
+     */
+    private static int tamanyoPagina(HttpServletRequest req) {
+        String tam = req.getParameter("tam");
+        if (tam != null && !tam.trim().isEmpty()) {
+            try {
+                return Integer.parseInt(tam.trim());
+            } catch (NumberFormatException e) {
+                return TAMANYO_PAGINA;
+            }
+        }
+        return TAMANYO_PAGINA;
+    }
+
+    /**
+     * Acción de administración: incremento anual de antigüedad en bloque.
+     * Parámetro opcional "categoria" para limitarlo a una categoría.
+     */
+    private void incrementarAntiguedad(HttpServletRequest req, HttpServletResponse res) throws Exception {
+        String cat = req.getParameter("categoria");
+        Integer categoria = (cat == null || cat.trim().isEmpty()) ? null : Integer.valueOf(cat.trim());
+
+        ResultadoOperacionMasiva resultado = empleadoService.incrementarAntiguedad(categoria);
+        req.getServletContext().log(resultado.toString());
+        req.setAttribute("resultado", resultado);
+        forward(req, res, "WEB-INF/resultadoOperacion.jsp");
+    }
+
+    /**
+     * Alta masiva desde CSV: fichero subido en la parte "fichero" (multipart/form-data)
+     * o el CSV directamente como cuerpo de la petición (text/csv), en UTF-8.
+     */
+    private void importar(HttpServletRequest req, HttpServletResponse res) throws Exception {
+        String tipo = req.getContentType();
+        InputStream entrada;
+        if (tipo != null && tipo.toLowerCase().startsWith("multipart/")) {
+            Part fichero = req.getPart("fichero");
+            if (fichero == null || fichero.getSize() == 0) {
+                throw new IllegalArgumentException("No se ha enviado ningún fichero CSV.");
+            }
+            entrada = fichero.getInputStream();
+        } else {
+            entrada = req.getInputStream();
+        }
+
+        ResultadoImportacion resultado;
+        try (Reader csv = new InputStreamReader(entrada, StandardCharsets.UTF_8)) {
+            resultado = empleadoService.importarEmpleados(csv);
+        }
+        req.getServletContext().log(resultado.toString());
+        req.setAttribute("resultado", resultado);
+        forward(req, res, "WEB-INF/resultadoImportacion.jsp");
+    }
+
     private void forward(HttpServletRequest req, HttpServletResponse res, String ruta)
             throws ServletException, IOException {
         // Asegurar ruta relativa al contexto (debe empezar con "/") para evitar /app/*
@@ -102,8 +222,50 @@ public class EmpleadosController extends HttpServlet {
         req.getRequestDispatcher(path).forward(req, res);
     }
 
+    /**
+     * Exporta toda la plantilla en CSV o JSON según el parámetro "formato".
+     * Las filas pasan del cursor de la consulta a la respuesta sin acumularse en memoria.
+     */
+    private void exportar(HttpServletRequest req, HttpServletResponse res) throws Exception {
+        EscritorExportacion escritor = EscritorExportacion.paraRespuesta(req, res,
+                req.getParameter("formato"), "empleados",
+                "dni", "nombre", "sexo", "categoria", "anyos");
+        empleadoService.recorrerEmpleados(e -> {
+            escritor.inicioFila();
+            escritor.texto(e.getDni());
+            escritor.texto(e.getNombre());
+            escritor.texto(e.getSexo());
+            escritor.numero(e.getCategoria());
+            escritor.numero(e.getAnyos());
+            escritor.finFila();
+        });
+        escritor.terminar();
+    }
+
+    /**
+     * Guarda el formulario de edición. Si otro usuario cambió el empleado mientras se editaba,
+     * responde 409 con el formulario relleno con los datos actuales (y su versión nueva)
+     * para que el usuario revise y vuelva a guardar
+     */
+    private void actualizar(HttpServletRequest req, HttpServletResponse res) throws Exception {
+        try {
+            empleadoService.actualizarEmpleado(req);
+        } catch (ConflictoConcurrenciaException e) {
+            res.setStatus(HttpServletResponse.SC_CONFLICT);
+            req.setAttribute("error", e.getMessage());
+            req.setAttribute("empleado", empleadoService.buscarEmpleadoPorDni(e.getDni()));
+            forward(req, res, "WEB-INF/editarEmpleado.jsp");
+            return;
+        }
+        res.sendRedirect(req.getContextPath() + "/app/empleados?action=listar");
+    }
+
     private void manejarError(Exception e, HttpServletRequest req, HttpServletResponse res)
             throws ServletException, IOException {
+        if (res.isCommitted()) {
+            // Exportación ya empezada: no se puede mostrar error.jsp, se corta la respuesta
+            throw new ServletException("Respuesta interrumpida: " + e.getMessage(), e);
+        }
         ErrorHandler.handleErrorSimple(e, req, res);
     }
 }
@@ -1,14 +1,22 @@
 package com.controller;
 
 import java.io.IOException;
+import java.sql.SQLException;
 
 import javax.servlet.ServletException;
+import javax.servlet.annotation.MultipartConfig;
 import javax.servlet.annotation.WebServlet;
 import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
+import com.conexion.Conexion;
+import com.service.EscrituraDiferidaSueldos;
+import com.service.RecargaEscalaSalarial;
+import com.util.Configuracion;
 import com.util.ErrorHandler;
+import com.util.MetricasPeticiones;
+import com.util.RegistroAsincrono;
 
 /**
  * Patrón Front Controller - Punto único de entrada para todas las peticiones.
@@ -20,14 +28,29 @@ import com.util.ErrorHandler;
  * Rutas soportadas:
  * - /app/empleados?action=... -> EmpleadosController
  * - /app/nominas?action=... -> NominasController
+ * - /app/admin/pool -> métricas del pool de conexiones (JSON)
+ * - /app/admin/metricas -> latencias por ruta/acción y pool (formato Prometheus)
+ * 
+ * Cada petición se mide (total, servicio y vista JSP) en MetricasPeticiones. El log
+ * de peticiones es muestreado y asíncrono para no penalizar el camino caliente.
+ * 
+ * Con async.enabled las peticiones de /empleados y /nominas se procesan de forma asíncrona
+ * (startAsync) en un ejecutor acotado: el hilo del contenedor no espera a la base de datos.
+ * 
+ * Admite multipart/form-data (importación de empleados); las partes grandes van a disco temporal.
  */
-@WebServlet("/app/*")
+@WebServlet(urlPatterns = "/app/*", asyncSupported = true)
+@MultipartConfig(fileSizeThreshold = 1024 * 1024)
 public class FrontController extends HttpServlet {
     private static final long serialVersionUID = 1L;
     
     private EmpleadosController empleadosController;
     private NominasController nominasController;
     
+    private final MetricasPeticiones metricas = MetricasPeticiones.getInstancia();
+    private RegistroAsincrono registro;
+    private EjecucionAsincrona asincrono;
+    
     @Override
     public void init() throws ServletException {
         super.init();
@@ -39,6 +62,22 @@ public class FrontController extends HttpServlet {
         nominasController = new NominasController();
         nominasController.init();
         
+        registro = new RegistroAsincrono(getServletContext(),
+                Configuracion.getInt("log.peticiones.muestreo", 100),
+                Configuracion.getInt("log.peticiones.capacidad", 1000));
+        
+        if (Configuracion.getBoolean("async.enabled", false)) {
+            // Por defecto tantos hilos como conexiones: más hilos sólo esperarían al pool
+            asincrono = new EjecucionAsincrona(
+                    Configuracion.getInt("async.hilos", Configuracion.getInt("db.pool.maxTotal", 20)),
+                    Configuracion.getInt("async.cola", 200),
+                    Configuracion.getLong("async.esperaMaxMs", 30000), this::log);
+        }
+        
+        // Escala salarial de escalas_salariales, comprobada cada nominas.escala.recargaSegundos
+        RecargaEscalaSalarial.getInstancia().iniciar(
+                Configuracion.getLong("nominas.escala.recargaSegundos", 60), this::log);
+        
         log("FrontController inicializado correctamente");
     }
     
@@ -47,36 +86,135 @@ public class FrontController extends HttpServlet {
             throws ServletException, IOException {
         
         String pathInfo = request.getPathInfo();
+        PeticionMedida peticion = new PeticionMedida(request);
+        long inicio = System.nanoTime();
+        metricas.inicio();
         
-        // Logging para debugging
-        log("Petición recibida: " + request.getMethod() + " " + pathInfo);
+        // Modo asíncrono: sólo las rutas que acceden a la base de datos salen del hilo del contenedor
+        if (asincrono != null && request.isAsyncSupported() && accedeABaseDeDatos(pathInfo)) {
+            asincrono.ejecutar(peticion, response,
+                    () -> procesar(pathInfo, peticion, response),
+                    error -> terminar(pathInfo, peticion, response, inicio, error));
+            return;
+        }
         
+        boolean error = true;
         try {
-            // Validar que existe pathInfo
-            if (pathInfo == null || pathInfo.equals("/")) {
-                redirigirAHome(request, response);
-                return;
+            error = procesar(pathInfo, peticion, response);
+        } finally {
+            terminar(pathInfo, peticion, response, inicio, error);
+        }
+    }
+    
+    /**
+     * Despacha la petición y gestiona sus errores
+     * @return true si se produjo una excepción
+     */
+    private boolean procesar(String pathInfo, PeticionMedida peticion, HttpServletResponse response)
+            throws ServletException, IOException {
+        try {
+            despachar(pathInfo, peticion, response);
+            return false;
+        } catch (Exception e) {
+            log("Error en FrontController: " + e.getMessage(), e);
+            if (response.isCommitted()) {
+                // Parte de la respuesta ya se envió (exportaciones): sólo queda cortarla
+                throw e instanceof ServletException ? (ServletException) e : new ServletException(e);
             }
+            ErrorHandler.handleError(e, peticion, response, getServletContext());
+            return true;
+        }
+    }
+    
+    /**
+     * Registra la duración de la petición en las métricas y, si toca muestra, en el log
+     */
+    private void terminar(String pathInfo, PeticionMedida peticion, HttpServletResponse response,
+                          long inicio, boolean excepcion) {
+        long totalNanos = System.nanoTime() - inicio;
+        // Los controladores reenvían a error.jsp con el atributo "error" en lugar de lanzar
+        boolean error = excepcion || response.getStatus() >= 400 || peticion.getAttribute("error") != null;
+        String accion = peticion.getParameter("action");
+        metricas.fin(ruta(pathInfo), accion, totalNanos, peticion.getVistaNanos(), error);
+        
+        if (registro.muestrear()) {
+            registro.registrar("Petición: " + peticion.getMethod() + " " + pathInfo
+                    + " action=" + accion + " " + (totalNanos / 1_000_000) + " ms"
+                    + (error ? " [error]" : ""));
+        }
+    }
+    
+    private static boolean accedeABaseDeDatos(String pathInfo) {
+        return pathInfo != null && (pathInfo.startsWith("/empleados") || pathInfo.startsWith("/nominas"));
+    }
+    
+    /**
+     * Enruta la petición según el path
+     */
+    private void despachar(String pathInfo, HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+        // Validar que existe pathInfo
+        if (pathInfo == null || pathInfo.equals("/")) {
+            redirigirAHome(request, response);
             
-            // Enrutar según el path
-            if (pathInfo.startsWith("/empleados")) {
-                log("Redirigiendo a EmpleadosController");
-                empleadosController.service(request, response);
-                
-            } else if (pathInfo.startsWith("/nominas")) {
-                log("Redirigiendo a NominasController");
-                nominasController.service(request, response);
-                
-            } else {
-                // Ruta no reconocida
-                response.sendError(HttpServletResponse.SC_NOT_FOUND, 
-                    "Recurso no encontrado: " + pathInfo);
-            }
+        } else if (pathInfo.startsWith("/empleados")) {
+            empleadosController.service(request, response);
             
-        } catch (Exception e) {
-            log("Error en FrontController: " + e.getMessage(), e);
-            ErrorHandler.handleError(e, request, response, getServletContext());
+        } else if (pathInfo.startsWith("/nominas")) {
+            nominasController.service(request, response);
+            
+        } else if (pathInfo.equals("/admin/pool")) {
+            // Estado del pool de conexiones en JSON (también disponible por JMX)
+            escribirJson(response, Conexion.getEstadisticas().toJson());
+            
+        } else if (pathInfo.equals("/admin/metricas")) {
+            escribirTexto(response, metricas.toPrometheus()
+                    + Conexion.getEstadisticas().toPrometheus()
+                    + "# TYPE empresa_log_descartados_total counter\n"
+                    + "empresa_log_descartados_total " + registro.getDescartados() + "\n"
+                    + (asincrono != null ? asincrono.toPrometheus() : ""));
+            
+        } else {
+            // Ruta no reconocida
+            response.sendError(HttpServletResponse.SC_NOT_FOUND, 
+                "Recurso no encontrado: " + pathInfo);
+        }
+    }
+    
+    /**
+     * Ruta para las etiquetas de métricas: un conjunto cerrado, nunca el path en bruto
+     */
+    private static String ruta(String pathInfo) {
+        if (pathInfo == null || pathInfo.equals("/")) {
+            return "/";
+        } else if (pathInfo.startsWith("/empleados")) {
+            return "/empleados";
+        } else if (pathInfo.startsWith("/nominas")) {
+            return "/nominas";
+        } else if (pathInfo.startsWith("/admin/")) {
+            return "/admin";
         }
+        return "otra";
+    }
+    
+    /**
+     * Escribe una respuesta JSON sin caché
+     */
+    private void escribirJson(HttpServletResponse response, String json) throws IOException {
+        response.setContentType("application/json");
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader("Cache-Control", "no-store");
+        response.getWriter().write(json);
+    }
+    
+    /**
+     * Escribe una respuesta de texto plano (formato de exposición de Prometheus)
+     */
+    private void escribirTexto(HttpServletResponse response, String texto) throws IOException {
+        response.setContentType("text/plain; version=0.0.4");
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader("Cache-Control", "no-store");
+        response.getWriter().write(texto);
     }
     
     /**
@@ -89,6 +227,24 @@ public class FrontController extends HttpServlet {
     
     @Override
     public void destroy() {
+        if (asincrono != null) {
+            asincrono.cerrar();
+        }
+        registro.cerrar();
+        RecargaEscalaSalarial.getInstancia().cerrar();
+        try {
+            // Los sueldos encolados se escriben antes de cerrar el pool (y los que lleguen después fallan)
+            if (Configuracion.getBoolean("nominas.sueldo.escrituraDiferida.enabled", false)) {
+                EscrituraDiferidaSueldos.getInstancia().cerrar();
+            }
+        } catch (SQLException e) {
+            log("No se pudieron escribir los sueldos pendientes: " + e.getMessage(), e);
+        }
+        try {
+            Conexion.closeDataSource();
+        } catch (SQLException e) {
+            log("Error al cerrar el pool de conexiones: " + e.getMessage(), e);
+        }
         log("FrontController destruido");
         super.destroy();
     }
@@ -1,17 +1,26 @@
 package com.controller;
 
 import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
+import java.util.regex.Pattern;
 
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
+import com.model.ListadoNominas;
+import com.model.NominaEmpleado;
+import com.model.ResultadoOperacionMasiva;
+import com.model.SueldosPorDni;
 import com.service.INominaService;
 import com.service.NominaService;
 import com.util.ErrorHandler;
+import com.util.EscritorExportacion;
+import com.util.MetricasPeticiones;
 
 /**
  * Controlador para la gestión de nóminas.
@@ -23,11 +32,14 @@ import com.util.ErrorHandler;
  */
 public class NominasController extends HttpServlet {
     private static final long serialVersionUID = 1L;
+    private static final Pattern SEPARADOR_DNIS = Pattern.compile("[\\s,;]+");
     private INominaService nominaService;
 
     @Override
     public void init() throws ServletException {
-        nominaService = new NominaService();
+        NominaService servicio = new NominaService();
+        servicio.registrarMetricas(MetricasPeticiones.getInstancia());
+        nominaService = servicio;
     }
 
     @Override
@@ -46,6 +58,9 @@ public class NominasController extends HttpServlet {
                 case "listarNominas":
                     listarNominas(request, response);
                     break;
+                case "exportar":
+                    exportar(request, response);
+                    break;
                 default:
                     request.getRequestDispatcher("/salarioForm.jsp").forward(request, response);
                     break;
@@ -63,22 +78,82 @@ public class NominasController extends HttpServlet {
     private void consultarSalario(HttpServletRequest request, HttpServletResponse response)
             throws Exception {
         String dni = request.getParameter("dni");
-        Map<String, Object> datos = nominaService.consultarSalarioEmpleado(dni);
-        request.setAttribute("empleado", datos.get("empleado"));
-        request.setAttribute("salario", datos.get("salario"));
+        NominaEmpleado datos = nominaService.consultarSalarioEmpleado(dni);
+        request.setAttribute("empleado", datos.getEmpleado());
+        request.setAttribute("salario", datos.getSalario());
         request.getRequestDispatcher("/salarioResultado.jsp").forward(request, response);
     }
 
+    /**
+     * Consulta masiva de sueldos para integraciones: recibe los DNI en el parámetro "dnis"
+     * (separados por espacios, saltos de línea, comas o punto y coma) y responde un CSV
+     * "dni,sueldo" con los que tienen nómina. Por POST para no dejar DNI en URLs ni logs.
+     */
+    private void consultarSalarios(HttpServletRequest request, HttpServletResponse response)
+            throws Exception {
+        String dnis = request.getParameter("dnis");
+        List<String> lista = (dnis == null || dnis.trim().isEmpty())
+                ? Collections.<String>emptyList()
+                : Arrays.asList(SEPARADOR_DNIS.split(dnis.trim()));
+        SueldosPorDni sueldos = nominaService.consultarSueldos(lista);
+        
+        response.setContentType("text/csv");
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader("Cache-Control", "no-store");
+        PrintWriter out = response.getWriter();
+        out.print("dni,sueldo\n");
+        for (int i = 0; i < sueldos.getTamanyo(); i++) {
+            out.print(sueldos.dniEn(i));
+            out.print(',');
+            out.print(sueldos.sueldoEn(i));
+            out.print('\n');
+        }
+    }
+
     /**
      * Lista todas las nóminas registradas en la base de datos.
      */
     private void listarNominas(HttpServletRequest request, HttpServletResponse response)
             throws Exception {
-        List<Map<String, Object>> listaNominas = nominaService.listarTodasLasNominas();
+        ListadoNominas listaNominas = nominaService.listarTodasLasNominas();
         request.setAttribute("listaNominas", listaNominas);
         request.getRequestDispatcher("/nominas.jsp").forward(request, response);
     }
 
+    /**
+     * Exporta todas las nóminas (empleado y salario) en CSV o JSON según el parámetro "formato".
+     * Las filas pasan del cursor de la consulta a la respuesta sin acumularse en memoria.
+     */
+    private void exportar(HttpServletRequest request, HttpServletResponse response) throws Exception {
+        EscritorExportacion escritor = EscritorExportacion.paraRespuesta(request, response,
+                request.getParameter("formato"), "nominas",
+                "dni", "nombre", "sexo", "categoria", "anyos", "salario");
+        nominaService.recorrerNominas((empleado, salario, almacenado) -> {
+            escritor.inicioFila();
+            escritor.texto(empleado.getDni());
+            escritor.texto(empleado.getNombre());
+            escritor.texto(empleado.getSexo());
+            escritor.numero(empleado.getCategoria());
+            escritor.numero(empleado.getAnyos());
+            escritor.numero(salario);
+            escritor.finFila();
+        });
+        escritor.terminar();
+    }
+
+    /**
+     * Acción de administración: recalcula el sueldo almacenado de toda la plantilla.
+     * Con el parámetro "desde" reanuda un recálculo interrumpido a partir de ese DNI.
+     */
+    private void recalcularSueldos(HttpServletRequest request, HttpServletResponse response)
+            throws Exception {
+        ResultadoOperacionMasiva resultado = nominaService.recalcularSueldos(request.getParameter("desde"));
+        request.getServletContext().log(resultado.toString());
+        request.setAttribute("resultado", resultado);
+        request.setAttribute("accionReanudar", "recalcularSueldos");
+        request.getRequestDispatcher("/WEB-INF/resultadoOperacion.jsp").forward(request, response);
+    }
+
     @Override
     protected void doPost(HttpServletRequest request, HttpServletResponse response)
             throws ServletException, IOException {
@@ -87,6 +162,10 @@ public class NominasController extends HttpServlet {
         try {
             if ("consultarSalario".equals(action)) {
                 consultarSalario(request, response);
+            } else if ("consultarSalarios".equals(action)) {
+                consultarSalarios(request, response);
+            } else if ("recalcularSueldos".equals(action)) {
+                recalcularSueldos(request, response);
             } else {
                 response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Acción POST no reconocida: " + action);
             }
@@ -97,6 +176,10 @@ public class NominasController extends HttpServlet {
 
     private void manejarError(Exception e, HttpServletRequest request, HttpServletResponse response)
             throws ServletException, IOException {
+        if (response.isCommitted()) {
+            // Exportación ya empezada: no se puede mostrar error.jsp, se corta la respuesta
+            throw new ServletException("Respuesta interrumpida: " + e.getMessage(), e);
+        }
         ErrorHandler.handleErrorSimple(e, request, response);
     }
 }
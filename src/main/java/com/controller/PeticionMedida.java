@@ -0,0 +1,90 @@
+package com.controller;
+
+import java.io.IOException;
+
+import javax.servlet.RequestDispatcher;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+
+/**
+ * Envoltorio de la petición que mide el tiempo pasado en forward/include a las vistas JSP.
+ * Permite separar en las métricas el tiempo de renderizado del tiempo de servicio y DAO.
+ * En modo asíncrono (diferirVistas) el forward no renderiza en el hilo del ejecutor: sólo
+ * anota la vista, que EjecucionAsincrona muestra después con AsyncContext.dispatch.
+ */
+class PeticionMedida extends HttpServletRequestWrapper {
+
+    private long vistaNanos = 0;
+    private boolean diferirVistas;
+    private String vistaDiferida;
+
+    PeticionMedida(HttpServletRequest request) {
+        super(request);
+    }
+
+    long getVistaNanos() {
+        return vistaNanos;
+    }
+
+    /**
+     * Suma tiempo de vista medido fuera del envoltorio (la vista despachada en modo asíncrono)
+     */
+    void sumarVistaNanos(long nanos) {
+        vistaNanos += nanos;
+    }
+
+    /**
+     * A partir de ahora los forward a rutas del contexto ("/...") sólo se anotan
+     */
+    void diferirVistas() {
+        diferirVistas = true;
+    }
+
+    /**
+     * @return Vista anotada por un forward diferido, o null si no hubo
+     */
+    String getVistaDiferida() {
+        return vistaDiferida;
+    }
+
+    @Override
+    public RequestDispatcher getRequestDispatcher(String path) {
+        final RequestDispatcher dispatcher = super.getRequestDispatcher(path);
+        if (dispatcher == null) {
+            return null;
+        }
+        return new RequestDispatcher() {
+            @Override
+            public void forward(ServletRequest request, ServletResponse response)
+                    throws ServletException, IOException {
+                if (diferirVistas && path.startsWith("/")) {
+                    if (vistaDiferida != null) {
+                        throw new IllegalStateException("La petición ya tiene vista: " + vistaDiferida);
+                    }
+                    vistaDiferida = path;
+                    return;
+                }
+                long inicio = System.nanoTime();
+                try {
+                    dispatcher.forward(request, response);
+                } finally {
+                    vistaNanos += System.nanoTime() - inicio;
+                }
+            }
+
+            @Override
+            public void include(ServletRequest request, ServletResponse response)
+                    throws ServletException, IOException {
+                long inicio = System.nanoTime();
+                try {
+                    dispatcher.include(request, response);
+                } finally {
+                    vistaNanos += System.nanoTime() - inicio;
+                }
+            }
+        };
+    }
+}
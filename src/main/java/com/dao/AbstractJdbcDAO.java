@@ -0,0 +1,95 @@
+package com.dao;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Implementación de GenericDAO sobre PlantillaJdbc.
+ * Cada DAO concreto sólo aporta sus sentencias (SentenciasCrud), el mapeo de filas
+ * y cómo asignar los parámetros de una entidad o de su clave; la conexión, los lotes,
+ * el fetch size y las métricas son los de la plantilla.
+ *
+ * @param <T> Tipo de entidad
+ * @param <K> Tipo de la clave primaria
+ */
+public abstract class AbstractJdbcDAO<T, K> implements GenericDAO<T, K> {
+
+    protected final PlantillaJdbc plantilla;
+    protected final MapeadorFilas<T> mapeador;
+    private final SentenciasCrud sentencias;
+
+    /**
+     * @param entidad Nombre de la entidad (métricas y claves dao.&lt;entidad&gt;.* de configuración)
+     * @param sentencias Sentencias CRUD
+     * @param mapeador Conversión de una fila en entidad
+     */
+    protected AbstractJdbcDAO(String entidad, SentenciasCrud sentencias, MapeadorFilas<T> mapeador) {
+        this(new PlantillaJdbc(entidad), sentencias, mapeador);
+    }
+
+    protected AbstractJdbcDAO(PlantillaJdbc plantilla, SentenciasCrud sentencias, MapeadorFilas<T> mapeador) {
+        this.plantilla = plantilla;
+        this.sentencias = sentencias;
+        this.mapeador = mapeador;
+    }
+
+    /** Parámetros de la sentencia de inserción */
+    protected abstract void asignarInsercion(PreparedStatement ps, T entidad) throws SQLException;
+
+    /** Parámetros de la sentencia de actualización (la clave incluida) */
+    protected abstract void asignarActualizacion(PreparedStatement ps, T entidad) throws SQLException;
+
+    /** La clave como primer parámetro (obtenerPorId y eliminar) */
+    protected abstract void asignarClave(PreparedStatement ps, K id) throws SQLException;
+
+    @Override
+    public T obtenerPorId(K id) throws SQLException {
+        return plantilla.consultarUno("obtenerPorId", sentencias.getPorId(), ps -> asignarClave(ps, id), mapeador);
+    }
+
+    @Override
+    public List<T> listarTodos() throws SQLException {
+        return plantilla.consultarLista("listarTodos", sentencias.getTodos(), null, mapeador);
+    }
+
+    @Override
+    public boolean guardar(T entidad) throws SQLException {
+        return guardarTodos(Collections.singletonList(entidad)) > 0;
+    }
+
+    @Override
+    public boolean actualizar(T entidad) throws SQLException {
+        return actualizarTodos(Collections.singletonList(entidad)) > 0;
+    }
+
+    @Override
+    public boolean eliminar(K id) throws SQLException {
+        return eliminarTodos(Collections.singletonList(id)) > 0;
+    }
+
+    @Override
+    public int guardarTodos(Collection<? extends T> entidades) throws SQLException {
+        return plantilla.actualizarEnLote("guardar", sentencias.getInsertar(), entidades, this::asignarInsercion);
+    }
+
+    @Override
+    public int actualizarTodos(Collection<? extends T> entidades) throws SQLException {
+        return plantilla.actualizarEnLote("actualizar", sentencias.getActualizar(), entidades,
+                this::asignarActualizacion);
+    }
+
+    @Override
+    public int eliminarTodos(Collection<? extends K> ids) throws SQLException {
+        return plantilla.actualizarEnLote("eliminar", sentencias.getEliminar(), ids, this::asignarClave);
+    }
+
+    /**
+     * @return Motor JDBC de la entidad (tamaños configurados)
+     */
+    public PlantillaJdbc getPlantilla() {
+        return plantilla;
+    }
+}
@@ -0,0 +1,22 @@
+package com.dao;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Asigna a una sentencia preparada los parámetros que corresponden a un valor
+ * (una entidad al insertar o actualizar, una clave al buscar o eliminar).
+ * En las operaciones por lotes se llama una vez por elemento antes de cada addBatch.
+ *
+ * @param <T> Tipo del valor
+ */
+@FunctionalInterface
+public interface AsignadorParametros<T> {
+
+    /**
+     * @param ps Sentencia preparada
+     * @param valor Valor cuyos datos se asignan a los parámetros
+     * @throws SQLException si falla la asignación
+     */
+    void asignar(PreparedStatement ps, T valor) throws SQLException;
+}
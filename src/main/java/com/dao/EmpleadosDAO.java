@@ -5,42 +5,81 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 
-import javax.servlet.http.HttpServletRequest;
-
-import com.conexion.Conexion;
+import com.exceptions.ConflictoConcurrenciaException;
 import com.exceptions.DatosNoCorrectosException;
-import com.factory.EmpleadoFactory;
+import com.model.CalculadoraSueldos;
+import com.model.CriterioBusqueda;
 import com.model.Empleado;
-import com.model.Nomina;
+import com.model.Pagina;
+import com.model.RegistroNomina;
+import com.model.ResultadoOperacionMasiva;
+import com.util.Configuracion;
 
 /**
  * Implementación del DAO para Empleados.
  * Implementa IEmpleadoDAO definiendo las operaciones CRUD concretas.
  * Actúa como Business Delegate manejando la lógica de negocio 
  * y la interacción con la base de datos.
+ * La conexión, los lotes, el fetch size y las métricas los pone PlantillaJdbc (vía AbstractJdbcDAO).
  */
-public class EmpleadosDAO implements IEmpleadoDAO {
+public class EmpleadosDAO extends AbstractJdbcDAO<Empleado, String> implements IEmpleadoDAO {
+
+    // Longitud mínima de palabra en el índice FULLTEXT de InnoDB
+    private static final int LONGITUD_MINIMA_TEXTO = 3;
+
+    /** Fila de empleados -> Empleado, con las columnas resueltas una vez por consulta */
+    static final MapeadorFilas<Empleado> MAPEADOR = new MapeadorEmpleados();
+
+    // Búsqueda por nombre: "fulltext" (palabras, índice FULLTEXT) o "prefijo" (LIKE 'x%')
+    private final boolean busquedaTexto =
+            "fulltext".equalsIgnoreCase(Configuracion.get("busqueda.nombre.modo", "fulltext"));
+
+    public EmpleadosDAO() {
+        super("empleados", SentenciasSQL.EMPLEADOS_CRUD, MAPEADOR);
+    }
 
     // ===========================================================
     // LISTAR TODOS LOS EMPLEADOS
     // ===========================================================
     @Override
     public List<Empleado> listar() throws SQLException, DatosNoCorrectosException {
-        String sql = "SELECT * FROM empleados";
-        List<Empleado> lista = new ArrayList<>();
+        return plantilla.consultarLista("listar", SentenciasSQL.EMPLEADOS_LISTAR, null, mapeador);
+    }
 
-        try (Connection con = Conexion.getConnection();
-             PreparedStatement ps = con.prepareStatement(sql);
-             ResultSet rs = ps.executeQuery()) {
+    // ===========================================================
+    // LISTAR UNA PÁGINA (KEYSET SOBRE LA CLAVE PRIMARIA dni)
+    // ===========================================================
+    @Override
+    public Pagina<Empleado> listarPagina(String desdeDni, int tamanyo)
+            throws SQLException, DatosNoCorrectosException {
+        if (tamanyo <= 0) {
+            throw new SQLException("El tamaño de página debe ser positivo: " + tamanyo);
+        }
+
+        boolean primeraPagina = desdeDni == null || desdeDni.trim().isEmpty();
+        String sql = primeraPagina
+                ? SentenciasSQL.EMPLEADOS_PRIMERA_PAGINA
+                : SentenciasSQL.EMPLEADOS_PAGINA_DESDE;
 
-            while (rs.next()) {
-                lista.add(EmpleadoFactory.crearDesdeResultSet(rs));
+        return plantilla.consultarPagina("listarPagina", sql, ps -> {
+            int i = 1;
+            if (!primeraPagina) {
+                ps.setString(i++, desdeDni);
             }
-        }
-        return lista;
+            // Se pide una fila extra para saber si existe página siguiente
+            ps.setInt(i, tamanyo + 1);
+        }, mapeador, tamanyo, Empleado::getDni);
+    }
+
+    // ===========================================================
+    // RECORRER TODOS LOS EMPLEADOS EN STREAMING
+    // ===========================================================
+    @Override
+    public void recorrer(ProcesadorFilas<Empleado> procesador) throws Exception {
+        plantilla.recorrer("recorrer", SentenciasSQL.EMPLEADOS_RECORRER, null, mapeador, procesador);
     }
 
     // ===========================================================
@@ -52,97 +91,239 @@ public class EmpleadosDAO implements IEmpleadoDAO {
             throw new SQLException("El DNI proporcionado es nulo o vacío.");
         }
 
-        String sql = "SELECT * FROM empleados WHERE dni=?";
-        Empleado empleado = null;
+        Empleado empleado = obtenerPorId(dni);
+        if (empleado == null) {
+            throw new SQLException("No se encontró ningún empleado con el DNI: " + dni);
+        }
+
+        return empleado;
+    }
 
-        try (Connection con = Conexion.getConnection();
-             PreparedStatement ps = con.prepareStatement(sql)) {
+    // ===========================================================
+    // CRUD GENÉRICO: EMPLEADO Y NÓMINA EN LA MISMA TRANSACCIÓN
+    // ===========================================================
+
+    /**
+     * Da de alta los empleados con la nómina inicial calculada en bloque por CalculadoraSueldos
+     * (el trigger de sueldo sólo actúa al actualizar)
+     */
+    @Override
+    public int guardarTodos(Collection<? extends Empleado> empleados) throws SQLException {
+        List<Empleado> lista = new ArrayList<>(empleados);
+        insertarConNomina(lista, CalculadoraSueldos.getInstancia().calcular(lista));
+        return lista.size();
+    }
+
+    /**
+     * Actualiza los empleados por lotes en una transacción, con control optimista:
+     * si alguno trae versión y la fila ya tiene otra, se deshace todo y se lanza
+     * ConflictoConcurrenciaException sin haber esperado a nadie más que la propia sentencia.
+     * El sueldo lo recalcula el trigger recalcular_sueldo en la misma sentencia: no se escribe
+     * nominas por segunda vez ni se mantienen sus bloqueos durante otra sentencia.
+     * A los actualizados se les sube la versión en memoria al confirmar.
+     * Las filas por empleado son exactas aunque el driver responda SUCCESS_NO_INFO a los lotes
+     * (PlantillaJdbc.ejecutarLotePorElemento): una versión antigua nunca pasa por actualizada.
+     * @return Empleados actualizados (los DNI que no existen no cuentan)
+     * @throws ConflictoConcurrenciaException si otro usuario cambió alguno entretanto
+     */
+    @Override
+    public int actualizarTodos(Collection<? extends Empleado> empleados) throws SQLException {
+        if (empleados.isEmpty()) {
+            return 0;
+        }
+        int[] filas = plantilla.enTransaccion("actualizar", con -> {
+            int[] porEmpleado = plantilla.ejecutarLotePorElemento(con, SentenciasSQL.EMPLEADO_ACTUALIZAR,
+                    empleados, this::asignarActualizacion);
+            int i = 0;
+            for (Empleado e : empleados) {
+                if (porEmpleado[i++] == 0 && e.getVersion() != Empleado.SIN_VERSION) {
+                    comprobarVersion(con, e);
+                }
+            }
+            return porEmpleado;
+        });
+
+        int actualizados = 0;
+        int i = 0;
+        for (Empleado e : empleados) {
+            if (filas[i++] > 0) {
+                actualizados++;
+                if (e.getVersion() != Empleado.SIN_VERSION) {
+                    e.setVersion(e.getVersion() + 1);
+                }
+            }
+        }
+        return actualizados;
+    }
 
-            ps.setString(1, dni);
+    /**
+     * El empleado no se actualizó: si existe es que su versión cambió (conflicto);
+     * si no existe, simplemente no cuenta
+     */
+    private static void comprobarVersion(Connection con, Empleado e) throws SQLException {
+        try (PreparedStatement ps = con.prepareStatement(SentenciasSQL.EMPLEADO_VERSION)) {
+            ps.setString(1, e.getDni());
             try (ResultSet rs = ps.executeQuery()) {
                 if (rs.next()) {
-                    empleado = EmpleadoFactory.crearDesdeResultSet(rs);
+                    throw new ConflictoConcurrenciaException(e.getDni(), e.getVersion(), rs.getInt(1));
                 }
             }
         }
+    }
 
-        if (empleado == null) {
-            throw new SQLException("No se encontró ningún empleado con el DNI: " + dni);
-        }
+    @Override
+    protected void asignarInsercion(PreparedStatement ps, Empleado e) throws SQLException {
+        ps.setString(1, e.getDni());
+        ps.setString(2, e.getNombre());
+        ps.setString(3, e.getSexo());
+        ps.setInt(4, e.getCategoria());
+        ps.setInt(5, e.getAnyos());
+    }
 
-        return empleado;
+    @Override
+    protected void asignarActualizacion(PreparedStatement ps, Empleado e) throws SQLException {
+        ps.setString(1, e.getNombre());
+        ps.setString(2, e.getSexo());
+        ps.setInt(3, e.getCategoria());
+        ps.setInt(4, e.getAnyos());
+        ps.setString(5, e.getDni());
+        ps.setInt(6, e.getVersion());
+        ps.setInt(7, e.getVersion());
+    }
+
+    @Override
+    protected void asignarClave(PreparedStatement ps, String dni) throws SQLException {
+        ps.setString(1, dni);
     }
 
     // ===========================================================
-    // ACTUALIZAR UN EMPLEADO (usando HttpServletRequest)
+    // BUSCAR EMPLEADOS POR CRITERIO (PAGINADO, CON ÍNDICES)
     // ===========================================================
     @Override
-    public boolean actualizarEmpleado(HttpServletRequest request)
+    public Pagina<Empleado> buscarPorCriterio(CriterioBusqueda criterio)
             throws SQLException, DatosNoCorrectosException {
 
-        Empleado empleado = EmpleadoFactory.crearDesdeRequest(request);
+        // Sólo campos con sentencia predefinida: evita inyección SQL en el nombre de columna
+        String campo = criterio.getCampo();
+        String sql = campo == null ? null : SentenciasSQL.EMPLEADOS_BUSCAR_POR_CAMPO.get(campo);
+        if (sql == null) {
+            throw new SQLException("Campo no válido: " + campo);
+        }
 
-        String sqlEmpleado = "UPDATE empleados SET nombre=?, sexo=?, categoria=?, anyos=? WHERE dni=?";
-        String sqlNomina = "UPDATE nominas SET sueldo=? WHERE dni=?";
+        Object valor;
+        if (criterio.isNumerico()) {
+            valor = Integer.valueOf(criterio.getValor());
+        } else if (CriterioBusqueda.SEXO.equals(campo)) {
+            valor = criterio.getValor();
+        } else if (CriterioBusqueda.NOMBRE.equals(campo) && busquedaTexto) {
+            String consulta = consultaTexto(criterio.getValor());
+            if (consulta != null) {
+                sql = SentenciasSQL.EMPLEADOS_BUSCAR_NOMBRE_TEXTO;
+                valor = consulta;
+            } else {
+                valor = prefijoLike(criterio.getValor());
+            }
+        } else {
+            valor = prefijoLike(criterio.getValor());
+        }
 
-        try (Connection con = Conexion.getConnection()) {
-            con.setAutoCommit(false);
+        int tamanyo = criterio.getTamanyo();
+        String desde = criterio.getDesdeDni() == null ? "" : criterio.getDesdeDni();
+        Object parametro = valor;
 
-            try (PreparedStatement psEmp = con.prepareStatement(sqlEmpleado)) {
-                psEmp.setString(1, empleado.getNombre());
-                psEmp.setString(2, empleado.getSexo()); // ✅ ahora es String
-                psEmp.setInt(3, empleado.getCategoria());
-                psEmp.setInt(4, empleado.getAnyos());
-                psEmp.setString(5, empleado.getDni());
-                int filasActualizadas = psEmp.executeUpdate();
+        return plantilla.consultarPagina("buscarPorCriterio", sql, ps -> {
+            ps.setObject(1, parametro);
+            ps.setString(2, desde);
+            // Se pide una fila extra para saber si existe página siguiente
+            ps.setInt(3, tamanyo + 1);
+        }, mapeador, tamanyo, Empleado::getDni);
+    }
 
-                if (filasActualizadas == 0) {
-                    throw new SQLException("No se encontró ningún empleado con el DNI " + empleado.getDni());
-                }
+    /**
+     * Patrón LIKE "valor%" escapando los comodines que escriba el usuario
+     */
+    private static String prefijoLike(String valor) {
+        StringBuilder sb = new StringBuilder(valor.length() + 1);
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            if (c == '%' || c == '_' || c == '\\') {
+                sb.append('\\');
             }
+            sb.append(c);
+        }
+        return sb.append('%').toString();
+    }
 
-            // Calcular sueldo
-            Nomina n = new Nomina();
-            double nuevoSueldo = n.sueldo(empleado);
-
-            try (PreparedStatement psNom = con.prepareStatement(sqlNomina)) {
-                psNom.setDouble(1, nuevoSueldo);
-                psNom.setString(2, empleado.getDni());
-                psNom.executeUpdate();
+    /**
+     * Consulta booleana de texto completo: cada palabra obligatoria y como prefijo
+     * ("ana fer" -> "+ana* +fer*"). Las palabras más cortas que el mínimo indexado
+     * por InnoDB (innodb_ft_min_token_size = 3) se ignoran.
+     * @return La consulta, o null si no queda ninguna palabra indexable
+     */
+    private static String consultaTexto(String valor) {
+        StringBuilder sb = new StringBuilder();
+        for (String palabra : valor.split("[^\\p{L}\\p{N}]+")) {
+            if (palabra.length() >= LONGITUD_MINIMA_TEXTO) {
+                if (sb.length() > 0) {
+                    sb.append(' ');
+                }
+                sb.append('+').append(palabra).append('*');
             }
-
-            con.commit();
-            return true;
-        } catch (SQLException ex) {
-            throw new SQLException("Error actualizando empleado: " + ex.getMessage(), ex);
         }
+        return sb.length() == 0 ? null : sb.toString();
     }
 
     // ===========================================================
-    // BUSCAR EMPLEADOS POR CRITERIO
+    // INCREMENTO ANUAL DE ANTIGÜEDAD (OPERACIÓN EN BLOQUE)
     // ===========================================================
     @Override
-    public List<Empleado> buscarPorCriterio(HttpServletRequest request)
-            throws SQLException, DatosNoCorrectosException {
+    public ResultadoOperacionMasiva incrementarAntiguedad(Integer categoria) throws SQLException {
+        // Una sola sentencia en lugar de cargar, modificar y guardar cada empleado.
+        // No se actualiza nominas aquí: el trigger ya lo hace por fila en la misma sentencia
+        // y MariaDB no permite modificar en la sentencia una tabla que el trigger también modifica.
+        String sql = categoria == null
+                ? SentenciasSQL.EMPLEADOS_INCREMENTAR_ANTIGUEDAD
+                : SentenciasSQL.EMPLEADOS_INCREMENTAR_ANTIGUEDAD_CATEGORIA;
 
-        String campo = request.getParameter("campo");
-        String valor = request.getParameter("valor");
+        long inicio = System.currentTimeMillis();
+        int filas;
 
-        List<String> camposValidos = Arrays.asList("nombre", "dni", "sexo", "categoria", "anyos");
-        if (!camposValidos.contains(campo)) {
-            throw new SQLException("Campo no válido: " + campo);
+        try {
+            filas = plantilla.actualizar("incrementarAntiguedad", sql, ps -> {
+                if (categoria != null) {
+                    ps.setInt(1, categoria);
+                }
+            });
+        } catch (SQLException ex) {
+            throw new SQLException("Error incrementando la antigüedad: " + ex.getMessage(), ex);
         }
 
-        String sql = "SELECT * FROM empleados WHERE " + campo + " LIKE ?";
-        List<Empleado> lista = new ArrayList<>();
+        String operacion = categoria == null
+                ? "Incremento anual de antigüedad"
+                : "Incremento anual de antigüedad (categoría " + categoria + ")";
+        return new ResultadoOperacionMasiva(operacion, filas, System.currentTimeMillis() - inicio, null, null);
+    }
 
-        try (Connection con = Conexion.getConnection();
-             PreparedStatement ps = con.prepareStatement(sql)) {
-            ps.setString(1, "%" + valor + "%");
-            try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) lista.add(EmpleadoFactory.crearDesdeResultSet(rs));
-            }
+    // ===========================================================
+    // ALTA DE EMPLEADOS CON SU NÓMINA (IMPORTACIÓN)
+    // ===========================================================
+    @Override
+    public void insertarConNomina(List<Empleado> empleados, double[] sueldos) throws SQLException {
+        if (empleados.size() != sueldos.length) {
+            throw new IllegalArgumentException("Debe haber un sueldo por empleado");
+        }
+
+        List<RegistroNomina> nominas = new ArrayList<>(sueldos.length);
+        for (int i = 0; i < sueldos.length; i++) {
+            nominas.add(new RegistroNomina(empleados.get(i).getDni(), sueldos[i]));
         }
-        return lista;
+
+        plantilla.enTransaccion("insertarConNomina", con -> {
+            // Primero empleados y después nominas, por la clave ajena nominas.dni
+            int filas = plantilla.ejecutarLote(con, SentenciasSQL.EMPLEADO_INSERTAR, empleados,
+                    this::asignarInsercion);
+            plantilla.ejecutarLote(con, SentenciasSQL.NOMINA_INSERTAR, nominas, NominasDAO::asignarNomina);
+            return filas;
+        });
     }
 }
@@ -0,0 +1,89 @@
+package com.dao;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLDataException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.model.EscalaSalarial;
+
+/**
+ * Implementación del DAO de escalas salariales sobre PlantillaJdbc.
+ * No es un CRUD por clave: la escala se lee y se escribe entera, una fila por categoría.
+ */
+public class EscalasSalarialesDAO implements IEscalaSalarialDAO {
+
+    private final PlantillaJdbc plantilla = new PlantillaJdbc("escalas_salariales");
+
+    @Override
+    public int obtenerVersionVigente() throws SQLException {
+        Integer version = plantilla.consultarUno("obtenerVersionVigente", SentenciasSQL.ESCALA_VERSION_VIGENTE,
+                null, rs -> rs.getInt(1));
+        return version == null ? 0 : version;
+    }
+
+    /**
+     * Lee las filas de la versión vigente ordenadas por categoría y comprueba que
+     * las categorías van de la 1 en adelante sin huecos y con el mismo incremento por año
+     */
+    @Override
+    public EscalaSalarial obtenerVigente() throws SQLException {
+        return plantilla.ejecutar("obtenerVigente", con -> {
+            int version = 0;
+            double incrementoAnyo = 0;
+            double[] sueldosBase = new double[16];
+            int categorias = 0;
+
+            try (PreparedStatement ps = con.prepareStatement(SentenciasSQL.ESCALA_VIGENTE);
+                 ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    int categoria = rs.getInt(2);
+                    if (categoria != categorias + 1) {
+                        throw new SQLDataException("La escala salarial v" + rs.getInt(1)
+                                + " no tiene la categoría " + (categorias + 1));
+                    }
+                    if (categorias == 0) {
+                        version = rs.getInt(1);
+                        incrementoAnyo = rs.getDouble(4);
+                    } else if (rs.getDouble(4) != incrementoAnyo) {
+                        throw new SQLDataException("La escala salarial v" + version
+                                + " tiene distintos incrementos por año");
+                    }
+                    if (categorias == sueldosBase.length) {
+                        sueldosBase = Arrays.copyOf(sueldosBase, categorias * 2);
+                    }
+                    sueldosBase[categorias++] = rs.getDouble(3);
+                }
+            }
+
+            if (categorias == 0) {
+                return null;
+            }
+            try {
+                return new EscalaSalarial(version, Arrays.copyOf(sueldosBase, categorias), incrementoAnyo);
+            } catch (IllegalArgumentException e) {
+                throw new SQLDataException("La escala salarial v" + version + " no es válida: " + e.getMessage(), e);
+            }
+        });
+    }
+
+    @Override
+    public void guardar(EscalaSalarial escala) throws SQLException {
+        if (escala == null) {
+            throw new IllegalArgumentException("La escala no puede ser nula");
+        }
+        List<Integer> categorias = new ArrayList<>(escala.getCategorias());
+        for (int c = 1; c <= escala.getCategorias(); c++) {
+            categorias.add(c);
+        }
+        plantilla.actualizarEnLote("guardar", SentenciasSQL.ESCALA_INSERTAR, categorias, (ps, categoria) -> {
+            ps.setInt(1, escala.getVersion());
+            ps.setInt(2, categoria);
+            ps.setDouble(3, escala.getSueldoBase(categoria));
+            ps.setDouble(4, escala.getIncrementoAnyo());
+        });
+    }
+}
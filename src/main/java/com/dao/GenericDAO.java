@@ -1,11 +1,14 @@
 package com.dao;
 
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
 
 /**
  * Interfaz genérica para operaciones CRUD básicas (Patrón DAO).
  * Define el contrato que deben cumplir los DAOs del sistema.
+ * Las variantes ...Todos escriben una colección en una sola transacción y por lotes
+ * (AbstractJdbcDAO es la implementación común sobre JDBC).
  * 
  * @param <T> Tipo de entidad que maneja el DAO
  * @param <K> Tipo de la clave primaria de la entidad
@@ -50,4 +53,28 @@ public interface GenericDAO<T, K> {
      * @throws SQLException si hay error en la base de datos
      */
     boolean eliminar(K id) throws SQLException;
+    
+    /**
+     * Guarda varias entidades nuevas en una transacción, con inserciones por lotes
+     * @param entidades Entidades a guardar
+     * @return Número de entidades guardadas
+     * @throws SQLException si falla alguna (no se guarda ninguna)
+     */
+    int guardarTodos(Collection<? extends T> entidades) throws SQLException;
+    
+    /**
+     * Actualiza varias entidades en una transacción, con actualizaciones por lotes
+     * @param entidades Entidades a actualizar
+     * @return Número de entidades actualizadas (las que no existen no cuentan)
+     * @throws SQLException si falla alguna (no se actualiza ninguna)
+     */
+    int actualizarTodos(Collection<? extends T> entidades) throws SQLException;
+    
+    /**
+     * Elimina varias entidades por su identificador en una transacción, por lotes
+     * @param ids Identificadores
+     * @return Número de entidades eliminadas
+     * @throws SQLException si falla alguna (no se elimina ninguna)
+     */
+    int eliminarTodos(Collection<? extends K> ids) throws SQLException;
 }
@@ -3,17 +3,22 @@ package com.dao;
 import java.sql.SQLException;
 import java.util.List;
 
-import javax.servlet.http.HttpServletRequest;
-
 import com.exceptions.DatosNoCorrectosException;
+import com.model.CriterioBusqueda;
 import com.model.Empleado;
+import com.model.Pagina;
+import com.model.ResultadoOperacionMasiva;
 
 /**
  * Interfaz que define el contrato para las operaciones de acceso a datos de Empleados.
  * Siguiendo el principio de Dependency Inversion (SOLID), los controllers
  * dependerán de esta interfaz en lugar de la implementación concreta.
+ * Incluye el CRUD genérico (GenericDAO) con sus variantes por lotes: las escrituras reciben
+ * objetos Empleado, no la petición HTTP, y se pueden usar fuera del contenedor de servlets.
+ * Las actualizaciones son optimistas: un Empleado leído de la base de datos lleva su versión y
+ * actualizar/actualizarTodos lanzan ConflictoConcurrenciaException si la fila cambió desde entonces.
  */
-public interface IEmpleadoDAO {
+public interface IEmpleadoDAO extends GenericDAO<Empleado, String> {
     
     /**
      * Lista todos los empleados de la base de datos
@@ -23,6 +28,23 @@ public interface IEmpleadoDAO {
      */
     List<Empleado> listar() throws SQLException, DatosNoCorrectosException;
     
+    /**
+     * Obtiene una página de empleados ordenada por DNI (paginación por clave)
+     * @param desdeDni Último DNI de la página anterior, o null para la primera página
+     * @param tamanyo Número máximo de empleados de la página
+     * @return Página con los empleados y el cursor de la siguiente página
+     * @throws SQLException si hay error al acceder a la base de datos
+     * @throws DatosNoCorrectosException si los datos obtenidos no son válidos
+     */
+    Pagina<Empleado> listarPagina(String desdeDni, int tamanyo) throws SQLException, DatosNoCorrectosException;
+    
+    /**
+     * Recorre todos los empleados uno a uno, sin cargarlos en memoria
+     * @param procesador Callback invocado por cada empleado
+     * @throws Exception si hay error en la base de datos o en el procesador
+     */
+    void recorrer(ProcesadorFilas<Empleado> procesador) throws Exception;
+    
     /**
      * Obtiene un empleado específico por su DNI
      * @param dni DNI del empleado a buscar
@@ -33,22 +55,33 @@ public interface IEmpleadoDAO {
     Empleado obtenerEmpleado(String dni) throws SQLException, DatosNoCorrectosException;
     
     /**
-     * Actualiza los datos de un empleado existente
-     * @param request HttpServletRequest con los datos del empleado a actualizar
-     * @return true si la actualización fue exitosa
-     * @throws SQLException si hay error al actualizar en la base de datos
-     * @throws DatosNoCorrectosException si los datos proporcionados no son válidos
+     * Busca una página de empleados según un criterio, ordenada por DNI.
+     * Campos numéricos y sexo por igualdad, DNI por prefijo y nombre por palabras
+     * (FULLTEXT) o prefijo: ninguna búsqueda recorre la tabla completa.
+     * @param criterio Campo, valor (ya validado), cursor y tamaño de página
+     * @return Página de empleados que cumplen el criterio
+     * @throws SQLException si hay error al buscar en la base de datos
+     * @throws DatosNoCorrectosException si los datos obtenidos no son válidos
      */
-    boolean actualizarEmpleado(HttpServletRequest request) 
+    Pagina<Empleado> buscarPorCriterio(CriterioBusqueda criterio) 
             throws SQLException, DatosNoCorrectosException;
     
     /**
-     * Busca empleados según un criterio específico
-     * @param request HttpServletRequest con los parámetros de búsqueda (campo y valor)
-     * @return Lista de empleados que cumplen el criterio
-     * @throws SQLException si hay error al buscar en la base de datos
-     * @throws DatosNoCorrectosException si los datos obtenidos no son válidos
+     * Incrementa en un año la antigüedad de todos los empleados (o de una categoría)
+     * con una única sentencia UPDATE en una transacción. El trigger recalcular_sueldo
+     * actualiza la nómina de cada fila dentro de la misma sentencia.
+     * @param categoria Categoría a la que limitar el incremento, o null para toda la plantilla
+     * @return Resultado con empleados afectados y duración
+     * @throws SQLException si hay error al actualizar (se deshace todo el incremento)
      */
-    List<Empleado> buscarPorCriterio(HttpServletRequest request) 
-            throws SQLException, DatosNoCorrectosException;
+    ResultadoOperacionMasiva incrementarAntiguedad(Integer categoria) throws SQLException;
+    
+    /**
+     * Da de alta un lote de empleados nuevos junto con su nómina inicial en una sola
+     * transacción, con inserciones por lotes (addBatch/executeBatch) en empleados y nominas.
+     * @param empleados Empleados a insertar (ya validados)
+     * @param sueldos Sueldo inicial de cada empleado, en el mismo orden
+     * @throws SQLException si falla alguna inserción (se deshace el lote completo)
+     */
+    void insertarConNomina(List<Empleado> empleados, double[] sueldos) throws SQLException;
 }
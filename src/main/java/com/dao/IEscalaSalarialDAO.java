@@ -0,0 +1,36 @@
+package com.dao;
+
+import java.sql.SQLException;
+
+import com.model.EscalaSalarial;
+
+/**
+ * Interfaz que define el contrato para el acceso a la tabla escalas_salariales,
+ * la única definición de la escala que usan el trigger recalcular_sueldo y CalculadoraSueldos.
+ * Cada versión de la escala es inmutable: una escala nueva se guarda completa con una versión posterior.
+ */
+public interface IEscalaSalarialDAO {
+
+    /**
+     * Versión de la escala vigente, sin leer sus filas (consulta de sondeo barata)
+     * @return Mayor versión guardada, o 0 si la tabla está vacía
+     * @throws SQLException si hay error al acceder a la base de datos
+     */
+    int obtenerVersionVigente() throws SQLException;
+
+    /**
+     * Escala vigente (la de mayor versión) completa
+     * @return Escala, o null si la tabla está vacía
+     * @throws SQLException si hay error al acceder a la base de datos
+     * @throws java.sql.SQLDataException si a la versión le falta alguna categoría o sus datos no son válidos
+     */
+    EscalaSalarial obtenerVigente() throws SQLException;
+
+    /**
+     * Guarda todas las categorías de una escala en una sola transacción
+     * @param escala Escala con una versión que aún no exista en la tabla
+     * @throws SQLException si hay error al guardar (la versión ya existe, p. ej.)
+     * @throws IllegalArgumentException si la escala es nula
+     */
+    void guardar(EscalaSalarial escala) throws SQLException;
+}
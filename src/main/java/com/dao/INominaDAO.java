@@ -1,23 +1,41 @@
 package com.dao;
 
 import java.sql.SQLException;
-import java.util.Map;
+import java.util.Collection;
+import java.util.List;
+
+import com.model.RegistroNomina;
+import com.model.ResultadoOperacionMasiva;
+import com.model.SueldosPorDni;
 
 /**
  * Interfaz que define el contrato para las operaciones de acceso a datos de Nóminas.
  * Siguiendo el principio de Dependency Inversion (SOLID), los controllers
  * dependerán de esta interfaz en lugar de la implementación concreta.
+ * Incluye el CRUD genérico (GenericDAO) de la tabla nominas con sus variantes por lotes.
  */
-public interface INominaDAO {
+public interface INominaDAO extends GenericDAO<RegistroNomina, String> {
     
     /**
      * Obtiene la información de nómina de un empleado por su DNI
      * @param dni DNI del empleado
-     * @return Map con los datos de la nómina (dni, sueldo) o null si no existe
+     * @return Nómina almacenada (dni, sueldo) o null si no existe
      * @throws SQLException si hay error al acceder a la base de datos
      * @throws IllegalArgumentException si el DNI es nulo o vacío
      */
-    Map<String, Object> obtenerNomina(String dni) throws SQLException;
+    RegistroNomina obtenerNomina(String dni) throws SQLException;
+    
+    /**
+     * Obtiene el sueldo almacenado de muchos empleados a la vez, con consultas
+     * "WHERE dni IN (...)" de como máximo tamanyoBloque DNI cada una sobre una sola conexión.
+     * Los DNI repetidos, nulos o vacíos se ignoran; la letra se compara en mayúscula.
+     * @param dnis DNI a consultar
+     * @param tamanyoBloque DNI por consulta (se limita al máximo de parámetros del driver)
+     * @return Sueldos de los DNI que tienen nómina, ordenados por DNI
+     * @throws SQLException si hay error al acceder a la base de datos
+     * @throws IllegalArgumentException si la colección es nula o el tamaño de bloque no es positivo
+     */
+    SueldosPorDni obtenerSueldos(Collection<String> dnis, int tamanyoBloque) throws SQLException;
     
     /**
      * Actualiza el sueldo de un empleado en su nómina
@@ -28,4 +46,36 @@ public interface INominaDAO {
      * @throws IllegalArgumentException si el DNI es nulo/vacío o el sueldo es negativo
      */
     boolean actualizarSueldo(String dni, double nuevoSueldo) throws SQLException;
+    
+    /**
+     * Actualiza el sueldo de varias nóminas por lotes en una sola transacción
+     * (escritura diferida de sueldos). Si falla alguna no se confirma ninguna.
+     * @param nominas Nóminas (dni, sueldo nuevo) a actualizar
+     * @return Filas actualizadas por nómina, en el orden de la lista (0 si el DNI no tiene nómina);
+     *         exactas aunque el driver no las informe en los lotes
+     * @throws SQLException si hay error al actualizar
+     */
+    int[] actualizarSueldos(List<RegistroNomina> nominas) throws SQLException;
+    
+    /**
+     * Recorre todos los empleados junto con su sueldo almacenado en una única consulta
+     * (empleados LEFT JOIN nominas), entregando cada fila al procesador en streaming.
+     * @param procesador Recibe cada empleado con su sueldo y si tiene nómina almacenada
+     * @throws Exception si hay error en la base de datos o en el procesador
+     */
+    void recorrerNominasConEmpleados(ProcesadorNominas procesador) throws Exception;
+    
+    /**
+     * Recalcula y guarda el sueldo de todos los empleados con DNI posterior a desdeDni.
+     * Recorre empleados en streaming y escribe por lotes (addBatch/executeBatch),
+     * confirmando cada lotesPorCommit lotes. Es idempotente, así que puede reanudarse
+     * desde el último DNI confirmado si se interrumpe.
+     * @param desdeDni DNI a partir del cual continuar (exclusivo), o null para empezar desde el principio
+     * @param tamanyoLote Filas por executeBatch
+     * @param lotesPorCommit Lotes que se agrupan en cada transacción
+     * @return Resultado con filas, duración y último DNI confirmado
+     * @throws SQLException si no se puede iniciar el proceso
+     */
+    ResultadoOperacionMasiva recalcularSueldos(String desdeDni, int tamanyoLote, int lotesPorCommit) 
+            throws SQLException;
 }
@@ -0,0 +1,109 @@
+package com.dao;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+import com.factory.EmpleadoFactory;
+import com.model.Empleado;
+
+/**
+ * Fila de empleados -> Empleado, compilado por consulta: la posición de cada columna se busca
+ * una vez en los metadatos (por etiqueta, sin distinguir mayúsculas) y cada fila se lee por índice.
+ * El sexo se devuelve como las constantes "M"/"F" en lugar de una cadena nueva por fila, y el
+ * empleado se construye sin volver a validar lo que ya garantizan las CHECK de la tabla
+ * (EmpleadoFactory.crearDesdeFilaConfiable).
+ * La columna version es opcional: sin ella el empleado queda con Empleado.SIN_VERSION.
+ */
+public final class MapeadorEmpleados implements MapeadorFilas<Empleado> {
+
+    private static final String MASCULINO = "M";
+    private static final String FEMENINO = "F";
+
+    /**
+     * Sin compilar: resuelve las columnas en cada llamada. PlantillaJdbc siempre lo compila;
+     * esto sólo sirve para quien lo llame fila a fila por su cuenta
+     */
+    @Override
+    public Empleado mapear(ResultSet rs) throws SQLException {
+        return compilar(rs.getMetaData()).mapear(rs);
+    }
+
+    @Override
+    public MapeadorFilas<Empleado> compilar(ResultSetMetaData metadatos) throws SQLException {
+        return new Compilado(
+                columna(metadatos, "dni", true),
+                columna(metadatos, "nombre", true),
+                columna(metadatos, "sexo", true),
+                columna(metadatos, "categoria", true),
+                columna(metadatos, "anyos", true),
+                columna(metadatos, "version", false));
+    }
+
+    /**
+     * @return Posición (desde 1) de la columna, o 0 si no está y no es obligatoria
+     * @throws SQLException si no está y es obligatoria
+     */
+    private static int columna(ResultSetMetaData metadatos, String nombre, boolean obligatoria) throws SQLException {
+        for (int i = 1, n = metadatos.getColumnCount(); i <= n; i++) {
+            if (nombre.equalsIgnoreCase(metadatos.getColumnLabel(i))) {
+                return i;
+            }
+        }
+        if (obligatoria) {
+            throw new SQLException("La consulta de empleados no incluye la columna " + nombre);
+        }
+        return 0;
+    }
+
+    /**
+     * "M" y "F" como constantes compartidas; cualquier otro valor (no debería haberlo con la
+     * CHECK de la tabla) se devuelve recortado, como hacía EmpleadoFactory.crearDesdeResultSet
+     */
+    static String internarSexo(String sexo) {
+        if (sexo == null) {
+            return "";
+        }
+        if (sexo.length() == 1) {
+            char c = sexo.charAt(0);
+            if (c == 'M') {
+                return MASCULINO;
+            }
+            if (c == 'F') {
+                return FEMENINO;
+            }
+        }
+        return sexo.trim();
+    }
+
+    /** Mapeador con las posiciones de un ResultSet concreto; inmutable */
+    private static final class Compilado implements MapeadorFilas<Empleado> {
+
+        private final int dni;
+        private final int nombre;
+        private final int sexo;
+        private final int categoria;
+        private final int anyos;
+        private final int version;
+
+        Compilado(int dni, int nombre, int sexo, int categoria, int anyos, int version) {
+            this.dni = dni;
+            this.nombre = nombre;
+            this.sexo = sexo;
+            this.categoria = categoria;
+            this.anyos = anyos;
+            this.version = version;
+        }
+
+        @Override
+        public Empleado mapear(ResultSet rs) throws SQLException {
+            return EmpleadoFactory.crearDesdeFilaConfiable(
+                    rs.getString(nombre),
+                    rs.getString(dni),
+                    internarSexo(rs.getString(sexo)),
+                    rs.getInt(categoria),
+                    rs.getInt(anyos),
+                    version == 0 ? Empleado.SIN_VERSION : rs.getInt(version));
+        }
+    }
+}
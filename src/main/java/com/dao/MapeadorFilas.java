@@ -0,0 +1,35 @@
+package com.dao;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+/**
+ * Convierte la fila actual de un ResultSet en un objeto.
+ * Lo usan PlantillaJdbc y AbstractJdbcDAO para que cada entidad sólo defina su mapeo.
+ * PlantillaJdbc lo compila una vez por consulta (compilar) y usa el compilado en todas las filas.
+ *
+ * @param <T> Tipo del objeto construido
+ */
+@FunctionalInterface
+public interface MapeadorFilas<T> {
+
+    /**
+     * Construye el objeto de la fila actual (no debe avanzar el cursor)
+     * @param rs ResultSet posicionado en la fila
+     * @return Objeto construido
+     * @throws SQLException si falla la lectura o la fila no es válida
+     */
+    T mapear(ResultSet rs) throws SQLException;
+
+    /**
+     * Mapeador para las filas de un ResultSet concreto, preparado antes de la primera
+     * (p. ej. con la posición de cada columna ya buscada en los metadatos)
+     * @param metadatos Metadatos del ResultSet
+     * @return Mapeador para todas sus filas; por defecto este mismo
+     * @throws SQLException si falta alguna columna necesaria
+     */
+    default MapeadorFilas<T> compilar(ResultSetMetaData metadatos) throws SQLException {
+        return this;
+    }
+}
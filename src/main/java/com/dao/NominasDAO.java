@@ -3,49 +3,118 @@ package com.dao;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.SQLDataException;
 import java.sql.SQLException;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeSet;
  
 import com.conexion.Conexion;
+import com.model.CalculadoraSueldos;
+import com.model.Empleado;
+import com.model.RegistroNomina;
+import com.model.ResultadoOperacionMasiva;
+import com.model.SueldosPorDni;
 
 /**
  * Implementación del DAO para Nóminas.
  * Implementa INominaDAO definiendo las operaciones concretas.
  * Mejorado con manejo adecuado de recursos y cierre automático.
+ * La conexión, los lotes, el fetch size y las métricas los pone PlantillaJdbc (vía AbstractJdbcDAO).
  */
-public class NominasDAO implements INominaDAO {
+public class NominasDAO extends AbstractJdbcDAO<RegistroNomina, String> implements INominaDAO {
+    
+    /** Fila de nominas (dni, sueldo) -> RegistroNomina */
+    static final MapeadorFilas<RegistroNomina> MAPEADOR =
+            rs -> new RegistroNomina(rs.getString("dni"), rs.getDouble("sueldo"));
+    
+    // Máximo de "?" por sentencia preparada en el protocolo de MariaDB/MySQL (contador de 16 bits)
+    static final int MAX_PARAMETROS = 65535;
+    
+    // Bloques menores que este se rellenan hasta la siguiente potencia de 2
+    private static final int BLOQUE_MINIMO = 8;
+    
+    public NominasDAO() {
+        super("nominas", SentenciasSQL.NOMINAS_CRUD, MAPEADOR);
+    }
  
     /**
      * Obtiene la información de nómina de un empleado por su DNI
      * @param dni DNI del empleado
-     * @return Map con los datos de la nómina (dni, sueldo) o null si no existe
+     * @return Nómina almacenada (dni, sueldo) o null si no existe
      * @throws SQLException si hay error al acceder a la base de datos
      */
     @Override
-    public Map<String, Object> obtenerNomina(String dni) throws SQLException {
+    public RegistroNomina obtenerNomina(String dni) throws SQLException {
         if (dni == null || dni.trim().isEmpty()) {
             throw new IllegalArgumentException("El DNI no puede ser nulo o vacío");
         }
         
-        String sql = "SELECT * FROM nominas WHERE dni = ?";
+        return obtenerPorId(dni);
+    }
+    
+    /**
+     * Normaliza (letra en mayúscula), ordena y elimina duplicados antes de partir en bloques: cada bloque es un rango
+     * contiguo de la clave primaria y el resultado ya sale ordenado para SueldosPorDni.
+     * El último bloque se rellena repitiendo su último DNI hasta una potencia de 2, de modo
+     * que sólo hay unos pocos textos de sentencia distintos y el pool los reutiliza.
+     */
+    @Override
+    public SueldosPorDni obtenerSueldos(Collection<String> dnis, int tamanyoBloque) throws SQLException {
+        if (dnis == null) {
+            throw new IllegalArgumentException("La lista de DNI no puede ser nula");
+        }
+        if (tamanyoBloque <= 0) {
+            throw new IllegalArgumentException("El tamaño de bloque debe ser positivo");
+        }
         
-        try (Connection connection = Conexion.getConnection();
-             PreparedStatement statement = connection.prepareStatement(sql)) {
-            
-            statement.setString(1, dni);
-            
-            try (ResultSet resultSet = statement.executeQuery()) {
-                if (resultSet.next()) {
-                    Map<String, Object> resultado = new HashMap<>();
-                    resultado.put("dni", resultSet.getString("dni"));
-                    resultado.put("sueldo", resultSet.getDouble("sueldo"));
-                    return resultado;
-                }
+        TreeSet<String> ordenados = new TreeSet<>();
+        for (String dni : dnis) {
+            if (dni != null && !dni.trim().isEmpty()) {
+                ordenados.add(dni.trim().toUpperCase(Locale.ROOT));
             }
         }
         
-        return null;
+        SueldosPorDni resultado = new SueldosPorDni(ordenados.size());
+        if (ordenados.isEmpty()) {
+            return resultado;
+        }
+        
+        String[] claves = ordenados.toArray(new String[0]);
+        int bloque = Math.min(tamanyoBloque, MAX_PARAMETROS);
+        
+        return plantilla.ejecutar("obtenerSueldos", connection -> {
+            for (int desde = 0; desde < claves.length; desde += bloque) {
+                int cuantos = Math.min(bloque, claves.length - desde);
+                int parametros = parametrosBloque(cuantos, bloque);
+                
+                try (PreparedStatement statement = connection.prepareStatement(
+                        SentenciasSQL.nominasPorDnis(parametros))) {
+                    for (int i = 0; i < parametros; i++) {
+                        statement.setString(i + 1, claves[desde + Math.min(i, cuantos - 1)]);
+                    }
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        while (resultSet.next()) {
+                            resultado.anyadir(resultSet.getString(1), resultSet.getDouble(2));
+                        }
+                    }
+                }
+            }
+            return resultado;
+        });
+    }
+    
+    /**
+     * Número de parámetros de la sentencia para un bloque de cuantos DNI:
+     * el bloque completo, o la siguiente potencia de 2 (mínimo BLOQUE_MINIMO) si es el último.
+     */
+    static int parametrosBloque(int cuantos, int bloque) {
+        if (cuantos >= bloque) {
+            return bloque;
+        }
+        int potencia = Math.max(BLOQUE_MINIMO, Integer.highestOneBit(cuantos - 1) << 1);
+        return Math.min(potencia, bloque);
     }
     
     /**
@@ -65,16 +134,168 @@ public class NominasDAO implements INominaDAO {
             throw new IllegalArgumentException("El sueldo no puede ser negativo");
         }
         
-        String sql = "UPDATE nominas SET sueldo = ? WHERE dni = ?";
+        return actualizar(new RegistroNomina(dni, nuevoSueldo));
+    }
+    
+    @Override
+    public int[] actualizarSueldos(List<RegistroNomina> nominas) throws SQLException {
+        if (nominas.isEmpty()) {
+            return new int[0];
+        }
+        return plantilla.enTransaccion("actualizarSueldos", con -> plantilla.ejecutarLotePorElemento(
+                con, SentenciasSQL.NOMINA_ACTUALIZAR_SUELDO, nominas, this::asignarActualizacion));
+    }
+    
+    @Override
+    protected void asignarInsercion(PreparedStatement ps, RegistroNomina nomina) throws SQLException {
+        asignarNomina(ps, nomina);
+    }
+    
+    @Override
+    protected void asignarActualizacion(PreparedStatement ps, RegistroNomina nomina) throws SQLException {
+        ps.setDouble(1, nomina.getSueldo());
+        ps.setString(2, nomina.getDni());
+    }
+    
+    @Override
+    protected void asignarClave(PreparedStatement ps, String dni) throws SQLException {
+        ps.setString(1, dni);
+    }
+    
+    /** Parámetros (dni, sueldo) de NOMINA_INSERTAR; también lo usa EmpleadosDAO al dar de alta */
+    static void asignarNomina(PreparedStatement ps, RegistroNomina nomina) throws SQLException {
+        ps.setString(1, nomina.getDni());
+        ps.setDouble(2, nomina.getSueldo());
+    }
+    
+    /**
+     * Recorre empleados y sueldos con una sola consulta y una sola conexión,
+     * evitando una consulta a nominas por cada empleado (N+1).
+     * @param procesador Recibe cada empleado con su sueldo y si tiene nómina almacenada
+     * @throws Exception si hay error en la base de datos o en el procesador
+     */
+    @Override
+    public void recorrerNominasConEmpleados(ProcesadorNominas procesador) throws Exception {
+        plantilla.recorrerFilas("recorrerNominasConEmpleados", SentenciasSQL.NOMINAS_CON_EMPLEADOS, null,
+                new ProcesadorFilas<ResultSet>() {
+                    // Columnas resueltas con la primera fila
+                    private MapeadorFilas<Empleado> empleados;
+                    private int sueldo;
+                    
+                    @Override
+                    public void procesar(ResultSet resultSet) throws Exception {
+                        if (empleados == null) {
+                            empleados = EmpleadosDAO.MAPEADOR.compilar(resultSet.getMetaData());
+                            sueldo = resultSet.findColumn("sueldo");
+                        }
+                        Empleado empleado = empleados.mapear(resultSet);
+                        double valor = resultSet.getDouble(sueldo);
+                        procesador.procesar(empleado, valor, !resultSet.wasNull());
+                    }
+                });
+    }
+    
+    /**
+     * Recalcula todos los sueldos con una conexión de lectura en streaming y otra de escritura por lotes.
+     * Si falla, devuelve el resultado parcial con el último DNI confirmado para reanudar.
+     */
+    @Override
+    public ResultadoOperacionMasiva recalcularSueldos(String desdeDni, int tamanyoLote, int lotesPorCommit) 
+            throws SQLException {
+        if (tamanyoLote <= 0 || lotesPorCommit <= 0) {
+            throw new IllegalArgumentException("El tamaño de lote y los lotes por commit deben ser positivos");
+        }
+        
+        return plantilla.ejecutar("recalcularSueldos",
+                lectura -> recalcularSueldos(lectura, desdeDni, tamanyoLote, lotesPorCommit));
+    }
+    
+    private ResultadoOperacionMasiva recalcularSueldos(Connection lectura, String desdeDni, int tamanyoLote,
+            int lotesPorCommit) throws SQLException {
+        String sqlLectura = SentenciasSQL.NOMINAS_DATOS_RECALCULO;
+        String sqlEscritura = SentenciasSQL.NOMINA_GUARDAR_SUELDO;
+        
+        long inicio = System.currentTimeMillis();
+        long filasConfirmadas = 0;
+        String ultimoDniConfirmado = desdeDni;
+        CalculadoraSueldos calculadora = CalculadoraSueldos.getInstancia();
         
-        try (Connection connection = Conexion.getConnection();
-             PreparedStatement statement = connection.prepareStatement(sql)) {
+        // Un lote en columnas: los sueldos se calculan en bloque antes de enviarlo
+        String[] dnis = new String[tamanyoLote];
+        int[] categorias = new int[tamanyoLote];
+        int[] anyos = new int[tamanyoLote];
+        double[] sueldos = new double[tamanyoLote];
+        
+        try (Connection escritura = Conexion.getConnection()) {
             
-            statement.setDouble(1, nuevoSueldo);
-            statement.setString(2, dni);
+            escritura.setAutoCommit(false);
             
-            int filasAfectadas = statement.executeUpdate();
-            return filasAfectadas > 0;
+            try (PreparedStatement select = lectura.prepareStatement(sqlLectura,
+                         ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                 PreparedStatement upsert = escritura.prepareStatement(sqlEscritura)) {
+                
+                select.setFetchSize(plantilla.getTamanyoFetch());
+                select.setString(1, desdeDni == null ? "" : desdeDni);
+                
+                int enLote = 0;
+                int lotesPendientes = 0;
+                long filasPendientes = 0;
+                String ultimoDniLeido = null;
+                
+                try (ResultSet rs = select.executeQuery()) {
+                    while (rs.next()) {
+                        ultimoDniLeido = rs.getString(1);
+                        dnis[enLote] = ultimoDniLeido;
+                        categorias[enLote] = rs.getInt(2);
+                        anyos[enLote] = rs.getInt(3);
+                        filasPendientes++;
+                        
+                        if (++enLote == tamanyoLote) {
+                            enviarLote(upsert, calculadora, dnis, categorias, anyos, sueldos, enLote);
+                            enLote = 0;
+                            if (++lotesPendientes == lotesPorCommit) {
+                                escritura.commit();
+                                filasConfirmadas += filasPendientes;
+                                ultimoDniConfirmado = ultimoDniLeido;
+                                lotesPendientes = 0;
+                                filasPendientes = 0;
+                            }
+                        }
+                    }
+                }
+                
+                if (enLote > 0) {
+                    enviarLote(upsert, calculadora, dnis, categorias, anyos, sueldos, enLote);
+                }
+                escritura.commit();
+                filasConfirmadas += filasPendientes;
+                if (ultimoDniLeido != null) {
+                    ultimoDniConfirmado = ultimoDniLeido;
+                }
+                
+            } catch (SQLException ex) {
+                escritura.rollback();
+                return new ResultadoOperacionMasiva("Recálculo de sueldos", filasConfirmadas,
+                        System.currentTimeMillis() - inicio, ultimoDniConfirmado, ex.getMessage());
+            }
+        }
+        
+        return new ResultadoOperacionMasiva("Recálculo de sueldos", filasConfirmadas,
+                System.currentTimeMillis() - inicio, ultimoDniConfirmado, null);
+    }
+    
+    private static void enviarLote(PreparedStatement upsert, CalculadoraSueldos calculadora, String[] dnis,
+            int[] categorias, int[] anyos, double[] sueldos, int filas) throws SQLException {
+        try {
+            calculadora.calcular(categorias, anyos, sueldos, filas);
+        } catch (IllegalArgumentException e) {
+            throw new SQLDataException("Empleado con datos no válidos para la escala salarial: " + e.getMessage(), e);
+        }
+        for (int i = 0; i < filas; i++) {
+            upsert.setString(1, dnis[i]);
+            upsert.setDouble(2, sueldos[i]);
+            upsert.addBatch();
         }
+        upsert.executeBatch();
     }
 }
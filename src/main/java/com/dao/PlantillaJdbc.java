@@ -0,0 +1,429 @@
+package com.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import com.conexion.Conexion;
+import com.model.Pagina;
+import com.util.Configuracion;
+import com.util.MetricasPeticiones;
+import com.util.MetricasPeticiones.MedidorOperacion;
+
+/**
+ * Motor JDBC común de los DAOs: obtiene la conexión del pool, prepara la sentencia,
+ * asigna parámetros, recorre el ResultSet con un MapeadorFilas y cierra todo.
+ * Así todas las entidades comparten el mismo camino de E/S:
+ * - consultas grandes con cursor de sólo avance y fetch size (dao.fetchSize, o dao.&lt;entidad&gt;.fetchSize)
+ * - el MapeadorFilas se compila una vez por ResultSet (MapeadorFilas.compilar), no en cada fila
+ * - escrituras de colecciones con addBatch/executeBatch en una transacción, en bloques de dao.tamanyoLote
+ * - tiempo, filas y errores de cada operación en MetricasPeticiones (empresa_dao_* en /app/admin/metricas)
+ *
+ * Una instancia por entidad; es inmutable y segura entre hilos.
+ */
+public final class PlantillaJdbc {
+
+    /**
+     * Asigna los parámetros de una sentencia
+     */
+    @FunctionalInterface
+    public interface Parametros {
+        void asignar(PreparedStatement ps) throws SQLException;
+    }
+
+    /**
+     * Trabajo sobre una conexión (en transacción con enTransaccion)
+     * @param <R> Resultado del trabajo
+     */
+    @FunctionalInterface
+    public interface Trabajo<R> {
+        R ejecutar(Connection con) throws SQLException;
+    }
+
+    private static final Parametros SIN_PARAMETROS = ps -> { };
+
+    private final String entidad;
+    private final int tamanyoFetch;
+    private final int tamanyoLote;
+    private final Map<String, MedidorOperacion> medidores = new ConcurrentHashMap<>();
+    
+    // El driver respondió SUCCESS_NO_INFO a un lote: las filas exactas se piden fila a fila
+    private volatile boolean loteSinFilas;
+
+    /**
+     * Plantilla con los tamaños de application.properties
+     * @param entidad Nombre de la entidad para las métricas (p. ej. "empleados")
+     */
+    public PlantillaJdbc(String entidad) {
+        this(entidad,
+             Configuracion.getInt("dao." + entidad + ".fetchSize", Configuracion.getInt("dao.fetchSize", 500)),
+             Configuracion.getInt("dao.tamanyoLote", 1000));
+    }
+
+    /**
+     * @param entidad Nombre de la entidad para las métricas
+     * @param tamanyoFetch Filas por viaje al servidor en las consultas grandes
+     * @param tamanyoLote Filas por executeBatch en las escrituras por lotes
+     */
+    public PlantillaJdbc(String entidad, int tamanyoFetch, int tamanyoLote) {
+        if (tamanyoFetch <= 0 || tamanyoLote <= 0) {
+            throw new IllegalArgumentException("El fetch size y el tamaño de lote deben ser positivos");
+        }
+        this.entidad = entidad;
+        this.tamanyoFetch = tamanyoFetch;
+        this.tamanyoLote = tamanyoLote;
+    }
+
+    // ===========================================================
+    // CONSULTAS
+    // ===========================================================
+
+    /**
+     * Primera fila de la consulta
+     * @return Objeto mapeado o null si no hay filas
+     */
+    public <T> T consultarUno(String operacion, String sql, Parametros parametros, MapeadorFilas<T> mapeador)
+            throws SQLException {
+        long inicio = System.nanoTime();
+        boolean error = true;
+        T resultado = null;
+        try (Connection con = Conexion.getConnection();
+             PreparedStatement ps = con.prepareStatement(sql)) {
+            asignar(ps, parametros);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    resultado = mapeador.compilar(rs.getMetaData()).mapear(rs);
+                }
+            }
+            error = false;
+            return resultado;
+        } finally {
+            medir(operacion, inicio, resultado == null ? 0 : 1, error);
+        }
+    }
+
+    /**
+     * Todas las filas de la consulta, leídas con el fetch size de la plantilla
+     */
+    public <T> List<T> consultarLista(String operacion, String sql, Parametros parametros, MapeadorFilas<T> mapeador)
+            throws SQLException {
+        long inicio = System.nanoTime();
+        boolean error = true;
+        List<T> lista = new ArrayList<>();
+        try (Connection con = Conexion.getConnection();
+             PreparedStatement ps = prepararLectura(con, sql)) {
+            asignar(ps, parametros);
+            try (ResultSet rs = ps.executeQuery()) {
+                MapeadorFilas<T> filas = mapeador.compilar(rs.getMetaData());
+                while (rs.next()) {
+                    lista.add(filas.mapear(rs));
+                }
+            }
+            error = false;
+            return lista;
+        } finally {
+            medir(operacion, inicio, lista.size(), error);
+        }
+    }
+
+    /**
+     * Página por clave: la sentencia debe pedir tamanyo + 1 filas (LIMIT) para saber si hay más
+     * @param tamanyo Tamaño de la página
+     * @param cursor Clave de un elemento, que será el cursor de la página siguiente si la hay
+     */
+    public <T> Pagina<T> consultarPagina(String operacion, String sql, Parametros parametros,
+            MapeadorFilas<T> mapeador, int tamanyo, Function<T, String> cursor) throws SQLException {
+        long inicio = System.nanoTime();
+        boolean error = true;
+        List<T> lista = new ArrayList<>(Math.min(tamanyo, 64));
+        boolean hayMas = false;
+        try (Connection con = Conexion.getConnection();
+             PreparedStatement ps = con.prepareStatement(sql)) {
+            asignar(ps, parametros);
+            try (ResultSet rs = ps.executeQuery()) {
+                MapeadorFilas<T> filas = mapeador.compilar(rs.getMetaData());
+                while (rs.next()) {
+                    if (lista.size() == tamanyo) {
+                        hayMas = true;
+                        break;
+                    }
+                    lista.add(filas.mapear(rs));
+                }
+            }
+            error = false;
+        } finally {
+            medir(operacion, inicio, lista.size(), error);
+        }
+        String siguiente = hayMas ? cursor.apply(lista.get(lista.size() - 1)) : null;
+        return new Pagina<>(lista, siguiente, tamanyo);
+    }
+
+    /**
+     * Recorre la consulta en streaming (cursor de sólo avance con fetch size) entregando cada objeto.
+     * El mapeador se compila con la primera fila
+     */
+    public <T> void recorrer(String operacion, String sql, Parametros parametros, MapeadorFilas<T> mapeador,
+            ProcesadorFilas<? super T> procesador) throws Exception {
+        recorrerFilas(operacion, sql, parametros, new ProcesadorFilas<ResultSet>() {
+            private MapeadorFilas<T> filas;
+
+            @Override
+            public void procesar(ResultSet rs) throws Exception {
+                if (filas == null) {
+                    filas = mapeador.compilar(rs.getMetaData());
+                }
+                procesador.procesar(filas.mapear(rs));
+            }
+        });
+    }
+
+    /**
+     * Recorre la consulta en streaming entregando el ResultSet posicionado en cada fila,
+     * para lecturas que no se corresponden con una entidad
+     */
+    public void recorrerFilas(String operacion, String sql, Parametros parametros,
+            ProcesadorFilas<ResultSet> procesador) throws Exception {
+        long inicio = System.nanoTime();
+        boolean error = true;
+        long filas = 0;
+        try (Connection con = Conexion.getConnection();
+             PreparedStatement ps = prepararLectura(con, sql)) {
+            asignar(ps, parametros);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    procesador.procesar(rs);
+                    filas++;
+                }
+            }
+            error = false;
+        } finally {
+            medir(operacion, inicio, filas, error);
+        }
+    }
+
+    // ===========================================================
+    // ESCRITURAS
+    // ===========================================================
+
+    /**
+     * Una sentencia de escritura en modo autocommit
+     * @return Filas afectadas
+     */
+    public int actualizar(String operacion, String sql, Parametros parametros) throws SQLException {
+        long inicio = System.nanoTime();
+        boolean error = true;
+        int filas = 0;
+        try (Connection con = Conexion.getConnection();
+             PreparedStatement ps = con.prepareStatement(sql)) {
+            asignar(ps, parametros);
+            filas = ps.executeUpdate();
+            error = false;
+            return filas;
+        } finally {
+            medir(operacion, inicio, filas, error);
+        }
+    }
+
+    /**
+     * La misma sentencia para cada elemento, por lotes y en una sola transacción:
+     * si falla un lote se deshacen todos
+     * @return Filas afectadas
+     */
+    public <T> int actualizarEnLote(String operacion, String sql, Collection<? extends T> elementos,
+            AsignadorParametros<? super T> asignador) throws SQLException {
+        if (elementos.isEmpty()) {
+            return 0;
+        }
+        return enTransaccion(operacion, con -> ejecutarLote(con, sql, elementos, asignador));
+    }
+
+    /**
+     * Ejecuta el trabajo en una transacción: commit al terminar, rollback si lanza.
+     * Si el trabajo devuelve un Integer (o un int[] por elemento) se registra como filas afectadas
+     */
+    public <R> R enTransaccion(String operacion, Trabajo<R> trabajo) throws SQLException {
+        return conConexion(operacion, true, trabajo);
+    }
+
+    /**
+     * Ejecuta el trabajo con una conexión del pool en modo autocommit, midiendo su duración
+     * como una operación (para trabajos con varias sentencias o varias conexiones)
+     */
+    public <R> R ejecutar(String operacion, Trabajo<R> trabajo) throws SQLException {
+        return conConexion(operacion, false, trabajo);
+    }
+
+    private <R> R conConexion(String operacion, boolean transaccion, Trabajo<R> trabajo) throws SQLException {
+        long inicio = System.nanoTime();
+        boolean error = true;
+        long afectadas = 0;
+        try (Connection con = Conexion.getConnection()) {
+            R resultado;
+            if (transaccion) {
+                con.setAutoCommit(false);
+                try {
+                    resultado = trabajo.ejecutar(con);
+                    con.commit();
+                } catch (SQLException | RuntimeException ex) {
+                    con.rollback();
+                    throw ex;
+                }
+            } else {
+                resultado = trabajo.ejecutar(con);
+            }
+            if (resultado instanceof Integer) {
+                afectadas = (Integer) resultado;
+            } else if (resultado instanceof int[]) {
+                for (int filas : (int[]) resultado) {
+                    afectadas += filas;
+                }
+            }
+            error = false;
+            return resultado;
+        } finally {
+            medir(operacion, inicio, afectadas, error);
+        }
+    }
+
+    /**
+     * Lote dentro de un trabajo: addBatch por elemento y executeBatch cada tamanyoLote.
+     * Un único elemento se ejecuta con executeUpdate (sin el coste del lote y con filas exactas)
+     * @param con Conexión del trabajo (la transacción la gestiona quien llama)
+     * @return Filas afectadas (cada SUCCESS_NO_INFO cuenta como una: sirve para métricas, no para
+     *         saber qué elemento encontró su fila; para eso ejecutarLotePorElemento)
+     */
+    public <T> int ejecutarLote(Connection con, String sql, Collection<? extends T> elementos,
+            AsignadorParametros<? super T> asignador) throws SQLException {
+        int filas = 0;
+        for (int r : ejecutarEnBloques(con, sql, elementos, asignador, false)) {
+            filas += r;
+        }
+        return filas;
+    }
+
+    /**
+     * Como ejecutarLote, pero devuelve las filas afectadas exactas de cada elemento, en el orden
+     * de la colección (para saber cuáles no encontraron su fila, p. ej. por versión).
+     * Si el driver responde SUCCESS_NO_INFO (MariaDB con useBulkStmts o rewriteBatchedStatements)
+     * el bloque se deshace hasta un savepoint y se repite fila a fila con executeUpdate; desde
+     * entonces esta plantilla ejecuta así directamente las escrituras que necesitan filas exactas
+     * @param con Conexión del trabajo, en una transacción (la gestiona quien llama)
+     * @return Filas afectadas por elemento
+     */
+    public <T> int[] ejecutarLotePorElemento(Connection con, String sql, Collection<? extends T> elementos,
+            AsignadorParametros<? super T> asignador) throws SQLException {
+        return ejecutarEnBloques(con, sql, elementos, asignador, true);
+    }
+
+    private <T> int[] ejecutarEnBloques(Connection con, String sql, Collection<? extends T> elementos,
+            AsignadorParametros<? super T> asignador, boolean exactas) throws SQLException {
+        int[] filas = new int[elementos.size()];
+        try (PreparedStatement ps = con.prepareStatement(sql)) {
+            if (elementos.size() == 1 || (exactas && loteSinFilas)) {
+                int i = 0;
+                for (T elemento : elementos) {
+                    asignador.asignar(ps, elemento);
+                    filas[i++] = ps.executeUpdate();
+                }
+                return filas;
+            }
+            List<T> bloque = new ArrayList<>(Math.min(tamanyoLote, elementos.size()));
+            int hechos = 0;
+            for (T elemento : elementos) {
+                bloque.add(elemento);
+                if (bloque.size() == tamanyoLote) {
+                    hechos = ejecutarBloque(con, ps, bloque, asignador, exactas, filas, hechos);
+                    bloque.clear();
+                }
+            }
+            if (!bloque.isEmpty()) {
+                ejecutarBloque(con, ps, bloque, asignador, exactas, filas, hechos);
+            }
+        }
+        return filas;
+    }
+
+    /**
+     * executeBatch de un bloque; con exactas, si alguna respuesta es SUCCESS_NO_INFO,
+     * vuelve al savepoint previo y repite el bloque fila a fila
+     * @return Posición de filas tras el bloque
+     */
+    private <T> int ejecutarBloque(Connection con, PreparedStatement ps, List<T> bloque,
+            AsignadorParametros<? super T> asignador, boolean exactas, int[] filas, int desde) throws SQLException {
+        Savepoint antes = exactas ? con.setSavepoint() : null;
+        for (T elemento : bloque) {
+            asignador.asignar(ps, elemento);
+            ps.addBatch();
+        }
+        int[] resultados = ps.executeBatch();
+        if (exactas && contiene(resultados, Statement.SUCCESS_NO_INFO)) {
+            loteSinFilas = true;
+            con.rollback(antes);
+            for (T elemento : bloque) {
+                asignador.asignar(ps, elemento);
+                filas[desde++] = ps.executeUpdate();
+            }
+            return desde;
+        }
+        if (exactas) {
+            con.releaseSavepoint(antes);
+        }
+        for (int r : resultados) {
+            filas[desde++] = r == Statement.SUCCESS_NO_INFO ? 1 : Math.max(r, 0);
+        }
+        return desde;
+    }
+
+    private static boolean contiene(int[] valores, int buscado) {
+        for (int v : valores) {
+            if (v == buscado) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ===========================================================
+    // AUXILIARES
+    // ===========================================================
+
+    private PreparedStatement prepararLectura(Connection con, String sql) throws SQLException {
+        PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        ps.setFetchSize(tamanyoFetch);
+        return ps;
+    }
+
+    private static void asignar(PreparedStatement ps, Parametros parametros) throws SQLException {
+        (parametros == null ? SIN_PARAMETROS : parametros).asignar(ps);
+    }
+
+    private void medir(String operacion, long inicio, long filas, boolean error) {
+        MedidorOperacion medidor = medidores.get(operacion);
+        if (medidor == null) {
+            medidor = medidores.computeIfAbsent(operacion,
+                    op -> MetricasPeticiones.getInstancia().medidorOperacion(entidad, op));
+        }
+        medidor.registrar(System.nanoTime() - inicio, filas, error);
+    }
+
+    public String getEntidad() {
+        return entidad;
+    }
+
+    public int getTamanyoFetch() {
+        return tamanyoFetch;
+    }
+
+    public int getTamanyoLote() {
+        return tamanyoLote;
+    }
+}
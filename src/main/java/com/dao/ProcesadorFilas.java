@@ -0,0 +1,18 @@
+package com.dao;
+
+/**
+ * Callback para procesar filas una a una mientras se recorre un ResultSet.
+ * Permite a los DAOs entregar resultados en streaming sin cargar
+ * la consulta completa en memoria.
+ *
+ * @param <T> Tipo de cada fila entregada
+ */
+public interface ProcesadorFilas<T> {
+
+    /**
+     * Procesa una fila del resultado
+     * @param fila Fila actual (no debe guardarse si el DAO la reutiliza)
+     * @throws Exception si el procesamiento falla; se interrumpe el recorrido
+     */
+    void procesar(T fila) throws Exception;
+}
@@ -0,0 +1,19 @@
+package com.dao;
+
+import com.model.Empleado;
+
+/**
+ * Callback para recorrer empleados con su sueldo almacenado sin crear un objeto por fila
+ * ni envolver el sueldo en un Double.
+ */
+public interface ProcesadorNominas {
+
+    /**
+     * Procesa la fila actual
+     * @param empleado Empleado de la fila
+     * @param sueldo Sueldo almacenado (sin significado si almacenado es false)
+     * @param almacenado false si el empleado no tiene nómina en la tabla nominas
+     * @throws Exception si el procesamiento falla; se interrumpe el recorrido
+     */
+    void procesar(Empleado empleado, double sueldo, boolean almacenado) throws Exception;
+}
@@ -0,0 +1,43 @@
+package com.dao;
+
+/**
+ * Sentencias CRUD de una entidad para AbstractJdbcDAO.
+ * Convenio de parámetros: la clave es el único parámetro de porId y eliminar;
+ * insertar y actualizar reciben los que asigne cada DAO.
+ */
+public final class SentenciasCrud {
+
+    private final String porId;
+    private final String todos;
+    private final String insertar;
+    private final String actualizar;
+    private final String eliminar;
+
+    public SentenciasCrud(String porId, String todos, String insertar, String actualizar, String eliminar) {
+        this.porId = porId;
+        this.todos = todos;
+        this.insertar = insertar;
+        this.actualizar = actualizar;
+        this.eliminar = eliminar;
+    }
+
+    public String getPorId() {
+        return porId;
+    }
+
+    public String getTodos() {
+        return todos;
+    }
+
+    public String getInsertar() {
+        return insertar;
+    }
+
+    public String getActualizar() {
+        return actualizar;
+    }
+
+    public String getEliminar() {
+        return eliminar;
+    }
+}
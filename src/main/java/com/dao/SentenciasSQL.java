@@ -0,0 +1,161 @@
+package com.dao;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Catálogo de sentencias SQL con nombre usadas por los DAOs.
+ * Todas son texto fijo con parámetros "?": así el pool de PreparedStatement de DBCP2
+ * (db.pool.poolPreparedStatements) y la caché del driver (useServerPrepStmts) reconocen
+ * la misma sentencia en cada llamada y sólo se prepara una vez por conexión física.
+ * Nunca concatenar valores en estas cadenas.
+ */
+public final class SentenciasSQL {
+
+    private SentenciasSQL() {
+        throw new IllegalStateException("Clase de utilidad - no instanciable");
+    }
+
+    // ===================== EMPLEADOS =====================
+    /**
+     * Columnas que lee MapeadorEmpleados, en lugar de "SELECT *": una columna nueva en la tabla
+     * no viaja en cada fila si el modelo no la usa
+     */
+    private static final String SELECT_EMPLEADOS =
+        "SELECT dni, nombre, sexo, categoria, anyos, version FROM empleados";
+
+    public static final String EMPLEADOS_LISTAR =
+        SELECT_EMPLEADOS;
+
+    public static final String EMPLEADOS_RECORRER =
+        SELECT_EMPLEADOS + " ORDER BY dni";
+
+    public static final String EMPLEADOS_PRIMERA_PAGINA =
+        SELECT_EMPLEADOS + " ORDER BY dni LIMIT ?";
+
+    public static final String EMPLEADOS_PAGINA_DESDE =
+        SELECT_EMPLEADOS + " WHERE dni > ? ORDER BY dni LIMIT ?";
+
+    public static final String EMPLEADO_POR_DNI =
+        SELECT_EMPLEADOS + " WHERE dni=?";
+
+    /**
+     * Actualización con control optimista: sube la versión y sólo aplica si la fila sigue en la
+     * versión leída. Parámetros: nombre, sexo, categoria, anyos, dni, versión leída (dos veces;
+     * negativa = sin comprobar). La nómina la recalcula el trigger recalcular_sueldo
+     */
+    public static final String EMPLEADO_ACTUALIZAR =
+        "UPDATE empleados SET nombre=?, sexo=?, categoria=?, anyos=?, version=version+1 "
+      + "WHERE dni=? AND (?<0 OR version=?)";
+
+    public static final String EMPLEADO_VERSION =
+        "SELECT version FROM empleados WHERE dni=?";
+
+    public static final String EMPLEADO_INSERTAR =
+        "INSERT INTO empleados (dni, nombre, sexo, categoria, anyos) VALUES (?, ?, ?, ?, ?)";
+
+    /** La nómina se borra en cascada (clave ajena ON DELETE CASCADE) */
+    public static final String EMPLEADO_ELIMINAR =
+        "DELETE FROM empleados WHERE dni=?";
+
+    public static final SentenciasCrud EMPLEADOS_CRUD = new SentenciasCrud(
+        EMPLEADO_POR_DNI, EMPLEADOS_LISTAR, EMPLEADO_INSERTAR, EMPLEADO_ACTUALIZAR, EMPLEADO_ELIMINAR);
+
+    /** También suben la versión: un formulario abierto antes del incremento no lo deshace */
+    public static final String EMPLEADOS_INCREMENTAR_ANTIGUEDAD =
+        "UPDATE empleados SET anyos = anyos + 1, version = version + 1";
+
+    public static final String EMPLEADOS_INCREMENTAR_ANTIGUEDAD_CATEGORIA =
+        "UPDATE empleados SET anyos = anyos + 1, version = version + 1 WHERE categoria = ?";
+
+    /**
+     * Búsqueda paginada por campo: una sentencia fija por cada campo permitido.
+     * Parámetros: valor, cursor (dni > ?, "" para la primera página) y límite.
+     * Ningún predicado empieza por comodín: todas pueden usar un índice de gestion_de_nominas.sql
+     * (dni LIKE 'x%' la clave primaria; igualdades en sexo/categoria/anyos idx_empleados_*;
+     * nombre LIKE 'x%' idx_empleados_nombre).
+     */
+    public static final Map<String, String> EMPLEADOS_BUSCAR_POR_CAMPO;
+
+    static {
+        Map<String, String> porCampo = new HashMap<>();
+        porCampo.put("dni", SELECT_EMPLEADOS + " WHERE dni LIKE ? AND dni > ? ORDER BY dni LIMIT ?");
+        porCampo.put("nombre", SELECT_EMPLEADOS + " WHERE nombre LIKE ? AND dni > ? ORDER BY dni LIMIT ?");
+        for (String campo : new String[] {"sexo", "categoria", "anyos"}) {
+            porCampo.put(campo, SELECT_EMPLEADOS + " WHERE " + campo + " = ? AND dni > ? ORDER BY dni LIMIT ?");
+        }
+        EMPLEADOS_BUSCAR_POR_CAMPO = Collections.unmodifiableMap(porCampo);
+    }
+
+    /** Búsqueda por palabras del nombre con el índice FULLTEXT ft_empleados_nombre (sólo MariaDB/MySQL) */
+    public static final String EMPLEADOS_BUSCAR_NOMBRE_TEXTO =
+        SELECT_EMPLEADOS + " WHERE MATCH(nombre) AGAINST (? IN BOOLEAN MODE) AND dni > ? ORDER BY dni LIMIT ?";
+
+    // ===================== NÓMINAS =====================
+    public static final String NOMINA_POR_DNI =
+        "SELECT dni, sueldo FROM nominas WHERE dni = ?";
+
+    public static final String NOMINAS_LISTAR =
+        "SELECT dni, sueldo FROM nominas";
+
+    private static final Map<Integer, String> NOMINAS_POR_DNIS = new ConcurrentHashMap<>();
+
+    /**
+     * Sueldos de varios DNI: "WHERE dni IN (?, ?, ...)" con tantos parámetros como se pidan.
+     * El texto se genera una vez por número de parámetros; quien la use debe limitarse a unos
+     * pocos tamaños fijos (rellenando el último bloque) para que el pool de sentencias la reutilice.
+     * @param parametros Número de "?" de la lista IN
+     * @return Sentencia ordenada por dni
+     */
+    public static String nominasPorDnis(int parametros) {
+        if (parametros <= 0) {
+            throw new IllegalArgumentException("La lista IN necesita al menos un parámetro");
+        }
+        return NOMINAS_POR_DNIS.computeIfAbsent(parametros, n -> {
+            StringBuilder sql = new StringBuilder(64 + 3 * n)
+                    .append("SELECT dni, sueldo FROM nominas WHERE dni IN (?");
+            for (int i = 1; i < n; i++) {
+                sql.append(",?");
+            }
+            return sql.append(") ORDER BY dni").toString();
+        });
+    }
+
+    public static final String NOMINA_INSERTAR =
+        "INSERT INTO nominas (dni, sueldo) VALUES (?, ?)";
+
+    public static final String NOMINA_ACTUALIZAR_SUELDO =
+        "UPDATE nominas SET sueldo = ? WHERE dni = ?";
+
+    public static final String NOMINA_ELIMINAR =
+        "DELETE FROM nominas WHERE dni = ?";
+
+    public static final SentenciasCrud NOMINAS_CRUD = new SentenciasCrud(
+        NOMINA_POR_DNI, NOMINAS_LISTAR, NOMINA_INSERTAR, NOMINA_ACTUALIZAR_SUELDO, NOMINA_ELIMINAR);
+
+    /** Inserta la nómina si el empleado aún no la tiene */
+    public static final String NOMINA_GUARDAR_SUELDO =
+        "INSERT INTO nominas (dni, sueldo) VALUES (?, ?) ON DUPLICATE KEY UPDATE sueldo = VALUES(sueldo)";
+
+    public static final String NOMINAS_CON_EMPLEADOS =
+        "SELECT e.dni, e.nombre, e.sexo, e.categoria, e.anyos, e.version, n.sueldo "
+      + "FROM empleados e LEFT JOIN nominas n ON n.dni = e.dni "
+      + "ORDER BY e.dni";
+
+    public static final String NOMINAS_DATOS_RECALCULO =
+        "SELECT dni, categoria, anyos FROM empleados WHERE dni > ? ORDER BY dni";
+
+    // ===================== ESCALAS SALARIALES =====================
+    /** 0 si la tabla está vacía */
+    public static final String ESCALA_VERSION_VIGENTE =
+        "SELECT COALESCE(MAX(version), 0) FROM escalas_salariales";
+
+    public static final String ESCALA_VIGENTE =
+        "SELECT version, categoria, sueldo_base, incremento_anyo FROM escalas_salariales "
+      + "WHERE version = (SELECT MAX(version) FROM escalas_salariales) ORDER BY categoria";
+
+    public static final String ESCALA_INSERTAR =
+        "INSERT INTO escalas_salariales (version, categoria, sueldo_base, incremento_anyo) VALUES (?, ?, ?, ?)";
+}
@@ -0,0 +1,44 @@
+package com.exceptions;
+
+import java.sql.SQLTransientException;
+
+/**
+ * Conflicto de concurrencia optimista: el empleado cambió en la base de datos desde que se leyó
+ * (su columna version ya no es la que se envió). La operación se ha deshecho sin esperar bloqueos.
+ * Es transitoria: recargando el empleado y repitiendo el cambio puede salir bien.
+ */
+public class ConflictoConcurrenciaException extends SQLTransientException {
+
+    /** SQLSTATE de fallo de serialización, el mismo que usan los drivers para un interbloqueo */
+    public static final String ESTADO_SQL = "40001";
+
+    private final String dni;
+    private final int versionEsperada;
+    private final int versionActual;
+
+    /**
+     * @param dni DNI del empleado en conflicto
+     * @param versionEsperada Versión con la que se leyó
+     * @param versionActual Versión que tiene ahora en la base de datos
+     */
+    public ConflictoConcurrenciaException(String dni, int versionEsperada, int versionActual) {
+        super("El empleado con DNI " + dni + " ha sido modificado por otro usuario (versión "
+                + versionEsperada + ", ahora " + versionActual + "). Recargue los datos y vuelva a intentarlo.",
+                ESTADO_SQL);
+        this.dni = dni;
+        this.versionEsperada = versionEsperada;
+        this.versionActual = versionActual;
+    }
+
+    public String getDni() {
+        return dni;
+    }
+
+    public int getVersionEsperada() {
+        return versionEsperada;
+    }
+
+    public int getVersionActual() {
+        return versionActual;
+    }
+}
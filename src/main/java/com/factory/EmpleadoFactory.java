@@ -29,21 +29,48 @@ public class EmpleadoFactory {
             sexoStr = "";
         }
         
-        return new Empleado(
+        Empleado empleado = new Empleado(
             rs.getString("nombre"),
             rs.getString("dni"),
             sexoStr.trim(),
             rs.getInt("categoria"),
             rs.getInt("anyos")
         );
+        empleado.setVersion(rs.getInt("version"));
+        return empleado;
     }
     
     /**
-     * Crea un Empleado a partir de un HttpServletRequest
+     * Crea un Empleado de una fila de la base de datos sin volver a validarlo: las restricciones
+     * CHECK de la tabla empleados ya garantizan la categoría (1-10), los años (&gt;= 0) y el sexo.
+     * Sólo para datos leídos de la tabla (MapeadorEmpleados); el resto de orígenes usan el
+     * constructor que valida
+     * @param nombre Nombre
+     * @param dni DNI
+     * @param sexo Sexo ("M" o "F")
+     * @param categoria Categoría
+     * @param anyos Años trabajados
+     * @param version Columna version de la fila
+     * @return Empleado construido
+     */
+    public static Empleado crearDesdeFilaConfiable(String nombre, String dni, String sexo,
+            int categoria, int anyos, int version) {
+        Empleado empleado = new Empleado(nombre, dni, sexo);
+        empleado.setCategoria(categoria);
+        empleado.setAnyos(anyos);
+        empleado.setVersion(version);
+        return empleado;
+    }
+    
+    /**
+     * Crea un Empleado a partir de un HttpServletRequest.
+     * Si el formulario trae el campo oculto "version", la actualización será optimista:
+     * fallará con ConflictoConcurrenciaException si otro usuario lo cambió entretanto
      * @param request Request HTTP con los parámetros del empleado
      * @return Empleado construido
-     * @throws DatosNoCorrectosException si los datos no son válidos
-     * @throws NumberFormatException si los números no son válidos
+     * @throws DatosNoCorrectosException si los datos no son válidos (también una versión
+     *         no numérica o negativa, que saltaría la comprobación optimista)
+     * @throws NumberFormatException si la categoría o los años no son números
      */
     public static Empleado crearDesdeRequest(HttpServletRequest request) 
             throws DatosNoCorrectosException, NumberFormatException {
@@ -53,8 +80,25 @@ public class EmpleadoFactory {
         String sexo = request.getParameter("sexo");
         int categoria = Integer.parseInt(request.getParameter("categoria"));
         int anyos = Integer.parseInt(request.getParameter("anyos"));
+        String version = request.getParameter("version");
         
-        return new Empleado(nombre, dni, sexo, categoria, anyos);
+        Empleado empleado = new Empleado(nombre, dni, sexo, categoria, anyos);
+        if (version != null && !version.trim().isEmpty()) {
+            empleado.setVersion(version(version.trim()));
+        }
+        return empleado;
+    }
+    
+    private static int version(String valor) throws DatosNoCorrectosException {
+        try {
+            int version = Integer.parseInt(valor);
+            if (version >= 0) {
+                return version;
+            }
+        } catch (NumberFormatException e) {
+            // Igual que un valor negativo
+        }
+        throw new DatosNoCorrectosException("Versión del empleado no válida: " + valor);
     }
     
     /**
@@ -0,0 +1,514 @@
+package com.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Empleados en columnas para tenerlos todos en memoria (IndiceEmpleados) sin un objeto
+ * Empleado y tres String por cabeza. Cada empleado ocupa una posición (id) de:
+ * - dnis: el DNI empaquetado en un long, 7 bits por carácter y el primero en los bits altos,
+ *   de modo que el orden numérico es el alfabético (admite cualquier DNI de hasta 9 caracteres ASCII)
+ * - sexos: un byte, código de la tabla de valores distintos ("M", "F")
+ * - categorias, anyos, versiones: arrays primitivos
+ * - nombres: bytes UTF-8 del nombre y de su forma normalizada (ConsultaEmpleados.normalizarTexto)
+ *   seguidos en un único byte[] compartido; sólo se guarda la posición y las longitudes
+ * Un índice ordenado de DNI empaquetados (long[] con su id en un int[]) sustituye al TreeMap.
+ *
+ * vista(id) devuelve un Empleado de sólo lectura que lee de las columnas sin copiar nada;
+ * copia(id) uno normal e independiente. No es seguro entre hilos: IndiceEmpleados lo protege.
+ */
+public class AlmacenEmpleados {
+
+    /** Caracteres de un DNI empaquetado (la columna dni es VARCHAR(9)) */
+    public static final int MAX_DNI = 9;
+
+    private static final byte LIBRE = -1;
+    private static final short NULO = -1;
+    // El byte[] de nombres se compacta cuando los bytes de nombres sustituidos superan a los vivos
+    private static final int COMPACTAR_DESDE = 1 << 16;
+
+    private long[] dnis;
+    private byte[] sexos;
+    private byte[] categorias;
+    private int[] anyos;
+    private int[] versiones;
+    private int[] inicioNombre;
+    private short[] longitudNombre;
+    private short[] longitudNormalizado;
+    private int tamanyo;
+
+    private byte[] textos = new byte[1024];
+    private int textosUsados;
+    private int textosLibres;
+
+    private final List<String> valoresSexo = new ArrayList<>();
+
+    private long[] clavesOrdenadas;
+    private int[] idsOrdenados;
+    private int ocupados;
+
+    /**
+     * @param capacidad Número de empleados esperado (crece si se supera)
+     */
+    public AlmacenEmpleados(int capacidad) {
+        int inicial = Math.max(capacidad, 16);
+        dnis = new long[inicial];
+        sexos = new byte[inicial];
+        categorias = new byte[inicial];
+        anyos = new int[inicial];
+        versiones = new int[inicial];
+        inicioNombre = new int[inicial];
+        longitudNombre = new short[inicial];
+        longitudNormalizado = new short[inicial];
+        clavesOrdenadas = new long[inicial];
+        idsOrdenados = new int[inicial];
+    }
+
+    // ===================== DNI EMPAQUETADO =====================
+
+    /**
+     * @param dni DNI de 1 a MAX_DNI caracteres ASCII
+     * @return DNI empaquetado (no negativo), o -1 si no es representable
+     */
+    public static long empaquetarDni(String dni) {
+        int n = dni == null ? 0 : dni.length();
+        if (n == 0 || n > MAX_DNI) {
+            return -1;
+        }
+        long valor = 0;
+        for (int i = 0; i < MAX_DNI; i++) {
+            int c = i < n ? dni.charAt(i) : 0;
+            if (i < n && (c == 0 || c > 0x7F)) {
+                return -1;
+            }
+            valor = (valor << 7) | c;
+        }
+        return valor;
+    }
+
+    /**
+     * @param valor DNI empaquetado con empaquetarDni
+     * @return DNI original
+     */
+    public static String desempaquetarDni(long valor) {
+        char[] letras = new char[MAX_DNI];
+        for (int i = MAX_DNI - 1; i >= 0; i--) {
+            letras[i] = (char) (valor & 0x7F);
+            valor >>>= 7;
+        }
+        int n = 0;
+        while (n < MAX_DNI && letras[n] != 0) {
+            n++;
+        }
+        return new String(letras, 0, n);
+    }
+
+    // ===================== ESCRITURA =====================
+
+    /**
+     * Añade un empleado con un DNI que aún no está
+     * @return Posición asignada
+     * @throws IllegalArgumentException si el DNI ya está o no es representable
+     */
+    public int anyadir(Empleado e) {
+        long clave = clave(e.getDni());
+        int pos = Arrays.binarySearch(clavesOrdenadas, 0, ocupados, clave);
+        if (pos >= 0) {
+            throw new IllegalArgumentException("El DNI " + e.getDni() + " ya está en el almacén");
+        }
+        if (tamanyo == dnis.length) {
+            crecer();
+        }
+        int id = tamanyo;
+        escribir(id, e);
+        dnis[id] = clave;
+        tamanyo++;
+
+        // Cargado en orden de DNI (ORDER BY dni) siempre se añade al final, sin desplazar nada
+        pos = -pos - 1;
+        System.arraycopy(clavesOrdenadas, pos, clavesOrdenadas, pos + 1, ocupados - pos);
+        System.arraycopy(idsOrdenados, pos, idsOrdenados, pos + 1, ocupados - pos);
+        clavesOrdenadas[pos] = clave;
+        idsOrdenados[pos] = id;
+        ocupados++;
+        return id;
+    }
+
+    /**
+     * Sustituye los datos de la posición (el DNI se mantiene)
+     * @throws IllegalArgumentException si el DNI del empleado no es el de la posición
+     */
+    public void sustituir(int id, Empleado e) {
+        comprobarOcupado(id);
+        if (clave(e.getDni()) != dnis[id]) {
+            throw new IllegalArgumentException("El DNI " + e.getDni() + " no es el de la posición " + id);
+        }
+        int libres = longitudNombre[id] == NULO ? 0 : longitudNombre[id] + longitudNormalizado[id];
+        escribir(id, e);
+        textosLibres += libres;
+    }
+
+    /**
+     * Libera la posición; no se reutiliza
+     */
+    public void eliminar(int id) {
+        comprobarOcupado(id);
+        int pos = Arrays.binarySearch(clavesOrdenadas, 0, ocupados, dnis[id]);
+        System.arraycopy(clavesOrdenadas, pos + 1, clavesOrdenadas, pos, ocupados - pos - 1);
+        System.arraycopy(idsOrdenados, pos + 1, idsOrdenados, pos, ocupados - pos - 1);
+        ocupados--;
+        if (longitudNombre[id] != NULO) {
+            textosLibres += longitudNombre[id] + longitudNormalizado[id];
+        }
+        sexos[id] = LIBRE;
+    }
+
+    /**
+     * Escribe las columnas de la posición; valida antes de tocar nada
+     */
+    private void escribir(int id, Empleado e) {
+        if ((byte) e.getCategoria() != e.getCategoria()) {
+            throw new IllegalArgumentException("Categoría fuera de rango: " + e.getCategoria());
+        }
+        String nombre = e.getNombre();
+        byte[] original = nombre == null ? null : nombre.getBytes(StandardCharsets.UTF_8);
+        byte[] normalizado = nombre == null ? null
+                : ConsultaEmpleados.normalizarTexto(nombre).getBytes(StandardCharsets.UTF_8);
+        if (nombre != null && (original.length > Short.MAX_VALUE || normalizado.length > Short.MAX_VALUE)) {
+            throw new IllegalArgumentException("Nombre demasiado largo para el almacén");
+        }
+        byte sexo = codigoSexo(e.getSexo());
+
+        sexos[id] = sexo;
+        categorias[id] = (byte) e.getCategoria();
+        anyos[id] = e.getAnyos();
+        versiones[id] = e.getVersion();
+        if (nombre == null) {
+            inicioNombre[id] = 0;
+            longitudNombre[id] = NULO;
+            longitudNormalizado[id] = NULO;
+            return;
+        }
+        int necesarios = original.length + normalizado.length;
+        if (textosUsados + necesarios > textos.length) {
+            compactar(necesarios);
+        }
+        inicioNombre[id] = textosUsados;
+        longitudNombre[id] = (short) original.length;
+        longitudNormalizado[id] = (short) normalizado.length;
+        System.arraycopy(original, 0, textos, textosUsados, original.length);
+        System.arraycopy(normalizado, 0, textos, textosUsados + original.length, normalizado.length);
+        textosUsados += necesarios;
+    }
+
+    /**
+     * Hace sitio para necesarios bytes: si la mayor parte son nombres sustituidos copia sólo
+     * los vivos a un array nuevo; si no, lo amplía
+     */
+    private void compactar(int necesarios) {
+        int vivos = textosUsados - textosLibres;
+        if (textosLibres < COMPACTAR_DESDE || textosLibres < vivos) {
+            textos = Arrays.copyOf(textos, Math.max(textos.length * 2, textosUsados + necesarios));
+            return;
+        }
+        byte[] nuevo = new byte[Math.max(textos.length, (vivos + necesarios) * 2)];
+        int usados = 0;
+        for (int id = 0; id < tamanyo; id++) {
+            if (sexos[id] != LIBRE && longitudNombre[id] != NULO) {
+                int longitud = longitudNombre[id] + longitudNormalizado[id];
+                System.arraycopy(textos, inicioNombre[id], nuevo, usados, longitud);
+                inicioNombre[id] = usados;
+                usados += longitud;
+            }
+        }
+        textos = nuevo;
+        textosUsados = usados;
+        textosLibres = 0;
+    }
+
+    private void crecer() {
+        int capacidad = tamanyo + (tamanyo >> 1) + 1;
+        dnis = Arrays.copyOf(dnis, capacidad);
+        sexos = Arrays.copyOf(sexos, capacidad);
+        categorias = Arrays.copyOf(categorias, capacidad);
+        anyos = Arrays.copyOf(anyos, capacidad);
+        versiones = Arrays.copyOf(versiones, capacidad);
+        inicioNombre = Arrays.copyOf(inicioNombre, capacidad);
+        longitudNombre = Arrays.copyOf(longitudNombre, capacidad);
+        longitudNormalizado = Arrays.copyOf(longitudNormalizado, capacidad);
+        clavesOrdenadas = Arrays.copyOf(clavesOrdenadas, capacidad);
+        idsOrdenados = Arrays.copyOf(idsOrdenados, capacidad);
+    }
+
+    private byte codigoSexo(String sexo) {
+        int codigo = valoresSexo.indexOf(sexo);
+        if (codigo < 0) {
+            if (valoresSexo.size() == Byte.MAX_VALUE) {
+                throw new IllegalArgumentException("Demasiados valores distintos de sexo");
+            }
+            valoresSexo.add(sexo);
+            codigo = valoresSexo.size() - 1;
+        }
+        return (byte) codigo;
+    }
+
+    private static long clave(String dni) {
+        long clave = empaquetarDni(dni);
+        if (clave < 0) {
+            throw new IllegalArgumentException("DNI no representable en el almacén (1 a " + MAX_DNI
+                    + " caracteres ASCII): " + dni);
+        }
+        return clave;
+    }
+
+    // ===================== LECTURA =====================
+
+    /**
+     * @return Posición del empleado con ese DNI, o -1 si no está
+     */
+    public int buscar(String dni) {
+        long clave = empaquetarDni(dni);
+        int pos = clave < 0 ? -1 : Arrays.binarySearch(clavesOrdenadas, 0, ocupados, clave);
+        return pos >= 0 ? idsOrdenados[pos] : -1;
+    }
+
+    /**
+     * Marca en destino las posiciones cuyo DNI empieza por el prefijo: un rango del índice ordenado
+     * @return destino
+     */
+    public BitSet conPrefijoDni(String prefijo, BitSet destino) {
+        if (prefijo.isEmpty()) {
+            for (int pos = 0; pos < ocupados; pos++) {
+                destino.set(idsOrdenados[pos]);
+            }
+            return destino;
+        }
+        long desde = empaquetarDni(prefijo);
+        if (desde < 0) {
+            return destino;
+        }
+        // Los caracteres que siguen al prefijo ocupan los bits bajos: el rango es [desde, desde | resto]
+        long hasta = desde | ((1L << (7 * (MAX_DNI - prefijo.length()))) - 1);
+        int pos = Arrays.binarySearch(clavesOrdenadas, 0, ocupados, desde);
+        for (pos = pos >= 0 ? pos : -pos - 1; pos < ocupados && clavesOrdenadas[pos] <= hasta; pos++) {
+            destino.set(idsOrdenados[pos]);
+        }
+        return destino;
+    }
+
+    /**
+     * @return Posiciones asignadas, ocupadas o liberadas (las posiciones van de 0 a getTamanyo() - 1)
+     */
+    public int getTamanyo() {
+        return tamanyo;
+    }
+
+    /**
+     * @return Empleados en el almacén
+     */
+    public int getOcupados() {
+        return ocupados;
+    }
+
+    public boolean ocupado(int id) {
+        return id >= 0 && id < tamanyo && sexos[id] != LIBRE;
+    }
+
+    public String dniEn(int id) {
+        comprobarOcupado(id);
+        return desempaquetarDni(dnis[id]);
+    }
+
+    /** Sin crear nada: el valor es el de la tabla de valores distintos */
+    public String sexoEn(int id) {
+        comprobarOcupado(id);
+        return valoresSexo.get(sexos[id]);
+    }
+
+    public int categoriaEn(int id) {
+        comprobarOcupado(id);
+        return categorias[id];
+    }
+
+    public int anyosEn(int id) {
+        comprobarOcupado(id);
+        return anyos[id];
+    }
+
+    public int versionEn(int id) {
+        comprobarOcupado(id);
+        return versiones[id];
+    }
+
+    public String nombreEn(int id) {
+        comprobarOcupado(id);
+        return longitudNombre[id] == NULO ? null
+                : new String(textos, inicioNombre[id], longitudNombre[id], StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return Nombre sin tildes y en minúsculas (ConsultaEmpleados.normalizarTexto), o null
+     */
+    public String nombreNormalizadoEn(int id) {
+        comprobarOcupado(id);
+        return longitudNombre[id] == NULO ? null
+                : new String(textos, inicioNombre[id] + longitudNombre[id], longitudNormalizado[id],
+                        StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Busca el texto en el nombre normalizado comparando bytes, sin crear el String del nombre
+     * (una subcadena UTF-8 válida coincide en bytes si y sólo si coincide en caracteres)
+     * @param texto Texto ya normalizado, en UTF-8
+     */
+    public boolean nombreContiene(int id, byte[] texto) {
+        comprobarOcupado(id);
+        int longitud = longitudNormalizado[id];
+        if (longitud == NULO) {
+            return false;
+        }
+        int inicio = inicioNombre[id] + longitudNombre[id];
+        int ultimo = inicio + longitud - texto.length;
+        for (int i = inicio; i <= ultimo; i++) {
+            int j = 0;
+            while (j < texto.length && textos[i + j] == texto[j]) {
+                j++;
+            }
+            if (j == texto.length) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return Empleado nuevo e independiente del almacén, con su versión
+     */
+    public Empleado copia(int id) {
+        Empleado copia = new Empleado(nombreEn(id), dniEn(id), sexoEn(id));
+        copia.setCategoria(categoriaEn(id));
+        copia.setAnyos(anyosEn(id));
+        copia.setVersion(versionEn(id));
+        return copia;
+    }
+
+    /**
+     * Vista ligera de la posición: lee de las columnas en cada getter y no copia nada.
+     * Refleja los cambios posteriores de la posición y deja de ser válida si se elimina;
+     * para entregar fuera del índice, copia(id)
+     * @return Empleado de sólo lectura
+     */
+    public Vista vista(int id) {
+        comprobarOcupado(id);
+        return new Vista(id);
+    }
+
+    private void comprobarOcupado(int id) {
+        if (!ocupado(id)) {
+            throw new IndexOutOfBoundsException("Posición " + id + " libre o fuera del almacén (" + tamanyo + ")");
+        }
+    }
+
+    /**
+     * Empleado de sólo lectura sobre una posición del almacén. Se puede mover a otra posición
+     * (en) para recorrer el almacén con un único objeto
+     */
+    public final class Vista extends Empleado {
+
+        private int id;
+
+        private Vista(int id) {
+            this.id = id;
+        }
+
+        /**
+         * @return Esta misma vista, sobre la posición id
+         */
+        public Vista en(int id) {
+            comprobarOcupado(id);
+            this.id = id;
+            return this;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        @Override
+        public String getNombre() {
+            return nombreEn(id);
+        }
+
+        @Override
+        public String getDni() {
+            return dniEn(id);
+        }
+
+        @Override
+        public String getSexo() {
+            return sexoEn(id);
+        }
+
+        @Override
+        public int getCategoria() {
+            return categoriaEn(id);
+        }
+
+        @Override
+        public int getAnyos() {
+            return anyosEn(id);
+        }
+
+        @Override
+        public int getVersion() {
+            return versionEn(id);
+        }
+
+        @Override
+        public void setNombre(String nombre) {
+            throw sinEscritura();
+        }
+
+        @Override
+        public void setDni(String dni) {
+            throw sinEscritura();
+        }
+
+        @Override
+        public void setSexo(String sexo) {
+            throw sinEscritura();
+        }
+
+        @Override
+        public void setCategoria(int categoria) {
+            throw sinEscritura();
+        }
+
+        @Override
+        public void setAnyos(int anyos) {
+            throw sinEscritura();
+        }
+
+        @Override
+        public void setVersion(int version) {
+            throw sinEscritura();
+        }
+
+        @Override
+        public void incrAnyo() {
+            throw sinEscritura();
+        }
+
+        @Override
+        public void imprime() {
+            copia(id).imprime();
+        }
+
+        private UnsupportedOperationException sinEscritura() {
+            return new UnsupportedOperationException("Vista de sólo lectura del almacén de empleados");
+        }
+    }
+}
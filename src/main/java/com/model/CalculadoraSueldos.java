@@ -0,0 +1,120 @@
+package com.model;
+
+import java.util.List;
+
+/**
+ * Cálculo de sueldos con la escala salarial vigente, uno a uno o en bloque sobre arrays
+ * primitivos (categorías y años en int[], sueldos en double[]) para los procesos masivos:
+ * altas por lotes, importación y recálculo de nóminas.
+ *
+ * La escala se puede sustituir en caliente por una de versión posterior (publicar): es una
+ * copia inmutable en un campo volatile, así que leerla no bloquea ni reserva memoria, y cada
+ * cálculo la lee una sola vez, así que un bloque entero se calcula con la misma versión.
+ * RecargaEscalaSalarial publica aquí la de la tabla escalas_salariales, la que usa el trigger.
+ * Sustituye a "new Nomina().sueldo(e)" en cada llamada; Nomina delega aquí.
+ */
+public final class CalculadoraSueldos {
+
+    private static final class Instancia {
+        static final CalculadoraSueldos INSTANCIA = new CalculadoraSueldos(EscalaSalarial.desdeConfiguracion());
+    }
+
+    private volatile EscalaSalarial escala;
+
+    /**
+     * @param escala Escala inicial
+     */
+    public CalculadoraSueldos(EscalaSalarial escala) {
+        if (escala == null) {
+            throw new IllegalArgumentException("La escala no puede ser nula");
+        }
+        this.escala = escala;
+    }
+
+    /**
+     * @return Calculadora de la aplicación, con la escala de application.properties hasta
+     *         que RecargaEscalaSalarial publica la de escalas_salariales
+     */
+    public static CalculadoraSueldos getInstancia() {
+        return Instancia.INSTANCIA;
+    }
+
+    /**
+     * @return Escala vigente
+     */
+    public EscalaSalarial getEscala() {
+        return escala;
+    }
+
+    /**
+     * Sustituye la escala vigente. Los cálculos en curso terminan con la anterior
+     * @param nueva Escala de versión posterior a la vigente
+     * @throws IllegalArgumentException si la versión no es posterior
+     */
+    public synchronized void publicar(EscalaSalarial nueva) {
+        if (nueva == null || nueva.getVersion() <= escala.getVersion()) {
+            throw new IllegalArgumentException("La escala nueva debe tener una versión posterior a la "
+                    + escala.getVersion());
+        }
+        escala = nueva;
+    }
+
+    /**
+     * @param categoria Categoría
+     * @param anyos Años trabajados
+     * @return Sueldo según la escala vigente
+     * @throws IllegalArgumentException si la categoría o los años no son válidos
+     */
+    public double sueldo(int categoria, int anyos) {
+        return escala.sueldo(categoria, anyos);
+    }
+
+    /**
+     * @param e Empleado
+     * @return Sueldo según la escala vigente
+     */
+    public double sueldo(Empleado e) {
+        return escala.sueldo(e.getCategoria(), e.getAnyos());
+    }
+
+    /**
+     * Sueldos en bloque de las primeras longitud posiciones
+     * @return Versión de la escala con la que se calcularon
+     * @throws IllegalArgumentException si algún dato no es válido (no se escribe ningún sueldo)
+     * @see EscalaSalarial#calcular(int[], int[], double[], int)
+     */
+    public int calcular(int[] categorias, int[] anyos, double[] sueldos, int longitud) {
+        EscalaSalarial actual = escala;
+        actual.calcular(categorias, anyos, sueldos, longitud);
+        return actual.getVersion();
+    }
+
+    /**
+     * Sueldos en bloque de dos arrays de la misma longitud
+     * @return Array nuevo con un sueldo por posición
+     */
+    public double[] calcular(int[] categorias, int[] anyos) {
+        if (categorias.length != anyos.length) {
+            throw new IllegalArgumentException("Categorías y años deben tener la misma longitud");
+        }
+        double[] sueldos = new double[categorias.length];
+        calcular(categorias, anyos, sueldos, categorias.length);
+        return sueldos;
+    }
+
+    /**
+     * Sueldos de una lista de empleados
+     * @return Un sueldo por empleado, en el mismo orden
+     */
+    public double[] calcular(List<? extends Empleado> empleados) {
+        int n = empleados.size();
+        int[] categorias = new int[n];
+        int[] anyos = new int[n];
+        for (int i = 0; i < n; i++) {
+            Empleado e = empleados.get(i);
+            categorias[i] = e.getCategoria();
+            anyos[i] = e.getAnyos();
+        }
+        return calcular(categorias, anyos);
+    }
+}
@@ -0,0 +1,118 @@
+package com.model;
+
+import java.text.Normalizer;
+import java.util.Locale;
+
+/**
+ * Consulta de empleados con varios criterios combinados (todos deben cumplirse):
+ * nombre que contiene un texto, DNI que empieza por un prefijo, sexo
+ * y rangos de categoría y años trabajados. Los criterios no indicados no filtran.
+ *
+ * Ejemplo: categoría 4-6, sexo F y nombre que contiene "ez"
+ * <pre>
+ * new ConsultaEmpleados().categoria(4, 6).sexo("F").nombreContiene("ez")
+ * </pre>
+ */
+public class ConsultaEmpleados {
+
+    public static final int LIMITE_POR_DEFECTO = 100;
+
+    private String nombreContiene;
+    private String dniEmpieza;
+    private String sexo;
+    private int categoriaMin = 1;
+    private int categoriaMax = Integer.MAX_VALUE;
+    private int anyosMin = 0;
+    private int anyosMax = Integer.MAX_VALUE;
+    private int limite = LIMITE_POR_DEFECTO;
+
+    public ConsultaEmpleados nombreContiene(String texto) {
+        this.nombreContiene = (texto == null || texto.trim().isEmpty()) ? null : normalizarTexto(texto.trim());
+        return this;
+    }
+
+    public ConsultaEmpleados dniEmpieza(String prefijo) {
+        this.dniEmpieza = (prefijo == null || prefijo.trim().isEmpty()) ? null : prefijo.trim().toUpperCase();
+        return this;
+    }
+
+    public ConsultaEmpleados sexo(String sexo) {
+        this.sexo = (sexo == null || sexo.trim().isEmpty()) ? null : sexo.trim().toUpperCase();
+        return this;
+    }
+
+    public ConsultaEmpleados categoria(int min, int max) {
+        this.categoriaMin = min;
+        this.categoriaMax = max;
+        return this;
+    }
+
+    public ConsultaEmpleados anyos(int min, int max) {
+        this.anyosMin = min;
+        this.anyosMax = max;
+        return this;
+    }
+
+    /**
+     * @param limite Número máximo de empleados a devolver
+     */
+    public ConsultaEmpleados limite(int limite) {
+        this.limite = limite;
+        return this;
+    }
+
+    /** @return Texto buscado en el nombre ya normalizado (minúsculas y sin tildes), o null */
+    public String getNombreContiene() {
+        return nombreContiene;
+    }
+
+    public String getDniEmpieza() {
+        return dniEmpieza;
+    }
+
+    public String getSexo() {
+        return sexo;
+    }
+
+    public int getCategoriaMin() {
+        return categoriaMin;
+    }
+
+    public int getCategoriaMax() {
+        return categoriaMax;
+    }
+
+    public int getAnyosMin() {
+        return anyosMin;
+    }
+
+    public int getAnyosMax() {
+        return anyosMax;
+    }
+
+    public int getLimite() {
+        return limite;
+    }
+
+    /**
+     * Comprueba un empleado contra todos los criterios
+     * @param e Empleado a comprobar
+     * @return true si los cumple todos
+     */
+    public boolean cumple(Empleado e) {
+        return (sexo == null || sexo.equals(e.getSexo()))
+            && e.getCategoria() >= categoriaMin && e.getCategoria() <= categoriaMax
+            && e.getAnyos() >= anyosMin && e.getAnyos() <= anyosMax
+            && (dniEmpieza == null || (e.getDni() != null && e.getDni().startsWith(dniEmpieza)))
+            && (nombreContiene == null || (e.getNombre() != null
+                    && normalizarTexto(e.getNombre()).contains(nombreContiene)));
+    }
+
+    /**
+     * Forma de comparación de nombres: minúsculas y sin tildes ("Gómez" -> "gomez")
+     */
+    public static String normalizarTexto(String texto) {
+        String sinTildes = Normalizer.normalize(texto, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        return sinTildes.toLowerCase(Locale.ROOT);
+    }
+}
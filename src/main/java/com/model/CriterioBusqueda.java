@@ -0,0 +1,65 @@
+package com.model;
+
+/**
+ * Criterio de búsqueda de empleados por un campo, con paginación por clave (dni).
+ * Cada campo tiene su propia semántica para poder usar un índice:
+ * - dni: prefijo (los DNI empiezan por los dígitos tecleados)
+ * - nombre: palabras del nombre (texto completo) o prefijo, según busqueda.nombre.modo
+ * - sexo, categoria, anyos: igualdad exacta
+ */
+public class CriterioBusqueda {
+
+    public static final String DNI = "dni";
+    public static final String NOMBRE = "nombre";
+    public static final String SEXO = "sexo";
+    public static final String CATEGORIA = "categoria";
+    public static final String ANYOS = "anyos";
+
+    private final String campo;
+    private final String valor;
+    private final String desdeDni;
+    private final int tamanyo;
+
+    /**
+     * @param campo Campo por el que buscar (una de las constantes de esta clase)
+     * @param valor Valor buscado
+     * @param desdeDni Cursor devuelto por la página anterior, o null para la primera
+     * @param tamanyo Tamaño de página
+     */
+    public CriterioBusqueda(String campo, String valor, String desdeDni, int tamanyo) {
+        this.campo = campo;
+        this.valor = valor;
+        this.desdeDni = desdeDni;
+        this.tamanyo = tamanyo;
+    }
+
+    public String getCampo() {
+        return campo;
+    }
+
+    public String getValor() {
+        return valor;
+    }
+
+    public String getDesdeDni() {
+        return desdeDni;
+    }
+
+    public int getTamanyo() {
+        return tamanyo;
+    }
+
+    /**
+     * @return true si el campo se compara por igualdad con un número
+     */
+    public boolean isNumerico() {
+        return CATEGORIA.equals(campo) || ANYOS.equals(campo);
+    }
+
+    /**
+     * @return Mismo criterio para la página que empieza tras el DNI indicado
+     */
+    public CriterioBusqueda siguiente(String cursor) {
+        return new CriterioBusqueda(campo, valor, cursor, tamanyo);
+    }
+}
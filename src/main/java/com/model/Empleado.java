@@ -4,8 +4,12 @@ import com.exceptions.DatosNoCorrectosException;
 
 public class Empleado extends Persona {
 
+    /** Versión de un empleado que no se leyó de la base de datos: al actualizarlo no se comprueba */
+    public static final int SIN_VERSION = -1;
+
     private int categoria;
     private int anyos;
+    private int version = SIN_VERSION;
 
     // ===================== CONSTRUCTORES =====================
     public Empleado(String nombre, String dni, String sexo, int categoria, int anyos)
@@ -47,6 +51,17 @@ public class Empleado extends Persona {
         this.anyos = anyos;
     }
 
+    /**
+     * @return Versión de la fila leída (columna version), o SIN_VERSION
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    public void setVersion(int version) {
+        this.version = version;
+    }
+
     // ===================== MÉTODOS DE UTILIDAD =====================
     public void incrAnyo() {
         this.anyos++;
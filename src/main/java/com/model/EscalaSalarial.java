@@ -0,0 +1,222 @@
+package com.model;
+
+import java.util.Arrays;
+
+import com.util.Configuracion;
+
+/**
+ * Escala salarial versionada e inmutable: sueldo = sueldoBase[categoria - 1] + incrementoAnyo * anyos.
+ * Al construirla se precalcula la tabla de bases indexada directamente por categoría (sin el - 1)
+ * y se detecta si las bases crecen en progresión aritmética (como la escala inicial): en ese caso
+ * el cálculo masivo es sólo aritmética sobre los arrays, sin accesos indirectos. Si además todo
+ * es entero (la escala inicial) se calcula en int y sólo se convierte a double al guardar:
+ * el JIT vectoriza la aritmética entera, no la mezcla de int y double.
+ */
+public final class EscalaSalarial {
+
+    /** Escala con la que nació la aplicación (la de gestion_de_nominas.sql) */
+    public static final EscalaSalarial INICIAL = new EscalaSalarial(1,
+            new double[] {50000, 70000, 90000, 110000, 130000, 150000, 170000, 190000, 210000, 230000}, 5000);
+
+    private final int version;
+    private final double[] basePorCategoria;
+    private final double incrementoAnyo;
+    private final int categorias;
+    private final boolean lineal;
+    private final double origen;
+    private final double paso;
+    // Escala lineal y entera: sueldo = origenEntero + pasoEntero * c + incrementoEntero * anyos en int,
+    // sin desbordamiento mientras anyos <= limiteAnyos
+    private final boolean entera;
+    private final int origenEntero;
+    private final int pasoEntero;
+    private final int incrementoEntero;
+    private final int limiteAnyos;
+
+    /**
+     * @param version Versión de la escala (creciente: una escala sólo se sustituye por otra posterior)
+     * @param sueldosBase Sueldo base de cada categoría, de la 1 en adelante
+     * @param incrementoAnyo Incremento por año trabajado
+     */
+    public EscalaSalarial(int version, double[] sueldosBase, double incrementoAnyo) {
+        if (sueldosBase == null || sueldosBase.length == 0) {
+            throw new IllegalArgumentException("La escala debe tener al menos una categoría");
+        }
+        for (double base : sueldosBase) {
+            if (!(base >= 0) || Double.isInfinite(base)) {
+                throw new IllegalArgumentException("Sueldo base no válido en la escala: " + base);
+            }
+        }
+        if (!(incrementoAnyo >= 0) || Double.isInfinite(incrementoAnyo)) {
+            throw new IllegalArgumentException("Incremento por año no válido: " + incrementoAnyo);
+        }
+        this.version = version;
+        this.incrementoAnyo = incrementoAnyo;
+        this.categorias = sueldosBase.length;
+
+        // Posición 0 sin uso: la categoría es directamente el índice
+        this.basePorCategoria = new double[categorias + 1];
+        this.basePorCategoria[0] = Double.NaN;
+        System.arraycopy(sueldosBase, 0, basePorCategoria, 1, categorias);
+
+        // Lineal sólo si origen + paso * c reproduce exactamente cada base (mismo resultado bit a bit)
+        double p = categorias > 1 ? sueldosBase[1] - sueldosBase[0] : 0;
+        double o = sueldosBase[0] - p;
+        boolean esLineal = true;
+        for (int c = 1; c <= categorias && esLineal; c++) {
+            esLineal = o + p * c == basePorCategoria[c];
+        }
+        this.lineal = esLineal;
+        this.origen = o;
+        this.paso = p;
+
+        double maxBase = Math.max(basePorCategoria[1], basePorCategoria[categorias]);
+        this.entera = esLineal && esEntero(o) && esEntero(p) && esEntero(incrementoAnyo)
+                && esEntero(basePorCategoria[1]) && esEntero(basePorCategoria[categorias]);
+        this.origenEntero = entera ? (int) o : 0;
+        this.pasoEntero = entera ? (int) p : 0;
+        this.incrementoEntero = entera ? (int) incrementoAnyo : 0;
+        this.limiteAnyos = !entera ? -1 : incrementoEntero == 0 ? Integer.MAX_VALUE
+                : (int) ((Integer.MAX_VALUE - maxBase) / incrementoEntero);
+    }
+
+    private static boolean esEntero(double valor) {
+        return valor == Math.rint(valor) && Math.abs(valor) <= Integer.MAX_VALUE;
+    }
+
+    /**
+     * Escala definida en application.properties (nominas.escala.version, nominas.escala.sueldoBase
+     * separados por comas y nominas.escala.incrementoAnyo), o la inicial si no se define
+     * @return Escala configurada
+     */
+    public static EscalaSalarial desdeConfiguracion() {
+        String bases = Configuracion.get("nominas.escala.sueldoBase", null);
+        if (bases == null || bases.trim().isEmpty()) {
+            return INICIAL;
+        }
+        String[] partes = bases.split(",");
+        double[] sueldosBase = new double[partes.length];
+        for (int i = 0; i < partes.length; i++) {
+            try {
+                sueldosBase[i] = Double.parseDouble(partes[i].trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("nominas.escala.sueldoBase no válido: " + bases, e);
+            }
+        }
+        return new EscalaSalarial(Configuracion.getInt("nominas.escala.version", INICIAL.version), sueldosBase,
+                Double.parseDouble(Configuracion.get("nominas.escala.incrementoAnyo", "5000").trim()));
+    }
+
+    /**
+     * Sueldo de un empleado
+     * @param categoria Categoría (1 a getCategorias())
+     * @param anyos Años trabajados (&gt;= 0)
+     * @return Sueldo según esta escala
+     * @throws IllegalArgumentException si la categoría o los años no son válidos
+     */
+    public double sueldo(int categoria, int anyos) {
+        if (categoria < 1 || categoria > categorias || anyos < 0) {
+            throw new IllegalArgumentException("Categoría (1-" + categorias + ") o años (>= 0) no válidos: "
+                    + categoria + ", " + anyos);
+        }
+        return basePorCategoria[categoria] + incrementoAnyo * anyos;
+    }
+
+    /**
+     * Sueldos de las primeras longitud posiciones de los arrays.
+     * Valida todo antes de calcular: si algún dato no es válido no se escribe nada
+     * @param categorias Categoría de cada empleado
+     * @param anyos Años trabajados de cada empleado
+     * @param sueldos Destino de los sueldos
+     * @param longitud Número de empleados
+     * @throws IllegalArgumentException si los arrays son más cortos que longitud o algún dato no es válido
+     */
+    public void calcular(int[] categorias, int[] anyos, double[] sueldos, int longitud) {
+        if (longitud < 0 || categorias.length < longitud || anyos.length < longitud || sueldos.length < longitud) {
+            throw new IllegalArgumentException("Arrays más cortos que la longitud pedida (" + longitud + ")");
+        }
+        boolean caben = validar(categorias, anyos, longitud);
+
+        double inc = incrementoAnyo;
+        if (entera && caben) {
+            int base = origenEntero;
+            int porCategoria = pasoEntero;
+            int porAnyo = incrementoEntero;
+            for (int i = 0; i < longitud; i++) {
+                sueldos[i] = base + porCategoria * categorias[i] + porAnyo * anyos[i];
+            }
+        } else if (lineal) {
+            double o = origen;
+            double p = paso;
+            for (int i = 0; i < longitud; i++) {
+                sueldos[i] = o + p * categorias[i] + inc * anyos[i];
+            }
+        } else {
+            double[] base = basePorCategoria;
+            for (int i = 0; i < longitud; i++) {
+                sueldos[i] = base[categorias[i]] + inc * anyos[i];
+            }
+        }
+    }
+
+    /**
+     * Una sola pasada sin saltos: acumula con OR los signos de (c - 1), (max - c) y anyos,
+     * y sólo si alguno es negativo busca la posición para el mensaje
+     * @return true si todos los años caben en el cálculo entero (anyos &lt;= limiteAnyos)
+     */
+    private boolean validar(int[] cats, int[] anyos, int longitud) {
+        int max = categorias;
+        int limite = limiteAnyos;
+        int signos = 0;
+        int margen = 0;
+        for (int i = 0; i < longitud; i++) {
+            int c = cats[i];
+            int a = anyos[i];
+            signos |= (c - 1) | (max - c) | a;
+            margen |= limite - a;
+        }
+        if (signos < 0) {
+            for (int i = 0; i < longitud; i++) {
+                if (cats[i] < 1 || cats[i] > max || anyos[i] < 0) {
+                    throw new IllegalArgumentException("Categoría (1-" + max + ") o años (>= 0) no válidos en la posición "
+                            + i + ": " + cats[i] + ", " + anyos[i]);
+                }
+            }
+        }
+        return margen >= 0;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public int getCategorias() {
+        return categorias;
+    }
+
+    public double getIncrementoAnyo() {
+        return incrementoAnyo;
+    }
+
+    /**
+     * @param categoria Categoría (1 a getCategorias())
+     * @return Sueldo base de la categoría
+     */
+    public double getSueldoBase(int categoria) {
+        return sueldo(categoria, 0);
+    }
+
+    /**
+     * @return true si las bases están en progresión aritmética (cálculo masivo sin tabla)
+     */
+    public boolean isLineal() {
+        return lineal;
+    }
+
+    @Override
+    public String toString() {
+        return "Escala salarial v" + version + ": "
+                + Arrays.toString(Arrays.copyOfRange(basePorCategoria, 1, categorias + 1))
+                + " + " + incrementoAnyo + " por año";
+    }
+}
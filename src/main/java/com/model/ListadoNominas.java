@@ -0,0 +1,74 @@
+package com.model;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * Listado de nóminas en columnas: un Empleado[] y un double[] de salarios paralelos,
+ * sin un mapa ni un Double por fila. Se puede recorrer como List&lt;NominaEmpleado&gt;
+ * (p. ej. c:forEach en nominas.jsp); cada get() crea una vista ligera de la fila,
+ * de vida corta. Para recorridos internos, empleadoEn/salarioEn no crean nada.
+ */
+public class ListadoNominas extends AbstractList<NominaEmpleado> implements RandomAccess {
+
+    private Empleado[] empleados;
+    private double[] salarios;
+    private int tamanyo;
+
+    /**
+     * @param capacidad Número de filas esperado (crece si se supera)
+     */
+    public ListadoNominas(int capacidad) {
+        int inicial = Math.max(capacidad, 1);
+        this.empleados = new Empleado[inicial];
+        this.salarios = new double[inicial];
+    }
+
+    /**
+     * Añade una fila al final del listado
+     * @param empleado Empleado
+     * @param salario Salario del empleado
+     */
+    public void anyadir(Empleado empleado, double salario) {
+        if (tamanyo == empleados.length) {
+            int capacidad = tamanyo + (tamanyo >> 1) + 1;
+            empleados = Arrays.copyOf(empleados, capacidad);
+            salarios = Arrays.copyOf(salarios, capacidad);
+        }
+        empleados[tamanyo] = empleado;
+        salarios[tamanyo] = salario;
+        tamanyo++;
+    }
+
+    public Empleado empleadoEn(int i) {
+        comprobarIndice(i);
+        return empleados[i];
+    }
+
+    public String dniEn(int i) {
+        return empleadoEn(i).getDni();
+    }
+
+    public double salarioEn(int i) {
+        comprobarIndice(i);
+        return salarios[i];
+    }
+
+    @Override
+    public NominaEmpleado get(int i) {
+        comprobarIndice(i);
+        return new NominaEmpleado(empleados[i], salarios[i]);
+    }
+
+    @Override
+    public int size() {
+        return tamanyo;
+    }
+
+    private void comprobarIndice(int i) {
+        if (i < 0 || i >= tamanyo) {
+            throw new IndexOutOfBoundsException("Índice " + i + ", tamaño " + tamanyo);
+        }
+    }
+}
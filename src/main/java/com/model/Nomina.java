@@ -1,17 +1,28 @@
 package com.model;
 
+/**
+ * Cálculo de sueldo de un empleado. Delega en CalculadoraSueldos (escala vigente, versionada
+ * y configurable); para muchos empleados a la vez es mejor CalculadoraSueldos.calcular con arrays.
+ */
 public class Nomina {
 
-    private static final int SUELDO_BASE[] = {50000, 70000, 90000, 110000, 130000, 150000, 170000, 190000, 210000, 230000};
-    
     /**
      * Metodo que calcula y devuelve el sueldo base
      * @param e {@link Empleado}
      * @return 
      */
     public double sueldo(Empleado e) {
-        double sueldo = 0;
-        sueldo = SUELDO_BASE[e.getCategoria() - 1] + (5000 * e.getAnyos());
-        return sueldo;
+        return sueldo(e.getCategoria(), e.getAnyos());
+    }
+    
+    /**
+     * Calcula el sueldo a partir de los datos primitivos, sin necesidad de un Empleado
+     * (útil al recorrer filas de la base de datos en procesos masivos)
+     * @param categoria Categoría (1-10)
+     * @param anyos Años trabajados
+     * @return Sueldo calculado
+     */
+    public double sueldo(int categoria, int anyos) {
+        return CalculadoraSueldos.getInstancia().sueldo(categoria, anyos);
     }
 }
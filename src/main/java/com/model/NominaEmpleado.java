@@ -0,0 +1,28 @@
+package com.model;
+
+/**
+ * Empleado junto con su salario (almacenado en nominas o calculado con Nomina).
+ * Es lo que muestran salarioResultado.jsp y cada fila de nominas.jsp.
+ */
+public class NominaEmpleado {
+
+    private final Empleado empleado;
+    private final double salario;
+
+    /**
+     * @param empleado Empleado
+     * @param salario Salario del empleado
+     */
+    public NominaEmpleado(Empleado empleado, double salario) {
+        this.empleado = empleado;
+        this.salario = salario;
+    }
+
+    public Empleado getEmpleado() {
+        return empleado;
+    }
+
+    public double getSalario() {
+        return salario;
+    }
+}
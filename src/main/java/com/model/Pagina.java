@@ -0,0 +1,45 @@
+package com.model;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Página de resultados obtenida con paginación por clave (keyset).
+ * El cursor es la última clave de la página: la siguiente página
+ * empieza justo después de ella, sin OFFSET que recorra filas descartadas.
+ *
+ * @param <T> Tipo de los elementos de la página
+ */
+public class Pagina<T> {
+
+    private final List<T> elementos;
+    private final String siguienteCursor;
+    private final int tamanyo;
+
+    /**
+     * @param elementos Elementos de la página (como máximo tamanyo)
+     * @param siguienteCursor Clave desde la que continuar, o null si es la última página
+     * @param tamanyo Tamaño de página solicitado
+     */
+    public Pagina(List<T> elementos, String siguienteCursor, int tamanyo) {
+        this.elementos = Collections.unmodifiableList(elementos);
+        this.siguienteCursor = siguienteCursor;
+        this.tamanyo = tamanyo;
+    }
+
+    public List<T> getElementos() {
+        return elementos;
+    }
+
+    public String getSiguienteCursor() {
+        return siguienteCursor;
+    }
+
+    public int getTamanyo() {
+        return tamanyo;
+    }
+
+    public boolean isHayMas() {
+        return siguienteCursor != null;
+    }
+}
@@ -0,0 +1,33 @@
+package com.model;
+
+/**
+ * Nómina almacenada de un empleado (fila de la tabla nominas).
+ * Inmutable; el sueldo es un double primitivo.
+ */
+public class RegistroNomina {
+
+    private final String dni;
+    private final double sueldo;
+
+    /**
+     * @param dni DNI del empleado
+     * @param sueldo Sueldo almacenado
+     */
+    public RegistroNomina(String dni, double sueldo) {
+        this.dni = dni;
+        this.sueldo = sueldo;
+    }
+
+    public String getDni() {
+        return dni;
+    }
+
+    public double getSueldo() {
+        return sueldo;
+    }
+
+    @Override
+    public String toString() {
+        return "RegistroNomina [dni=" + dni + ", sueldo=" + sueldo + "]";
+    }
+}
@@ -0,0 +1,124 @@
+package com.model;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Resultado de una importación masiva de empleados: filas leídas e insertadas, duración
+ * e informe de errores por fila (línea del fichero, DNI y motivo).
+ * El informe guarda como máximo importacion.maxErrores errores; getTotalErrores los cuenta todos.
+ */
+public class ResultadoImportacion {
+
+    /**
+     * Error en una fila del fichero importado
+     */
+    public static class ErrorFila {
+
+        private final long linea;
+        private final String dni;
+        private final String mensaje;
+
+        /**
+         * @param linea Línea del fichero (desde 1)
+         * @param dni DNI de la fila, o null si no se pudo leer
+         * @param mensaje Motivo por el que la fila no se importó
+         */
+        public ErrorFila(long linea, String dni, String mensaje) {
+            this.linea = linea;
+            this.dni = dni;
+            this.mensaje = mensaje;
+        }
+
+        public long getLinea() {
+            return linea;
+        }
+
+        public String getDni() {
+            return dni;
+        }
+
+        public String getMensaje() {
+            return mensaje;
+        }
+
+        @Override
+        public String toString() {
+            return "línea " + linea + (dni != null ? " (" + dni + ")" : "") + ": " + mensaje;
+        }
+    }
+
+    private final long filasLeidas;
+    private final long filasInsertadas;
+    private final long totalErrores;
+    private final List<ErrorFila> errores;
+    private final long duracionMs;
+    private final String error;
+
+    /**
+     * @param filasLeidas Filas de datos leídas del fichero (sin la cabecera)
+     * @param filasInsertadas Empleados dados de alta (con su nómina)
+     * @param totalErrores Filas rechazadas, incluidas las que no caben en el informe
+     * @param errores Errores por fila, ordenados por línea
+     * @param duracionMs Duración total en milisegundos
+     * @param error Motivo si la importación se interrumpió, null si se leyó el fichero completo
+     */
+    public ResultadoImportacion(long filasLeidas, long filasInsertadas, long totalErrores,
+                                List<ErrorFila> errores, long duracionMs, String error) {
+        this.filasLeidas = filasLeidas;
+        this.filasInsertadas = filasInsertadas;
+        this.totalErrores = totalErrores;
+        this.errores = Collections.unmodifiableList(errores);
+        this.duracionMs = duracionMs;
+        this.error = error;
+    }
+
+    public long getFilasLeidas() {
+        return filasLeidas;
+    }
+
+    public long getFilasInsertadas() {
+        return filasInsertadas;
+    }
+
+    public long getTotalErrores() {
+        return totalErrores;
+    }
+
+    public List<ErrorFila> getErrores() {
+        return errores;
+    }
+
+    public long getDuracionMs() {
+        return duracionMs;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public boolean isCompletado() {
+        return error == null;
+    }
+
+    /**
+     * @return true si hay más errores de los que recoge el informe
+     */
+    public boolean isErroresTruncados() {
+        return totalErrores > errores.size();
+    }
+
+    /**
+     * @return Rendimiento en filas leídas por segundo
+     */
+    public long getFilasPorSegundo() {
+        return duracionMs == 0 ? filasLeidas * 1000 : filasLeidas * 1000 / duracionMs;
+    }
+
+    @Override
+    public String toString() {
+        return "Importación de empleados: " + filasInsertadas + " de " + filasLeidas + " filas insertadas, "
+                + totalErrores + " con errores, en " + duracionMs + " ms (" + getFilasPorSegundo() + " filas/s)"
+                + (error != null ? " - interrumpida: " + error : "");
+    }
+}
@@ -0,0 +1,68 @@
+package com.model;
+
+/**
+ * Resultado de una operación masiva sobre la plantilla (recálculos, actualizaciones en bloque).
+ * Incluye el cursor del último DNI confirmado para poder reanudar tras un fallo.
+ */
+public class ResultadoOperacionMasiva {
+
+    private final String operacion;
+    private final long filas;
+    private final long duracionMs;
+    private final String ultimoDniConfirmado;
+    private final String error;
+
+    /**
+     * @param operacion Nombre descriptivo de la operación
+     * @param filas Filas confirmadas en base de datos
+     * @param duracionMs Duración total en milisegundos
+     * @param ultimoDniConfirmado Último DNI confirmado (null si no aplica o no se confirmó nada)
+     * @param error Mensaje de error si la operación se interrumpió, null si terminó
+     */
+    public ResultadoOperacionMasiva(String operacion, long filas, long duracionMs,
+                                    String ultimoDniConfirmado, String error) {
+        this.operacion = operacion;
+        this.filas = filas;
+        this.duracionMs = duracionMs;
+        this.ultimoDniConfirmado = ultimoDniConfirmado;
+        this.error = error;
+    }
+
+    public String getOperacion() {
+        return operacion;
+    }
+
+    public long getFilas() {
+        return filas;
+    }
+
+    public long getDuracionMs() {
+        return duracionMs;
+    }
+
+    public String getUltimoDniConfirmado() {
+        return ultimoDniConfirmado;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public boolean isCompletado() {
+        return error == null;
+    }
+
+    /**
+     * @return Rendimiento en filas por segundo
+     */
+    public long getFilasPorSegundo() {
+        return duracionMs == 0 ? filas * 1000 : filas * 1000 / duracionMs;
+    }
+
+    @Override
+    public String toString() {
+        return operacion + ": " + filas + " filas en " + duracionMs + " ms ("
+                + getFilasPorSegundo() + " filas/s)"
+                + (isCompletado() ? "" : ", interrumpida tras " + ultimoDniConfirmado + ": " + error);
+    }
+}
@@ -0,0 +1,94 @@
+package com.model;
+
+import java.util.Arrays;
+
+/**
+ * Mapa compacto DNI -&gt; sueldo para consultas masivas.
+ * Guarda los DNI ordenados en un String[] y los sueldos en un double[] paralelo:
+ * sin objetos Entry ni Double por registro, y búsqueda binaria por DNI.
+ * Se rellena en orden ascendente de DNI (como lo devuelve la consulta ordenada).
+ */
+public class SueldosPorDni {
+
+    private String[] dnis;
+    private double[] sueldos;
+    private int tamanyo;
+
+    /**
+     * @param capacidad Número de registros esperado (crece si se supera)
+     */
+    public SueldosPorDni(int capacidad) {
+        int inicial = Math.max(capacidad, 1);
+        this.dnis = new String[inicial];
+        this.sueldos = new double[inicial];
+    }
+
+    /**
+     * Añade un registro. Los DNI deben llegar en orden estrictamente ascendente.
+     * @param dni DNI del empleado
+     * @param sueldo Sueldo almacenado
+     * @throws IllegalArgumentException si el DNI no es posterior al último añadido
+     */
+    public void anyadir(String dni, double sueldo) {
+        if (tamanyo > 0 && dni.compareTo(dnis[tamanyo - 1]) <= 0) {
+            throw new IllegalArgumentException("DNI fuera de orden: " + dni + " tras " + dnis[tamanyo - 1]);
+        }
+        if (tamanyo == dnis.length) {
+            int capacidad = tamanyo + (tamanyo >> 1) + 1;
+            dnis = Arrays.copyOf(dnis, capacidad);
+            sueldos = Arrays.copyOf(sueldos, capacidad);
+        }
+        dnis[tamanyo] = dni;
+        sueldos[tamanyo] = sueldo;
+        tamanyo++;
+    }
+
+    /**
+     * @param dni DNI a buscar
+     * @return Sueldo almacenado o null si el DNI no tiene nómina
+     */
+    public Double getSueldo(String dni) {
+        int i = indice(dni);
+        return i < 0 ? null : sueldos[i];
+    }
+
+    public boolean contiene(String dni) {
+        return indice(dni) >= 0;
+    }
+
+    private int indice(String dni) {
+        return dni == null ? -1 : Arrays.binarySearch(dnis, 0, tamanyo, dni);
+    }
+
+    /**
+     * @param i Posición (0..tamanyo-1), en orden de DNI
+     * @return DNI en esa posición
+     */
+    public String dniEn(int i) {
+        comprobarIndice(i);
+        return dnis[i];
+    }
+
+    /**
+     * @param i Posición (0..tamanyo-1), en orden de DNI
+     * @return Sueldo en esa posición
+     */
+    public double sueldoEn(int i) {
+        comprobarIndice(i);
+        return sueldos[i];
+    }
+
+    private void comprobarIndice(int i) {
+        if (i < 0 || i >= tamanyo) {
+            throw new IndexOutOfBoundsException("Índice " + i + ", tamaño " + tamanyo);
+        }
+    }
+
+    public int getTamanyo() {
+        return tamanyo;
+    }
+
+    public boolean isVacio() {
+        return tamanyo == 0;
+    }
+}
@@ -1,14 +1,25 @@
 package com.service;
 
+import java.io.IOException;
+import java.io.Reader;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
-import javax.servlet.http.HttpServletRequest;
-
 import com.dao.EmpleadosDAO;
 import com.dao.IEmpleadoDAO;
+import com.dao.ProcesadorFilas;
+import com.exceptions.ConflictoConcurrenciaException;
 import com.exceptions.DatosNoCorrectosException;
+import com.model.CalculadoraSueldos;
+import com.model.ConsultaEmpleados;
+import com.model.CriterioBusqueda;
 import com.model.Empleado;
+import com.model.Pagina;
+import com.model.ResultadoImportacion;
+import com.model.ResultadoOperacionMasiva;
+import com.util.Configuracion;
 
 /**
  * Implementación del servicio de empleados.
@@ -18,12 +29,13 @@ import com.model.Empleado;
 public class EmpleadoService implements IEmpleadoService {
     
     private IEmpleadoDAO empleadoDAO;
+    private CalculadoraSueldos calculadora;
     
     /**
      * Constructor con inyección de dependencia del DAO
      */
     public EmpleadoService() {
-        this.empleadoDAO = new EmpleadosDAO();
+        this(new EmpleadosDAO());
     }
     
     /**
@@ -31,7 +43,17 @@ public class EmpleadoService implements IEmpleadoService {
      * @param empleadoDAO Implementación del DAO
      */
     public EmpleadoService(IEmpleadoDAO empleadoDAO) {
+        this(empleadoDAO, CalculadoraSueldos.getInstancia());
+    }
+    
+    /**
+     * Constructor con inyección explícita para testing
+     * @param empleadoDAO Implementación del DAO
+     * @param calculadora Calculadora cuya escala vigente define las categorías válidas
+     */
+    public EmpleadoService(IEmpleadoDAO empleadoDAO, CalculadoraSueldos calculadora) {
         this.empleadoDAO = empleadoDAO;
+        this.calculadora = calculadora;
     }
     
     @Override
@@ -44,6 +66,20 @@ public class EmpleadoService implements IEmpleadoService {
         return empleadoDAO.listar();
     }
     
+    @Override
+    public Pagina<Empleado> listarEmpleadosPaginados(String desdeDni, int tamanyo) 
+            throws SQLException, DatosNoCorrectosException {
+        if (tamanyo < 1 || tamanyo > TAMANYO_PAGINA_MAXIMO) {
+            throw new IllegalArgumentException("El tamaño de página debe estar entre 1 y " + TAMANYO_PAGINA_MAXIMO);
+        }
+        return empleadoDAO.listarPagina(desdeDni, tamanyo);
+    }
+    
+    @Override
+    public void recorrerEmpleados(ProcesadorFilas<Empleado> procesador) throws Exception {
+        empleadoDAO.recorrer(procesador);
+    }
+    
     @Override
     public Empleado buscarEmpleadoPorDni(String dni) throws SQLException, DatosNoCorrectosException {
         if (dni == null || dni.trim().isEmpty()) {
@@ -53,26 +89,106 @@ public class EmpleadoService implements IEmpleadoService {
     }
     
     @Override
-    public boolean actualizarEmpleado(HttpServletRequest request) throws SQLException, DatosNoCorrectosException {
+    public boolean actualizarEmpleado(Empleado empleado) throws SQLException {
         // Aquí se podría agregar:
         // - Validaciones de negocio adicionales
         // - Auditoría de cambios
         // - Notificaciones
         // - Transacciones complejas
-        return empleadoDAO.actualizarEmpleado(request);
+        if (empleado == null) {
+            throw new IllegalArgumentException("El empleado no puede ser nulo");
+        }
+        try {
+            if (!empleadoDAO.actualizar(empleado)) {
+                throw new SQLException("No se encontró ningún empleado con el DNI " + empleado.getDni());
+            }
+            return true;
+        } catch (ConflictoConcurrenciaException ex) {
+            // Se propaga tal cual: quien llama distingue el conflicto (reintentable) por su tipo
+            throw ex;
+        } catch (SQLException ex) {
+            throw new SQLException("Error actualizando empleado: " + ex.getMessage(), ex);
+        }
     }
     
     @Override
-    public List<Empleado> buscarEmpleadosPorCriterio(HttpServletRequest request) 
+    public int actualizarEmpleados(Collection<Empleado> empleados) throws SQLException {
+        if (empleados == null || empleados.contains(null)) {
+            throw new IllegalArgumentException("La lista de empleados no puede ser nula ni contener nulos");
+        }
+        return empleadoDAO.actualizarTodos(empleados);
+    }
+    
+    @Override
+    public Pagina<Empleado> buscarEmpleadosPorCriterio(CriterioBusqueda criterio) 
             throws SQLException, DatosNoCorrectosException {
         // Validación de criterios de búsqueda
-        String campo = request.getParameter("campo");
-        String valor = request.getParameter("valor");
+        String campo = criterio.getCampo();
+        String valor = criterio.getValor();
         
         if (campo == null || valor == null || valor.trim().isEmpty()) {
             throw new IllegalArgumentException("Criterio de búsqueda incompleto");
         }
+        if (criterio.getTamanyo() < 1 || criterio.getTamanyo() > TAMANYO_PAGINA_MAXIMO) {
+            throw new IllegalArgumentException("El tamaño de página debe estar entre 1 y " + TAMANYO_PAGINA_MAXIMO);
+        }
         
-        return empleadoDAO.buscarPorCriterio(request);
+        valor = valor.trim();
+        switch (campo) {
+            case CriterioBusqueda.DNI:
+                valor = valor.toUpperCase();
+                break;
+            case CriterioBusqueda.SEXO:
+                valor = valor.toUpperCase();
+                if (!"M".equals(valor) && !"F".equals(valor)) {
+                    throw new IllegalArgumentException("El sexo debe ser M o F");
+                }
+                break;
+            case CriterioBusqueda.CATEGORIA:
+            case CriterioBusqueda.ANYOS:
+                try {
+                    valor = String.valueOf(Integer.parseInt(valor));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("El valor de " + campo + " debe ser un número entero");
+                }
+                break;
+            case CriterioBusqueda.NOMBRE:
+                break;
+            default:
+                throw new IllegalArgumentException("Campo de búsqueda no válido: " + campo);
+        }
+        
+        return empleadoDAO.buscarPorCriterio(
+                new CriterioBusqueda(campo, valor, criterio.getDesdeDni(), criterio.getTamanyo()));
+    }
+    
+    @Override
+    public List<Empleado> consultarEmpleados(ConsultaEmpleados consulta) throws Exception {
+        // Sin índice en memoria: se recorre la tabla comprobando cada empleado
+        List<Empleado> resultado = new ArrayList<>();
+        empleadoDAO.recorrer(e -> {
+            if (resultado.size() < consulta.getLimite() && consulta.cumple(e)) {
+                resultado.add(e);
+            }
+        });
+        return resultado;
+    }
+    
+    @Override
+    public ResultadoOperacionMasiva incrementarAntiguedad(Integer categoria) throws SQLException {
+        int categorias = calculadora.getEscala().getCategorias();
+        if (categoria != null && (categoria < 1 || categoria > categorias)) {
+            throw new IllegalArgumentException("La categoría debe estar entre 1 y " + categorias);
+        }
+        return empleadoDAO.incrementarAntiguedad(categoria);
+    }
+    
+    @Override
+    public ResultadoImportacion importarEmpleados(Reader csv) throws IOException {
+        ImportacionEmpleados importacion = new ImportacionEmpleados(empleadoDAO,
+                Configuracion.getInt("importacion.tamanyoLote", 1000),
+                Configuracion.getInt("importacion.lotesEnCola", 4),
+                Configuracion.getInt("importacion.maxErrores", 1000), calculadora);
+        return importacion.ejecutar(csv);
     }
 }
@@ -0,0 +1,137 @@
+package com.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.dao.ProcesadorFilas;
+import com.exceptions.DatosNoCorrectosException;
+import com.model.ConsultaEmpleados;
+import com.model.CriterioBusqueda;
+import com.model.Empleado;
+import com.model.Pagina;
+import com.model.ResultadoImportacion;
+import com.model.ResultadoOperacionMasiva;
+import com.util.CacheLRU;
+
+/**
+ * Decorador de IEmpleadoService con caché de lectura por DNI (patrón Decorator).
+ * Las búsquedas por DNI se sirven desde memoria; las actualizaciones invalidan
+ * la entrada para que nunca se devuelva un empleado anterior a una escritura
+ * hecha a través de esta aplicación.
+ * Se activa con cache.empleados.enabled en application.properties.
+ */
+public class EmpleadoServiceCache implements IEmpleadoService {
+    
+    private final IEmpleadoService delegado;
+    private final CacheLRU<String, Empleado> cache;
+    
+    /**
+     * @param delegado Servicio real al que se delegan los fallos de caché
+     * @param tamanyoMaximo Número máximo de empleados en caché
+     * @param ttlSegundos Tiempo de vida de cada entrada en segundos
+     */
+    public EmpleadoServiceCache(IEmpleadoService delegado, int tamanyoMaximo, long ttlSegundos) {
+        this.delegado = delegado;
+        this.cache = new CacheLRU<>(tamanyoMaximo, ttlSegundos, TimeUnit.SECONDS);
+    }
+    
+    @Override
+    public List<Empleado> listarEmpleados() throws SQLException, DatosNoCorrectosException {
+        return delegado.listarEmpleados();
+    }
+    
+    @Override
+    public Pagina<Empleado> listarEmpleadosPaginados(String desdeDni, int tamanyo) 
+            throws SQLException, DatosNoCorrectosException {
+        return delegado.listarEmpleadosPaginados(desdeDni, tamanyo);
+    }
+    
+    @Override
+    public void recorrerEmpleados(ProcesadorFilas<Empleado> procesador) throws Exception {
+        delegado.recorrerEmpleados(procesador);
+    }
+    
+    @Override
+    public Empleado buscarEmpleadoPorDni(String dni) throws SQLException, DatosNoCorrectosException {
+        if (dni == null || dni.trim().isEmpty()) {
+            throw new IllegalArgumentException("El DNI no puede estar vacío");
+        }
+        
+        Empleado empleado = cache.get(dni);
+        if (empleado != null) {
+            return empleado;
+        }
+        
+        long marca = cache.marca();
+        empleado = delegado.buscarEmpleadoPorDni(dni);
+        if (empleado != null) {
+            cache.putSiVigente(dni, empleado, marca);
+        }
+        return empleado;
+    }
+    
+    @Override
+    public boolean actualizarEmpleado(Empleado empleado) throws SQLException {
+        try {
+            return delegado.actualizarEmpleado(empleado);
+        } finally {
+            // También si falla: el estado en BD es incierto, se fuerza a releerlo
+            if (empleado != null && empleado.getDni() != null) {
+                cache.invalidar(empleado.getDni());
+            }
+        }
+    }
+    
+    @Override
+    public int actualizarEmpleados(Collection<Empleado> empleados) throws SQLException {
+        try {
+            return delegado.actualizarEmpleados(empleados);
+        } finally {
+            if (empleados != null) {
+                for (Empleado empleado : empleados) {
+                    if (empleado != null && empleado.getDni() != null) {
+                        cache.invalidar(empleado.getDni());
+                    }
+                }
+            }
+        }
+    }
+    
+    @Override
+    public Pagina<Empleado> buscarEmpleadosPorCriterio(CriterioBusqueda criterio) 
+            throws SQLException, DatosNoCorrectosException {
+        return delegado.buscarEmpleadosPorCriterio(criterio);
+    }
+    
+    @Override
+    public List<Empleado> consultarEmpleados(ConsultaEmpleados consulta) throws Exception {
+        return delegado.consultarEmpleados(consulta);
+    }
+    
+    @Override
+    public ResultadoOperacionMasiva incrementarAntiguedad(Integer categoria) throws SQLException {
+        try {
+            return delegado.incrementarAntiguedad(categoria);
+        } finally {
+            // Afecta a un número indeterminado de empleados: se vacía la caché completa
+            cache.limpiar();
+        }
+    }
+    
+    @Override
+    public ResultadoImportacion importarEmpleados(Reader csv) throws IOException {
+        // Sólo da de alta empleados nuevos: no hay entradas que invalidar
+        return delegado.importarEmpleados(csv);
+    }
+    
+    /**
+     * @return Caché subyacente (para consultar aciertos, fallos y expulsiones)
+     */
+    public CacheLRU<String, Empleado> getCache() {
+        return cache;
+    }
+}
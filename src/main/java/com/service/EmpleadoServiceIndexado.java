@@ -0,0 +1,205 @@
+package com.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.dao.ProcesadorFilas;
+import com.exceptions.DatosNoCorrectosException;
+import com.model.ConsultaEmpleados;
+import com.model.CriterioBusqueda;
+import com.model.Empleado;
+import com.model.Pagina;
+import com.model.ResultadoImportacion;
+import com.model.ResultadoOperacionMasiva;
+
+/**
+ * Decorador de IEmpleadoService que resuelve consultarEmpleados con un IndiceEmpleados
+ * en memoria (patrón Decorator, como EmpleadoServiceCache).
+ * El índice se carga al construir el decorador y se mantiene al día con las escrituras
+ * que pasan por él: actualizarEmpleado sustituye el empleado modificado, y actualizarEmpleados
+ * (si alguno no existía) e incrementarAntiguedad reconstruyen el índice completo. La escritura en BD
+ * y el refresco del índice se hacen bajo un cerrojo por DNI (repartidos en FRANJAS), así que dos
+ * actualizaciones del mismo empleado llegan al índice en el mismo orden en que se confirmaron.
+ * Si la carga falla (p. ej. base de datos caída al arrancar),
+ * las consultas se delegan al servicio y se reintenta la carga en la siguiente.
+ * Se activa con indice.empleados.enabled en application.properties.
+ */
+public class EmpleadoServiceIndexado implements IEmpleadoService {
+
+    private static final int FRANJAS = 64;
+
+    private final IEmpleadoService delegado;
+    private volatile IndiceEmpleados indice;
+    private final ReentrantLock[] cerrojos = new ReentrantLock[FRANJAS];
+
+    /**
+     * @param delegado Servicio real (fuente del índice y destino de las demás operaciones)
+     */
+    public EmpleadoServiceIndexado(IEmpleadoService delegado) {
+        this.delegado = delegado;
+        for (int i = 0; i < FRANJAS; i++) {
+            cerrojos[i] = new ReentrantLock();
+        }
+        try {
+            recargar();
+        } catch (Exception e) {
+            indice = null;
+        }
+    }
+
+    /**
+     * Reconstruye el índice completo desde el servicio y lo publica de una vez:
+     * las consultas en curso siguen usando el anterior hasta que termina la carga.
+     * Exclusivo con el refresco de actualizarEmpleado, para que un cambio confirmado
+     * durante la carga no se pierda al publicar el índice nuevo
+     * @throws Exception si falla la lectura de empleados
+     */
+    public synchronized void recargar() throws Exception {
+        IndiceEmpleados nuevo = new IndiceEmpleados();
+        delegado.recorrerEmpleados(nuevo::actualizar);
+        indice = nuevo;
+    }
+
+    @Override
+    public List<Empleado> consultarEmpleados(ConsultaEmpleados consulta) throws Exception {
+        IndiceEmpleados actual = indice;
+        if (actual == null) {
+            try {
+                recargar();
+                actual = indice;
+            } catch (Exception e) {
+                return delegado.consultarEmpleados(consulta);
+            }
+        }
+        return actual.consultar(consulta);
+    }
+
+    @Override
+    public List<Empleado> listarEmpleados() throws SQLException, DatosNoCorrectosException {
+        return delegado.listarEmpleados();
+    }
+
+    @Override
+    public Pagina<Empleado> listarEmpleadosPaginados(String desdeDni, int tamanyo)
+            throws SQLException, DatosNoCorrectosException {
+        return delegado.listarEmpleadosPaginados(desdeDni, tamanyo);
+    }
+
+    @Override
+    public void recorrerEmpleados(ProcesadorFilas<Empleado> procesador) throws Exception {
+        delegado.recorrerEmpleados(procesador);
+    }
+
+    @Override
+    public Empleado buscarEmpleadoPorDni(String dni) throws SQLException, DatosNoCorrectosException {
+        return delegado.buscarEmpleadoPorDni(dni);
+    }
+
+    @Override
+    public boolean actualizarEmpleado(Empleado empleado) throws SQLException {
+        ReentrantLock cerrojo = cerrojos[franja(empleado.getDni())];
+        cerrojo.lock();
+        try {
+            // Si la actualización falla se ha deshecho en BD y el índice sigue siendo válido
+            boolean actualizado = delegado.actualizarEmpleado(empleado);
+            if (actualizado) {
+                refrescar(Collections.singletonList(empleado));
+            }
+            return actualizado;
+        } finally {
+            cerrojo.unlock();
+        }
+    }
+
+    @Override
+    public int actualizarEmpleados(Collection<Empleado> empleados) throws SQLException {
+        // Franjas en orden creciente: dos lotes que comparten franjas no llegan a un interbloqueo
+        TreeSet<Integer> franjas = new TreeSet<>();
+        for (Empleado empleado : empleados) {
+            franjas.add(franja(empleado.getDni()));
+        }
+        for (int f : franjas) {
+            cerrojos[f].lock();
+        }
+        try {
+            int actualizados = delegado.actualizarEmpleados(empleados);
+            if (actualizados == empleados.size()) {
+                refrescar(empleados);
+            } else {
+                // Algún DNI no existía: no se sabe cuáles, se reconstruye
+                try {
+                    recargar();
+                } catch (Exception e) {
+                    indice = null;
+                }
+            }
+            return actualizados;
+        } finally {
+            for (int f : franjas.descendingSet()) {
+                cerrojos[f].unlock();
+            }
+        }
+    }
+
+    private static int franja(String dni) {
+        return (Objects.hashCode(dni) & Integer.MAX_VALUE) % FRANJAS;
+    }
+
+    /**
+     * Sustituye en el índice los empleados ya confirmados en BD
+     */
+    private synchronized void refrescar(Collection<Empleado> empleados) {
+        IndiceEmpleados actual = indice;
+        if (actual == null) {
+            return;
+        }
+        for (Empleado empleado : empleados) {
+            actual.actualizar(empleado);
+        }
+    }
+
+    @Override
+    public Pagina<Empleado> buscarEmpleadosPorCriterio(CriterioBusqueda criterio)
+            throws SQLException, DatosNoCorrectosException {
+        return delegado.buscarEmpleadosPorCriterio(criterio);
+    }
+
+    @Override
+    public ResultadoOperacionMasiva incrementarAntiguedad(Integer categoria) throws SQLException {
+        ResultadoOperacionMasiva resultado = delegado.incrementarAntiguedad(categoria);
+        try {
+            recargar();
+        } catch (Exception e) {
+            // Se reintentará en la próxima consulta
+            indice = null;
+        }
+        return resultado;
+    }
+
+    @Override
+    public ResultadoImportacion importarEmpleados(Reader csv) throws IOException {
+        ResultadoImportacion resultado = delegado.importarEmpleados(csv);
+        if (resultado.getFilasInsertadas() > 0) {
+            try {
+                recargar();
+            } catch (Exception e) {
+                indice = null;
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * @return Índice actual, o null si no se ha podido cargar
+     */
+    public IndiceEmpleados getIndice() {
+        return indice;
+    }
+}
@@ -0,0 +1,381 @@
+package com.service;
+
+import java.sql.SQLException;
+import java.sql.SQLTransientException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.conexion.Conexion;
+import com.dao.INominaDAO;
+import com.dao.NominasDAO;
+import com.model.RegistroNomina;
+import com.util.Configuracion;
+import com.util.Histograma;
+import com.util.MetricasPeticiones;
+
+/**
+ * Escritura diferida de sueldos (nominas.sueldo.escrituraDiferida.enabled).
+ * Las actualizaciones se encolan y un hilo daemon las escribe por lotes en una transacción
+ * (INominaDAO.actualizarSueldos) cuando hay tamanyoLote DNI pendientes o cuando el más antiguo
+ * lleva intervaloMillis esperando. Varias actualizaciones del mismo DNI antes de escribirse se
+ * combinan en una sola fila con el último sueldo.
+ *
+ * Cada actualización devuelve una confirmación que se completa sólo cuando su sueldo (o uno
+ * posterior del mismo DNI que lo sustituyó) está confirmado en la base de datos: true si el DNI
+ * tenía nómina, false si no. Son las filas exactas de cada DNI, también con drivers que responden
+ * SUCCESS_NO_INFO a los lotes (PlantillaJdbc.ejecutarLotePorElemento). Si el lote falla, la confirmación termina con el error y el sueldo
+ * no se reintenta. La cola admite capacidad DNI distintos; con ella llena quien encola espera
+ * hasta plazoEsperaMillis a que se escriba un lote.
+ *
+ * Los lotes se escriben de uno en uno y en orden de llegada, así que un sueldo nunca queda
+ * pisado por otro anterior del mismo DNI. Conexion.closeDataSource escribe lo pendiente antes
+ * de cerrar el pool.
+ */
+public class EscrituraDiferidaSueldos {
+
+    private static final class Instancia {
+        static final EscrituraDiferidaSueldos INSTANCIA = crear();
+
+        private static EscrituraDiferidaSueldos crear() {
+            EscrituraDiferidaSueldos escritura = new EscrituraDiferidaSueldos(new NominasDAO(),
+                    Configuracion.getInt("nominas.sueldo.escrituraDiferida.capacidad", 10000),
+                    Configuracion.getInt("nominas.sueldo.escrituraDiferida.tamanyoLote", 500),
+                    Configuracion.getLong("nominas.sueldo.escrituraDiferida.intervaloMillis", 200),
+                    Configuracion.getLong("nominas.sueldo.escrituraDiferida.plazoEsperaMillis", 5000));
+            escritura.registrarMetricas(MetricasPeticiones.getInstancia());
+            Conexion.alCerrar(escritura::vaciar);
+            return escritura;
+        }
+    }
+
+    private final INominaDAO nominaDAO;
+    private final int capacidad;
+    private final int tamanyoLote;
+    private final long intervaloNanos;
+    private final long plazoEsperaNanos;
+
+    // Pendientes por DNI en orden de llegada; se protegen con cerrojo
+    private final ReentrantLock cerrojo = new ReentrantLock();
+    private final Condition hayTrabajo = cerrojo.newCondition();
+    private final Condition hayHueco = cerrojo.newCondition();
+    private final LinkedHashMap<String, Pendiente> pendientes = new LinkedHashMap<>();
+    private volatile int enCola;
+    private boolean cerrada;
+
+    // Sólo un lote en escritura a la vez (hilo escritor, vaciar o cerrar)
+    private final Object escritura = new Object();
+
+    private final LongAdder encoladas = new LongAdder();
+    private final LongAdder combinadas = new LongAdder();
+    private final LongAdder escritas = new LongAdder();
+    private final LongAdder errores = new LongAdder();
+    private final LongAdder rechazadas = new LongAdder();
+    private final Histograma tiempoLote = new Histograma();
+    private final Histograma tiempoConfirmacion = new Histograma();
+
+    private final Thread escritor;
+
+    /**
+     * @param nominaDAO DAO de nóminas
+     * @param capacidad DNI distintos pendientes como máximo
+     * @param tamanyoLote DNI que disparan la escritura de un lote (y máximo por lote)
+     * @param intervaloMillis Espera máxima del sueldo más antiguo antes de escribir un lote incompleto
+     * @param plazoEsperaMillis Espera máxima de quien encola con la cola llena, o de quien espera confirmación
+     */
+    public EscrituraDiferidaSueldos(INominaDAO nominaDAO, int capacidad, int tamanyoLote,
+            long intervaloMillis, long plazoEsperaMillis) {
+        if (capacidad <= 0 || tamanyoLote <= 0 || intervaloMillis <= 0 || plazoEsperaMillis < 0) {
+            throw new IllegalArgumentException("Capacidad, tamaño de lote e intervalo deben ser positivos");
+        }
+        this.nominaDAO = nominaDAO;
+        this.capacidad = capacidad;
+        this.tamanyoLote = Math.min(tamanyoLote, capacidad);
+        this.intervaloNanos = TimeUnit.MILLISECONDS.toNanos(intervaloMillis);
+        this.plazoEsperaNanos = TimeUnit.MILLISECONDS.toNanos(plazoEsperaMillis);
+
+        escritor = new Thread(this::escribirPeriodicamente, "escritura-sueldos");
+        escritor.setDaemon(true);
+        escritor.start();
+    }
+
+    /**
+     * Publica la profundidad de la cola, los contadores y los tiempos de escritura de esta
+     * instancia. Sólo lo hace la de la aplicación (getInstancia); las de tests y benchmarks no
+     * sustituyen a las métricas publicadas
+     * @param metricas Registro de métricas de la aplicación
+     */
+    public void registrarMetricas(MetricasPeticiones metricas) {
+        metricas.registrarIndicador("empresa_sueldos_pendientes",
+                "DNI con sueldo encolado pendiente de escribir", () -> enCola);
+        metricas.registrarContador("empresa_sueldos_encolados_total",
+                "Actualizaciones de sueldo recibidas en la escritura diferida", encoladas::sum);
+        metricas.registrarContador("empresa_sueldos_combinados_total",
+                "Actualizaciones de sueldo combinadas con otra pendiente del mismo DNI", combinadas::sum);
+        metricas.registrarContador("empresa_sueldos_escritos_total",
+                "Sueldos escritos por la escritura diferida", escritas::sum);
+        metricas.registrarContador("empresa_sueldos_errores_escritura_total",
+                "Lotes de sueldos que fallaron (sus confirmaciones terminan con el error)", errores::sum);
+        metricas.registrarContador("empresa_sueldos_rechazados_total",
+                "Actualizaciones de sueldo rechazadas por cola llena", rechazadas::sum);
+        metricas.registrarHistograma("empresa_sueldos_escritura_segundos",
+                "Duración de la escritura de cada lote de sueldos", tiempoLote);
+        metricas.registrarHistograma("empresa_sueldos_confirmacion_segundos",
+                "Tiempo desde que se encola un sueldo hasta que se confirma", tiempoConfirmacion);
+    }
+
+    /**
+     * @return Escritura diferida de la aplicación (se crea con la configuración al pedirla)
+     */
+    public static EscrituraDiferidaSueldos getInstancia() {
+        return Instancia.INSTANCIA;
+    }
+
+    /**
+     * Encola el sueldo nuevo de un DNI. Si ya había uno pendiente para ese DNI se sustituye y
+     * se devuelve la misma confirmación
+     * @param dni DNI del empleado (se compara sin espacios y con la letra en mayúscula)
+     * @param nuevoSueldo Sueldo nuevo
+     * @return Confirmación: true si se escribió, false si el DNI no tiene nómina
+     * @throws SQLTransientException si la cola sigue llena tras plazoEsperaMillis
+     * @throws IllegalStateException si la escritura diferida está cerrada
+     */
+    public CompletableFuture<Boolean> encolar(String dni, double nuevoSueldo) throws SQLException {
+        String clave = dni.trim().toUpperCase(Locale.ROOT);
+        long limite = System.nanoTime() + plazoEsperaNanos;
+        cerrojo.lock();
+        try {
+            while (true) {
+                if (cerrada) {
+                    throw new IllegalStateException("La escritura diferida de sueldos está cerrada");
+                }
+                Pendiente pendiente = pendientes.get(clave);
+                if (pendiente != null) {
+                    pendiente.sueldo = nuevoSueldo;
+                    encoladas.increment();
+                    combinadas.increment();
+                    return pendiente.confirmacion;
+                }
+                if (pendientes.size() < capacidad) {
+                    pendiente = new Pendiente(nuevoSueldo);
+                    pendientes.put(clave, pendiente);
+                    enCola = pendientes.size();
+                    encoladas.increment();
+                    if (pendientes.size() == 1 || pendientes.size() >= tamanyoLote) {
+                        hayTrabajo.signal();
+                    }
+                    return pendiente.confirmacion;
+                }
+                // Cola llena: se adelanta el lote y se espera a que deje hueco
+                hayTrabajo.signal();
+                long resto = limite - System.nanoTime();
+                if (resto <= 0) {
+                    rechazadas.increment();
+                    throw new SQLTransientException("Cola de sueldos llena (" + capacidad + " DNI pendientes)");
+                }
+                hayHueco.awaitNanos(resto);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientException("Interrumpido esperando hueco en la cola de sueldos", e);
+        } finally {
+            cerrojo.unlock();
+        }
+    }
+
+    /**
+     * Encola el sueldo y espera su confirmación (hasta plazoEsperaMillis): las actualizaciones
+     * simultáneas comparten transacción y la llamada sólo vuelve con el sueldo ya escrito
+     * @return true si se escribió, false si el DNI no tiene nómina
+     * @throws SQLException si falla la escritura de su lote o no se confirma a tiempo
+     */
+    public boolean actualizar(String dni, double nuevoSueldo) throws SQLException {
+        CompletableFuture<Boolean> confirmacion = encolar(dni, nuevoSueldo);
+        try {
+            return confirmacion.get(plazoEsperaNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new SQLTransientException("El sueldo de " + dni + " sigue pendiente de escribir", e);
+        } catch (ExecutionException e) {
+            Throwable causa = e.getCause();
+            if (causa instanceof SQLException) {
+                throw (SQLException) causa;
+            }
+            throw new SQLException("No se pudo escribir el sueldo de " + dni, causa);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientException("Interrumpido esperando la escritura del sueldo de " + dni, e);
+        }
+    }
+
+    /**
+     * Escribe ahora todo lo pendiente, lote a lote, en el hilo que llama
+     * (Conexion.closeDataSource lo hace antes de cerrar el pool)
+     * @throws SQLException el primer error de escritura, tras intentar todos los lotes
+     */
+    public void vaciar() throws SQLException {
+        SQLException error = null;
+        boolean quedan = true;
+        while (quedan) {
+            try {
+                quedan = escribirLote();
+            } catch (SQLException e) {
+                if (error == null) {
+                    error = e;
+                } else {
+                    error.addSuppressed(e);
+                }
+            }
+        }
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    /**
+     * Deja de aceptar sueldos, detiene el hilo escritor y escribe lo pendiente
+     * @throws SQLException si falla la escritura de lo pendiente
+     */
+    public void cerrar() throws SQLException {
+        cerrojo.lock();
+        try {
+            cerrada = true;
+            hayTrabajo.signalAll();
+            hayHueco.signalAll();
+        } finally {
+            cerrojo.unlock();
+        }
+        try {
+            escritor.join(TimeUnit.NANOSECONDS.toMillis(plazoEsperaNanos) + 1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        vaciar();
+    }
+
+    public int getPendientes() {
+        return enCola;
+    }
+
+    public long getCombinadas() {
+        return combinadas.sum();
+    }
+
+    public long getEscritas() {
+        return escritas.sum();
+    }
+
+    public long getErrores() {
+        return errores.sum();
+    }
+
+    private void escribirPeriodicamente() {
+        while (true) {
+            cerrojo.lock();
+            try {
+                while (!cerrada && !hayLoteListo()) {
+                    if (pendientes.isEmpty()) {
+                        hayTrabajo.await();
+                    } else {
+                        hayTrabajo.awaitNanos(primeroPendiente().encolado + intervaloNanos - System.nanoTime());
+                    }
+                }
+                if (cerrada) {
+                    // Lo que quede lo escribe cerrar() en su propio hilo
+                    return;
+                }
+            } catch (InterruptedException e) {
+                return;
+            } finally {
+                cerrojo.unlock();
+            }
+            try {
+                escribirLote();
+            } catch (SQLException e) {
+                // El error ya queda en las confirmaciones del lote
+            }
+        }
+    }
+
+    private boolean hayLoteListo() {
+        return pendientes.size() >= tamanyoLote
+                || (!pendientes.isEmpty() && System.nanoTime() - primeroPendiente().encolado >= intervaloNanos);
+    }
+
+    private Pendiente primeroPendiente() {
+        return pendientes.values().iterator().next();
+    }
+
+    /**
+     * Saca de la cola los tamanyoLote sueldos más antiguos y los escribe en una transacción
+     * @return false si no había nada pendiente
+     * @throws SQLException si falla la escritura (las confirmaciones del lote terminan con el error)
+     */
+    private boolean escribirLote() throws SQLException {
+        synchronized (escritura) {
+            List<RegistroNomina> nominas = new ArrayList<>();
+            List<Pendiente> lote = new ArrayList<>();
+            cerrojo.lock();
+            try {
+                Iterator<Map.Entry<String, Pendiente>> it = pendientes.entrySet().iterator();
+                while (it.hasNext() && lote.size() < tamanyoLote) {
+                    Map.Entry<String, Pendiente> entrada = it.next();
+                    nominas.add(new RegistroNomina(entrada.getKey(), entrada.getValue().sueldo));
+                    lote.add(entrada.getValue());
+                    it.remove();
+                }
+                enCola = pendientes.size();
+                hayHueco.signalAll();
+            } finally {
+                cerrojo.unlock();
+            }
+            if (lote.isEmpty()) {
+                return false;
+            }
+
+            long inicio = System.nanoTime();
+            try {
+                int[] filas = nominaDAO.actualizarSueldos(nominas);
+                long fin = System.nanoTime();
+                tiempoLote.registrarNanos(fin - inicio);
+                escritas.add(lote.size());
+                for (int i = 0; i < lote.size(); i++) {
+                    Pendiente pendiente = lote.get(i);
+                    tiempoConfirmacion.registrarNanos(fin - pendiente.encolado);
+                    pendiente.confirmacion.complete(filas[i] > 0);
+                }
+                return true;
+            } catch (SQLException | RuntimeException e) {
+                tiempoLote.registrarNanos(System.nanoTime() - inicio);
+                errores.increment();
+                for (Pendiente pendiente : lote) {
+                    pendiente.confirmacion.completeExceptionally(e);
+                }
+                if (e instanceof SQLException) {
+                    throw (SQLException) e;
+                }
+                throw new SQLException("No se pudo escribir el lote de sueldos", e);
+            }
+        }
+    }
+
+    /** Sueldo pendiente de un DNI con la confirmación que comparten quienes lo encolaron */
+    private static final class Pendiente {
+        final long encolado = System.nanoTime();
+        final CompletableFuture<Boolean> confirmacion = new CompletableFuture<>();
+        double sueldo;
+
+        Pendiente(double sueldo) {
+            this.sueldo = sueldo;
+        }
+    }
+}
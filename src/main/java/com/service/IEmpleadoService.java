@@ -1,12 +1,23 @@
 package com.service;
 
+import java.io.IOException;
+import java.io.Reader;
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
 
 import javax.servlet.http.HttpServletRequest;
 
+import com.exceptions.ConflictoConcurrenciaException;
 import com.exceptions.DatosNoCorrectosException;
+import com.dao.ProcesadorFilas;
+import com.factory.EmpleadoFactory;
+import com.model.ConsultaEmpleados;
+import com.model.CriterioBusqueda;
 import com.model.Empleado;
+import com.model.Pagina;
+import com.model.ResultadoImportacion;
+import com.model.ResultadoOperacionMasiva;
 
 /**
  * Interfaz de servicio para lógica de negocio de empleados.
@@ -15,6 +26,9 @@ import com.model.Empleado;
  */
 public interface IEmpleadoService {
     
+    /** Tamaño máximo de página permitido en los listados paginados */
+    int TAMANYO_PAGINA_MAXIMO = 500;
+    
     /**
      * Obtiene todos los empleados del sistema
      * @return Lista de empleados
@@ -23,6 +37,24 @@ public interface IEmpleadoService {
      */
     List<Empleado> listarEmpleados() throws SQLException, DatosNoCorrectosException;
     
+    /**
+     * Obtiene una página de empleados ordenados por DNI
+     * @param desdeDni Cursor devuelto por la página anterior, o null para la primera
+     * @param tamanyo Tamaño de página (entre 1 y TAMANYO_PAGINA_MAXIMO)
+     * @return Página de empleados con el cursor de la siguiente
+     * @throws SQLException
+     * @throws DatosNoCorrectosException
+     */
+    Pagina<Empleado> listarEmpleadosPaginados(String desdeDni, int tamanyo) 
+            throws SQLException, DatosNoCorrectosException;
+    
+    /**
+     * Recorre todos los empleados uno a uno con memoria constante
+     * @param procesador Callback invocado por cada empleado
+     * @throws Exception
+     */
+    void recorrerEmpleados(ProcesadorFilas<Empleado> procesador) throws Exception;
+    
     /**
      * Busca un empleado por su DNI
      * @param dni DNI del empleado
@@ -33,20 +65,75 @@ public interface IEmpleadoService {
     Empleado buscarEmpleadoPorDni(String dni) throws SQLException, DatosNoCorrectosException;
     
     /**
-     * Actualiza la información de un empleado
+     * Actualiza la información de un empleado (y su sueldo).
+     * Si el empleado trae versión (leído de la base de datos o del formulario), sólo se aplica
+     * si nadie lo ha cambiado desde entonces
+     * @param empleado Empleado con los datos nuevos; se localiza por su DNI
+     * @return true si se actualizó correctamente
+     * @throws ConflictoConcurrenciaException si otro usuario lo modificó entretanto (reintentable)
+     * @throws SQLException si falla o no existe ningún empleado con ese DNI
+     */
+    boolean actualizarEmpleado(Empleado empleado) throws SQLException;
+    
+    /**
+     * Actualiza varios empleados (y sus sueldos) por lotes en una sola transacción.
+     * Pensado para procesos masivos y tareas en segundo plano, sin petición HTTP
+     * @param empleados Empleados con los datos nuevos
+     * @return Empleados actualizados (los DNI que no existen no cuentan)
+     * @throws ConflictoConcurrenciaException si otro usuario modificó alguno (no se actualiza ninguno)
+     * @throws SQLException si falla alguno (no se actualiza ninguno)
+     */
+    int actualizarEmpleados(Collection<Empleado> empleados) throws SQLException;
+    
+    /**
+     * Adaptador para el controlador: construye el Empleado con los parámetros del formulario
+     * (dni, nombre, sexo, categoria, anyos) y llama a actualizarEmpleado(Empleado)
      * @param request Petición con datos del formulario
      * @return true si se actualizó correctamente
      * @throws SQLException
-     * @throws DatosNoCorrectosException
+     * @throws DatosNoCorrectosException si los datos del formulario no son válidos
      */
-    boolean actualizarEmpleado(HttpServletRequest request) throws SQLException, DatosNoCorrectosException;
+    default boolean actualizarEmpleado(HttpServletRequest request) throws SQLException, DatosNoCorrectosException {
+        return actualizarEmpleado(EmpleadoFactory.crearDesdeRequest(request));
+    }
     
     /**
-     * Busca empleados según criterio especificado
-     * @param request Petición con campo y valor de búsqueda
-     * @return Lista de empleados que cumplen el criterio
+     * Busca una página de empleados según criterio especificado.
+     * Valida y normaliza el criterio: DNI en mayúsculas (prefijo), sexo M/F,
+     * categoría y años como enteros (igualdad exacta)
+     * @param criterio Campo, valor, cursor y tamaño de página (entre 1 y TAMANYO_PAGINA_MAXIMO)
+     * @return Página de empleados que cumplen el criterio
      * @throws SQLException
      * @throws DatosNoCorrectosException
      */
-    List<Empleado> buscarEmpleadosPorCriterio(HttpServletRequest request) throws SQLException, DatosNoCorrectosException;
+    Pagina<Empleado> buscarEmpleadosPorCriterio(CriterioBusqueda criterio) throws SQLException, DatosNoCorrectosException;
+    
+    /**
+     * Consulta combinada (nombre contiene, prefijo de DNI, sexo, rangos de categoría y años).
+     * Con el decorador EmpleadoServiceIndexado se resuelve en memoria sin acceder a la base de datos
+     * @param consulta Criterios combinados
+     * @return Empleados que cumplen todos los criterios, como máximo consulta.getLimite()
+     * @throws Exception
+     */
+    List<Empleado> consultarEmpleados(ConsultaEmpleados consulta) throws Exception;
+    
+    /**
+     * Aplica el incremento anual de antigüedad (Empleado.incrAnyo) en bloque,
+     * actualizando también las nóminas en la misma transacción
+     * @param categoria Categoría a la que limitarlo (de la escala salarial vigente) o null para toda la plantilla
+     * @return Resultado con empleados afectados y duración
+     * @throws IllegalArgumentException si la categoría no está en la escala vigente
+     * @throws SQLException
+     */
+    ResultadoOperacionMasiva incrementarAntiguedad(Integer categoria) throws SQLException;
+    
+    /**
+     * Alta masiva de empleados desde CSV (dni,nombre,sexo,categoria,anyos, cabecera opcional).
+     * Se lee en streaming y se inserta por lotes, cada uno en su transacción y con su nómina.
+     * Las filas con errores no detienen la importación: se devuelven en el informe
+     * @param csv Contenido del fichero
+     * @return Filas leídas e insertadas, duración e informe de errores por fila
+     * @throws IOException si no se puede leer el fichero
+     */
+    ResultadoImportacion importarEmpleados(Reader csv) throws IOException;
 }
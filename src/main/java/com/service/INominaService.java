@@ -1,8 +1,14 @@
 package com.service;
 
 import java.sql.SQLException;
-import java.util.List;
-import java.util.Map;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+
+import com.dao.ProcesadorNominas;
+import com.model.ListadoNominas;
+import com.model.NominaEmpleado;
+import com.model.ResultadoOperacionMasiva;
+import com.model.SueldosPorDni;
 
 /**
  * Interfaz de servicio para lógica de negocio de nóminas.
@@ -14,26 +20,68 @@ public interface INominaService {
     /**
      * Calcula o recupera el salario de un empleado
      * Si existe en BD lo recupera, si no lo calcula dinámicamente
+     * Las consultas simultáneas del mismo DNI comparten una única lectura de BD
      * @param dni DNI del empleado
-     * @return Mapa con empleado y salario
+     * @return Empleado y salario
      * @throws Exception
      */
-    Map<String, Object> consultarSalarioEmpleado(String dni) throws Exception;
+    NominaEmpleado consultarSalarioEmpleado(String dni) throws Exception;
+    
+    /**
+     * Consulta masiva de sueldos almacenados (exportaciones e integraciones con RRHH).
+     * Se resuelve con consultas por bloques de nominas.consultaMasiva.tamanyoBloque DNI.
+     * Los DNI sin nómina almacenada no aparecen en el resultado.
+     * @param dnis DNI a consultar (como máximo nominas.consultaMasiva.maxDnis distintos)
+     * @return Sueldos por DNI, ordenados por DNI
+     * @throws SQLException si hay error al acceder a la base de datos
+     * @throws IllegalArgumentException si no hay DNI o se supera el máximo
+     */
+    SueldosPorDni consultarSueldos(Collection<String> dnis) throws SQLException;
     
     /**
      * Obtiene todas las nóminas del sistema
      * Combina datos de empleados con sus salarios (calculados o almacenados)
-     * @return Lista de mapas con empleado y salario
+     * @return Listado en columnas de empleados y salarios, ordenado por DNI
      * @throws Exception
      */
-    List<Map<String, Object>> listarTodasLasNominas() throws Exception;
+    ListadoNominas listarTodasLasNominas() throws Exception;
+    
+    /**
+     * Recorre todas las nóminas en streaming, ordenadas por DNI, sin acumularlas en memoria
+     * (exportaciones). El salario llega siempre relleno: el almacenado o, si no hay, el calculado.
+     * @param procesador Recibe empleado, salario y si el salario estaba almacenado
+     * @throws Exception si hay error en la base de datos o en el procesador
+     */
+    void recorrerNominas(ProcesadorNominas procesador) throws Exception;
     
     /**
      * Actualiza el salario de un empleado en BD
+     * Con la escritura diferida activa espera a que se confirme el lote que lo incluye
      * @param dni DNI del empleado
      * @param nuevoSueldo Nuevo salario
      * @return true si se actualizó correctamente
      * @throws SQLException
      */
     boolean actualizarSueldo(String dni, double nuevoSueldo) throws SQLException;
+    
+    /**
+     * Actualiza el salario sin esperar a la base de datos (correcciones en ráfagas).
+     * Con la escritura diferida activa se encola y se combina con otras del mismo DNI;
+     * sin ella se escribe en el momento y la confirmación llega ya completada
+     * @param dni DNI del empleado
+     * @param nuevoSueldo Nuevo salario
+     * @return Confirmación que se completa al quedar escrito: true si se actualizó,
+     *         false si el DNI no tiene nómina; termina con el error si falla la escritura
+     * @throws SQLException si la cola está llena (o falla la escritura sin escritura diferida)
+     */
+    CompletableFuture<Boolean> actualizarSueldoDiferido(String dni, double nuevoSueldo) throws SQLException;
+    
+    /**
+     * Recalcula el sueldo almacenado de toda la plantilla (tras cambiar la escala salarial
+     * o la antigüedad). Tamaño de lote y frecuencia de commit en application.properties.
+     * @param desdeDni DNI desde el que reanudar (exclusivo) o null para recalcular todo
+     * @return Resultado con filas procesadas, filas/s y último DNI confirmado
+     * @throws SQLException si no se puede iniciar el proceso
+     */
+    ResultadoOperacionMasiva recalcularSueldos(String desdeDni) throws SQLException;
 }
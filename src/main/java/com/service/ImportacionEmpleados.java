@@ -0,0 +1,341 @@
+package com.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import com.dao.IEmpleadoDAO;
+import com.exceptions.DatosNoCorrectosException;
+import com.model.CalculadoraSueldos;
+import com.model.Empleado;
+import com.model.EscalaSalarial;
+import com.model.ResultadoImportacion;
+import com.model.ResultadoImportacion.ErrorFila;
+import com.util.LectorCsv;
+
+/**
+ * Importación masiva de empleados desde CSV (dni,nombre,sexo,categoria,anyos) en dos etapas:
+ * el hilo llamante lee y valida cada fila, calcula en bloque los sueldos iniciales de cada lote
+ * y lo entrega a un hilo escritor por una cola acotada; el escritor inserta cada lote (empleados y nominas)
+ * en una transacción mientras se lee el siguiente. La cola acotada frena la lectura si la
+ * base de datos va más lenta, así que la memoria no depende del tamaño del fichero.
+ *
+ * Si un lote falla por datos (DNI repetido, restricción CHECK...) se reintenta fila a fila
+ * para insertar las buenas y anotar las malas. Un fallo de otro tipo (conexión) detiene la importación:
+ * los lotes ya confirmados se quedan.
+ */
+class ImportacionEmpleados {
+
+    private static final String[] CABECERA = {"dni", "nombre", "sexo", "categoria", "anyos"};
+    private static final int LONGITUD_DNI = 9;
+    private static final int LONGITUD_NOMBRE = 100;
+
+    private final IEmpleadoDAO empleadoDAO;
+    private final int tamanyoLote;
+    private final int lotesEnCola;
+    private final int maxErrores;
+    private final CalculadoraSueldos calculadora;
+
+    /**
+     * @param empleadoDAO DAO con el que insertar
+     * @param tamanyoLote Filas por transacción
+     * @param lotesEnCola Lotes leídos que pueden esperar al escritor
+     * @param maxErrores Errores que se guardan en el informe
+     */
+    ImportacionEmpleados(IEmpleadoDAO empleadoDAO, int tamanyoLote, int lotesEnCola, int maxErrores) {
+        this(empleadoDAO, tamanyoLote, lotesEnCola, maxErrores, CalculadoraSueldos.getInstancia());
+    }
+
+    /**
+     * @param calculadora Calculadora con la escala vigente (la de la aplicación o una de tests)
+     */
+    ImportacionEmpleados(IEmpleadoDAO empleadoDAO, int tamanyoLote, int lotesEnCola, int maxErrores,
+            CalculadoraSueldos calculadora) {
+        if (tamanyoLote <= 0 || lotesEnCola <= 0) {
+            throw new IllegalArgumentException("El tamaño de lote y la cola deben ser positivos");
+        }
+        this.empleadoDAO = empleadoDAO;
+        this.tamanyoLote = tamanyoLote;
+        this.lotesEnCola = lotesEnCola;
+        this.maxErrores = Math.max(maxErrores, 0);
+        this.calculadora = calculadora;
+    }
+
+    /**
+     * Filas validadas pendientes de insertar. Categorías y años se copian a arrays
+     * para calcular todos los sueldos del lote de una vez al cerrarlo
+     */
+    private static final class Lote {
+        final long[] lineas;
+        final List<Empleado> empleados;
+        final int[] categorias;
+        final int[] anyos;
+        final double[] sueldos;
+
+        Lote(int capacidad) {
+            lineas = new long[capacidad];
+            empleados = new ArrayList<>(capacidad);
+            categorias = new int[capacidad];
+            anyos = new int[capacidad];
+            sueldos = new double[capacidad];
+        }
+
+        void anyadir(long linea, Empleado empleado) {
+            int i = empleados.size();
+            lineas[i] = linea;
+            categorias[i] = empleado.getCategoria();
+            anyos[i] = empleado.getAnyos();
+            empleados.add(empleado);
+        }
+
+        void calcularSueldos(EscalaSalarial escala) {
+            escala.calcular(categorias, anyos, sueldos, empleados.size());
+        }
+
+        boolean isLleno() {
+            return empleados.size() == lineas.length;
+        }
+
+        double[] sueldos() {
+            return empleados.size() == sueldos.length ? sueldos : Arrays.copyOf(sueldos, empleados.size());
+        }
+    }
+
+    private static final Lote FIN = new Lote(0);
+
+    /**
+     * Errores de una etapa (cada etapa escribe sólo en el suyo)
+     */
+    private final class Errores {
+        final List<ErrorFila> lista = new ArrayList<>();
+        long total;
+
+        void anotar(long linea, String dni, String mensaje) {
+            total++;
+            if (lista.size() < maxErrores) {
+                lista.add(new ErrorFila(linea, dni, mensaje));
+            }
+        }
+    }
+
+    /**
+     * Etapa de escritura: consume lotes hasta FIN o hasta un fallo que no es de datos
+     */
+    private final class Escritor implements Runnable {
+        final BlockingQueue<Lote> cola = new ArrayBlockingQueue<>(lotesEnCola);
+        final Errores errores = new Errores();
+        long insertadas;
+        volatile String fallo;
+
+        @Override
+        public void run() {
+            try {
+                for (Lote lote = cola.take(); lote != FIN; lote = cola.take()) {
+                    if (fallo == null) {
+                        escribir(lote);
+                    }
+                }
+            } catch (InterruptedException e) {
+                fallo = "Importación interrumpida";
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                fallo = e.toString();
+            }
+        }
+
+        private void escribir(Lote lote) {
+            try {
+                empleadoDAO.insertarConNomina(lote.empleados, lote.sueldos());
+                insertadas += lote.empleados.size();
+                return;
+            } catch (SQLException e) {
+                if (!esErrorDeDatos(e)) {
+                    fallo = e.getMessage();
+                    return;
+                }
+            }
+            // Algún dato del lote no es válido para la base de datos: fila a fila
+            for (int i = 0; i < lote.empleados.size() && fallo == null; i++) {
+                Empleado e = lote.empleados.get(i);
+                try {
+                    empleadoDAO.insertarConNomina(Collections.singletonList(e), new double[] {lote.sueldos[i]});
+                    insertadas++;
+                } catch (SQLException ex) {
+                    if (esErrorDeDatos(ex)) {
+                        errores.anotar(lote.lineas[i], e.getDni(), ex.getMessage());
+                    } else {
+                        fallo = ex.getMessage();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Clases SQLSTATE 22 (dato no válido) y 23 (restricción de integridad: clave duplicada, CHECK)
+     */
+    private static boolean esErrorDeDatos(SQLException e) {
+        for (SQLException actual = e; actual != null; actual = actual.getNextException()) {
+            String estado = actual.getSQLState();
+            if (estado != null && (estado.startsWith("22") || estado.startsWith("23"))) {
+                return true;
+            }
+            if (actual.getNextException() == actual) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Importa el CSV completo. No lanza por errores de una fila: van al informe.
+     * @param csv Contenido CSV, con o sin cabecera
+     * @return Resultado con filas insertadas e informe de errores
+     * @throws IOException si no se puede leer el CSV
+     */
+    ResultadoImportacion ejecutar(Reader csv) throws IOException {
+        long inicio = System.currentTimeMillis();
+        Escritor escritor = new Escritor();
+        Thread hilo = new Thread(escritor, "importacion-empleados");
+        hilo.setDaemon(true);
+        hilo.start();
+
+        LectorCsv lector = new LectorCsv(csv);
+        Errores errores = new Errores();
+        long leidas = 0;
+        String interrumpida = null;
+        // Toda la importación valida y calcula con la misma escala, aunque se publique otra
+        EscalaSalarial escala = calculadora.getEscala();
+
+        try {
+            Lote lote = new Lote(tamanyoLote);
+            String[] campos;
+            while (escritor.fallo == null && (campos = lector.siguiente()) != null) {
+                if (lector.getLinea() == 1 && esCabecera(campos)) {
+                    continue;
+                }
+                leidas++;
+                Empleado empleado;
+                try {
+                    empleado = validar(campos, escala);
+                } catch (DatosNoCorrectosException | IllegalArgumentException e) {
+                    errores.anotar(lector.getLinea(), campos[0].trim(), e.getMessage());
+                    continue;
+                }
+                lote.anyadir(lector.getLinea(), empleado);
+                if (lote.isLleno()) {
+                    lote.calcularSueldos(escala);
+                    entregar(escritor, lote);
+                    lote = new Lote(tamanyoLote);
+                }
+            }
+            if (!lote.empleados.isEmpty()) {
+                lote.calcularSueldos(escala);
+                entregar(escritor, lote);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            interrumpida = "Importación interrumpida";
+        } catch (IOException e) {
+            interrumpida = "Error leyendo el CSV: " + e.getMessage();
+        } finally {
+            // El escritor siempre está consumiendo (o ha terminado), así que FIN cabe en la cola
+            cerrar(escritor, hilo);
+        }
+
+        List<ErrorFila> informe = new ArrayList<>(errores.lista);
+        informe.addAll(escritor.errores.lista);
+        informe.sort(Comparator.comparingLong(ErrorFila::getLinea));
+        if (informe.size() > maxErrores) {
+            informe = new ArrayList<>(informe.subList(0, maxErrores));
+        }
+
+        String error = escritor.fallo != null ? escritor.fallo : interrumpida;
+        return new ResultadoImportacion(leidas, escritor.insertadas, errores.total + escritor.errores.total,
+                informe, System.currentTimeMillis() - inicio, error);
+    }
+
+    private static void entregar(Escritor escritor, Lote lote) throws InterruptedException {
+        // Espera por hueco en la cola, pero deja de esperar si el escritor se ha detenido
+        while (!escritor.cola.offer(lote, 100, TimeUnit.MILLISECONDS)) {
+            if (escritor.fallo != null) {
+                return;
+            }
+        }
+    }
+
+    private static void cerrar(Escritor escritor, Thread hilo) {
+        boolean interrumpido = false;
+        while (hilo.isAlive()) {
+            try {
+                if (escritor.cola.offer(FIN, 100, TimeUnit.MILLISECONDS)) {
+                    hilo.join();
+                }
+            } catch (InterruptedException e) {
+                interrumpido = true;
+            }
+        }
+        if (interrumpido) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static boolean esCabecera(String[] campos) {
+        return campos.length > 0 && CABECERA[0].equalsIgnoreCase(campos[0].trim());
+    }
+
+    /**
+     * Valida una fila con las reglas de Empleado (categoría 1-10, años &gt;= 0),
+     * las de la tabla empleados (longitudes, sexo M/F) y la categoría contra la escala
+     * con la que se calcula su sueldo, para que una fila no detenga el cálculo del lote
+     */
+    static Empleado validar(String[] campos, EscalaSalarial escala) throws DatosNoCorrectosException {
+        if (campos.length != CABECERA.length) {
+            throw new IllegalArgumentException("Se esperaban " + CABECERA.length + " columnas ("
+                    + String.join(",", CABECERA) + ") y hay " + campos.length);
+        }
+        String dni = campos[0].trim().toUpperCase(Locale.ROOT);
+        String nombre = campos[1].trim();
+        String sexo = campos[2].trim().toUpperCase(Locale.ROOT);
+
+        if (dni.isEmpty() || dni.length() > LONGITUD_DNI) {
+            throw new IllegalArgumentException("DNI vacío o de más de " + LONGITUD_DNI + " caracteres");
+        }
+        if (nombre.isEmpty() || nombre.length() > LONGITUD_NOMBRE) {
+            throw new IllegalArgumentException("Nombre vacío o de más de " + LONGITUD_NOMBRE + " caracteres");
+        }
+        if (!"M".equals(sexo) && !"F".equals(sexo)) {
+            throw new IllegalArgumentException("Sexo debe ser M o F");
+        }
+        int categoria = entero(campos[3], "categoria");
+        int anyos = entero(campos[4], "anyos");
+        Empleado empleado;
+        try {
+            empleado = new Empleado(nombre, dni, sexo, categoria, anyos);
+        } catch (DatosNoCorrectosException e) {
+            throw new DatosNoCorrectosException("Categoría debe estar entre 1 y 10 y años ser >= 0");
+        }
+        if (categoria > escala.getCategorias()) {
+            throw new DatosNoCorrectosException("Categoría " + categoria + " fuera de la escala salarial vigente (1-"
+                    + escala.getCategorias() + ")");
+        }
+        return empleado;
+    }
+
+    private static int entero(String valor, String columna) {
+        try {
+            return Integer.parseInt(valor.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Valor no numérico en " + columna + ": " + valor);
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package com.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.model.AlmacenEmpleados;
+import com.model.ConsultaEmpleados;
+import com.model.Empleado;
+
+/**
+ * Índice en memoria de empleados para consultas combinadas sin acceder a la base de datos.
+ * Los empleados se guardan en columnas en un AlmacenEmpleados (DNI empaquetado en un long,
+ * nombres en un único byte[]), no como objetos. Cada uno tiene un identificador interno
+ * (su posición en el almacén) y se indexa en:
+ * - dni: índice ordenado de DNI empaquetados del almacén, para búsquedas por prefijo
+ * - sexo: un BitSet por valor
+ * - categoría y años: mapas ordenados de BitSet por valor, para rangos (sin suponer cuántas
+ *   categorías tiene la escala vigente)
+ * - nombre: listas de identificadores por trigrama del nombre normalizado
+ *
+ * Una consulta combina los BitSet de sexo/categoría/años/dni y recorre la lista de trigramas
+ * más corta del texto buscado (o los candidatos si el texto tiene menos de 3 letras),
+ * verificando cada candidato. Lecturas concurrentes; escrituras exclusivas.
+ */
+public class IndiceEmpleados {
+
+    private static final int N_GRAMA = 3;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final AlmacenEmpleados almacen = new AlmacenEmpleados(1024);
+    private final Map<String, BitSet> porSexo = new HashMap<>();
+    private final TreeMap<Integer, BitSet> porCategoria = new TreeMap<>();
+    private final TreeMap<Integer, BitSet> porAnyos = new TreeMap<>();
+    private final Map<String, ListaIds> porTrigrama = new HashMap<>();
+    // Vista que se reposiciona en cada indexar/desindexar (siempre bajo el bloqueo de escritura)
+    private AlmacenEmpleados.Vista vista;
+
+    /**
+     * Añade un empleado o sustituye el que tenga su mismo DNI.
+     * Se guardan sus datos en el almacén: modificar el objeto recibido no altera el índice.
+     * @param empleado Empleado con los datos actuales
+     * @throws IllegalArgumentException si el DNI no cabe en el almacén (más de 9 caracteres o no ASCII)
+     */
+    public void actualizar(Empleado empleado) {
+        lock.writeLock().lock();
+        try {
+            int id = almacen.buscar(empleado.getDni());
+            if (id < 0) {
+                id = almacen.anyadir(empleado);
+            } else {
+                desindexar(id);
+                almacen.sustituir(id, empleado);
+            }
+            indexar(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Quita un empleado del índice (su identificador interno queda libre sin reutilizarse)
+     * @param dni DNI del empleado
+     */
+    public void eliminar(String dni) {
+        lock.writeLock().lock();
+        try {
+            int id = almacen.buscar(dni);
+            if (id >= 0) {
+                desindexar(id);
+                almacen.eliminar(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ejecuta una consulta combinada
+     * @param consulta Criterios (todos deben cumplirse)
+     * @return Copias de los empleados que cumplen, como máximo consulta.getLimite(), en orden de carga
+     */
+    public List<Empleado> consultar(ConsultaEmpleados consulta) {
+        List<Empleado> resultado = new ArrayList<>(Math.min(consulta.getLimite(), 64));
+
+        lock.readLock().lock();
+        try {
+            BitSet candidatos = candidatos(consulta);
+            String texto = consulta.getNombreContiene();
+            byte[] textoUtf8 = texto == null ? null : texto.getBytes(StandardCharsets.UTF_8);
+
+            if (texto != null && texto.length() >= N_GRAMA) {
+                // Se recorre la lista de trigramas más corta y se verifica cada identificador
+                ListaIds lista = listaMasCorta(texto);
+                for (int i = 0; lista != null && i < lista.tamanyo && resultado.size() < consulta.getLimite(); i++) {
+                    int id = lista.ids[i];
+                    if ((candidatos == null || candidatos.get(id)) && almacen.nombreContiene(id, textoUtf8)) {
+                        resultado.add(almacen.copia(id));
+                    }
+                }
+            } else {
+                int id = candidatos == null ? siguienteOcupado(0) : candidatos.nextSetBit(0);
+                while (id >= 0 && resultado.size() < consulta.getLimite()) {
+                    if (texto == null || almacen.nombreContiene(id, textoUtf8)) {
+                        resultado.add(almacen.copia(id));
+                    }
+                    id = candidatos == null ? siguienteOcupado(id + 1) : candidatos.nextSetBit(id + 1);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return resultado;
+    }
+
+    /**
+     * @return Número de empleados indexados
+     */
+    public int getTamanyo() {
+        lock.readLock().lock();
+        try {
+            return almacen.getOcupados();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ===================== CONSULTA =====================
+
+    /**
+     * Intersección de los criterios indexados por BitSet, o null si ninguno filtra
+     */
+    private BitSet candidatos(ConsultaEmpleados consulta) {
+        BitSet resultado = null;
+
+        if (consulta.getSexo() != null) {
+            resultado = interseccion(resultado, porSexo.getOrDefault(consulta.getSexo(), new BitSet()));
+        }
+
+        if (consulta.getCategoriaMin() > 1 || consulta.getCategoriaMax() < Integer.MAX_VALUE) {
+            resultado = interseccion(resultado, union(porCategoria, consulta.getCategoriaMin(), consulta.getCategoriaMax()));
+        }
+
+        if (consulta.getAnyosMin() > 0 || consulta.getAnyosMax() < Integer.MAX_VALUE) {
+            resultado = interseccion(resultado, union(porAnyos, consulta.getAnyosMin(), consulta.getAnyosMax()));
+        }
+
+        if (consulta.getDniEmpieza() != null) {
+            resultado = interseccion(resultado, almacen.conPrefijoDni(consulta.getDniEmpieza(), new BitSet()));
+        }
+        return resultado;
+    }
+
+    /**
+     * Unión de los BitSet de los valores entre min y max (ambos incluidos)
+     */
+    private static BitSet union(TreeMap<Integer, BitSet> porValor, int min, int max) {
+        BitSet union = new BitSet();
+        if (min <= max) {
+            for (BitSet b : porValor.subMap(min, true, max, true).values()) {
+                union.or(b);
+            }
+        }
+        return union;
+    }
+
+    private static BitSet interseccion(BitSet acumulado, BitSet criterio) {
+        if (acumulado == null) {
+            return (BitSet) criterio.clone();
+        }
+        acumulado.and(criterio);
+        return acumulado;
+    }
+
+    /**
+     * @return Lista del trigrama menos frecuente del texto, o null si alguno no aparece en ningún nombre
+     */
+    private ListaIds listaMasCorta(String texto) {
+        ListaIds masCorta = null;
+        for (int i = 0; i + N_GRAMA <= texto.length(); i++) {
+            ListaIds lista = porTrigrama.get(texto.substring(i, i + N_GRAMA));
+            if (lista == null || lista.tamanyo == 0) {
+                return null;
+            }
+            if (masCorta == null || lista.tamanyo < masCorta.tamanyo) {
+                masCorta = lista;
+            }
+        }
+        return masCorta;
+    }
+
+    private int siguienteOcupado(int desde) {
+        for (int id = desde; id < almacen.getTamanyo(); id++) {
+            if (almacen.ocupado(id)) {
+                return id;
+            }
+        }
+        return -1;
+    }
+
+    // ===================== MANTENIMIENTO =====================
+
+    private void indexar(int id) {
+        Empleado e = vistaEn(id);
+        porSexo.computeIfAbsent(e.getSexo(), s -> new BitSet()).set(id);
+        porCategoria.computeIfAbsent(e.getCategoria(), c -> new BitSet()).set(id);
+        porAnyos.computeIfAbsent(e.getAnyos(), a -> new BitSet()).set(id);
+        for (String trigrama : trigramas(almacen.nombreNormalizadoEn(id))) {
+            porTrigrama.computeIfAbsent(trigrama, t -> new ListaIds()).anyadir(id);
+        }
+    }
+
+    private void desindexar(int id) {
+        Empleado e = vistaEn(id);
+        BitSet sexo = porSexo.get(e.getSexo());
+        if (sexo != null) {
+            sexo.clear(id);
+        }
+        BitSet categoria = porCategoria.get(e.getCategoria());
+        if (categoria != null) {
+            categoria.clear(id);
+        }
+        BitSet anyos = porAnyos.get(e.getAnyos());
+        if (anyos != null) {
+            anyos.clear(id);
+        }
+        for (String trigrama : trigramas(almacen.nombreNormalizadoEn(id))) {
+            ListaIds lista = porTrigrama.get(trigrama);
+            if (lista != null) {
+                lista.quitar(id);
+            }
+        }
+    }
+
+    private AlmacenEmpleados.Vista vistaEn(int id) {
+        if (vista == null) {
+            vista = almacen.vista(id);
+            return vista;
+        }
+        return vista.en(id);
+    }
+
+    private static List<String> trigramas(String nombre) {
+        List<String> lista = new ArrayList<>();
+        for (int i = 0; i + N_GRAMA <= nombre.length(); i++) {
+            String t = nombre.substring(i, i + N_GRAMA);
+            if (!lista.contains(t)) {
+                lista.add(t);
+            }
+        }
+        return lista;
+    }
+
+    /**
+     * Lista ordenada de identificadores sin repetidos, en un array de int
+     * (mucho más compacta que un BitSet por trigrama cuando la plantilla es grande)
+     */
+    private static final class ListaIds {
+        int[] ids = new int[4];
+        int tamanyo;
+
+        void anyadir(int id) {
+            int pos = Arrays.binarySearch(ids, 0, tamanyo, id);
+            if (pos >= 0) {
+                return;
+            }
+            pos = -pos - 1;
+            if (tamanyo == ids.length) {
+                ids = Arrays.copyOf(ids, tamanyo * 2);
+            }
+            System.arraycopy(ids, pos, ids, pos + 1, tamanyo - pos);
+            ids[pos] = id;
+            tamanyo++;
+        }
+
+        void quitar(int id) {
+            int pos = Arrays.binarySearch(ids, 0, tamanyo, id);
+            if (pos >= 0) {
+                System.arraycopy(ids, pos + 1, ids, pos, tamanyo - pos - 1);
+                tamanyo--;
+            }
+        }
+    }
+}
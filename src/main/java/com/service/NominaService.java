@@ -1,17 +1,25 @@
 package com.service;
 
 import java.sql.SQLException;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
 
 import com.dao.EmpleadosDAO;
 import com.dao.IEmpleadoDAO;
 import com.dao.INominaDAO;
 import com.dao.NominasDAO;
+import com.dao.ProcesadorNominas;
+import com.model.CalculadoraSueldos;
 import com.model.Empleado;
-import com.model.Nomina;
+import com.model.ListadoNominas;
+import com.model.NominaEmpleado;
+import com.model.RegistroNomina;
+import com.model.ResultadoOperacionMasiva;
+import com.model.SueldosPorDni;
+import com.util.Configuracion;
+import com.util.LlamadaUnica;
+import com.util.MetricasPeticiones;
 
 /**
  * Implementación del servicio de nóminas.
@@ -22,31 +30,88 @@ public class NominaService implements INominaService {
     
     private IEmpleadoDAO empleadoDAO;
     private INominaDAO nominaDAO;
+    private RecargaEscalaSalarial recargaEscala;
+    private EscrituraDiferidaSueldos escrituraDiferida;
+    
+    // Consultas de salario simultáneas del mismo DNI comparten una sola lectura de BD
+    private final LlamadaUnica<String, NominaEmpleado> consultasSalario = new LlamadaUnica<>();
+    private final boolean agruparConsultas = Configuracion.getBoolean("nominas.salario.agruparConsultas", true);
     
     /**
      * Constructor con inicialización de DAOs
      */
     public NominaService() {
-        this.empleadoDAO = new EmpleadosDAO();
-        this.nominaDAO = new NominasDAO();
+        this(new EmpleadosDAO(), new NominasDAO(), RecargaEscalaSalarial.getInstancia(),
+                Configuracion.getBoolean("nominas.sueldo.escrituraDiferida.enabled", false)
+                        ? EscrituraDiferidaSueldos.getInstancia() : null);
     }
     
     /**
-     * Constructor con inyección explícita para testing
+     * Constructor con inyección explícita para testing, sin recarga de la escala salarial
      * @param empleadoDAO DAO de empleados
      * @param nominaDAO DAO de nóminas
      */
     public NominaService(IEmpleadoDAO empleadoDAO, INominaDAO nominaDAO) {
+        this(empleadoDAO, nominaDAO, null);
+    }
+    
+    /**
+     * Constructor con inyección explícita
+     * @param empleadoDAO DAO de empleados
+     * @param nominaDAO DAO de nóminas
+     * @param recargaEscala Recarga de la escala antes de cada recálculo masivo (null para no recargar)
+     */
+    public NominaService(IEmpleadoDAO empleadoDAO, INominaDAO nominaDAO, RecargaEscalaSalarial recargaEscala) {
+        this(empleadoDAO, nominaDAO, recargaEscala, null);
+    }
+    
+    /**
+     * Constructor con inyección explícita
+     * @param empleadoDAO DAO de empleados
+     * @param nominaDAO DAO de nóminas
+     * @param recargaEscala Recarga de la escala antes de cada recálculo masivo (null para no recargar)
+     * @param escrituraDiferida Cola de actualizaciones de sueldo (null para escribirlas en el momento)
+     */
+    public NominaService(IEmpleadoDAO empleadoDAO, INominaDAO nominaDAO, RecargaEscalaSalarial recargaEscala,
+            EscrituraDiferidaSueldos escrituraDiferida) {
         this.empleadoDAO = empleadoDAO;
         this.nominaDAO = nominaDAO;
+        this.recargaEscala = recargaEscala;
+        this.escrituraDiferida = escrituraDiferida;
+    }
+    
+    /**
+     * Publica los contadores de consultas de salario de este servicio. Lo llama una sola vez
+     * quien monta el servicio de la aplicación (NominasController); los servicios de tests
+     * y benchmarks no lo hacen y no sustituyen a los publicados
+     * @param metricas Registro de métricas de la aplicación
+     */
+    public void registrarMetricas(MetricasPeticiones metricas) {
+        metricas.registrarContador("empresa_salario_consultas_total",
+                "Consultas de salario por DNI recibidas", consultasSalario::getLlamadas);
+        metricas.registrarContador("empresa_salario_consultas_compartidas_total",
+                "Consultas de salario resueltas con la lectura en curso de otra (2 consultas SQL ahorradas cada una)",
+                consultasSalario::getCompartidas);
     }
     
     @Override
-    public Map<String, Object> consultarSalarioEmpleado(String dni) throws Exception {
+    public NominaEmpleado consultarSalarioEmpleado(String dni) throws Exception {
         if (dni == null || dni.trim().isEmpty()) {
             throw new IllegalArgumentException("El DNI proporcionado es nulo o vacío");
         }
         
+        // Misma clave que EscrituraDiferidaSueldos: " 11111111a" comparte la lectura de "11111111A"
+        String clave = dni.trim().toUpperCase(Locale.ROOT);
+        if (!agruparConsultas) {
+            return leerSalarioEmpleado(clave);
+        }
+        return consultasSalario.ejecutar(clave, () -> leerSalarioEmpleado(clave));
+    }
+    
+    /**
+     * Lee empleado y nómina de la base de datos (o calcula el salario si no hay nómina)
+     */
+    private NominaEmpleado leerSalarioEmpleado(String dni) throws Exception {
         // Buscar empleado
         Empleado empleado = empleadoDAO.obtenerEmpleado(dni);
         if (empleado == null) {
@@ -54,59 +119,99 @@ public class NominaService implements INominaService {
         }
         
         // Buscar o calcular salario
-        Map<String, Object> registro = nominaDAO.obtenerNomina(dni);
+        RegistroNomina registro = nominaDAO.obtenerNomina(dni);
         double salario;
         
         if (registro != null) {
-            salario = (double) registro.get("sueldo");
+            salario = registro.getSueldo();
         } else {
-            // Si no existe en BD, calcular dinámicamente
-            Nomina nomina = new Nomina();
-            salario = nomina.sueldo(empleado);
+            // Si no existe en BD, calcular con la escala vigente
+            salario = CalculadoraSueldos.getInstancia().sueldo(empleado);
         }
         
-        // Preparar resultado
-        Map<String, Object> resultado = new HashMap<>();
-        resultado.put("empleado", empleado);
-        resultado.put("salario", salario);
+        return new NominaEmpleado(empleado, salario);
+    }
+    
+    /**
+     * @return Agrupación de consultas de salario (llamadas recibidas y compartidas)
+     */
+    public LlamadaUnica<String, NominaEmpleado> getConsultasSalario() {
+        return consultasSalario;
+    }
+    
+    @Override
+    public SueldosPorDni consultarSueldos(Collection<String> dnis) throws SQLException {
+        if (dnis == null || dnis.isEmpty()) {
+            throw new IllegalArgumentException("Debe indicar al menos un DNI");
+        }
+        int maxDnis = Configuracion.getInt("nominas.consultaMasiva.maxDnis", 100000);
+        if (dnis.size() > maxDnis) {
+            throw new IllegalArgumentException("Se admiten como máximo " + maxDnis + " DNI por consulta");
+        }
         
-        return resultado;
+        int tamanyoBloque = Configuracion.getInt("nominas.consultaMasiva.tamanyoBloque", 500);
+        return nominaDAO.obtenerSueldos(dnis, tamanyoBloque);
     }
     
     @Override
-    public List<Map<String, Object>> listarTodasLasNominas() throws Exception {
-        List<Empleado> empleados = empleadoDAO.listar();
-        List<Map<String, Object>> listaNominas = new ArrayList<>();
+    public ListadoNominas listarTodasLasNominas() throws Exception {
+        final ListadoNominas listaNominas = new ListadoNominas(256);
         
-        for (Empleado e : empleados) {
-            Map<String, Object> registro = nominaDAO.obtenerNomina(e.getDni());
-            
-            Map<String, Object> datos = new HashMap<>();
-            datos.put("empleado", e);
-            
-            if (registro != null) {
-                datos.put("salario", registro.get("sueldo"));
-            } else {
-                // Si no existe en BD, calcularlo
-                Nomina n = new Nomina();
-                datos.put("salario", n.sueldo(e));
-            }
-            
-            listaNominas.add(datos);
-        }
+        // Cada fila va directa a las columnas del listado, sin mapa ni Double intermedios
+        recorrerNominas((empleado, salario, almacenado) -> listaNominas.anyadir(empleado, salario));
         
         return listaNominas;
     }
     
+    @Override
+    public void recorrerNominas(ProcesadorNominas procesador) throws Exception {
+        final CalculadoraSueldos calculadora = CalculadoraSueldos.getInstancia();
+        
+        // Una sola consulta empleados LEFT JOIN nominas en lugar de una por empleado
+        nominaDAO.recorrerNominasConEmpleados((empleado, sueldo, almacenado) ->
+                // Si no existe en BD, calcularlo
+                procesador.procesar(empleado, almacenado ? sueldo : calculadora.sueldo(empleado), almacenado));
+    }
+    
     @Override
     public boolean actualizarSueldo(String dni, double nuevoSueldo) throws SQLException {
+        validarSueldo(dni, nuevoSueldo);
+        
+        if (escrituraDiferida != null) {
+            return escrituraDiferida.actualizar(dni, nuevoSueldo);
+        }
+        return nominaDAO.actualizarSueldo(dni, nuevoSueldo);
+    }
+    
+    @Override
+    public CompletableFuture<Boolean> actualizarSueldoDiferido(String dni, double nuevoSueldo) throws SQLException {
+        validarSueldo(dni, nuevoSueldo);
+        
+        if (escrituraDiferida != null) {
+            return escrituraDiferida.encolar(dni, nuevoSueldo);
+        }
+        return CompletableFuture.completedFuture(nominaDAO.actualizarSueldo(dni, nuevoSueldo));
+    }
+    
+    private static void validarSueldo(String dni, double nuevoSueldo) {
         if (dni == null || dni.trim().isEmpty()) {
             throw new IllegalArgumentException("El DNI no puede estar vacío");
         }
         if (nuevoSueldo < 0) {
             throw new IllegalArgumentException("El sueldo no puede ser negativo");
         }
+    }
+    
+    @Override
+    public ResultadoOperacionMasiva recalcularSueldos(String desdeDni) throws SQLException {
+        int tamanyoLote = Configuracion.getInt("nominas.recalculo.tamanyoLote", 1000);
+        int lotesPorCommit = Configuracion.getInt("nominas.recalculo.lotesPorCommit", 10);
         
-        return nominaDAO.actualizarSueldo(dni, nuevoSueldo);
+        String desde = (desdeDni == null || desdeDni.trim().isEmpty()) ? null : desdeDni.trim();
+        // El recálculo usa la escala vigente en escalas_salariales aunque el sondeo aún no la haya visto
+        if (recargaEscala != null) {
+            recargaEscala.recargar();
+        }
+        return nominaDAO.recalcularSueldos(desde, tamanyoLote, lotesPorCommit);
     }
 }
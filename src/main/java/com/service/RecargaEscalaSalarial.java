@@ -0,0 +1,168 @@
+package com.service;
+
+import java.sql.SQLDataException;
+import java.sql.SQLException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import com.dao.EscalasSalarialesDAO;
+import com.dao.IEscalaSalarialDAO;
+import com.model.CalculadoraSueldos;
+import com.model.EscalaSalarial;
+import com.util.MetricasPeticiones;
+
+/**
+ * Mantiene la escala de CalculadoraSueldos al día con la tabla escalas_salariales, la misma que
+ * lee el trigger recalcular_sueldo. Un hilo daemon consulta cada cierto tiempo la versión vigente
+ * (SELECT MAX(version), una búsqueda en la clave primaria) y sólo si hay una posterior lee la escala
+ * completa y la publica: copia nueva e inmutable que sustituye a la anterior de una vez.
+ * Los cálculos leen la escala sin bloqueos ni reservas de memoria y los que están en curso
+ * terminan con la que tenían.
+ */
+public class RecargaEscalaSalarial {
+
+    private static final class Instancia {
+        static final RecargaEscalaSalarial INSTANCIA = crear();
+
+        private static RecargaEscalaSalarial crear() {
+            RecargaEscalaSalarial recarga =
+                    new RecargaEscalaSalarial(new EscalasSalarialesDAO(), CalculadoraSueldos.getInstancia());
+            recarga.registrarMetricas(MetricasPeticiones.getInstancia());
+            return recarga;
+        }
+    }
+
+    private final IEscalaSalarialDAO escalaDAO;
+    private final CalculadoraSueldos calculadora;
+
+    private final LongAdder recargas = new LongAdder();
+    private final LongAdder errores = new LongAdder();
+
+    private ScheduledExecutorService sondeo;
+
+    /**
+     * @param escalaDAO DAO de escalas salariales
+     * @param calculadora Calculadora cuya escala se mantiene al día
+     */
+    public RecargaEscalaSalarial(IEscalaSalarialDAO escalaDAO, CalculadoraSueldos calculadora) {
+        this.escalaDAO = escalaDAO;
+        this.calculadora = calculadora;
+    }
+
+    /**
+     * Publica los contadores de recargas y errores. Sólo lo hace la instancia de la aplicación
+     * (getInstancia); las de tests no sustituyen a los publicados
+     * @param metricas Registro de métricas de la aplicación
+     */
+    public void registrarMetricas(MetricasPeticiones metricas) {
+        metricas.registrarContador("empresa_escala_recargas_total",
+                "Escalas salariales nuevas publicadas en la calculadora", recargas::sum);
+        metricas.registrarContador("empresa_escala_errores_recarga_total",
+                "Comprobaciones de la escala salarial que fallaron (se mantiene la anterior)", errores::sum);
+    }
+
+    /**
+     * @return Recarga de la calculadora de la aplicación
+     */
+    public static RecargaEscalaSalarial getInstancia() {
+        return Instancia.INSTANCIA;
+    }
+
+    /**
+     * Publica la escala de la tabla si su versión es posterior a la de la calculadora.
+     * Con la tabla vacía (sin migrar) se mantiene la de application.properties
+     * @return true si se publicó una escala nueva
+     * @throws SQLException si falla la lectura, la escala de la tabla no es válida
+     *         o es anterior a la de la aplicación
+     */
+    public synchronized boolean recargar() throws SQLException {
+        try {
+            int vigente = calculadora.getEscala().getVersion();
+            int enTabla = escalaDAO.obtenerVersionVigente();
+            if (enTabla == 0 || enTabla == vigente) {
+                return false;
+            }
+            if (enTabla < vigente) {
+                throw new SQLDataException("La escala salarial de la base de datos (v" + enTabla
+                        + ") es anterior a la de la aplicación (v" + vigente + "): revise nominas.escala.version");
+            }
+            EscalaSalarial nueva = escalaDAO.obtenerVigente();
+            if (nueva == null) {
+                return false;
+            }
+            calculadora.publicar(nueva);
+            recargas.increment();
+            return true;
+        } catch (SQLException | RuntimeException e) {
+            errores.increment();
+            throw e;
+        }
+    }
+
+    /**
+     * Guarda una escala nueva con la versión siguiente y la publica sin esperar al sondeo.
+     * Las demás instancias de la aplicación y el trigger la usan desde que se confirma
+     * @param sueldosBase Sueldo base de cada categoría, de la 1 en adelante
+     * @param incrementoAnyo Incremento por año trabajado
+     * @return Escala publicada
+     * @throws SQLException si falla la escritura (otra instancia guardó la misma versión, p. ej.)
+     * @throws IllegalArgumentException si los datos de la escala no son válidos
+     */
+    public synchronized EscalaSalarial publicar(double[] sueldosBase, double incrementoAnyo) throws SQLException {
+        int version = Math.max(escalaDAO.obtenerVersionVigente(), calculadora.getEscala().getVersion()) + 1;
+        EscalaSalarial nueva = new EscalaSalarial(version, sueldosBase, incrementoAnyo);
+        escalaDAO.guardar(nueva);
+        calculadora.publicar(nueva);
+        recargas.increment();
+        return nueva;
+    }
+
+    /**
+     * Empieza a comprobar la tabla ahora y luego cada periodoSegundos en un hilo daemon.
+     * No hace nada si ya está en marcha o el periodo no es positivo
+     * @param periodoSegundos Segundos entre comprobaciones (nominas.escala.recargaSegundos)
+     * @param registro Destino de los avisos (escala publicada o error de la comprobación)
+     */
+    public synchronized void iniciar(long periodoSegundos, Consumer<String> registro) {
+        if (sondeo != null || periodoSegundos <= 0) {
+            return;
+        }
+        sondeo = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread hilo = new Thread(r, "recarga-escala-salarial");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        // Si la tarea lanzara, el ejecutor dejaría de repetirla: se registra y se sigue
+        sondeo.scheduleWithFixedDelay(() -> {
+            try {
+                if (recargar()) {
+                    registro.accept("Publicada " + calculadora.getEscala());
+                }
+            } catch (SQLException | RuntimeException e) {
+                registro.accept("No se pudo recargar la escala salarial (se mantiene la v"
+                        + calculadora.getEscala().getVersion() + "): " + e.getMessage());
+            }
+        }, 0, periodoSegundos, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Detiene las comprobaciones periódicas
+     */
+    public synchronized void cerrar() {
+        if (sondeo != null) {
+            sondeo.shutdownNow();
+            sondeo = null;
+        }
+    }
+
+    public long getRecargas() {
+        return recargas.sum();
+    }
+
+    public long getErrores() {
+        return errores.sum();
+    }
+}
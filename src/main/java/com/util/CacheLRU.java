@@ -0,0 +1,156 @@
+package com.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caché en memoria acotada con expulsión LRU (menos usado recientemente) y caducidad (TTL).
+ * Thread-safe mediante sincronización sobre la propia caché.
+ * Cuenta aciertos, fallos y expulsiones para poder medir su eficacia.
+ *
+ * @param <K> Tipo de la clave
+ * @param <V> Tipo del valor
+ */
+public class CacheLRU<K, V> {
+
+    private final int tamanyoMaximo;
+    private final long ttlNanos;
+    private final LinkedHashMap<K, Entrada<V>> entradas;
+
+    // Se incrementa en cada invalidación: permite descartar cargas iniciadas antes de ella
+    private long generacion = 0;
+
+    private final AtomicLong aciertos = new AtomicLong();
+    private final AtomicLong fallos = new AtomicLong();
+    private final AtomicLong expulsiones = new AtomicLong();
+
+    /**
+     * @param tamanyoMaximo Número máximo de entradas antes de expulsar la menos usada
+     * @param ttl Tiempo de vida de cada entrada
+     * @param unidad Unidad del tiempo de vida
+     */
+    public CacheLRU(int tamanyoMaximo, long ttl, TimeUnit unidad) {
+        if (tamanyoMaximo <= 0) {
+            throw new IllegalArgumentException("El tamaño máximo de la caché debe ser positivo");
+        }
+        this.tamanyoMaximo = tamanyoMaximo;
+        this.ttlNanos = unidad.toNanos(ttl);
+        // accessOrder = true: cada get mueve la entrada al final (orden LRU)
+        this.entradas = new LinkedHashMap<K, Entrada<V>>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entrada<V>> eldest) {
+                if (size() > CacheLRU.this.tamanyoMaximo) {
+                    expulsiones.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Obtiene un valor de la caché
+     * @param clave Clave buscada
+     * @return Valor almacenado o null si no existe o ha caducado
+     */
+    public synchronized V get(K clave) {
+        Entrada<V> entrada = entradas.get(clave);
+        if (entrada == null) {
+            fallos.incrementAndGet();
+            return null;
+        }
+        if (System.nanoTime() - entrada.creada > ttlNanos) {
+            entradas.remove(clave);
+            expulsiones.incrementAndGet();
+            fallos.incrementAndGet();
+            return null;
+        }
+        aciertos.incrementAndGet();
+        return entrada.valor;
+    }
+
+    /**
+     * Marca a capturar antes de leer el valor de la fuente de datos.
+     * @return Generación actual de la caché
+     * @see #putSiVigente(Object, Object, long)
+     */
+    public synchronized long marca() {
+        return generacion;
+    }
+
+    /**
+     * Guarda un valor sólo si no ha habido invalidaciones desde que se tomó la marca.
+     * Evita que una lectura lenta, iniciada antes de una escritura, deje en caché un dato obsoleto.
+     * @param clave Clave
+     * @param valor Valor leído de la fuente
+     * @param marca Valor devuelto por {@link #marca()} antes de la lectura
+     * @return true si se guardó
+     */
+    public synchronized boolean putSiVigente(K clave, V valor, long marca) {
+        if (marca != generacion) {
+            return false;
+        }
+        put(clave, valor);
+        return true;
+    }
+
+    /**
+     * Guarda un valor en la caché
+     * @param clave Clave
+     * @param valor Valor
+     */
+    public synchronized void put(K clave, V valor) {
+        entradas.put(clave, new Entrada<>(valor, System.nanoTime()));
+    }
+
+    /**
+     * Elimina una entrada tras una escritura en la fuente de datos
+     * @param clave Clave a invalidar
+     */
+    public synchronized void invalidar(K clave) {
+        generacion++;
+        entradas.remove(clave);
+    }
+
+    /**
+     * Vacía la caché por completo
+     */
+    public synchronized void limpiar() {
+        generacion++;
+        entradas.clear();
+    }
+
+    public synchronized int getTamanyo() {
+        return entradas.size();
+    }
+
+    public int getTamanyoMaximo() {
+        return tamanyoMaximo;
+    }
+
+    public long getAciertos() {
+        return aciertos.get();
+    }
+
+    public long getFallos() {
+        return fallos.get();
+    }
+
+    public long getExpulsiones() {
+        return expulsiones.get();
+    }
+
+    private static final class Entrada<V> {
+        final V valor;
+        final long creada;
+
+        Entrada(V valor, long creada) {
+            this.valor = valor;
+            this.creada = creada;
+        }
+    }
+}
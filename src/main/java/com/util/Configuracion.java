@@ -0,0 +1,93 @@
+package com.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+/**
+ * Acceso centralizado a la configuración de application.properties.
+ * Las propiedades de sistema (-Dclave=valor) tienen prioridad sobre el fichero,
+ * lo que permite ajustar la configuración sin recompilar (tests, benchmarks, entornos).
+ */
+public class Configuracion {
+
+    // Propiedades cargadas una única vez (volatile para thread-safety)
+    private static volatile Properties properties = null;
+
+    // Constructor privado para evitar instanciación
+    private Configuracion() {
+        throw new IllegalStateException("Clase de utilidad - no instanciable");
+    }
+
+    /**
+     * Carga las propiedades de configuración desde application.properties
+     * @return Properties con la configuración
+     */
+    public static Properties getPropiedades() {
+        if (properties == null) {
+            synchronized (Configuracion.class) {
+                if (properties == null) {
+                    Properties props = new Properties();
+                    try (InputStream input = Configuracion.class.getClassLoader()
+                            .getResourceAsStream("application.properties")) {
+                        if (input == null) {
+                            throw new RuntimeException("No se encontró application.properties");
+                        }
+                        props.load(input);
+                    } catch (IOException ex) {
+                        throw new RuntimeException("Error cargando configuración", ex);
+                    }
+                    properties = props;
+                }
+            }
+        }
+        return properties;
+    }
+
+    /**
+     * Obtiene una propiedad de texto
+     * @param clave Nombre de la propiedad
+     * @param porDefecto Valor si la propiedad no está definida
+     * @return Valor configurado o el valor por defecto
+     */
+    public static String get(String clave, String porDefecto) {
+        String valor = System.getProperty(clave);
+        if (valor == null) {
+            valor = getPropiedades().getProperty(clave);
+        }
+        return (valor == null || valor.trim().isEmpty()) ? porDefecto : valor.trim();
+    }
+
+    /**
+     * Obtiene una propiedad entera
+     * @param clave Nombre de la propiedad
+     * @param porDefecto Valor si la propiedad no está definida
+     * @return Valor configurado o el valor por defecto
+     */
+    public static int getInt(String clave, int porDefecto) {
+        String valor = get(clave, null);
+        return valor == null ? porDefecto : Integer.parseInt(valor);
+    }
+
+    /**
+     * Obtiene una propiedad entera larga
+     * @param clave Nombre de la propiedad
+     * @param porDefecto Valor si la propiedad no está definida
+     * @return Valor configurado o el valor por defecto
+     */
+    public static long getLong(String clave, long porDefecto) {
+        String valor = get(clave, null);
+        return valor == null ? porDefecto : Long.parseLong(valor);
+    }
+
+    /**
+     * Obtiene una propiedad booleana
+     * @param clave Nombre de la propiedad
+     * @param porDefecto Valor si la propiedad no está definida
+     * @return Valor configurado o el valor por defecto
+     */
+    public static boolean getBoolean(String clave, boolean porDefecto) {
+        String valor = get(clave, null);
+        return valor == null ? porDefecto : Boolean.parseBoolean(valor);
+    }
+}
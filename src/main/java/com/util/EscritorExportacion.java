@@ -0,0 +1,292 @@
+package com.util;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Escritor de exportaciones en streaming (CSV o JSON) directamente sobre la respuesta HTTP.
+ * Cada fila se escribe en cuanto llega del cursor JDBC y sólo se retiene el búfer de escritura,
+ * así que la memoria no depende del número de filas. Sin Content-Length el contenedor envía
+ * la respuesta por bloques (chunked), y con "Accept-Encoding: gzip" se comprime al vuelo.
+ *
+ * Uso: inicioFila(), un valor por columna en el orden de la cabecera, finFila(); terminar() al final.
+ */
+public abstract class EscritorExportacion {
+
+    public static final String CSV = "csv";
+    public static final String JSON = "json";
+
+    private static final int TAMANYO_BUFFER = 16 * 1024;
+
+    protected final Writer salida;
+    protected final String[] columnas;
+    private final GZIPOutputStream comprimido;
+    protected int columna;
+
+    protected EscritorExportacion(Writer salida, GZIPOutputStream comprimido, String[] columnas) {
+        this.salida = salida;
+        this.comprimido = comprimido;
+        this.columnas = columnas.clone();
+    }
+
+    /**
+     * Prepara la respuesta (tipo, descarga como fichero, gzip si el cliente lo acepta)
+     * y devuelve el escritor del formato pedido con la cabecera ya escrita.
+     * @param request Petición (Accept-Encoding)
+     * @param response Respuesta sobre la que escribir
+     * @param formato "csv" o "json"
+     * @param nombreBase Nombre del fichero descargado sin extensión
+     * @param columnas Nombres de las columnas
+     * @return Escritor listo para recibir filas
+     * @throws IllegalArgumentException si el formato no es csv ni json
+     * @throws IOException si no se puede escribir la respuesta
+     */
+    public static EscritorExportacion paraRespuesta(HttpServletRequest request, HttpServletResponse response,
+            String formato, String nombreBase, String... columnas) throws IOException {
+        String tipo = formato == null ? CSV : formato.trim().toLowerCase();
+        if (!CSV.equals(tipo) && !JSON.equals(tipo)) {
+            throw new IllegalArgumentException("Formato de exportación no soportado: " + formato);
+        }
+
+        response.setContentType(CSV.equals(tipo) ? "text/csv" : "application/json");
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader("Content-Disposition", "attachment; filename=\"" + nombreBase + "." + tipo + "\"");
+        response.setHeader("Cache-Control", "no-store");
+        response.setHeader("Vary", "Accept-Encoding");
+
+        OutputStream destino = response.getOutputStream();
+        GZIPOutputStream gzip = null;
+        if (aceptaGzip(request)) {
+            response.setHeader("Content-Encoding", "gzip");
+            gzip = new GZIPOutputStream(destino, TAMANYO_BUFFER);
+            destino = gzip;
+        }
+        Writer salida = new BufferedWriter(new OutputStreamWriter(destino, StandardCharsets.UTF_8), TAMANYO_BUFFER);
+
+        EscritorExportacion escritor = CSV.equals(tipo)
+                ? new Csv(salida, gzip, columnas)
+                : new Json(salida, gzip, columnas);
+        escritor.cabecera();
+        return escritor;
+    }
+
+    private static boolean aceptaGzip(HttpServletRequest request) {
+        String aceptadas = request.getHeader("Accept-Encoding");
+        return Configuracion.getBoolean("exportacion.gzip", true)
+                && aceptadas != null && aceptadas.toLowerCase().contains("gzip");
+    }
+
+    protected abstract void cabecera() throws IOException;
+
+    public abstract void inicioFila() throws IOException;
+
+    public abstract void texto(String valor) throws IOException;
+
+    public abstract void numero(long valor) throws IOException;
+
+    public abstract void numero(double valor) throws IOException;
+
+    public abstract void finFila() throws IOException;
+
+    protected abstract void pie() throws IOException;
+
+    /**
+     * Cierra el documento (p. ej. "]" en JSON), vacía el búfer y completa el gzip.
+     * No llamarlo si la exportación falla a medias: la respuesta debe quedar incompleta.
+     */
+    public void terminar() throws IOException {
+        pie();
+        salida.flush();
+        if (comprimido != null) {
+            comprimido.finish();
+        }
+    }
+
+    /**
+     * CSV (RFC 4180): separador coma, fin de línea CRLF, comillas sólo cuando hacen falta.
+     * Los textos que empiezan por =, +, - o @ se prefijan con ' para que una hoja de cálculo
+     * no los interprete como fórmulas.
+     */
+    static final class Csv extends EscritorExportacion {
+
+        Csv(Writer salida, GZIPOutputStream comprimido, String[] columnas) {
+            super(salida, comprimido, columnas);
+        }
+
+        @Override
+        protected void cabecera() throws IOException {
+            inicioFila();
+            for (String c : columnas) {
+                texto(c);
+            }
+            finFila();
+        }
+
+        @Override
+        public void inicioFila() {
+            columna = 0;
+        }
+
+        private void separador() throws IOException {
+            if (columna++ > 0) {
+                salida.write(',');
+            }
+        }
+
+        @Override
+        public void texto(String valor) throws IOException {
+            separador();
+            if (valor == null || valor.isEmpty()) {
+                return;
+            }
+            char primero = valor.charAt(0);
+            boolean formula = primero == '=' || primero == '+' || primero == '-' || primero == '@';
+            boolean comillas = formula;
+            for (int i = 0; i < valor.length() && !comillas; i++) {
+                char c = valor.charAt(i);
+                comillas = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!comillas) {
+                salida.write(valor);
+                return;
+            }
+            salida.write('"');
+            if (formula) {
+                salida.write('\'');
+            }
+            for (int i = 0; i < valor.length(); i++) {
+                char c = valor.charAt(i);
+                if (c == '"') {
+                    salida.write('"');
+                }
+                salida.write(c);
+            }
+            salida.write('"');
+        }
+
+        @Override
+        public void numero(long valor) throws IOException {
+            separador();
+            salida.write(Long.toString(valor));
+        }
+
+        @Override
+        public void numero(double valor) throws IOException {
+            separador();
+            salida.write(Double.toString(valor));
+        }
+
+        @Override
+        public void finFila() throws IOException {
+            salida.write("\r\n");
+        }
+
+        @Override
+        protected void pie() {
+            // CSV no tiene cierre
+        }
+    }
+
+    /**
+     * JSON: un array de objetos con las columnas como claves, una fila por línea.
+     */
+    static final class Json extends EscritorExportacion {
+
+        private boolean primeraFila = true;
+
+        Json(Writer salida, GZIPOutputStream comprimido, String[] columnas) {
+            super(salida, comprimido, columnas);
+        }
+
+        @Override
+        protected void cabecera() throws IOException {
+            salida.write('[');
+        }
+
+        @Override
+        public void inicioFila() throws IOException {
+            salida.write(primeraFila ? "\n{" : ",\n{");
+            primeraFila = false;
+            columna = 0;
+        }
+
+        private void clave() throws IOException {
+            if (columna > 0) {
+                salida.write(',');
+            }
+            cadena(columnas[columna++]);
+            salida.write(':');
+        }
+
+        @Override
+        public void texto(String valor) throws IOException {
+            clave();
+            if (valor == null) {
+                salida.write("null");
+            } else {
+                cadena(valor);
+            }
+        }
+
+        @Override
+        public void numero(long valor) throws IOException {
+            clave();
+            salida.write(Long.toString(valor));
+        }
+
+        @Override
+        public void numero(double valor) throws IOException {
+            clave();
+            salida.write(Double.isFinite(valor) ? Double.toString(valor) : "null");
+        }
+
+        @Override
+        public void finFila() throws IOException {
+            salida.write('}');
+        }
+
+        @Override
+        protected void pie() throws IOException {
+            salida.write("\n]\n");
+        }
+
+        private void cadena(String valor) throws IOException {
+            salida.write('"');
+            for (int i = 0; i < valor.length(); i++) {
+                char c = valor.charAt(i);
+                switch (c) {
+                    case '"':
+                        salida.write("\\\"");
+                        break;
+                    case '\\':
+                        salida.write("\\\\");
+                        break;
+                    case '\n':
+                        salida.write("\\n");
+                        break;
+                    case '\r':
+                        salida.write("\\r");
+                        break;
+                    case '\t':
+                        salida.write("\\t");
+                        break;
+                    default:
+                        if (c < 0x20 || c == 0x2028 || c == 0x2029) {
+                            salida.write(String.format("\\u%04x", (int) c));
+                        } else {
+                            salida.write(c);
+                        }
+                }
+            }
+            salida.write('"');
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de latencias con cubetas fijas (límites superiores en milisegundos).
+ * Registrar un valor no reserva memoria ni bloquea: apto para rutas calientes
+ * con muchos hilos concurrentes.
+ */
+public class Histograma {
+
+    /** Límites por defecto, de 0,1 ms a 10 s */
+    public static final double[] LIMITES_POR_DEFECTO_MS =
+        {0.1, 0.5, 1, 2.5, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000};
+
+    private final double[] limitesMs;
+    private final long[] limitesNanos;
+    // Una cubeta por límite más la última (+Inf)
+    private final LongAdder[] conteos;
+    private final LongAdder total = new LongAdder();
+    private final LongAdder sumaNanos = new LongAdder();
+    private final AtomicLong maximoNanos = new AtomicLong();
+
+    public Histograma() {
+        this(LIMITES_POR_DEFECTO_MS);
+    }
+
+    /**
+     * @param limitesMs Límites superiores de las cubetas en milisegundos, en orden ascendente
+     */
+    public Histograma(double[] limitesMs) {
+        this.limitesMs = limitesMs.clone();
+        this.limitesNanos = new long[limitesMs.length];
+        for (int i = 0; i < limitesMs.length; i++) {
+            limitesNanos[i] = (long) (limitesMs[i] * 1_000_000);
+        }
+        this.conteos = new LongAdder[limitesMs.length + 1];
+        for (int i = 0; i < conteos.length; i++) {
+            conteos[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Registra una medición
+     * @param nanos Duración en nanosegundos
+     */
+    public void registrarNanos(long nanos) {
+        int i = 0;
+        while (i < limitesNanos.length && nanos > limitesNanos[i]) {
+            i++;
+        }
+        conteos[i].increment();
+        total.increment();
+        sumaNanos.add(nanos);
+
+        long max = maximoNanos.get();
+        while (nanos > max && !maximoNanos.compareAndSet(max, nanos)) {
+            max = maximoNanos.get();
+        }
+    }
+
+    /**
+     * @return Copia de los límites superiores de las cubetas en milisegundos (sin +Inf)
+     */
+    public double[] getLimitesMs() {
+        return limitesMs.clone();
+    }
+
+    /**
+     * @return Conteo de cada cubeta (no acumulado); el último elemento es la cubeta +Inf
+     */
+    public long[] getConteos() {
+        long[] copia = new long[conteos.length];
+        for (int i = 0; i < conteos.length; i++) {
+            copia[i] = conteos[i].sum();
+        }
+        return copia;
+    }
+
+    public long getTotal() {
+        return total.sum();
+    }
+
+    public double getSumaMs() {
+        return sumaNanos.sum() / 1_000_000.0;
+    }
+
+    public double getMediaMs() {
+        long n = total.sum();
+        return n == 0 ? 0 : getSumaMs() / n;
+    }
+
+    public double getMaximoMs() {
+        return maximoNanos.get() / 1_000_000.0;
+    }
+
+    /**
+     * Percentil aproximado: límite superior de la cubeta que contiene el percentil
+     * @param percentil Valor entre 0 y 100
+     * @return Latencia en milisegundos (el máximo observado si cae en la cubeta +Inf)
+     */
+    public double getPercentilMs(double percentil) {
+        long[] c = getConteos();
+        long n = 0;
+        for (long v : c) {
+            n += v;
+        }
+        if (n == 0) {
+            return 0;
+        }
+        long objetivo = (long) Math.ceil(n * percentil / 100.0);
+        long acumulado = 0;
+        for (int i = 0; i < limitesMs.length; i++) {
+            acumulado += c[i];
+            if (acumulado >= objetivo) {
+                return limitesMs[i];
+            }
+        }
+        return getMaximoMs();
+    }
+
+    /**
+     * Representación JSON: {"total":..,"mediaMs":..,"maximoMs":..,"p50Ms":..,"p95Ms":..,"p99Ms":..,"cubetas":[{"le":..,"n":..},..]}
+     * @return Cadena JSON
+     */
+    public String toJson() {
+        StringBuilder sb = new StringBuilder(256);
+        sb.append("{\"total\":").append(getTotal())
+          .append(",\"mediaMs\":").append(getMediaMs())
+          .append(",\"maximoMs\":").append(getMaximoMs())
+          .append(",\"p50Ms\":").append(getPercentilMs(50))
+          .append(",\"p95Ms\":").append(getPercentilMs(95))
+          .append(",\"p99Ms\":").append(getPercentilMs(99))
+          .append(",\"cubetas\":[");
+        long[] c = getConteos();
+        for (int i = 0; i < c.length; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"le\":");
+            if (i < limitesMs.length) {
+                sb.append(limitesMs[i]);
+            } else {
+                sb.append("\"+Inf\"");
+            }
+            sb.append(",\"n\":").append(c[i]).append('}');
+        }
+        return sb.append("]}").toString();
+    }
+
+    /**
+     * Escribe el histograma en formato de texto Prometheus: cubetas acumuladas
+     * (le en segundos), _sum y _count
+     * @param sb Destino
+     * @param nombre Nombre de la métrica
+     * @param etiquetas Etiquetas sin llaves (p. ej. ruta="/empleados"), o cadena vacía
+     */
+    public void escribirPrometheus(StringBuilder sb, String nombre, String etiquetas) {
+        String prefijo = etiquetas.isEmpty() ? "" : etiquetas + ",";
+        String sufijo = etiquetas.isEmpty() ? "" : "{" + etiquetas + "}";
+        long[] c = getConteos();
+        long acumulado = 0;
+        for (int i = 0; i < c.length; i++) {
+            acumulado += c[i];
+            sb.append(nombre).append("_bucket{").append(prefijo).append("le=\"")
+              .append(i < limitesMs.length ? String.valueOf(limitesMs[i] / 1000.0) : "+Inf")
+              .append("\"} ").append(acumulado).append('\n');
+        }
+        sb.append(nombre).append("_sum").append(sufijo).append(' ').append(getSumaMs() / 1000.0).append('\n');
+        sb.append(nombre).append("_count").append(sufijo).append(' ').append(acumulado).append('\n');
+    }
+}
@@ -0,0 +1,148 @@
+package com.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lector de CSV (RFC 4180) registro a registro, sin cargar el fichero en memoria.
+ * Admite separador coma, fin de línea LF o CRLF, campos entre comillas con comas,
+ * saltos de línea y comillas dobladas (""), y BOM UTF-8 al principio.
+ * Deshace el prefijo ' que EscritorExportacion añade a los textos con forma de fórmula.
+ */
+public class LectorCsv {
+
+    private static final int FIN = -1;
+
+    private final Reader entrada;
+    private final char[] buffer = new char[8192];
+    private int posicion;
+    private int limite;
+
+    private final List<String> campos = new ArrayList<>();
+    private final StringBuilder campo = new StringBuilder();
+    private long lineaActual = 1;
+    private long lineaRegistro;
+    private boolean inicio = true;
+
+    /**
+     * @param entrada Texto CSV (se lee por bloques; conviene que no esté ya envuelto en un BufferedReader)
+     */
+    public LectorCsv(Reader entrada) {
+        this.entrada = entrada;
+    }
+
+    /**
+     * Lee el siguiente registro
+     * @return Campos del registro, o null al final del fichero. Las líneas vacías se saltan.
+     * @throws IOException si falla la lectura o hay unas comillas sin cerrar al final
+     */
+    public String[] siguiente() throws IOException {
+        int c = leer();
+        if (inicio) {
+            inicio = false;
+            if (c == '\uFEFF') {
+                c = leer();
+            }
+        }
+        // Saltar líneas vacías
+        while (c == '\r' || c == '\n') {
+            if (c == '\n') {
+                lineaActual++;
+            }
+            c = leer();
+        }
+        if (c == FIN) {
+            return null;
+        }
+
+        lineaRegistro = lineaActual;
+        campos.clear();
+        campo.setLength(0);
+        boolean entreComillas = false;
+        boolean citado = false;
+
+        while (true) {
+            if (entreComillas) {
+                if (c == FIN) {
+                    throw new IOException("Comillas sin cerrar en el registro de la línea " + lineaRegistro);
+                }
+                if (c == '"') {
+                    int s = leer();
+                    if (s == '"') {
+                        campo.append('"');
+                    } else {
+                        entreComillas = false;
+                        c = s;
+                        continue;
+                    }
+                } else {
+                    if (c == '\n') {
+                        lineaActual++;
+                    }
+                    campo.append((char) c);
+                }
+            } else if (c == '"' && campo.length() == 0 && !citado) {
+                entreComillas = true;
+                citado = true;
+            } else if (c == ',') {
+                cerrarCampo(citado);
+                citado = false;
+            } else if (c == '\n' || c == '\r' || c == FIN) {
+                cerrarCampo(citado);
+                if (c == '\r') {
+                    int s = leer();
+                    if (s != '\n') {
+                        devolver();
+                    }
+                }
+                if (c != FIN) {
+                    lineaActual++;
+                }
+                return campos.toArray(new String[0]);
+            } else {
+                campo.append((char) c);
+            }
+            c = leer();
+        }
+    }
+
+    private void cerrarCampo(boolean citado) {
+        int n = campo.length();
+        if (citado && n >= 2 && campo.charAt(0) == '\'') {
+            char segundo = campo.charAt(1);
+            if (segundo == '=' || segundo == '+' || segundo == '-' || segundo == '@') {
+                campo.deleteCharAt(0);
+            }
+        }
+        campos.add(campo.toString());
+        campo.setLength(0);
+    }
+
+    /**
+     * @return Línea del fichero (desde 1) en la que empieza el último registro leído
+     */
+    public long getLinea() {
+        return lineaRegistro;
+    }
+
+    private int leer() throws IOException {
+        if (posicion == limite) {
+            limite = entrada.read(buffer, 0, buffer.length);
+            posicion = 0;
+            if (limite <= 0) {
+                limite = 0;
+                return FIN;
+            }
+        }
+        return buffer[posicion++];
+    }
+
+    /** Devuelve el último carácter leído (sólo justo después de leer()) */
+    private void devolver() {
+        if (limite > 0) {
+            posicion--;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.util;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Agrupación de llamadas concurrentes idénticas ("single-flight").
+ * Mientras hay una carga en curso para una clave, el resto de llamadas con esa misma
+ * clave esperan su resultado en lugar de lanzar otra. No es una caché: en cuanto la
+ * carga termina la clave se libera y la siguiente llamada vuelve a cargar.
+ * Si la carga falla, todas las llamadas que la esperaban reciben la misma excepción.
+ *
+ * @param <K> Tipo de la clave
+ * @param <V> Tipo del resultado
+ */
+public class LlamadaUnica<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> enCurso = new ConcurrentHashMap<>();
+
+    private final LongAdder llamadas = new LongAdder();
+    private final LongAdder compartidas = new LongAdder();
+
+    /**
+     * Devuelve el resultado de la carga en curso para la clave o, si no hay ninguna, la ejecuta
+     * en el hilo llamante y comparte su resultado con quien llegue mientras tanto
+     * @param clave Clave de la llamada
+     * @param carga Carga a ejecutar si no hay otra en curso
+     * @return Resultado de la carga (el mismo objeto para todas las llamadas agrupadas)
+     * @throws Exception la excepción lanzada por la carga
+     */
+    public V ejecutar(K clave, Callable<V> carga) throws Exception {
+        llamadas.increment();
+
+        CompletableFuture<V> nueva = new CompletableFuture<>();
+        CompletableFuture<V> existente = enCurso.putIfAbsent(clave, nueva);
+        if (existente != null) {
+            compartidas.increment();
+            return esperar(existente);
+        }
+
+        // La clave se libera antes de completar: quien llegue después de publicar el resultado
+        // lanza su propia carga en vez de recibir uno ya terminado
+        try {
+            V valor = carga.call();
+            enCurso.remove(clave, nueva);
+            nueva.complete(valor);
+            return valor;
+        } catch (Exception | Error e) {
+            enCurso.remove(clave, nueva);
+            nueva.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static <V> V esperar(CompletableFuture<V> futuro) throws Exception {
+        try {
+            return futuro.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw e;
+        } catch (ExecutionException e) {
+            Throwable causa = e.getCause();
+            if (causa instanceof Exception) {
+                throw (Exception) causa;
+            }
+            throw (Error) causa;
+        }
+    }
+
+    /**
+     * @return Total de llamadas recibidas
+     */
+    public long getLlamadas() {
+        return llamadas.sum();
+    }
+
+    /**
+     * @return Llamadas que reutilizaron una carga en curso (cargas ahorradas)
+     */
+    public long getCompartidas() {
+        return compartidas.sum();
+    }
+
+    /**
+     * @return Cargas realmente ejecutadas
+     */
+    public long getCargas() {
+        return getLlamadas() - getCompartidas();
+    }
+
+    /**
+     * @return Claves con una carga en curso en este momento
+     */
+    public int getEnCurso() {
+        return enCurso.size();
+    }
+}
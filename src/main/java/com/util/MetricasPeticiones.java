@@ -0,0 +1,292 @@
+package com.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Registro de métricas por ruta y acción (p. ej. /empleados + listar):
+ * histograma de latencia total, histograma del tiempo de renderizado de la vista (JSP),
+ * peticiones en curso y errores. Se exporta en formato de texto Prometheus.
+ * También recoge el tiempo, las filas y los errores de cada operación de los DAOs (PlantillaJdbc).
+ * Instancia única compartida por toda la aplicación.
+ */
+public class MetricasPeticiones {
+
+    private static final MetricasPeticiones INSTANCIA = new MetricasPeticiones();
+
+    // Límite de series distintas: la acción viene del cliente y no debe crecer sin control
+    private static final int MAXIMO_SERIES = 200;
+    private static final String SERIE_OTRA = "otra";
+
+    private final Map<String, Serie> series = new ConcurrentHashMap<>();
+    private final Map<String, Contador> contadores = new ConcurrentHashMap<>();
+    private final Map<String, HistogramaRegistrado> histogramas = new ConcurrentHashMap<>();
+    private final Map<String, MedidorOperacion> operaciones = new ConcurrentHashMap<>();
+    private final AtomicInteger enCurso = new AtomicInteger();
+
+    private MetricasPeticiones() {
+    }
+
+    public static MetricasPeticiones getInstancia() {
+        return INSTANCIA;
+    }
+
+    /**
+     * Marca el inicio de una petición
+     */
+    public void inicio() {
+        enCurso.incrementAndGet();
+    }
+
+    /**
+     * Registra una petición terminada
+     * @param ruta Recurso (p. ej. "/empleados")
+     * @param accion Parámetro action (null si no se envió)
+     * @param totalNanos Duración total de la petición
+     * @param vistaNanos Parte de la duración dedicada a renderizar JSPs
+     * @param error true si la petición terminó en error
+     */
+    public void fin(String ruta, String accion, long totalNanos, long vistaNanos, boolean error) {
+        enCurso.decrementAndGet();
+
+        Serie serie = serie(ruta, accion);
+        serie.total.registrarNanos(totalNanos);
+        serie.vista.registrarNanos(vistaNanos);
+        serie.servicio.registrarNanos(totalNanos - vistaNanos);
+        if (error) {
+            serie.errores.increment();
+        }
+    }
+
+    public int getEnCurso() {
+        return enCurso.get();
+    }
+
+    /**
+     * Publica un contador de otro componente junto a las métricas de peticiones.
+     * Registrar de nuevo el mismo nombre sustituye al anterior
+     * @param nombre Nombre de la métrica Prometheus (terminado en _total)
+     * @param ayuda Descripción
+     * @param valor Lectura del valor actual
+     */
+    public void registrarContador(String nombre, String ayuda, LongSupplier valor) {
+        contadores.put(nombre, new Contador("counter", ayuda, valor));
+    }
+
+    /**
+     * Publica un valor instantáneo de otro componente (p. ej. el tamaño de una cola).
+     * Registrar de nuevo el mismo nombre sustituye al anterior
+     * @param nombre Nombre de la métrica Prometheus
+     * @param ayuda Descripción
+     * @param valor Lectura del valor actual
+     */
+    public void registrarIndicador(String nombre, String ayuda, LongSupplier valor) {
+        contadores.put(nombre, new Contador("gauge", ayuda, valor));
+    }
+
+    /**
+     * Publica un histograma de otro componente, que lo alimenta por su cuenta.
+     * Registrar de nuevo el mismo nombre sustituye al anterior
+     * @param nombre Nombre de la métrica Prometheus (terminado en _segundos)
+     * @param ayuda Descripción
+     * @param histograma Histograma que se exporta
+     */
+    public void registrarHistograma(String nombre, String ayuda, Histograma histograma) {
+        histogramas.put(nombre, new HistogramaRegistrado(ayuda, histograma));
+    }
+
+    /**
+     * Medidor de una operación de acceso a datos. Las operaciones son un conjunto fijo
+     * definido en el código, así que no hay límite de series como en las peticiones
+     * @param entidad Tabla o entidad (p. ej. "empleados")
+     * @param operacion Operación del DAO (p. ej. "listarPagina")
+     * @return Medidor compartido por todas las llamadas a esa operación
+     */
+    public MedidorOperacion medidorOperacion(String entidad, String operacion) {
+        return operaciones.computeIfAbsent(entidad + "|" + operacion, k -> new MedidorOperacion(entidad, operacion));
+    }
+
+    private Serie serie(String ruta, String accion) {
+        String r = etiquetaValida(ruta) ? ruta : SERIE_OTRA;
+        String a = accion == null ? "" : (etiquetaValida(accion) ? accion : SERIE_OTRA);
+        String clave = r + "|" + a;
+
+        Serie serie = series.get(clave);
+        if (serie == null) {
+            if (series.size() >= MAXIMO_SERIES) {
+                clave = SERIE_OTRA + "|" + SERIE_OTRA;
+                r = SERIE_OTRA;
+                a = SERIE_OTRA;
+            }
+            final String rutaSerie = r;
+            final String accionSerie = a;
+            serie = series.computeIfAbsent(clave, k -> new Serie(rutaSerie, accionSerie));
+        }
+        return serie;
+    }
+
+    private static boolean etiquetaValida(String valor) {
+        if (valor == null || valor.isEmpty() || valor.length() > 40) {
+            return false;
+        }
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            if (!(Character.isLetterOrDigit(c) || c == '/' || c == '_' || c == '-')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Exporta las métricas en formato de texto de Prometheus
+     * @return Texto con las series empresa_peticion_*
+     */
+    public String toPrometheus() {
+        StringBuilder sb = new StringBuilder(4096);
+        sb.append("# HELP empresa_peticiones_en_curso Peticiones en proceso\n")
+          .append("# TYPE empresa_peticiones_en_curso gauge\n")
+          .append("empresa_peticiones_en_curso ").append(enCurso.get()).append('\n');
+
+        escribirHistogramas(sb, "empresa_peticion_segundos",
+                "Latencia total por ruta y acción", TipoHistograma.TOTAL);
+        escribirHistogramas(sb, "empresa_peticion_servicio_segundos",
+                "Tiempo en controlador, servicio y DAO (total menos vista)", TipoHistograma.SERVICIO);
+        escribirHistogramas(sb, "empresa_peticion_vista_segundos",
+                "Tiempo renderizando la vista JSP", TipoHistograma.VISTA);
+
+        sb.append("# HELP empresa_peticion_errores_total Peticiones terminadas en error\n")
+          .append("# TYPE empresa_peticion_errores_total counter\n");
+        for (Serie s : series.values()) {
+            sb.append("empresa_peticion_errores_total{").append(s.etiquetas).append("} ")
+              .append(s.errores.sum()).append('\n');
+        }
+
+        if (!operaciones.isEmpty()) {
+            escribirOperaciones(sb);
+        }
+
+        for (Map.Entry<String, Contador> c : contadores.entrySet()) {
+            sb.append("# HELP ").append(c.getKey()).append(' ').append(c.getValue().ayuda).append('\n')
+              .append("# TYPE ").append(c.getKey()).append(' ').append(c.getValue().tipo).append('\n')
+              .append(c.getKey()).append(' ').append(c.getValue().valor.getAsLong()).append('\n');
+        }
+        for (Map.Entry<String, HistogramaRegistrado> h : histogramas.entrySet()) {
+            sb.append("# HELP ").append(h.getKey()).append(' ').append(h.getValue().ayuda).append('\n')
+              .append("# TYPE ").append(h.getKey()).append(" histogram\n");
+            h.getValue().histograma.escribirPrometheus(sb, h.getKey(), "");
+        }
+        return sb.toString();
+    }
+
+    private void escribirHistogramas(StringBuilder sb, String nombre, String ayuda, TipoHistograma tipo) {
+        sb.append("# HELP ").append(nombre).append(' ').append(ayuda).append('\n')
+          .append("# TYPE ").append(nombre).append(" histogram\n");
+        for (Serie s : series.values()) {
+            Histograma h = tipo == TipoHistograma.TOTAL ? s.total
+                         : tipo == TipoHistograma.SERVICIO ? s.servicio : s.vista;
+            h.escribirPrometheus(sb, nombre, s.etiquetas);
+        }
+    }
+
+    private void escribirOperaciones(StringBuilder sb) {
+        sb.append("# HELP empresa_dao_segundos Tiempo por operación de acceso a datos\n")
+          .append("# TYPE empresa_dao_segundos histogram\n");
+        for (MedidorOperacion m : operaciones.values()) {
+            m.tiempo.escribirPrometheus(sb, "empresa_dao_segundos", m.etiquetas);
+        }
+        sb.append("# HELP empresa_dao_filas_total Filas leídas o modificadas por operación de acceso a datos\n")
+          .append("# TYPE empresa_dao_filas_total counter\n");
+        for (MedidorOperacion m : operaciones.values()) {
+            sb.append("empresa_dao_filas_total{").append(m.etiquetas).append("} ").append(m.filas.sum()).append('\n');
+        }
+        sb.append("# HELP empresa_dao_errores_total Operaciones de acceso a datos terminadas en error\n")
+          .append("# TYPE empresa_dao_errores_total counter\n");
+        for (MedidorOperacion m : operaciones.values()) {
+            sb.append("empresa_dao_errores_total{").append(m.etiquetas).append("} ").append(m.errores.sum()).append('\n');
+        }
+    }
+
+    private enum TipoHistograma { TOTAL, SERVICIO, VISTA }
+
+    /**
+     * Tiempo, filas y errores de una operación de acceso a datos
+     */
+    public static final class MedidorOperacion {
+        private final String etiquetas;
+        private final Histograma tiempo = new Histograma();
+        private final LongAdder filas = new LongAdder();
+        private final LongAdder errores = new LongAdder();
+
+        MedidorOperacion(String entidad, String operacion) {
+            this.etiquetas = "entidad=\"" + entidad + "\",operacion=\"" + operacion + "\"";
+        }
+
+        /**
+         * Registra una ejecución
+         * @param nanos Duración
+         * @param filas Filas leídas o modificadas
+         * @param error true si terminó en excepción
+         */
+        public void registrar(long nanos, long filas, boolean error) {
+            tiempo.registrarNanos(nanos);
+            this.filas.add(filas);
+            if (error) {
+                errores.increment();
+            }
+        }
+
+        public Histograma getTiempo() {
+            return tiempo;
+        }
+
+        public long getFilas() {
+            return filas.sum();
+        }
+
+        public long getErrores() {
+            return errores.sum();
+        }
+    }
+
+    private static final class Contador {
+        final String tipo;
+        final String ayuda;
+        final LongSupplier valor;
+
+        Contador(String tipo, String ayuda, LongSupplier valor) {
+            this.tipo = tipo;
+            this.ayuda = ayuda;
+            this.valor = valor;
+        }
+    }
+
+    private static final class HistogramaRegistrado {
+        final String ayuda;
+        final Histograma histograma;
+
+        HistogramaRegistrado(String ayuda, Histograma histograma) {
+            this.ayuda = ayuda;
+            this.histograma = histograma;
+        }
+    }
+
+    private static final class Serie {
+        final String ruta;
+        final String accion;
+        final String etiquetas;
+        final Histograma total = new Histograma();
+        final Histograma servicio = new Histograma();
+        final Histograma vista = new Histograma();
+        final LongAdder errores = new LongAdder();
+
+        Serie(String ruta, String accion) {
+            this.ruta = ruta;
+            this.accion = accion;
+            this.etiquetas = "ruta=\"" + ruta + "\",accion=\"" + accion + "\"";
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.util;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.servlet.ServletContext;
+
+/**
+ * Log de peticiones asíncrono y muestreado.
+ * El hilo de la petición sólo decide si la muestrea y encola el mensaje (sin bloquear);
+ * un hilo daemon lo escribe en el log del ServletContext. Si la cola está llena
+ * el mensaje se descarta y se cuenta, en lugar de frenar la petición.
+ */
+public class RegistroAsincrono {
+
+    private final ServletContext contexto;
+    private final int muestreo;
+    private final BlockingQueue<String> cola;
+    private final LongAdder descartados = new LongAdder();
+    private final Thread escritor;
+    private volatile boolean activo = true;
+
+    /**
+     * @param contexto Contexto cuyo log recibe los mensajes
+     * @param muestreo Se registra 1 de cada "muestreo" mensajes (1 = todos, 0 = ninguno)
+     * @param capacidad Mensajes pendientes como máximo
+     */
+    public RegistroAsincrono(ServletContext contexto, int muestreo, int capacidad) {
+        this.contexto = contexto;
+        this.muestreo = muestreo;
+        this.cola = new ArrayBlockingQueue<>(capacidad);
+        this.escritor = new Thread(this::escribir, "registro-peticiones");
+        this.escritor.setDaemon(true);
+        this.escritor.start();
+    }
+
+    /**
+     * @return true si la petición actual debe registrarse según el muestreo
+     */
+    public boolean muestrear() {
+        return muestreo == 1 || (muestreo > 1 && ThreadLocalRandom.current().nextInt(muestreo) == 0);
+    }
+
+    /**
+     * Encola un mensaje sin bloquear
+     * @param mensaje Texto a registrar
+     */
+    public void registrar(String mensaje) {
+        if (!cola.offer(mensaje)) {
+            descartados.increment();
+        }
+    }
+
+    public long getDescartados() {
+        return descartados.sum();
+    }
+
+    private void escribir() {
+        while (activo || !cola.isEmpty()) {
+            try {
+                String mensaje = cola.poll(500, TimeUnit.MILLISECONDS);
+                if (mensaje != null) {
+                    contexto.log(mensaje);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // Un fallo del log no debe detener el hilo escritor
+            }
+        }
+    }
+
+    /**
+     * Detiene el hilo escritor tras vaciar los mensajes pendientes
+     */
+    public void cerrar() {
+        activo = false;
+        try {
+            escritor.join(2000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
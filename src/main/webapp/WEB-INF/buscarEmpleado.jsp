@@ -19,11 +19,11 @@
 
             <label for="campo">Buscar por:</label>
             <select id="campo" name="campo" required>
-                <option value="dni">DNI</option>
-                <option value="nombre">Nombre</option>
-                <option value="sexo">Sexo</option>
-                <option value="categoria">Categoría</option>
-                <option value="anyos">Años</option>
+                <option value="dni">DNI (empieza por)</option>
+                <option value="nombre">Nombre (palabras)</option>
+                <option value="sexo">Sexo (M/F)</option>
+                <option value="categoria">Categoría (exacta)</option>
+                <option value="anyos">Años (exactos)</option>
             </select>
 
             <label for="valor">Valor:</label>
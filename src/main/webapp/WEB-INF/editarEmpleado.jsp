@@ -69,7 +69,12 @@
 
         <!-- Mostrar formulario si el empleado existe -->
         <c:if test="${not empty empleado}">
+            <c:if test="${not empty error}">
+                <p class="error"><c:out value="${error}"/></p>
+            </c:if>
             <form action="<c:url value='/app/empleados?action=actualizar'/>" method="post">
+                <!-- Versión leída: si otro usuario guarda antes, el servidor lo detecta -->
+                <input type="hidden" name="version" value="${empleado.version}">
 
                 <!-- DNI -->
                 <label for="dni">DNI:</label>
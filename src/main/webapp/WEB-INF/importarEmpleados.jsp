@@ -0,0 +1,38 @@
+<%@ page contentType="text/html; charset=UTF-8" pageEncoding="UTF-8" %>
+<%@ taglib uri="http://java.sun.com/jsp/jstl/core" prefix="c" %>
+<!DOCTYPE html>
+<html lang="es">
+<head>
+    <meta charset="UTF-8">
+    <title>Importar Empleados</title>
+    <link rel="stylesheet" href="<c:url value='/styles/global.css'/>">
+</head>
+<body>
+<header>
+    <h1>Importar Empleados desde CSV</h1>
+</header>
+
+<main>
+    <section class="form-container">
+        <form action="<c:url value='/app/empleados'/>" method="post" enctype="multipart/form-data" class="form-dark">
+            <input type="hidden" name="action" value="importar"/>
+
+            <label for="fichero">Fichero CSV (UTF-8):</label>
+            <input type="file" id="fichero" name="fichero" accept=".csv,text/csv" required/>
+
+            <p class="mensaje">Columnas: dni,nombre,sexo,categoria,anyos (cabecera opcional, el mismo formato que la exportación).</p>
+
+            <input type="submit" value="Importar" class="btn">
+        </form>
+
+        <div class="acciones">
+            <a href="<c:url value='/index.jsp'/>" class="btn-secundario">Volver</a>
+        </div>
+    </section>
+</main>
+
+<footer>
+    <p>© 2025 Gestión de Nóminas</p>
+</footer>
+</body>
+</html>
@@ -54,6 +54,19 @@
             </c:otherwise>
         </c:choose>
 
+        <c:if test="${pagina.hayMas}">
+            <div class="acciones">
+                <form action="<c:url value='/app/empleados'/>" method="post" style="display:inline;">
+                    <input type="hidden" name="action" value="buscarResultado">
+                    <input type="hidden" name="campo" value="<c:out value='${criterio.campo}'/>">
+                    <input type="hidden" name="valor" value="<c:out value='${criterio.valor}'/>">
+                    <input type="hidden" name="desde" value="<c:out value='${pagina.siguienteCursor}'/>">
+                    <input type="hidden" name="tam" value="<c:out value='${pagina.tamanyo}'/>">
+                    <button type="submit" class="btn-secundario">Página siguiente</button>
+                </form>
+            </div>
+        </c:if>
+
         <div class="acciones">
             <a href="<c:url value='/app/empleados?action=buscarForm'/>" class="btn-secundario">Nueva búsqueda</a>
             <a href="<c:url value='/app/empleados?action=listar'/>" class="btn-secundario">Volver al listado</a>
@@ -0,0 +1,66 @@
+<%@ page contentType="text/html; charset=UTF-8" pageEncoding="UTF-8" %>
+<%@ taglib uri="http://java.sun.com/jsp/jstl/core" prefix="c" %>
+<!DOCTYPE html>
+<html lang="es">
+<head>
+    <meta charset="UTF-8">
+    <title>Resultado de la Importación</title>
+    <link rel="stylesheet" href="<c:url value='/styles/global.css'/>">
+</head>
+<body>
+    <header>
+        <h1>Importación de Empleados</h1>
+    </header>
+
+    <main>
+        <section class="detalle-container">
+            <p><strong>Filas leídas:</strong> <c:out value="${resultado.filasLeidas}"/></p>
+            <p><strong>Empleados dados de alta:</strong> <c:out value="${resultado.filasInsertadas}"/></p>
+            <p><strong>Filas con errores:</strong> <c:out value="${resultado.totalErrores}"/></p>
+            <p><strong>Duración:</strong> <c:out value="${resultado.duracionMs}"/> ms</p>
+            <p><strong>Rendimiento:</strong> <c:out value="${resultado.filasPorSegundo}"/> filas/s</p>
+
+            <c:if test="${not resultado.completado}">
+                <p class="error-msg">Importación interrumpida: <c:out value="${resultado.error}"/></p>
+            </c:if>
+        </section>
+
+        <c:if test="${not empty resultado.errores}">
+            <section class="tabla-container">
+                <c:if test="${resultado.erroresTruncados}">
+                    <p class="mensaje">Se muestran los primeros <c:out value="${resultado.errores.size()}"/> errores.</p>
+                </c:if>
+                <table class="tabla">
+                    <thead>
+                        <tr>
+                            <th>Línea</th>
+                            <th>DNI</th>
+                            <th>Motivo</th>
+                        </tr>
+                    </thead>
+                    <tbody>
+                        <c:forEach var="errorFila" items="${resultado.errores}">
+                            <tr>
+                                <td><c:out value="${errorFila.linea}"/></td>
+                                <td><c:out value="${errorFila.dni}"/></td>
+                                <td><c:out value="${errorFila.mensaje}"/></td>
+                            </tr>
+                        </c:forEach>
+                    </tbody>
+                </table>
+            </section>
+        </c:if>
+
+        <section class="detalle-container">
+            <div class="acciones">
+                <a href="<c:url value='/app/empleados?action=listar'/>" class="btn-secundario">Ver empleados</a>
+                <a href="<c:url value='/index.jsp'/>" class="btn-secundario">Volver al inicio</a>
+            </div>
+        </section>
+    </main>
+
+    <footer>
+        <p>© 2025 Gestión de Nóminas</p>
+    </footer>
+</body>
+</html>
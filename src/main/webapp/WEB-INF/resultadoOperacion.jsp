@@ -0,0 +1,44 @@
+<%@ page contentType="text/html; charset=UTF-8" pageEncoding="UTF-8" %>
+<%@ taglib uri="http://java.sun.com/jsp/jstl/core" prefix="c" %>
+<!DOCTYPE html>
+<html lang="es">
+<head>
+    <meta charset="UTF-8">
+    <title>Resultado de la Operación</title>
+    <link rel="stylesheet" href="<c:url value='/styles/global.css'/>">
+</head>
+<body>
+    <header>
+        <h1><c:out value="${resultado.operacion}"/></h1>
+    </header>
+
+    <main>
+        <section class="detalle-container">
+            <p><strong>Filas confirmadas:</strong> <c:out value="${resultado.filas}"/></p>
+            <p><strong>Duración:</strong> <c:out value="${resultado.duracionMs}"/> ms</p>
+            <p><strong>Rendimiento:</strong> <c:out value="${resultado.filasPorSegundo}"/> filas/s</p>
+
+            <c:if test="${not resultado.completado}">
+                <p class="error-msg">Operación interrumpida: <c:out value="${resultado.error}"/></p>
+                <p><strong>Último DNI confirmado:</strong> <c:out value="${resultado.ultimoDniConfirmado}"/></p>
+                <c:if test="${not empty accionReanudar}">
+                    <form action="<c:url value='/app/nominas'/>" method="post">
+                        <input type="hidden" name="action" value="<c:out value='${accionReanudar}'/>">
+                        <input type="hidden" name="desde" value="<c:out value='${resultado.ultimoDniConfirmado}'/>">
+                        <button type="submit" class="btn-secundario">Reanudar</button>
+                    </form>
+                </c:if>
+            </c:if>
+
+            <div class="acciones">
+                <a href="<c:url value='/app/nominas?action=listarNominas'/>" class="btn-secundario">Ver nóminas</a>
+                <a href="<c:url value='/index.jsp'/>" class="btn-secundario">Volver al inicio</a>
+            </div>
+        </section>
+    </main>
+
+    <footer>
+        <p>© 2025 Gestión de Nóminas</p>
+    </footer>
+</body>
+</html>
@@ -60,6 +60,24 @@
             </c:choose>
 
             <div class="acciones">
+                <c:if test="${not empty param.desde}">
+                    <a href="<c:url value='/app/empleados?action=listar'/>" class="btn-secundario">Primera página</a>
+                </c:if>
+                <c:if test="${pagina.hayMas}">
+                    <form action="<c:url value='/app/empleados'/>" method="post" style="display:inline;">
+                        <input type="hidden" name="action" value="listar">
+                        <input type="hidden" name="desde" value="<c:out value='${pagina.siguienteCursor}'/>">
+                        <input type="hidden" name="tam" value="<c:out value='${pagina.tamanyo}'/>">
+                        <button type="submit" class="btn-secundario">Página siguiente</button>
+                    </form>
+                </c:if>
+            </div>
+
+            <div class="acciones">
+                <form action="<c:url value='/app/empleados'/>" method="post" style="display:inline;">
+                    <input type="hidden" name="action" value="incrementarAntiguedad">
+                    <button type="submit" class="btn-secundario">Incremento anual de antigüedad</button>
+                </form>
                 <a href="<c:url value='/index.jsp'/>" class="btn-secundario">Volver al inicio</a>
             </div>
         </section>
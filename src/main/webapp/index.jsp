@@ -22,6 +22,9 @@
                     <a href="<c:url value='/app/empleados?action=listar'/>" class="btn-menu">Ver todos los empleados</a>
                     <a href="<c:url value='/app/nominas?action=formularioSalario'/>" class="btn-menu">Consultar salario</a>
                     <a href="<c:url value='/app/empleados?action=buscarForm'/>" class="btn-menu">Modificar empleado</a>
+                    <a href="<c:url value='/app/empleados?action=exportar&formato=csv'/>" class="btn-menu">Exportar empleados (CSV)</a>
+                    <a href="<c:url value='/app/empleados?action=importarForm'/>" class="btn-menu">Importar empleados (CSV)</a>
+                    <a href="<c:url value='/app/nominas?action=exportar&formato=csv'/>" class="btn-menu">Exportar nóminas (CSV)</a>
                 </nav>
             </div>
         </section>
@@ -49,6 +49,10 @@
             </c:choose>
 
             <div class="acciones">
+                <form action="<c:url value='/app/nominas'/>" method="post" style="display:inline;">
+                    <input type="hidden" name="action" value="recalcularSueldos">
+                    <button type="submit" class="btn-secundario">Recalcular todos los sueldos</button>
+                </form>
                 <a href="<c:url value='/index.jsp'/>" class="btn-secundario">Volver al inicio</a>
             </div>
         </section>
@@ -23,6 +23,15 @@
                 <input type="submit" value="Consultar salario" class="btn">
             </form>
 
+            <form action="<c:url value='/app/nominas'/>" method="post" class="form-dark">
+                <input type="hidden" name="action" value="consultarSalarios" />
+
+                <label for="dnis">Varios DNI (uno por línea o separados por comas), descarga CSV:</label>
+                <textarea id="dnis" name="dnis" rows="5" required placeholder="11111111A&#10;22222222B"></textarea>
+
+                <input type="submit" value="Descargar salarios" class="btn">
+            </form>
+
             <div class="acciones">
                 <a href="<c:url value='/index.jsp'/>" class="btn-secundario">Volver</a>
             </div>
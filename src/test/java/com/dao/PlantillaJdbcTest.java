@@ -0,0 +1,82 @@
+package com.dao;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.model.Empleado;
+
+/**
+ * Tests unitarios para PlantillaJdbc usando Mockito.
+ * Verifica que las filas por elemento son exactas aunque el driver responda SUCCESS_NO_INFO.
+ */
+public class PlantillaJdbcTest {
+    
+    private PlantillaJdbc plantilla;
+    private Connection con;
+    private PreparedStatement ps;
+    private Savepoint savepoint;
+    
+    @Before
+    public void setUp() throws Exception {
+        plantilla = new PlantillaJdbc("empleados", 500, 1000);
+        con = mock(Connection.class);
+        ps = mock(PreparedStatement.class);
+        savepoint = mock(Savepoint.class);
+        when(con.prepareStatement(anyString())).thenReturn(ps);
+        when(con.setSavepoint()).thenReturn(savepoint);
+    }
+    
+    @Test
+    public void testLoteConFilasExactas() throws Exception {
+        when(ps.executeBatch()).thenReturn(new int[] {1, 0});
+        
+        int[] filas = plantilla.ejecutarLotePorElemento(con, SentenciasSQL.EMPLEADO_ACTUALIZAR,
+                empleados(), (sentencia, e) -> sentencia.setString(1, e.getDni()));
+        
+        assertArrayEquals(new int[] {1, 0}, filas);
+        verify(con).releaseSavepoint(savepoint);
+        verify(con, never()).rollback(any(Savepoint.class));
+        verify(ps, never()).executeUpdate();
+    }
+    
+    @Test
+    public void testLoteSinInformacionSeRepiteFilaAFila() throws Exception {
+        // MariaDB con useBulkStmts: el lote no dice qué filas encontraron su versión
+        when(ps.executeBatch()).thenReturn(new int[] {Statement.SUCCESS_NO_INFO, Statement.SUCCESS_NO_INFO});
+        when(ps.executeUpdate()).thenReturn(1, 0, 1, 0);
+        
+        int[] filas = plantilla.ejecutarLotePorElemento(con, SentenciasSQL.EMPLEADO_ACTUALIZAR,
+                empleados(), (sentencia, e) -> sentencia.setString(1, e.getDni()));
+        
+        // La empleada con versión antigua no cuenta como actualizada: EmpleadosDAO comprueba el conflicto
+        assertArrayEquals(new int[] {1, 0}, filas);
+        verify(con).rollback(savepoint);
+        verify(ps, times(2)).executeUpdate();
+        
+        // Las siguientes escrituras con filas exactas van directamente fila a fila
+        filas = plantilla.ejecutarLotePorElemento(con, SentenciasSQL.EMPLEADO_ACTUALIZAR,
+                empleados(), (sentencia, e) -> sentencia.setString(1, e.getDni()));
+        assertArrayEquals(new int[] {1, 0}, filas);
+        verify(ps, times(1)).executeBatch();
+        verify(ps, times(4)).executeUpdate();
+    }
+    
+    private static List<Empleado> empleados() throws Exception {
+        Empleado juan = new Empleado("Juan", "12345678A", "M", 5, 10);
+        Empleado maria = new Empleado("María", "87654321B", "F", 3, 5);
+        juan.setVersion(3);
+        maria.setVersion(7);
+        return Arrays.asList(juan, maria);
+    }
+}
@@ -0,0 +1,70 @@
+package com.service;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.model.Empleado;
+
+/**
+ * Tests unitarios para el decorador de caché de EmpleadoService.
+ */
+public class EmpleadoServiceCacheTest {
+    
+    private EmpleadoServiceCache service;
+    private IEmpleadoService mockDelegado;
+    
+    @Before
+    public void setUp() {
+        mockDelegado = mock(IEmpleadoService.class);
+        service = new EmpleadoServiceCache(mockDelegado, 2, 300);
+    }
+    
+    @Test
+    public void testBuscarPorDniUsaCache() throws Exception {
+        Empleado emp = new Empleado("Juan", "12345678A", "M", 5, 10);
+        when(mockDelegado.buscarEmpleadoPorDni("12345678A")).thenReturn(emp);
+        
+        assertSame(emp, service.buscarEmpleadoPorDni("12345678A"));
+        assertSame(emp, service.buscarEmpleadoPorDni("12345678A"));
+        
+        verify(mockDelegado, times(1)).buscarEmpleadoPorDni("12345678A");
+        assertEquals(1, service.getCache().getAciertos());
+        assertEquals(1, service.getCache().getFallos());
+    }
+    
+    @Test
+    public void testActualizarInvalidaEntrada() throws Exception {
+        Empleado antes = new Empleado("Juan", "12345678A", "M", 5, 10);
+        Empleado despues = new Empleado("Juan", "12345678A", "M", 6, 10);
+        when(mockDelegado.buscarEmpleadoPorDni("12345678A")).thenReturn(antes, despues);
+        
+        when(mockDelegado.actualizarEmpleado(despues)).thenReturn(true);
+        
+        service.buscarEmpleadoPorDni("12345678A");
+        service.actualizarEmpleado(despues);
+        
+        // Tras la escritura se relee de la fuente: nunca el dato obsoleto
+        assertEquals(6, service.buscarEmpleadoPorDni("12345678A").getCategoria());
+        verify(mockDelegado, times(2)).buscarEmpleadoPorDni("12345678A");
+    }
+    
+    @Test
+    public void testExpulsionLRU() throws Exception {
+        when(mockDelegado.buscarEmpleadoPorDni(anyString()))
+            .thenAnswer(inv -> new Empleado("X", inv.getArgument(0), "M", 1, 0));
+        
+        service.buscarEmpleadoPorDni("11111111A");
+        service.buscarEmpleadoPorDni("22222222B");
+        service.buscarEmpleadoPorDni("11111111A"); // A pasa a ser el más reciente
+        service.buscarEmpleadoPorDni("33333333C"); // expulsa a B
+        
+        assertEquals(2, service.getCache().getTamanyo());
+        assertEquals(1, service.getCache().getExpulsiones());
+        
+        service.buscarEmpleadoPorDni("11111111A");
+        verify(mockDelegado, times(1)).buscarEmpleadoPorDni("11111111A");
+    }
+}
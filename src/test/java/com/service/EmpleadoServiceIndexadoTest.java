@@ -0,0 +1,163 @@
+package com.service;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.dao.ProcesadorFilas;
+import com.model.AlmacenEmpleados;
+import com.model.ConsultaEmpleados;
+import com.model.Empleado;
+
+/**
+ * Tests unitarios para el decorador con índice en memoria de EmpleadoService.
+ */
+public class EmpleadoServiceIndexadoTest {
+
+    private EmpleadoServiceIndexado service;
+    private IEmpleadoService mockDelegado;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        List<Empleado> plantilla = Arrays.asList(
+                new Empleado("Juan Pérez", "11111111A", "M", 4, 8),
+                new Empleado("María Gómez", "22222222B", "F", 6, 10),
+                new Empleado("Ana Fernández", "44444444D", "F", 9, 15),
+                new Empleado("Lucía Martínez", "66666666F", "F", 5, 3));
+
+        mockDelegado = mock(IEmpleadoService.class);
+        doAnswer(inv -> {
+            ProcesadorFilas<Empleado> procesador = inv.getArgument(0);
+            for (Empleado e : plantilla) {
+                procesador.procesar(e);
+            }
+            return null;
+        }).when(mockDelegado).recorrerEmpleados(any(ProcesadorFilas.class));
+
+        service = new EmpleadoServiceIndexado(mockDelegado);
+    }
+
+    @Test
+    public void testConsultaCombinadaSinAccederAlDelegado() throws Exception {
+        List<Empleado> resultado = service.consultarEmpleados(
+                new ConsultaEmpleados().categoria(4, 6).sexo("F").nombreContiene("ez"));
+
+        // María Gómez (categoría 6) y Lucía Martínez (categoría 5); no Ana Fernández (categoría 9)
+        assertEquals(2, resultado.size());
+        assertEquals("22222222B", resultado.get(0).getDni());
+        assertEquals("66666666F", resultado.get(1).getDni());
+        verify(mockDelegado, never()).consultarEmpleados(any(ConsultaEmpleados.class));
+    }
+
+    @Test
+    public void testNombreConTrigramasSinTildes() throws Exception {
+        List<Empleado> resultado = service.consultarEmpleados(new ConsultaEmpleados().nombreContiene("FERNANDEZ"));
+
+        assertEquals(1, resultado.size());
+        assertEquals("Ana Fernández", resultado.get(0).getNombre());
+    }
+
+    @Test
+    public void testActualizarRefrescaIndice() throws Exception {
+        Empleado modificado = new Empleado("Juan Pérez", "11111111A", "M", 7, 8);
+        when(mockDelegado.actualizarEmpleado(modificado)).thenReturn(true);
+
+        service.actualizarEmpleado(modificado);
+
+        assertTrue(service.consultarEmpleados(new ConsultaEmpleados().categoria(4, 4)).isEmpty());
+        assertEquals(1, service.consultarEmpleados(new ConsultaEmpleados().categoria(7, 7).dniEmpieza("111")).size());
+    }
+
+    @Test
+    public void testActualizacionesDelMismoDniEnOrden() throws Exception {
+        Empleado primera = new Empleado("Juan Pérez", "11111111A", "M", 5, 8);
+        Empleado segunda = new Empleado("Juan Pérez", "11111111A", "M", 6, 8);
+        CountDownLatch escribiendo = new CountDownLatch(1);
+        CountDownLatch continuar = new CountDownLatch(1);
+        when(mockDelegado.actualizarEmpleado(primera)).thenAnswer(inv -> {
+            escribiendo.countDown();
+            continuar.await(5, TimeUnit.SECONDS);
+            return true;
+        });
+        when(mockDelegado.actualizarEmpleado(segunda)).thenReturn(true);
+
+        ExecutorService hilos = Executors.newFixedThreadPool(2);
+        try {
+            Future<Boolean> uno = hilos.submit(() -> service.actualizarEmpleado(primera));
+            assertTrue(escribiendo.await(5, TimeUnit.SECONDS));
+            Future<Boolean> dos = hilos.submit(() -> service.actualizarEmpleado(segunda));
+
+            // La segunda espera a que la primera escriba y refresque el índice
+            Thread.sleep(100);
+            verify(mockDelegado, never()).actualizarEmpleado(segunda);
+            continuar.countDown();
+            assertTrue(uno.get(5, TimeUnit.SECONDS));
+            assertTrue(dos.get(5, TimeUnit.SECONDS));
+        } finally {
+            hilos.shutdownNow();
+        }
+        assertEquals(1, service.consultarEmpleados(new ConsultaEmpleados().categoria(6, 6).dniEmpieza("111")).size());
+    }
+
+    @Test
+    public void testIndiceEnColumnas() throws Exception {
+        IndiceEmpleados indice = new IndiceEmpleados();
+        indice.actualizar(new Empleado("Pedro Ruiz", "12345678Z", "M", 2, 1));
+        indice.actualizar(new Empleado("Eva Sanz", "1234", "F", 3, 2));
+        indice.actualizar(new Empleado("Íñigo Peña", "X1234567L", "M", 4, 3));
+        Empleado conVersion = new Empleado("Rosa Gil", "12345679A", "F", 5, 4);
+        conVersion.setVersion(7);
+        indice.actualizar(conVersion);
+
+        // Prefijo sobre DNI de distinta longitud: el orden empaquetado es el alfabético
+        List<Empleado> prefijo = indice.consultar(new ConsultaEmpleados().dniEmpieza("1234"));
+        assertEquals(3, prefijo.size());
+        assertEquals(1, indice.consultar(new ConsultaEmpleados().dniEmpieza("12345678Z")).size());
+        assertTrue(indice.consultar(new ConsultaEmpleados().dniEmpieza("12345678ZZ")).isEmpty());
+
+        // Sustituir el nombre: el antiguo deja de encontrarse y se conserva la versión
+        indice.actualizar(new Empleado("Íñigo Peña Ortiz", "X1234567L", "M", 4, 3));
+        assertEquals("Íñigo Peña Ortiz", indice.consultar(new ConsultaEmpleados().nombreContiene("pena o")).get(0).getNombre());
+        assertEquals(7, indice.consultar(new ConsultaEmpleados().dniEmpieza("12345679")).get(0).getVersion());
+
+        indice.eliminar("1234");
+        assertEquals(3, indice.getTamanyo());
+        assertEquals(2, indice.consultar(new ConsultaEmpleados().dniEmpieza("1234")).size());
+    }
+
+    @Test
+    public void testCategoriasFueraDeLaEscalaInicial() throws Exception {
+        IndiceEmpleados indice = new IndiceEmpleados();
+        Empleado nueva = new Empleado("Pedro Ruiz", "12345678Z", "M", 2, 1);
+        nueva.setCategoria(12);
+        indice.actualizar(nueva);
+        indice.actualizar(new Empleado("Eva Sanz", "87654321X", "F", 10, 2));
+
+        assertEquals(2, indice.consultar(new ConsultaEmpleados()).size());
+        assertEquals("12345678Z", indice.consultar(new ConsultaEmpleados().categoria(11, 12)).get(0).getDni());
+        assertEquals(1, indice.consultar(new ConsultaEmpleados().categoria(1, 10)).size());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testVistaDeSoloLectura() throws Exception {
+        AlmacenEmpleados almacen = new AlmacenEmpleados(4);
+        int id = almacen.anyadir(new Empleado("Juan Pérez", "11111111A", "M", 4, 8));
+        Empleado vista = almacen.vista(id);
+        assertEquals("Juan Pérez", vista.getNombre());
+        assertEquals("11111111A", vista.getDni());
+        assertSame("M", vista.getSexo());
+        assertEquals(8, vista.getAnyos());
+        vista.incrAnyo();
+    }
+}
@@ -3,16 +3,26 @@ package com.service;
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
 
+import java.io.StringReader;
 import java.sql.SQLException;
 import java.util.Arrays;
 import java.util.List;
 
+import javax.servlet.http.HttpServletRequest;
+
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 
 import com.dao.IEmpleadoDAO;
+import com.exceptions.ConflictoConcurrenciaException;
 import com.exceptions.DatosNoCorrectosException;
+import com.model.CalculadoraSueldos;
+import com.model.CriterioBusqueda;
 import com.model.Empleado;
+import com.model.EscalaSalarial;
+import com.model.Pagina;
+import com.model.ResultadoImportacion;
 
 /**
  * Tests unitarios para EmpleadoService usando Mockito.
@@ -81,4 +91,182 @@ public class EmpleadoServiceTest {
         // Ejecutar con DNI nulo debe lanzar excepción
         service.buscarEmpleadoPorDni(null);
     }
+    
+    @Test
+    public void testListarEmpleadosPaginados() throws SQLException, DatosNoCorrectosException {
+        Empleado emp = new Empleado("Juan", "12345678A", "M", 5, 10);
+        Pagina<Empleado> pagina = new Pagina<>(Arrays.asList(emp), "12345678A", 1);
+        when(mockDAO.listarPagina("00000000X", 1)).thenReturn(pagina);
+        
+        Pagina<Empleado> resultado = service.listarEmpleadosPaginados("00000000X", 1);
+        
+        assertEquals(1, resultado.getElementos().size());
+        assertTrue(resultado.isHayMas());
+        assertEquals("12345678A", resultado.getSiguienteCursor());
+        verify(mockDAO).listarPagina("00000000X", 1);
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testListarEmpleadosPaginadosTamanyoExcesivo() throws SQLException, DatosNoCorrectosException {
+        service.listarEmpleadosPaginados(null, IEmpleadoService.TAMANYO_PAGINA_MAXIMO + 1);
+    }
+    
+    @Test
+    public void testActualizarDesdeFormularioConVersionManipulada() throws Exception {
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        when(request.getParameter("nombre")).thenReturn("Juan");
+        when(request.getParameter("dni")).thenReturn("12345678A");
+        when(request.getParameter("sexo")).thenReturn("M");
+        when(request.getParameter("categoria")).thenReturn("5");
+        when(request.getParameter("anyos")).thenReturn("10");
+        
+        for (String version : new String[] {"abc", "-1"}) {
+            when(request.getParameter("version")).thenReturn(version);
+            try {
+                service.actualizarEmpleado(request);
+                fail("Versión no válida aceptada: " + version);
+            } catch (DatosNoCorrectosException e) {
+                assertTrue(e.getMessage().contains(version));
+            }
+        }
+        verify(mockDAO, never()).actualizar(any(Empleado.class));
+    }
+    
+    @Test
+    public void testIncrementarAntiguedadCategoriaSegunEscala() throws SQLException {
+        // Escala con 3 categorías: la 3 es válida y la 4 no
+        CalculadoraSueldos calculadora = new CalculadoraSueldos(
+                new EscalaSalarial(2, new double[] {30000, 40000, 50000}, 1000));
+        service = new EmpleadoService(mockDAO, calculadora);
+        
+        service.incrementarAntiguedad(3);
+        verify(mockDAO).incrementarAntiguedad(3);
+        try {
+            service.incrementarAntiguedad(4);
+            fail("La categoría 4 no está en la escala");
+        } catch (IllegalArgumentException e) {
+            verify(mockDAO, never()).incrementarAntiguedad(4);
+        }
+    }
+    
+    @Test
+    public void testBuscarEmpleadosNormalizaCriterio() throws SQLException, DatosNoCorrectosException {
+        Pagina<Empleado> vacia = new Pagina<>(Arrays.<Empleado>asList(), null, 50);
+        when(mockDAO.buscarPorCriterio(any(CriterioBusqueda.class))).thenReturn(vacia);
+        
+        service.buscarEmpleadosPorCriterio(new CriterioBusqueda("sexo", " f ", null, 50));
+        
+        ArgumentCaptor<CriterioBusqueda> captor = ArgumentCaptor.forClass(CriterioBusqueda.class);
+        verify(mockDAO).buscarPorCriterio(captor.capture());
+        assertEquals("F", captor.getValue().getValor());
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testBuscarEmpleadosCategoriaNoNumerica() throws SQLException, DatosNoCorrectosException {
+        service.buscarEmpleadosPorCriterio(new CriterioBusqueda("categoria", "5%", null, 50));
+    }
+    
+    @Test
+    public void testActualizarEmpleadoInexistente() throws SQLException, DatosNoCorrectosException {
+        Empleado emp = new Empleado("Juan", "12345678A", "M", 5, 10);
+        when(mockDAO.actualizar(emp)).thenReturn(false);
+        
+        try {
+            service.actualizarEmpleado(emp);
+            fail("Debería lanzar SQLException");
+        } catch (SQLException e) {
+            assertTrue(e.getMessage().contains("12345678A"));
+        }
+    }
+    
+    @Test
+    public void testActualizarEmpleadoConflictoSePropagaSinEnvolver() throws SQLException, DatosNoCorrectosException {
+        Empleado emp = new Empleado("Juan", "12345678A", "M", 5, 10);
+        emp.setVersion(3);
+        when(mockDAO.actualizar(emp)).thenThrow(new ConflictoConcurrenciaException("12345678A", 3, 4));
+        
+        try {
+            service.actualizarEmpleado(emp);
+            fail("Debería lanzar ConflictoConcurrenciaException");
+        } catch (ConflictoConcurrenciaException e) {
+            // Reintentable: mismo tipo y SQLSTATE de fallo de serialización
+            assertEquals(4, e.getVersionActual());
+            assertEquals("40001", e.getSQLState());
+        }
+    }
+    
+    @Test
+    public void testActualizarEmpleadosPorLotes() throws SQLException, DatosNoCorrectosException {
+        List<Empleado> lote = Arrays.asList(new Empleado("Juan", "12345678A", "M", 5, 10),
+                new Empleado("María", "87654321B", "F", 3, 5));
+        when(mockDAO.actualizarTodos(lote)).thenReturn(2);
+        
+        assertEquals(2, service.actualizarEmpleados(lote));
+        verify(mockDAO).actualizarTodos(lote);
+        verify(mockDAO, never()).actualizar(any(Empleado.class));
+    }
+    
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testImportarEmpleadosInformaErroresPorFila() throws Exception {
+        // El lote falla por el DNI duplicado: se reintenta fila a fila y sólo ésa queda en el informe
+        doAnswer(inv -> {
+            List<Empleado> lote = inv.getArgument(0);
+            for (Empleado e : lote) {
+                if ("33333333C".equals(e.getDni())) {
+                    throw new SQLException("Duplicate entry '33333333C'", "23000");
+                }
+            }
+            return null;
+        }).when(mockDAO).insertarConNomina(anyList(), any(double[].class));
+        
+        String csv = "dni,nombre,sexo,categoria,anyos\r\n"
+                + "11111111a,Ana,F,3,2\r\n"
+                + "22222222B,Luis,X,3,2\r\n"
+                + "33333333C,Eva,F,1,0\r\n"
+                + "44444444D,Pepe,M,11,5\r\n"
+                + "55555555E,\"Gil, Rosa\",F,10,30\r\n";
+        
+        ResultadoImportacion resultado = service.importarEmpleados(new StringReader(csv));
+        
+        assertTrue(resultado.isCompletado());
+        assertEquals(5, resultado.getFilasLeidas());
+        assertEquals(2, resultado.getFilasInsertadas());
+        assertEquals(3, resultado.getTotalErrores());
+        assertEquals(Arrays.asList(3L, 4L, 5L), Arrays.asList(resultado.getErrores().get(0).getLinea(),
+                resultado.getErrores().get(1).getLinea(), resultado.getErrores().get(2).getLinea()));
+        assertEquals("33333333C", resultado.getErrores().get(1).getDni());
+        
+        // Un lote con las 3 filas válidas y después cada una por separado
+        ArgumentCaptor<List<Empleado>> lotes = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<double[]> sueldos = ArgumentCaptor.forClass(double[].class);
+        verify(mockDAO, times(4)).insertarConNomina(lotes.capture(), sueldos.capture());
+        assertEquals(3, lotes.getAllValues().get(0).size());
+        assertEquals("11111111A", lotes.getAllValues().get(0).get(0).getDni());
+        assertEquals("Gil, Rosa", lotes.getAllValues().get(0).get(2).getNombre());
+        assertEquals(3, sueldos.getAllValues().get(0).length);
+    }
+    
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testImportarCategoriaFueraDeLaEscalaVigente() throws Exception {
+        // Escala con 3 categorías: la fila de categoría 5 va al informe y el resto se importa
+        CalculadoraSueldos calculadora = new CalculadoraSueldos(
+                new EscalaSalarial(2, new double[] {30000, 40000, 50000}, 1000));
+        ImportacionEmpleados importacion = new ImportacionEmpleados(mockDAO, 10, 2, 10, calculadora);
+        
+        String csv = "11111111A,Ana,F,3,2\n"
+                + "22222222B,Luis,M,5,1\n"
+                + "33333333C,Eva,F,1,0\n";
+        
+        ResultadoImportacion resultado = importacion.ejecutar(new StringReader(csv));
+        
+        assertTrue(resultado.isCompletado());
+        assertEquals(2, resultado.getFilasInsertadas());
+        assertEquals(1, resultado.getTotalErrores());
+        assertEquals("22222222B", resultado.getErrores().get(0).getDni());
+        ArgumentCaptor<double[]> sueldos = ArgumentCaptor.forClass(double[].class);
+        verify(mockDAO).insertarConNomina(anyList(), sueldos.capture());
+        assertArrayEquals(new double[] {52000, 30000}, sueldos.getValue(), 0.001);
+    }
 }
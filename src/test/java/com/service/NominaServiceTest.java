@@ -0,0 +1,305 @@
+package com.service;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.sql.SQLDataException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+
+import com.dao.IEmpleadoDAO;
+import com.dao.IEscalaSalarialDAO;
+import com.dao.INominaDAO;
+import com.dao.ProcesadorNominas;
+import com.model.CalculadoraSueldos;
+import com.model.Empleado;
+import com.model.EscalaSalarial;
+import com.model.ListadoNominas;
+import com.model.NominaEmpleado;
+import com.model.RegistroNomina;
+import com.model.SueldosPorDni;
+import com.util.MetricasPeticiones;
+
+/**
+ * Tests unitarios para NominaService usando Mockito.
+ * Verifica que el listado de nóminas se resuelve con una sola consulta.
+ */
+public class NominaServiceTest {
+    
+    private NominaService service;
+    private IEmpleadoDAO mockEmpleadoDAO;
+    private INominaDAO mockNominaDAO;
+    
+    @Before
+    public void setUp() {
+        mockEmpleadoDAO = mock(IEmpleadoDAO.class);
+        mockNominaDAO = mock(INominaDAO.class);
+        service = new NominaService(mockEmpleadoDAO, mockNominaDAO);
+    }
+    
+    @Test
+    public void testListarTodasLasNominasUnaSolaConsulta() throws Exception {
+        final Empleado conNomina = new Empleado("Juan", "12345678A", "M", 5, 10);
+        final Empleado sinNomina = new Empleado("María", "87654321B", "F", 3, 5);
+        
+        // Simular el recorrido del JOIN: una fila con sueldo y otra sin nómina
+        doAnswer(invocacion -> {
+            ProcesadorNominas procesador = invocacion.getArgument(0);
+            procesador.procesar(conNomina, 200000.0, true);
+            procesador.procesar(sinNomina, 0.0, false);
+            return null;
+        }).when(mockNominaDAO).recorrerNominasConEmpleados(any(ProcesadorNominas.class));
+        
+        ListadoNominas resultado = service.listarTodasLasNominas();
+        
+        assertEquals(2, resultado.size());
+        assertEquals(200000.0, resultado.salarioEn(0), 0.0);
+        // Sin sueldo almacenado se calcula con Nomina: 90000 + 5 * 5000
+        assertEquals(115000.0, resultado.get(1).getSalario(), 0.0);
+        assertSame(sinNomina, resultado.get(1).getEmpleado());
+        
+        // Ni listado de empleados ni consultas de nómina por DNI (sin N+1)
+        verify(mockNominaDAO, times(1)).recorrerNominasConEmpleados(any(ProcesadorNominas.class));
+        verify(mockNominaDAO, never()).obtenerNomina(anyString());
+        verify(mockEmpleadoDAO, never()).listar();
+    }
+    
+    @Test
+    public void testConsultasSimultaneasMismoDniCompartenLectura() throws Exception {
+        final Empleado empleado = new Empleado("Juan", "12345678A", "M", 5, 10);
+        final CountDownLatch leyendo = new CountDownLatch(1);
+        final CountDownLatch liberar = new CountDownLatch(1);
+        
+        // La primera lectura se queda bloqueada hasta que el resto de consultas esté esperando
+        when(mockEmpleadoDAO.obtenerEmpleado("12345678A")).thenAnswer(invocacion -> {
+            leyendo.countDown();
+            liberar.await();
+            return empleado;
+        });
+        when(mockNominaDAO.obtenerNomina("12345678A")).thenReturn(null);
+        
+        ExecutorService hilos = Executors.newFixedThreadPool(4);
+        List<Future<NominaEmpleado>> resultados = new ArrayList<>();
+        resultados.add(hilos.submit(() -> service.consultarSalarioEmpleado("12345678A")));
+        leyendo.await();
+        // El mismo DNI escrito de otra forma comparte también la lectura
+        for (String dni : new String[] {"12345678A", "12345678a", " 12345678A "}) {
+            resultados.add(hilos.submit(() -> service.consultarSalarioEmpleado(dni)));
+        }
+        while (service.getConsultasSalario().getCompartidas() < 3) {
+            Thread.sleep(1);
+        }
+        liberar.countDown();
+        
+        for (Future<NominaEmpleado> r : resultados) {
+            // Sin nómina almacenada: 130000 + 10 * 5000
+            assertEquals(180000.0, r.get().getSalario(), 0.0);
+        }
+        hilos.shutdown();
+        
+        verify(mockEmpleadoDAO, times(1)).obtenerEmpleado("12345678A");
+        verify(mockNominaDAO, times(1)).obtenerNomina("12345678A");
+        assertEquals(4, service.getConsultasSalario().getLlamadas());
+    }
+    
+    @Test
+    public void testConsultarSueldosDelegaEnBloquesAlDAO() throws Exception {
+        SueldosPorDni sueldos = new SueldosPorDni(2);
+        sueldos.anyadir("11111111A", 100000.0);
+        sueldos.anyadir("22222222B", 150000.0);
+        List<String> dnis = Arrays.asList("22222222B", "11111111A", "33333333C");
+        when(mockNominaDAO.obtenerSueldos(eq(dnis), anyInt())).thenReturn(sueldos);
+        
+        SueldosPorDni resultado = service.consultarSueldos(dnis);
+        
+        assertEquals(2, resultado.getTamanyo());
+        assertEquals(150000.0, resultado.getSueldo("22222222B"), 0.0);
+        assertNull(resultado.getSueldo("33333333C"));
+        verify(mockNominaDAO, times(1)).obtenerSueldos(eq(dnis), anyInt());
+        verify(mockNominaDAO, never()).obtenerNomina(anyString());
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testConsultarSueldosSinDnis() throws Exception {
+        service.consultarSueldos(Collections.<String>emptyList());
+    }
+    
+    @Test
+    public void testCalculoEnBloqueIgualQueUnoAUno() {
+        int[] categorias = {1, 4, 10, 7, 3};
+        int[] anyos = {0, 8, 40, 1, Integer.MAX_VALUE / 2};
+        EscalaSalarial[] escalas = {
+            EscalaSalarial.INICIAL,                                                  // lineal y entera
+            new EscalaSalarial(2, new double[] {1000.5, 1500.5, 2000.5, 2500.5, 3000.5,
+                    3500.5, 4000.5, 4500.5, 5000.5, 5500.5}, 12.25),                // lineal con decimales
+            new EscalaSalarial(3, new double[] {50000, 72000, 90000, 115000, 130000,
+                    152000, 170000, 195000, 210000, 240000}, 5000)                   // tabla
+        };
+        
+        // Con 4 posiciones la escala entera calcula en int; la quinta no cabe y obliga a double
+        for (EscalaSalarial escala : escalas) {
+            for (int longitud = 4; longitud <= 5; longitud++) {
+                double[] sueldos = new double[longitud];
+                escala.calcular(categorias, anyos, sueldos, longitud);
+                for (int i = 0; i < longitud; i++) {
+                    assertEquals(escala + " posición " + i, escala.sueldo(categorias[i], anyos[i]), sueldos[i], 0.0);
+                }
+            }
+        }
+        assertEquals(110000 + 8 * 5000, new CalculadoraSueldos(EscalaSalarial.INICIAL).sueldo(4, 8), 0.0);
+    }
+    
+    @Test
+    public void testCalculoEnBloqueValidaAntesDeEscribir() {
+        CalculadoraSueldos calculadora = new CalculadoraSueldos(EscalaSalarial.INICIAL);
+        double[] sueldos = new double[3];
+        try {
+            calculadora.calcular(new int[] {1, 11, 2}, new int[] {0, 0, 0}, sueldos, 3);
+            fail("Debería rechazar la categoría 11");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("posición 1"));
+        }
+        assertArrayEquals(new double[3], sueldos, 0.0);
+        
+        // Sólo se publica una escala de versión posterior
+        try {
+            calculadora.publicar(EscalaSalarial.INICIAL);
+            fail("Debería rechazar una versión no posterior");
+        } catch (IllegalArgumentException e) {
+            assertEquals(1, calculadora.getEscala().getVersion());
+        }
+    }
+    
+    @Test
+    public void testRecargaEscalaSoloLeeLaTablaSiHayVersionPosterior() throws Exception {
+        IEscalaSalarialDAO escalaDAO = mock(IEscalaSalarialDAO.class);
+        CalculadoraSueldos calculadora = new CalculadoraSueldos(EscalaSalarial.INICIAL);
+        RecargaEscalaSalarial recarga = new RecargaEscalaSalarial(escalaDAO, calculadora);
+        
+        // Misma versión: sólo la consulta de sondeo
+        when(escalaDAO.obtenerVersionVigente()).thenReturn(1);
+        assertFalse(recarga.recargar());
+        verify(escalaDAO, never()).obtenerVigente();
+        
+        EscalaSalarial v2 = new EscalaSalarial(2, new double[] {60000, 80000}, 1000);
+        when(escalaDAO.obtenerVersionVigente()).thenReturn(2);
+        when(escalaDAO.obtenerVigente()).thenReturn(v2);
+        assertTrue(recarga.recargar());
+        assertSame(v2, calculadora.getEscala());
+        assertEquals(80000 + 3 * 1000, calculadora.sueldo(2, 3), 0.0);
+        
+        // Una versión anterior en la tabla no sustituye a la vigente
+        when(escalaDAO.obtenerVersionVigente()).thenReturn(1);
+        try {
+            recarga.recargar();
+            fail("Debería rechazar una versión anterior");
+        } catch (SQLDataException e) {
+            assertSame(v2, calculadora.getEscala());
+        }
+        assertEquals(1, recarga.getRecargas());
+        assertEquals(1, recarga.getErrores());
+    }
+    
+    @Test
+    public void testRecalculoRecargaLaEscalaAntes() throws Exception {
+        IEscalaSalarialDAO escalaDAO = mock(IEscalaSalarialDAO.class);
+        when(escalaDAO.obtenerVersionVigente()).thenReturn(1);
+        service = new NominaService(mockEmpleadoDAO, mockNominaDAO,
+                new RecargaEscalaSalarial(escalaDAO, new CalculadoraSueldos(EscalaSalarial.INICIAL)));
+        
+        service.recalcularSueldos(null);
+        
+        InOrder orden = inOrder(escalaDAO, mockNominaDAO);
+        orden.verify(escalaDAO).obtenerVersionVigente();
+        orden.verify(mockNominaDAO).recalcularSueldos(isNull(), anyInt(), anyInt());
+    }
+    
+    @Test
+    public void testMetricasSoloDelServicioRegistrado() throws Exception {
+        Empleado empleado = new Empleado("Juan", "12345678A", "M", 5, 10);
+        when(mockEmpleadoDAO.obtenerEmpleado("12345678A")).thenReturn(empleado);
+        MetricasPeticiones metricas = MetricasPeticiones.getInstancia();
+        service.registrarMetricas(metricas);
+        service.consultarSalarioEmpleado("12345678A");
+        
+        // Otro servicio (p. ej. de un test) no sustituye al contador publicado
+        new NominaService(mockEmpleadoDAO, mockNominaDAO);
+        
+        assertTrue(metricas.toPrometheus().contains("\nempresa_salario_consultas_total 1\n"));
+    }
+    
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testEscrituraDiferidaCombinaPorDni() throws Exception {
+        when(mockNominaDAO.actualizarSueldos(anyList())).thenReturn(new int[] {1, 0});
+        // Intervalo largo: nada se escribe hasta vaciar()
+        EscrituraDiferidaSueldos escritura = new EscrituraDiferidaSueldos(mockNominaDAO, 100, 100, 60000, 1000);
+        service = new NominaService(mockEmpleadoDAO, mockNominaDAO, null, escritura);
+        try {
+            CompletableFuture<Boolean> primera = service.actualizarSueldoDiferido("12345678A", 100000);
+            CompletableFuture<Boolean> segunda = service.actualizarSueldoDiferido(" 12345678a", 120000);
+            CompletableFuture<Boolean> sinNomina = service.actualizarSueldoDiferido("87654321B", 90000);
+            
+            assertSame(primera, segunda);
+            assertFalse(primera.isDone());
+            assertEquals(2, escritura.getPendientes());
+            assertEquals(1, escritura.getCombinadas());
+            verify(mockNominaDAO, never()).actualizarSueldos(anyList());
+            
+            escritura.vaciar();
+            
+            ArgumentCaptor<List<RegistroNomina>> lote = ArgumentCaptor.forClass(List.class);
+            verify(mockNominaDAO).actualizarSueldos(lote.capture());
+            assertEquals(2, lote.getValue().size());
+            assertEquals("12345678A", lote.getValue().get(0).getDni());
+            assertEquals(120000, lote.getValue().get(0).getSueldo(), 0.001);
+            assertEquals("87654321B", lote.getValue().get(1).getDni());
+            assertTrue(primera.get());
+            assertFalse(sinNomina.get());
+            assertEquals(0, escritura.getPendientes());
+            verify(mockNominaDAO, never()).actualizarSueldo(anyString(), anyDouble());
+        } finally {
+            escritura.cerrar();
+        }
+    }
+    
+    @Test
+    public void testEscrituraDiferidaPropagaErroresYSeCierra() throws Exception {
+        SQLException caida = new SQLException("Conexión perdida");
+        when(mockNominaDAO.actualizarSueldos(anyList())).thenThrow(caida);
+        EscrituraDiferidaSueldos escritura = new EscrituraDiferidaSueldos(mockNominaDAO, 100, 100, 10, 5000);
+        service = new NominaService(mockEmpleadoDAO, mockNominaDAO, null, escritura);
+        
+        // El hilo escritor la escribe a los 10 ms; la llamada espera a su lote y recibe su error
+        try {
+            service.actualizarSueldo("12345678A", 100000);
+            fail("Debería propagar el error del lote");
+        } catch (SQLException e) {
+            assertSame(caida, e);
+        }
+        assertEquals(1, escritura.getErrores());
+        
+        // Tras cerrar ya no se admiten más
+        escritura.cerrar();
+        try {
+            escritura.encolar("87654321B", 90000);
+            fail("Debería rechazar sueldos tras cerrar");
+        } catch (IllegalStateException e) {
+            // esperado
+        }
+    }
+}